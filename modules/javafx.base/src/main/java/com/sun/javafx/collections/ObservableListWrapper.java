@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -229,6 +229,12 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
         fireChange(new SimplePermutationChange<>(0, size(), perm, this));
     }
 
+    @Override
+    public void reorder(int[] order) {
+        int[] perm = SortHelper.reorder(backingList, order);
+        fireChange(new SimplePermutationChange<>(0, size(), perm, this));
+    }
+
     private SortHelper getSortHelper() {
         if (helper == null) {
             helper = new SortHelper();
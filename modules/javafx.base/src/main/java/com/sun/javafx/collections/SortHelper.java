@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -57,6 +57,30 @@ public class SortHelper {
         return result;
     }
 
+    // Used only by Observable[Sequential]ListWrapper, moves the element at order[i] to index i
+    public static <T> int[] reorder(List<T> list, int[] order) {
+        @SuppressWarnings("unchecked")
+        T[] a = (T[]) list.toArray();
+        if (order.length != a.length) {
+            throw new IllegalArgumentException("order has " + order.length + " indices, list has " + a.length + " elements");
+        }
+        int[] result = new int[a.length];
+        Arrays.fill(result, -1);
+        for (int j = 0; j < order.length; j++) {
+            int from = order[j];
+            if (from < 0 || from >= a.length || result[from] != -1) {
+                throw new IllegalArgumentException("order is not a permutation: " + from + " at " + j);
+            }
+            result[from] = j;
+        }
+        ListIterator<T> i = list.listIterator();
+        for (int j = 0; j < a.length; j++) {
+            i.next();
+            i.set(a[order[j]]);
+        }
+        return result;
+    }
+
     private <T> int[] sort(T[] items, Comparator<? super T> comparator) {
         T[] aux = items.clone();
         int[] result = initPermutation(items.length);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -56,4 +56,12 @@ public interface SortableList<E> extends ObservableList<E> {
      * @param comparator the comparator for the sorting; never {@code null}
      */
     void doSort(Comparator<? super E> comparator);
+
+    /**
+     * Moves the element at index {@code order[i]} to index {@code i} and reports it as one change event.
+     *
+     * @param order the previous index of the element at each index of the reordered list
+     * @throws IllegalArgumentException if {@code order} is not a permutation of the indices of the list
+     */
+    void reorder(int[] order);
 }
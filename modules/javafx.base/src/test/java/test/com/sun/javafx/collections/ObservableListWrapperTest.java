@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,6 +26,7 @@
 package test.com.sun.javafx.collections;
 
 import com.sun.javafx.collections.ObservableListWrapper;
+import javafx.collections.ListChangeListener;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
@@ -91,4 +92,39 @@ public class ObservableListWrapperTest {
         }
     }
 
+    @Nested
+    class ReorderTest {
+        @Test
+        public void testReorderFiresOnePermutation() {
+            var list = new ObservableListWrapper<>(new ArrayList<>(List.of("a", "b", "c", "d")));
+            List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+            list.addListener((ListChangeListener<String>) c -> {
+                assertTrue(c.next());
+                assertTrue(c.wasPermutated());
+                assertEquals(0, c.getFrom());
+                assertEquals(4, c.getTo());
+                assertEquals(2, c.getPermutation(0));
+                assertEquals(0, c.getPermutation(1));
+                assertEquals(3, c.getPermutation(2));
+                assertEquals(1, c.getPermutation(3));
+                assertFalse(c.next());
+                changes.add(c);
+            });
+
+            list.reorder(new int[] { 1, 3, 0, 2 });
+
+            assertEquals(List.of("b", "d", "a", "c"), list);
+            assertEquals(1, changes.size());
+        }
+
+        @Test
+        public void testInvalidOrderThrowsIAEAndKeepsList() {
+            var list = new ObservableListWrapper<>(new ArrayList<>(List.of("a", "b", "c")));
+            assertThrows(IllegalArgumentException.class, () -> list.reorder(new int[] { 0, 1 }));
+            assertThrows(IllegalArgumentException.class, () -> list.reorder(new int[] { 0, 1, 1 }));
+            assertThrows(IllegalArgumentException.class, () -> list.reorder(new int[] { 0, 1, 3 }));
+            assertEquals(List.of("a", "b", "c"), list);
+        }
+    }
+
 }
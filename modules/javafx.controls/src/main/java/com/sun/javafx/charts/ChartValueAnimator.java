@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.charts;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import javafx.beans.value.WritableDoubleValue;
+import javafx.beans.value.WritableValue;
+import javafx.scene.Parent;
+
+/**
+ * Animates any number of values of a chart, such as the current values of its data items, from their current value
+ * to a new value, and calls requestLayout on the given node for every frame while one of them is animating.
+ * <p>
+ * Unlike a Timeline for each value, all values are interpolated by this single timer, and the state of each
+ * animation is kept in primitive arrays, so animating a value allocates nothing but the boxed values it sets, and
+ * animating a value again while it is animating continues from where it is to the new value.
+ */
+public final class ChartValueAnimator extends AnimationTimer {
+    // how a value is set, which for boxed numbers follows Interpolator.interpolate(Object, Object, double)
+    private static final byte PRIMITIVE = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte FLOAT = 2;
+    private static final byte LONG = 3;
+    private static final byte INTEGER = 4;
+    private static final byte DISCRETE = 5;
+
+    // the start time of an animation that starts at the next frame
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final Parent nodeToLayout;
+    private final Map<WritableValue<?>, Integer> indices = new IdentityHashMap<>();
+
+    private WritableValue<?>[] values = new WritableValue<?>[16];
+    private Object[] endValues = new Object[16];
+    private Interpolator[] interpolators = new Interpolator[16];
+    private double[] from = new double[16];
+    private double[] to = new double[16];
+    private long[] start = new long[16];
+    private long[] duration = new long[16];
+    private byte[] kind = new byte[16];
+    private int count;
+
+    // the time of the last frame while the timer is running, at which animations start
+    private long lastFrame = NOT_STARTED;
+
+    public ChartValueAnimator(Parent nodeToLayout) {
+        this.nodeToLayout = nodeToLayout;
+    }
+
+    /**
+     * Animates the given value from its current value to the end value. Numbers are interpolated, other values
+     * are set to the end value at the end of the animation. If the value is already animating, that animation is
+     * replaced.
+     *
+     * @param value The value to animate
+     * @param endValue The value at the end of the animation
+     * @param millis The duration of the animation in milliseconds
+     * @param interpolator The interpolator of the animation
+     */
+    public <T> void animate(WritableValue<T> value, T endValue, long millis, Interpolator interpolator) {
+        Integer index = indices.get(value);
+        int i;
+        if (index != null) {
+            i = index;
+        } else {
+            if (count == values.length) {
+                grow();
+            }
+            i = count++;
+            indices.put(value, i);
+            values[i] = value;
+        }
+        Object startValue = value.getValue();
+        endValues[i] = endValue;
+        interpolators[i] = interpolator;
+        start[i] = lastFrame;
+        duration[i] = millis * 1_000_000L;
+        if (startValue instanceof Number s && endValue instanceof Number e) {
+            from[i] = s.doubleValue();
+            to[i] = e.doubleValue();
+            if (value instanceof WritableDoubleValue) {
+                kind[i] = PRIMITIVE;
+            } else if (s instanceof Double || e instanceof Double) {
+                kind[i] = DOUBLE;
+            } else if (s instanceof Float || e instanceof Float) {
+                kind[i] = FLOAT;
+            } else if (s instanceof Long || e instanceof Long) {
+                kind[i] = LONG;
+            } else {
+                kind[i] = INTEGER;
+            }
+        } else {
+            kind[i] = DISCRETE;
+        }
+        if (count == 1 && index == null) {
+            start();
+        }
+    }
+
+    /**
+     * Returns true if the given value is animating.
+     *
+     * @param value The value
+     * @return true if the value is animating
+     */
+    public boolean isAnimating(WritableValue<?> value) {
+        return indices.containsKey(value);
+    }
+
+    @Override public void handle(long now) {
+        lastFrame = now;
+        // backwards, so that finished animations can be replaced by the last one
+        for (int i = count - 1; i >= 0; i--) {
+            if (start[i] == NOT_STARTED) {
+                start[i] = now;
+            }
+            double fraction = duration[i] <= 0 ? 1 : (double) (now - start[i]) / duration[i];
+            if (fraction >= 1) {
+                WritableValue<?> value = values[i];
+                Object endValue = endValues[i];
+                double endNumber = to[i];
+                boolean primitive = kind[i] == PRIMITIVE;
+                remove(i);
+                if (primitive) {
+                    ((WritableDoubleValue) value).set(endNumber);
+                } else {
+                    set(value, endValue);
+                }
+            } else if (fraction > 0) {
+                double v = interpolators[i].interpolate(from[i], to[i], fraction);
+                switch (kind[i]) {
+                    case PRIMITIVE -> ((WritableDoubleValue) values[i]).set(v);
+                    case DOUBLE -> set(values[i], v);
+                    case FLOAT -> set(values[i], (float) v);
+                    case LONG -> set(values[i], Math.round(v));
+                    case INTEGER -> set(values[i], (int) Math.round(v));
+                    default -> { }
+                }
+            }
+        }
+        if (count == 0) {
+            stop();
+            lastFrame = NOT_STARTED;
+        }
+        nodeToLayout.requestLayout();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void set(WritableValue<?> value, Object newValue) {
+        ((WritableValue<Object>) value).setValue(newValue);
+    }
+
+    private void remove(int i) {
+        indices.remove(values[i]);
+        int last = --count;
+        if (i != last) {
+            values[i] = values[last];
+            endValues[i] = endValues[last];
+            interpolators[i] = interpolators[last];
+            from[i] = from[last];
+            to[i] = to[last];
+            start[i] = start[last];
+            duration[i] = duration[last];
+            kind[i] = kind[last];
+            indices.put(values[i], i);
+        }
+        values[last] = null;
+        endValues[last] = null;
+        interpolators[last] = null;
+    }
+
+    private void grow() {
+        int capacity = values.length * 2;
+        values = Arrays.copyOf(values, capacity);
+        endValues = Arrays.copyOf(endValues, capacity);
+        interpolators = Arrays.copyOf(interpolators, capacity);
+        from = Arrays.copyOf(from, capacity);
+        to = Arrays.copyOf(to, capacity);
+        start = Arrays.copyOf(start, capacity);
+        duration = Arrays.copyOf(duration, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+    }
+}
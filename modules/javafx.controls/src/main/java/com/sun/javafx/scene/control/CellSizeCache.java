@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.scene.control;
+
+import java.util.Arrays;
+
+/**
+ * The sizes of the cells of a {@code VirtualFlow}, indexed by item index.
+ *
+ * <p>Only the sizes of the cells that have been measured are known, any other
+ * size is replaced by an estimate that is passed to the queries. The known
+ * sizes and their count are stored in two Fenwick trees, so that the offset of
+ * a cell and the index of the cell at an offset are computed in O(log n)
+ * instead of by summing the sizes of all the preceding cells.</p>
+ *
+ * <p>Sizes must not be negative.</p>
+ */
+public final class CellSizeCache {
+    private static final double UNKNOWN = -1;
+
+    private double[] sizes = new double[0];
+    // 1-based Fenwick trees over sizes, counting known sizes only
+    private double[] sumTree = new double[1];
+    private int[] countTree = new int[1];
+    // one past the highest index for which a size was set
+    private int length;
+
+    /**
+     * Returns one past the highest index for which a size was set.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the size of the cell at the given index, or -1 if it is unknown.
+     */
+    public double get(int index) {
+        return (index >= 0 && index < length) ? sizes[index] : UNKNOWN;
+    }
+
+    public boolean isKnown(int index) {
+        return get(index) >= 0;
+    }
+
+    public void set(int index, double size) {
+        if (index < 0) throw new IndexOutOfBoundsException(index);
+        if (!(size >= 0)) throw new IllegalArgumentException("Invalid cell size: " + size);
+        if (index >= sizes.length) {
+            grow(index + 1);
+        }
+        double old = sizes[index];
+        sizes[index] = size;
+        length = Math.max(length, index + 1);
+        if (old >= 0) {
+            addToTrees(index, size - old, 0);
+        } else {
+            addToTrees(index, size, 1);
+        }
+    }
+
+    public void clear() {
+        sizes = new double[0];
+        sumTree = new double[1];
+        countTree = new int[1];
+        length = 0;
+    }
+
+    /**
+     * Returns the number of known sizes of the cells before {@code limit}.
+     */
+    public int getKnownCount(int limit) {
+        int count = 0;
+        for (int i = Math.min(limit, sizes.length); i > 0; i -= i & -i) {
+            count += countTree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of the known sizes of the cells before {@code limit}.
+     */
+    public double getKnownTotal(int limit) {
+        double total = 0;
+        for (int i = Math.min(limit, sizes.length); i > 0; i -= i & -i) {
+            total += sumTree[i];
+        }
+        return total;
+    }
+
+    /**
+     * Returns the offset of the cell at the given index, that is the sum of
+     * the sizes of the cells before it, where an unknown size counts as
+     * {@code estimate}.
+     */
+    public double getOffset(int index, double estimate) {
+        if (index <= 0) return 0;
+        int known = getKnownCount(index);
+        return getKnownTotal(index) + (index - known) * estimate;
+    }
+
+    /**
+     * Returns the index of the cell that contains the given offset, that is
+     * the first index {@code i} for which {@code getOffset(i + 1, estimate)}
+     * is larger than {@code offset}, or {@code count} if the offset lies
+     * beyond the first {@code count} cells.
+     */
+    public int getIndex(double offset, double estimate, int count) {
+        if (count <= 0 || offset < 0) return 0;
+        int bound = Math.min(count, sizes.length);
+        // find the largest number of cells whose total size is at most offset
+        int pos = 0;
+        double remaining = offset;
+        for (int step = Integer.highestOneBit(Math.max(1, sizes.length)); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= bound) {
+                double size = sumTree[next] + (step - countTree[next]) * estimate;
+                if (size <= remaining) {
+                    pos = next;
+                    remaining -= size;
+                }
+            }
+        }
+        // The tree nodes add up the sizes in a different order than
+        // getOffset, so correct any rounding difference to be consistent
+        // with the offsets it returns.
+        while (pos < bound && getOffset(pos + 1, estimate) <= offset) {
+            pos++;
+        }
+        while (pos > 0 && getOffset(pos, estimate) > offset) {
+            pos--;
+        }
+        if (pos < bound) {
+            return pos;
+        }
+        // the cells after the tree all have the estimated size
+        if (bound < count && estimate > 0) {
+            double extra = Math.floor(remaining / estimate);
+            if (extra < count - bound) {
+                return bound + (int) extra;
+            }
+        }
+        return count;
+    }
+
+    private void addToTrees(int index, double size, int count) {
+        for (int i = index + 1; i < sumTree.length; i += i & -i) {
+            sumTree[i] += size;
+            countTree[i] += count;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, Math.max(16, sizes.length * 2));
+        int oldLength = sizes.length;
+        sizes = Arrays.copyOf(sizes, capacity);
+        Arrays.fill(sizes, oldLength, capacity, UNKNOWN);
+        // rebuild the trees in linear time
+        sumTree = new double[capacity + 1];
+        countTree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            double size = sizes[i - 1];
+            if (size >= 0) {
+                sumTree[i] += size;
+                countTree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                sumTree[parent] += sumTree[i];
+                countTree[parent] += countTree[i];
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -24,12 +24,15 @@
  */
 package com.sun.javafx.scene.control;
 
+import com.sun.javafx.collections.NonIterableChange;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableListBase;
 
 import java.lang.ref.WeakReference;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -38,20 +41,38 @@ public abstract class SelectedItemsReadOnlyObservableList<E> extends ObservableL
     // This is the actual observable list of selected indices used in the selection model
     private final ObservableList<Integer> selectedIndices;
     private final Supplier<Integer> modelSizeSupplier;
-    private final List<WeakReference<E>> itemsRefList;
+
+    // The selected items are remembered after each change, so that they can be
+    // reported as removed once they are gone from the model. They are looked up
+    // by the index they had in the model, which is what the removed indices of
+    // the next change hold. Selections of up to MAX_WEAK_ITEMS items are
+    // remembered through weak references, larger ones in a plain array, which
+    // takes far less memory.
+    private static final int MAX_WEAK_ITEMS = 10_000;
+    private ItemsSnapshot<E> itemsSnapshot;
 
     public SelectedItemsReadOnlyObservableList(ObservableList<Integer> selectedIndices, Supplier<Integer> modelSizeSupplier) {
         this.modelSizeSupplier = modelSizeSupplier;
         this.selectedIndices = selectedIndices;
-        this.itemsRefList = new ArrayList<>();
+        this.itemsSnapshot = new ItemsSnapshot<>(new int[0], new int[] { 0 }, new Object[0], false);
 
         selectedIndices.addListener((ListChangeListener<Integer>)c -> {
-            int totalRemovedSize = 0;
+            if (isRemoval(c)) {
+                // report the removal (e.g. clearing a large selection) as a
+                // view of the removed indices in the remembered items, which
+                // are not modified, rather than copying every item
+                c.next();
+                fireChange(new NonIterableChange.GenericAddRemoveChange<>(
+                        c.getFrom(), c.getFrom(), new RemovedItems<>(c.getRemoved(), itemsSnapshot), this));
+                updateItemsSnapshot();
+                return;
+            }
+
             beginChange();
 
             while (c.next()) {
                 if (c.wasReplaced()) {
-                    List<E> removed = getRemovedElements(c, totalRemovedSize);
+                    List<E> removed = getRemovedElements(c);
                     List<E> added = getAddedElements(c);
                     if (!removed.equals(added)) {
                         nextReplace(c.getFrom(), c.getTo(), removed);
@@ -61,11 +82,10 @@ public abstract class SelectedItemsReadOnlyObservableList<E> extends ObservableL
                 } else if (c.wasRemoved()) {
                     int removedSize = c.getRemovedSize();
                     if (removedSize == 1) {
-                        nextRemove(c.getFrom(), getRemovedModelItem(totalRemovedSize + c.getFrom()));
+                        nextRemove(c.getFrom(), itemsSnapshot.get(c.getRemoved().get(0)));
                     } else {
-                        nextRemove(c.getFrom(), getRemovedElements(c, totalRemovedSize));
+                        nextRemove(c.getFrom(), getRemovedElements(c));
                     }
-                    totalRemovedSize += removedSize;
                 } else if (c.wasPermutated()) {
                     int[] permutation = new int[size()];
                     for (int i = 0; i < size(); i++) {
@@ -79,16 +99,9 @@ public abstract class SelectedItemsReadOnlyObservableList<E> extends ObservableL
                 }
             }
 
-            // regardless of the change, we recreate the itemsRefList to reflect the current items list.
-            // This is important for cases where items are removed (and so must their selection, but we lose
-            // access to the item before we can fire the event).
-            // FIXME we could make this more efficient by only making the reported changes to the list
-            itemsRefList.clear();
-            for (int selectedIndex : selectedIndices) {
-                itemsRefList.add(new WeakReference<>(getModelItem(selectedIndex)));
-            }
-
             endChange();
+
+            updateItemsSnapshot();
         });
     }
 
@@ -107,25 +120,53 @@ public abstract class SelectedItemsReadOnlyObservableList<E> extends ObservableL
 
     private E _getModelItem(int index) {
         if (index >= modelSizeSupplier.get()) {
-            // attempt to return from the itemsRefList instead
-            return getRemovedModelItem(index);
+            // attempt to return from the remembered items instead
+            return itemsSnapshot.get(index);
         } else {
             return getModelItem(index);
         }
     }
 
-    private E getRemovedModelItem(int index) {
-        // attempt to return from the itemsRefList instead
-        return index < 0 || index >= itemsRefList.size() ? null : itemsRefList.get(index).get();
+    private List<E> getRemovedElements(ListChangeListener.Change<? extends Integer> c) {
+        return new ArrayList<>(new RemovedItems<>(c.getRemoved(), itemsSnapshot));
     }
 
-    private List<E> getRemovedElements(ListChangeListener.Change<? extends Integer> c, int totalRemovedSize) {
-        List<E> removed = new ArrayList<>(c.getRemovedSize());
-        final int startPos = c.getFrom();
-        for (int i = startPos, max = startPos + c.getRemovedSize(); i < max; i++) {
-            removed.add(getRemovedModelItem(i + totalRemovedSize));
+    // regardless of the change, we recreate the snapshot to reflect the current items list.
+    // This is important for cases where items are removed (and so must their selection, but we lose
+    // access to the item before we can fire the event).
+    // FIXME we could make this more efficient by only making the reported changes to the list
+    private void updateItemsSnapshot() {
+        final int size = selectedIndices.size();
+        final boolean weak = size <= MAX_WEAK_ITEMS;
+        int[] starts = new int[8];
+        int[] positions = new int[9];
+        int runs = 0;
+        Object[] items = new Object[size];
+        int prev = -2;
+        int pos = 0;
+        for (int index : selectedIndices) {
+            if (index != prev + 1) {
+                if (runs == starts.length) {
+                    starts = Arrays.copyOf(starts, runs * 2);
+                    positions = Arrays.copyOf(positions, runs * 2 + 1);
+                }
+                starts[runs] = index;
+                positions[runs] = pos;
+                runs++;
+            }
+            E item = getModelItem(index);
+            items[pos++] = weak ? new WeakReference<>(item) : item;
+            prev = index;
         }
-        return removed;
+        positions[runs] = pos;
+        itemsSnapshot = new ItemsSnapshot<>(Arrays.copyOf(starts, runs), Arrays.copyOf(positions, runs + 1),
+                                            items, weak);
+    }
+
+    private static boolean isRemoval(ListChangeListener.Change<? extends Integer> c) {
+        boolean removal = c.next() && c.wasRemoved() && !c.wasAdded() && !c.next();
+        c.reset();
+        return removal;
     }
 
     private List<E> getAddedElements(ListChangeListener.Change<? extends Integer> c) {
@@ -135,4 +176,61 @@ public abstract class SelectedItemsReadOnlyObservableList<E> extends ObservableL
         }
         return added;
     }
+
+    /*
+     * The selected items at one point in time, kept as runs of consecutive
+     * selected indices, so that the item that was at a given index can be
+     * found with a binary search. It is never modified, so that removed items
+     * can be reported as a view of it.
+     */
+    private static final class ItemsSnapshot<E> {
+        private final int[] starts;
+        // the position in the selection of the first index of each run,
+        // followed by the number of items
+        private final int[] positions;
+        // the items, or weak references to them
+        private final Object[] items;
+        private final boolean weak;
+
+        ItemsSnapshot(int[] starts, int[] positions, Object[] items, boolean weak) {
+            this.starts = starts;
+            this.positions = positions;
+            this.items = items;
+            this.weak = weak;
+        }
+
+        // returns the item that was at the given index, or null if that
+        // index was not selected
+        @SuppressWarnings("unchecked")
+        E get(int index) {
+            int run = Arrays.binarySearch(starts, index);
+            if (run < 0) {
+                run = -run - 2;
+                if (run < 0) return null;
+            }
+            int pos = positions[run] + index - starts[run];
+            if (pos >= positions[run + 1]) return null;
+            Object item = items[pos];
+            return weak ? ((WeakReference<E>) item).get() : (E) item;
+        }
+    }
+
+    // the items that were at the removed indices
+    private static final class RemovedItems<E> extends AbstractList<E> {
+        private final List<? extends Integer> removedIndices;
+        private final ItemsSnapshot<E> snapshot;
+
+        RemovedItems(List<? extends Integer> removedIndices, ItemsSnapshot<E> snapshot) {
+            this.removedIndices = removedIndices;
+            this.snapshot = snapshot;
+        }
+
+        @Override public E get(int index) {
+            return snapshot.get(removedIndices.get(index));
+        }
+
+        @Override public int size() {
+            return removedIndices.size();
+        }
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control;
+
+import javafx.scene.control.TextArea;
+import com.sun.javafx.util.Utils;
+
+/**
+ * TextArea Helper, gives the skin access to the paragraph index of the
+ * content.
+ */
+public class TextAreaHelper {
+    /** Accessor */
+    public interface Accessor {
+        /**
+         * Returns the index of the paragraph containing the given offset.
+         * @param textArea the TextArea
+         * @param offset the offset in the text
+         * @return the paragraph index
+         */
+        public int getParagraphIndex(TextArea textArea, int offset);
+
+        /**
+         * Returns the offset of the first character of the given paragraph.
+         * @param textArea the TextArea
+         * @param paragraphIndex the paragraph index
+         * @return the offset in the text
+         */
+        public int getParagraphStart(TextArea textArea, int paragraphIndex);
+    }
+
+    private static Accessor accessor;
+
+    static {
+        Utils.forceInit(TextArea.class);
+    }
+
+    private TextAreaHelper() {
+    }
+
+    public static void setAccessor(Accessor a) {
+        accessor = a;
+    }
+
+    public static int getParagraphIndex(TextArea textArea, int offset) {
+        return accessor.getParagraphIndex(textArea, offset);
+    }
+
+    public static int getParagraphStart(TextArea textArea, int paragraphIndex) {
+        return accessor.getParagraphStart(textArea, paragraphIndex);
+    }
+}
@@ -74,6 +74,8 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
 
     /** A multiplier for the Y values that we store for each series, it is used to animate in a new series */
     private Map<Series<X,Y>, DoubleProperty> seriesYMultiplierMap = new HashMap<>();
+    /** The display positions of the points of a series with a point buffer, reused for each layout */
+    private final PointBuffer.Display pointDisplay = new PointBuffer.Display();
     private Timeline timeline;
 
     // -------------- PUBLIC PROPERTIES ----------------------------------------
@@ -172,10 +174,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
         if(ya.isAutoRanging()) yData = new ArrayList<>();
         if(xData != null || yData != null) {
             for(Series<X,Y> series : getData()) {
-                for(Data<X,Y> data: series.getData()) {
-                    if(xData != null) xData.add(data.getXValue());
-                    if(yData != null) yData.add(data.getYValue());
-                }
+                addAxisRangeData(series, xData, yData);
             }
             if(xData != null && !(xData.size() == 1 && getXAxis().toNumericValue(xData.get(0)) == 0)) {
                 xa.invalidateRange(xData);
@@ -225,27 +224,11 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
                 // fade in new symbol
                 symbol.setOpacity(0);
                 getPlotChildren().add(symbol);
-                FadeTransition ft = new FadeTransition(Duration.millis(500),symbol);
-                ft.setToValue(1);
-                ft.play();
+                animate(symbol.opacityProperty(), 1.0, 500, Interpolator.EASE_BOTH);
             }
             if (animate) {
-                animate(
-                    new KeyFrame(Duration.ZERO,
-                            (e) -> {
-                                if (symbol != null && !getPlotChildren().contains(symbol)) {
-                                    getPlotChildren().add(symbol);
-                                } },
-                            new KeyValue(item.currentYProperty(),
-                                    item.getCurrentY()),
-                            new KeyValue(item.currentXProperty(),
-                                    item.getCurrentX())
-                    ),
-                    new KeyFrame(Duration.millis(800), new KeyValue(item.currentYProperty(),
-                                        item.getYValue(), Interpolator.EASE_BOTH),
-                                        new KeyValue(item.currentXProperty(),
-                                        item.getXValue(), Interpolator.EASE_BOTH))
-                );
+                animate(item.currentYProperty(), item.getYValue(), 800, Interpolator.EASE_BOTH);
+                animate(item.currentXProperty(), item.getXValue(), 800, Interpolator.EASE_BOTH);
             }
 
         } else if (symbol != null) {
@@ -376,37 +359,28 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
             seriesYAnimMultiplier.setValue(1d);
         }
         getPlotChildren().add(areaGroup);
-        List<KeyFrame> keyFrames = new ArrayList<>();
-        if (shouldAnimate()) {
+        final boolean animate = shouldAnimate();
+        if (animate) {
             // animate in new series
-            keyFrames.add(new KeyFrame(Duration.ZERO,
-                new KeyValue(areaGroup.opacityProperty(), 0),
-                new KeyValue(seriesYAnimMultiplier, 0)
-            ));
-            keyFrames.add(new KeyFrame(Duration.millis(200),
-               new KeyValue(areaGroup.opacityProperty(), 1)
-            ));
-            keyFrames.add(new KeyFrame(Duration.millis(500),
-                new KeyValue(seriesYAnimMultiplier, 1)
-            ));
+            areaGroup.setOpacity(0);
+            animate(areaGroup.opacityProperty(), 1.0, 200, Interpolator.LINEAR);
+            animate(seriesYAnimMultiplier, 1.0, 500, Interpolator.LINEAR);
         }
         for (int j=0; j<series.getData().size(); j++) {
             Data<X,Y> item = series.getData().get(j);
             final Node symbol = createSymbol(series, seriesIndex, item, j);
             if (symbol != null) {
-                if (shouldAnimate()) {
+                if (animate) {
                     symbol.setOpacity(0);
                     getPlotChildren().add(symbol);
                     // fade in new symbol
-                    keyFrames.add(new KeyFrame(Duration.ZERO, new KeyValue(symbol.opacityProperty(), 0)));
-                    keyFrames.add(new KeyFrame(Duration.millis(200), new KeyValue(symbol.opacityProperty(), 1)));
+                    animate(symbol.opacityProperty(), 1.0, 200, Interpolator.LINEAR);
                 }
                 else {
                     getPlotChildren().add(symbol);
                 }
             }
         }
-        if (shouldAnimate()) animate(keyFrames.toArray(new KeyFrame[keyFrames.size()]));
     }
 
     @Override protected  void seriesRemoved(final Series<X,Y> series) {
@@ -432,8 +406,12 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
             final ObservableList<Node> children = ((Group) series.getNode()).getChildren();
             Path fillPath = (Path) children.get(0);
             Path linePath = (Path) children.get(1);
-            makePaths(this, series, constructedPath, fillPath, linePath,
-                      seriesYAnimMultiplier.get(), SortingPolicy.X_AXIS);
+            if (series.getPoints() != null) {
+                makePaths(this, series.getPoints(), pointDisplay, fillPath, linePath, seriesYAnimMultiplier.get());
+            } else {
+                makePaths(this, series, constructedPath, fillPath, linePath,
+                          seriesYAnimMultiplier.get(), SortingPolicy.X_AXIS);
+            }
         }
     }
 
@@ -534,6 +512,43 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
         }
     }
 
+    /**
+     * Sets the elements of the paths to the points of a point buffer, as they are decimated to the visible range
+     * and the pixel columns of the plot area.
+     */
+    static void makePaths(XYChart<?, ?> chart, PointBuffer points, PointBuffer.Display display,
+                          Path fillPath, Path linePath, double yAnimMultiplier)
+    {
+        final Axis<?> axisX = chart.getXAxis();
+        if (display.setAxes(axisX, chart.getYAxis(), yAnimMultiplier)) {
+            display.line(points, axisX.getWidth());
+        } else {
+            display.size = 0;
+        }
+        final int size = display.size;
+        final PathElement[] lineElements = new PathElement[size];
+        for (int i = 0; i < size; i++) {
+            lineElements[i] = (i == 0) ? new MoveTo(display.x[i], display.y[i]) : new LineTo(display.x[i], display.y[i]);
+        }
+        linePath.getElements().setAll(lineElements);
+
+        if (fillPath != null) {
+            if (size == 0) {
+                fillPath.getElements().clear();
+            } else {
+                final double yOrigin = display.displayY(0.0);
+                final PathElement[] fillElements = new PathElement[size + 3];
+                fillElements[0] = new MoveTo(display.x[0], yOrigin);
+                for (int i = 0; i < size; i++) {
+                    fillElements[i + 1] = new LineTo(display.x[i], display.y[i]);
+                }
+                fillElements[size + 1] = new LineTo(display.x[size - 1], yOrigin);
+                fillElements[size + 2] = new ClosePath();
+                fillPath.getElements().setAll(fillElements);
+            }
+        }
+    }
+
     private Node createSymbol(Series<X,Y> series, int seriesIndex, final Data<X,Y> item, int itemIndex) {
         Node symbol = item.getNode();
         // check if symbol has already been created
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -32,6 +32,7 @@ import java.util.List;
 import com.sun.javafx.scene.control.skin.Utils;
 
 import javafx.animation.Animation;
+import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
@@ -50,6 +51,7 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 
 import com.sun.javafx.charts.ChartLayoutAnimator;
+import com.sun.javafx.charts.ChartValueAnimator;
 import com.sun.javafx.charts.Legend;
 import com.sun.javafx.scene.NodeHelper;
 
@@ -104,6 +106,9 @@ public abstract class Chart extends Region {
     /** Animator for animating stuff on the chart */
     private final ChartLayoutAnimator animator = new ChartLayoutAnimator(chartContent);
 
+    /** Animator for animating values of the chart, such as the current values of data items */
+    private final ChartValueAnimator valueAnimator = new ChartValueAnimator(chartContent);
+
     // -------------- PUBLIC PROPERTIES --------------------------------------------------------------------------------
 
     /** The chart title */
@@ -301,6 +306,20 @@ public abstract class Chart extends Region {
      */
     protected void animate(Animation animation) { animator.animate(animation); }
 
+    /**
+     * Animate the given value from its current value to the end value. On every frame of the animation the chart will
+     * be relayed out. Unlike an animation of key frames, this does not create a Timeline: all values of the chart are
+     * animated by a single timer, and animating a value that is already animating continues from its current value.
+     *
+     * @param value The value to animate
+     * @param endValue The value at the end of the animation
+     * @param millis The duration of the animation in milliseconds
+     * @param interpolator The interpolator of the animation
+     */
+    <T> void animate(WritableValue<T> value, T endValue, long millis, Interpolator interpolator) {
+        valueAnimator.animate(value, endValue, millis, interpolator);
+    }
+
     /** Call this when you know something has changed that needs the chart to be relayed out. */
     protected void requestChartLayout() {
         chartContent.requestLayout();
@@ -81,6 +81,8 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
 
     /** A multiplier for the Y values that we store for each series, it is used to animate in a new series */
     private Map<Series<X,Y>, DoubleProperty> seriesYMultiplierMap = new HashMap<>();
+    /** The display positions of the points of a series with a point buffer, reused for each layout */
+    private final PointBuffer.Display pointDisplay = new PointBuffer.Display();
     private Timeline dataRemoveTimeline;
     private Series<X,Y> seriesOfDataRemoved = null;
     private Data<X,Y> dataItemBeingRemoved = null;
@@ -201,10 +203,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
         if(ya.isAutoRanging()) yData = new ArrayList<>();
         if(xData != null || yData != null) {
             for(Series<X,Y> series : getData()) {
-                for(Data<X,Y> data: series.getData()) {
-                    if(xData != null) xData.add(data.getXValue());
-                    if(yData != null) yData.add(data.getYValue());
-                }
+                addAxisRangeData(series, xData, yData);
             }
             // RT-32838 No need to invalidate range if there is one data item - whose value is zero.
             if(xData != null && !(xData.size() == 1 && getXAxis().toNumericValue(xData.get(0)) == 0)) {
@@ -269,23 +268,12 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
                 // fade in new symbol
                 symbol.setOpacity(0);
                 getPlotChildren().add(symbol);
-                FadeTransition ft = new FadeTransition(Duration.millis(500),symbol);
-                ft.setToValue(1);
-                ft.play();
+                animate(symbol.opacityProperty(), 1.0, 500, Interpolator.EASE_BOTH);
             }
             if (animate) {
-                animate(
-                    new KeyFrame(Duration.ZERO,
-                            (e) -> { if (symbol != null && !getPlotChildren().contains(symbol)) getPlotChildren().add(symbol); },
-                                   new KeyValue(item.currentYProperty(),
-                                        item.getCurrentY()),
-                                        new KeyValue(item.currentXProperty(),
-                                        item.getCurrentX())),
-                    new KeyFrame(Duration.millis(700), new KeyValue(item.currentYProperty(),
-                                        item.getYValue(), Interpolator.EASE_BOTH),
-                                        new KeyValue(item.currentXProperty(),
-                                        item.getXValue(), Interpolator.EASE_BOTH))
-                );
+                if (symbol != null && symbol.getParent() == null) getPlotChildren().add(symbol);
+                animate(item.currentYProperty(), item.getYValue(), 700, Interpolator.EASE_BOTH);
+                animate(item.currentXProperty(), item.getXValue(), 700, Interpolator.EASE_BOTH);
             }
 
         } else {
@@ -408,34 +396,24 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
         }
         getPlotChildren().add(seriesLine);
 
-        List<KeyFrame> keyFrames = new ArrayList<>();
-        if (shouldAnimate()) {
+        final boolean animate = shouldAnimate();
+        if (animate) {
             // animate in new series
-            keyFrames.add(new KeyFrame(Duration.ZERO,
-                new KeyValue(seriesLine.opacityProperty(), 0),
-                new KeyValue(seriesYAnimMultiplier, 0)
-            ));
-            keyFrames.add(new KeyFrame(Duration.millis(200),
-                new KeyValue(seriesLine.opacityProperty(), 1)
-            ));
-            keyFrames.add(new KeyFrame(Duration.millis(500),
-                new KeyValue(seriesYAnimMultiplier, 1)
-            ));
+            animate(seriesLine.opacityProperty(), 1.0, 200, Interpolator.LINEAR);
+            animate(seriesYAnimMultiplier, 1.0, 500, Interpolator.LINEAR);
         }
         for (int j=0; j<series.getData().size(); j++) {
             Data<X,Y> item = series.getData().get(j);
             final Node symbol = createSymbol(series, seriesIndex, item, j);
             if(symbol != null) {
-                if (shouldAnimate()) symbol.setOpacity(0);
+                if (animate) symbol.setOpacity(0);
                 getPlotChildren().add(symbol);
-                if (shouldAnimate()) {
+                if (animate) {
                     // fade in new symbol
-                    keyFrames.add(new KeyFrame(Duration.ZERO, new KeyValue(symbol.opacityProperty(), 0)));
-                    keyFrames.add(new KeyFrame(Duration.millis(200), new KeyValue(symbol.opacityProperty(), 1)));
+                    animate(symbol.opacityProperty(), 1.0, 200, Interpolator.LINEAR);
                 }
             }
         }
-        if (shouldAnimate()) animate(keyFrames.toArray(new KeyFrame[keyFrames.size()]));
     }
 
     @Override protected  void seriesRemoved(final Series<X,Y> series) {
@@ -459,9 +437,14 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
             final DoubleProperty seriesYAnimMultiplier = seriesYMultiplierMap.get(series);
             final Node seriesNode = series.getNode();
             if (seriesNode instanceof Path) {
-                AreaChart.makePaths(this, series,
-                                    constructedPath, null, (Path) seriesNode,
-                                    seriesYAnimMultiplier.get(), getAxisSortingPolicy());
+                if (series.getPoints() != null) {
+                    AreaChart.makePaths(this, series.getPoints(), pointDisplay,
+                                        null, (Path) seriesNode, seriesYAnimMultiplier.get());
+                } else {
+                    AreaChart.makePaths(this, series,
+                                        constructedPath, null, (Path) seriesNode,
+                                        seriesYAnimMultiplier.get(), getAxisSortingPolicy());
+                }
             }
         }
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -373,12 +373,7 @@ public class PieChart extends Chart {
 
     private void dataPieValueChanged(Data item) {
         if (shouldAnimate()) {
-            animate(
-                new KeyFrame(Duration.ZERO, new KeyValue(item.currentPieValueProperty(),
-                        item.getCurrentPieValue())),
-                new KeyFrame(Duration.millis(500),new KeyValue(item.currentPieValueProperty(),
-                        item.getPieValue(), Interpolator.EASE_BOTH))
-            );
+            animate(item.currentPieValueProperty(), item.getPieValue(), 500, Interpolator.EASE_BOTH);
         } else {
             item.setCurrentPieValue(item.getPieValue());
             requestChartLayout(); // RT-23091
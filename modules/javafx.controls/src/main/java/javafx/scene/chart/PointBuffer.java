@@ -0,0 +1,720 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.chart;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+
+/**
+ * A growable buffer of points with primitive {@code double} coordinates, for
+ * series of hundreds of thousands or millions of points. Set on an
+ * {@link XYChart.Series#pointsProperty() XYChart.Series}, it is drawn by
+ * {@link LineChart}, {@link AreaChart} and {@link ScatterChart} instead of the
+ * data items of the series, without a {@link XYChart.Data} object or a
+ * symbol node per point.
+ * <p>
+ * The x values of the points must not decrease, so that the points in the
+ * visible range of the x axis are found by a binary search, and points can be
+ * appended as they arrive from a streaming feed, and removed from the start
+ * to keep a sliding window. When the chart is laid out, the points in the
+ * visible range are reduced as given by the {@link #decimationProperty()
+ * decimation} of the buffer to a few points per pixel column, and drawn as a
+ * single path, so the time to draw a series depends on the width of the chart
+ * rather than on the number of points.
+ * <p>
+ * Points with a {@code NaN} y value are not drawn. A point buffer can only be
+ * drawn on charts with a {@link ValueAxis} on both sides, and, like the rest of
+ * the scene graph, must only be modified on the JavaFX Application Thread once
+ * it is set on a series of a chart that is showing.
+ *
+ * <pre><code>
+ * PointBuffer points = new PointBuffer();
+ * XYChart.Series&lt;Number, Number&gt; series = new XYChart.Series&lt;&gt;();
+ * series.setPoints(points);
+ * lineChart.getData().add(series);
+ * ...
+ * points.add(time, value);
+ * </code></pre>
+ *
+ * @since 24
+ */
+public final class PointBuffer implements Observable {
+
+    /**
+     * How the points of a {@code PointBuffer} in the visible range of the x
+     * axis are reduced before they are drawn by a {@link LineChart} or an
+     * {@link AreaChart}.
+     *
+     * @since 24
+     */
+    public enum Decimation {
+        /**
+         * All points in the visible range are drawn.
+         */
+        NONE,
+        /**
+         * The first, the last and the points with the lowest and highest
+         * y values of the points in each pixel column are drawn, which draws the
+         * same line as drawing all points, with at most four points per pixel
+         * column.
+         */
+        MIN_MAX,
+        /**
+         * The points are reduced to two per pixel column with the
+         * Largest-Triangle-Three-Buckets algorithm, which keeps the shape of the
+         * line but may leave out single peaks.
+         */
+        LTTB
+    }
+
+    private double[] xs;
+    private double[] ys;
+    private int start;
+    private int size;
+
+    private double minY;
+    private double maxY;
+    private boolean yRangeValid = true;
+
+    private Decimation decimation = Decimation.MIN_MAX;
+
+    private InvalidationListener[] listeners = new InvalidationListener[0];
+
+    /**
+     * Creates an empty point buffer.
+     */
+    public PointBuffer() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty point buffer with room for the given number of points.
+     *
+     * @param initialCapacity the number of points the buffer can hold before it grows
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public PointBuffer(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        xs = new double[initialCapacity];
+        ys = new double[initialCapacity];
+        minY = Double.NaN;
+        maxY = Double.NaN;
+    }
+
+    /**
+     * Returns the number of points in this buffer.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the x value of the point at the given index.
+     *
+     * @param index the index of the point
+     * @return the x value of the point
+     * @throws IndexOutOfBoundsException if {@code index} is not less than {@link #size()}
+     */
+    public double getX(int index) {
+        return xs[start + checkIndex(index)];
+    }
+
+    /**
+     * Returns the y value of the point at the given index.
+     *
+     * @param index the index of the point
+     * @return the y value of the point
+     * @throws IndexOutOfBoundsException if {@code index} is not less than {@link #size()}
+     */
+    public double getY(int index) {
+        return ys[start + checkIndex(index)];
+    }
+
+    /**
+     * Returns the lowest x value of the points in this buffer, which is the x
+     * value of the first point.
+     *
+     * @return the lowest x value, or {@code NaN} if the buffer is empty
+     */
+    public double getMinX() {
+        return size == 0 ? Double.NaN : xs[start];
+    }
+
+    /**
+     * Returns the highest x value of the points in this buffer, which is the x
+     * value of the last point.
+     *
+     * @return the highest x value, or {@code NaN} if the buffer is empty
+     */
+    public double getMaxX() {
+        return size == 0 ? Double.NaN : xs[start + size - 1];
+    }
+
+    /**
+     * Returns the lowest y value of the points in this buffer.
+     *
+     * @return the lowest y value that is not {@code NaN}, or {@code NaN} if there is none
+     */
+    public double getMinY() {
+        updateYRange();
+        return minY;
+    }
+
+    /**
+     * Returns the highest y value of the points in this buffer.
+     *
+     * @return the highest y value that is not {@code NaN}, or {@code NaN} if there is none
+     */
+    public double getMaxY() {
+        updateYRange();
+        return maxY;
+    }
+
+    /**
+     * Appends a point to this buffer.
+     *
+     * @param x the x value of the point
+     * @param y the y value of the point, or {@code NaN} for a point that is not drawn
+     * @throws IllegalArgumentException if {@code x} is not finite or is lower
+     *         than the x value of the last point, or if {@code y} is infinite
+     */
+    public void add(double x, double y) {
+        checkPoint(x, y, size == 0 ? Double.NEGATIVE_INFINITY : xs[start + size - 1]);
+        ensureCapacity(1);
+        xs[start + size] = x;
+        ys[start + size] = y;
+        size++;
+        includeY(y);
+        fireInvalidation();
+    }
+
+    /**
+     * Appends points to this buffer. The listeners of the buffer are notified
+     * once for all points.
+     *
+     * @param x the x values of the points
+     * @param y the y values of the points
+     * @throws NullPointerException if {@code x} or {@code y} is null
+     * @throws IllegalArgumentException if the arrays have different lengths, or
+     *         if a point would be rejected by {@link #add(double, double)}
+     */
+    public void addAll(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        addAll(x, y, 0, x.length);
+    }
+
+    /**
+     * Appends {@code length} points from the given arrays, starting at
+     * {@code offset}, to this buffer. The listeners of the buffer are notified
+     * once for all points.
+     *
+     * @param x the x values of the points
+     * @param y the y values of the points
+     * @param offset the index in the arrays of the first point
+     * @param length the number of points
+     * @throws NullPointerException if {@code x} or {@code y} is null
+     * @throws IndexOutOfBoundsException if the range is not within the bounds of the arrays
+     * @throws IllegalArgumentException if a point would be rejected by
+     *         {@link #add(double, double)}; no point is added in that case
+     */
+    public void addAll(double[] x, double[] y, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, x.length);
+        Objects.checkFromIndexSize(offset, length, y.length);
+        if (length == 0) {
+            return;
+        }
+        double last = size == 0 ? Double.NEGATIVE_INFINITY : xs[start + size - 1];
+        for (int i = offset; i < offset + length; i++) {
+            checkPoint(x[i], y[i], last);
+            last = x[i];
+        }
+        ensureCapacity(length);
+        System.arraycopy(x, offset, xs, start + size, length);
+        System.arraycopy(y, offset, ys, start + size, length);
+        size += length;
+        for (int i = offset; i < offset + length; i++) {
+            includeY(y[i]);
+        }
+        fireInvalidation();
+    }
+
+    /**
+     * Removes the given number of points from the start of this buffer, for
+     * example to keep a sliding window of the most recent points of a feed.
+     *
+     * @param count the number of points to remove
+     * @throws IllegalArgumentException if {@code count} is negative or greater than {@link #size()}
+     */
+    public void removeFirst(int count) {
+        if (count < 0 || count > size) {
+            throw new IllegalArgumentException("count must be between 0 and " + size + ": " + count);
+        }
+        if (count == 0) {
+            return;
+        }
+        if (yRangeValid) {
+            for (int i = start; i < start + count; i++) {
+                if (ys[i] == minY || ys[i] == maxY) {
+                    yRangeValid = false;
+                    break;
+                }
+            }
+        }
+        start += count;
+        size -= count;
+        if (size == 0) {
+            start = 0;
+            resetYRange();
+        }
+        fireInvalidation();
+    }
+
+    /**
+     * Removes all points from this buffer.
+     */
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        start = 0;
+        size = 0;
+        resetYRange();
+        fireInvalidation();
+    }
+
+    /**
+     * Returns the index of the first point with an x value that is not lower
+     * than the given value.
+     *
+     * @param x the x value to search for
+     * @return the index of the first point with an x value not lower than
+     *         {@code x}, or {@link #size()} if there is none
+     */
+    public int indexOfX(double x) {
+        int lo = start;
+        int hi = start + size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo - start;
+    }
+
+    /**
+     * Sets how the points in the visible range are reduced before they are drawn.
+     *
+     * @param value the decimation, which is {@link Decimation#MIN_MAX} by default
+     * @throws NullPointerException if {@code value} is null
+     * @see #getDecimation()
+     */
+    public void setDecimation(Decimation value) {
+        if (value == null) {
+            throw new NullPointerException("decimation must not be null");
+        }
+        if (decimation != value) {
+            decimation = value;
+            fireInvalidation();
+        }
+    }
+
+    /**
+     * Returns how the points in the visible range are reduced before they are drawn.
+     *
+     * @return the decimation
+     * @see #setDecimation(Decimation)
+     */
+    public Decimation getDecimation() {
+        return decimation;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The listeners are notified whenever points are added or removed, or the
+     * decimation changes.
+     */
+    @Override
+    public void addListener(InvalidationListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("listener must not be null");
+        }
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].equals(listener)) {
+                InvalidationListener[] newListeners = new InvalidationListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns a string representation of this {@code PointBuffer} object.
+     * @return a string representation of this {@code PointBuffer} object.
+     */
+    @Override
+    public String toString() {
+        return "PointBuffer[size=" + size + ", decimation=" + decimation + "]";
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    private static void checkPoint(double x, double y, double lastX) {
+        if (!Double.isFinite(x)) {
+            throw new IllegalArgumentException("x must be finite: " + x);
+        }
+        if (x < lastX) {
+            throw new IllegalArgumentException("x must not be lower than the x of the last point: " + x + " < " + lastX);
+        }
+        if (Double.isInfinite(y)) {
+            throw new IllegalArgumentException("y must not be infinite: " + y);
+        }
+    }
+
+    private void ensureCapacity(int count) {
+        if (start + size + count <= xs.length) {
+            return;
+        }
+        if (size + count <= xs.length / 2 + xs.length / 4) {
+            // reuse the room that removeFirst left at the start
+            System.arraycopy(xs, start, xs, 0, size);
+            System.arraycopy(ys, start, ys, 0, size);
+        } else {
+            int capacity = Math.max(size + count, xs.length + (xs.length >> 1));
+            double[] newXs = new double[capacity];
+            double[] newYs = new double[capacity];
+            System.arraycopy(xs, start, newXs, 0, size);
+            System.arraycopy(ys, start, newYs, 0, size);
+            xs = newXs;
+            ys = newYs;
+        }
+        start = 0;
+    }
+
+    private void includeY(double y) {
+        if (yRangeValid && !Double.isNaN(y)) {
+            if (!(y >= minY)) {
+                minY = y;
+            }
+            if (!(y <= maxY)) {
+                maxY = y;
+            }
+        }
+    }
+
+    private void resetYRange() {
+        minY = Double.NaN;
+        maxY = Double.NaN;
+        yRangeValid = true;
+    }
+
+    private void updateYRange() {
+        if (!yRangeValid) {
+            minY = Double.NaN;
+            maxY = Double.NaN;
+            yRangeValid = true;
+            for (int i = start; i < start + size; i++) {
+                includeY(ys[i]);
+            }
+        }
+    }
+
+    private void fireInvalidation() {
+        for (InvalidationListener listener : listeners) {
+            listener.invalidated(this);
+        }
+    }
+
+    /* *************************************************************************
+     *                                                                         *
+     * Display                                                                 *
+     *                                                                         *
+     **************************************************************************/
+
+    /**
+     * The display positions of the points of a buffer that a chart draws,
+     * reused by a chart for each layout and series.
+     */
+    static final class Display {
+        double[] x = new double[256];
+        double[] y = new double[256];
+        int size;
+
+        // the display position of a value v is offset + v * scale
+        private double xOffset;
+        private double xScale;
+        private double yOffset;
+        private double yScale;
+
+        private final int[] range = new int[2];
+        private final BitSet cells = new BitSet();
+
+        /**
+         * Computes the transforms from the values to the display positions of
+         * the given axes, which are linear for value axes.
+         *
+         * @return false if the points cannot be drawn on the axes
+         */
+        boolean setAxes(Axis<?> xAxis, Axis<?> yAxis, double yMultiplier) {
+            if (!(xAxis instanceof ValueAxis<?> xa) || !(yAxis instanceof ValueAxis<?> ya)) {
+                return false;
+            }
+            double x0 = xa.getLowerBound();
+            double x1 = xa.getUpperBound();
+            double y0 = ya.getLowerBound();
+            double y1 = ya.getUpperBound();
+            if (!(x0 < x1) || !(y0 < y1)) {
+                return false;
+            }
+            double dx0 = displayPosition(xa, x0);
+            xScale = (displayPosition(xa, x1) - dx0) / (x1 - x0);
+            xOffset = dx0 - x0 * xScale;
+            double dy0 = displayPosition(ya, y0);
+            yScale = (displayPosition(ya, y1) - dy0) / (y1 - y0);
+            yOffset = dy0 - y0 * yScale;
+            yScale *= yMultiplier;
+            return Double.isFinite(xScale) && Double.isFinite(yScale) && xScale != 0;
+        }
+
+        private static <T extends Number> double displayPosition(ValueAxis<T> axis, double value) {
+            return axis.getDisplayPosition(axis.toRealValue(value));
+        }
+
+        double displayY(double value) {
+            return yOffset + value * yScale;
+        }
+
+        /**
+         * Computes the display positions of the points of the buffer that are
+         * drawn as a line on a plot area of the given width: the points in the
+         * visible range and the nearest point on either side of it, reduced as
+         * given by the decimation of the buffer.
+         */
+        void line(PointBuffer points, double width) {
+            size = 0;
+            int[] range = visibleRange(points, width);
+            int lo = range[0];
+            int hi = range[1];
+            switch (points.decimation) {
+                case NONE -> {
+                    for (int i = lo; i < hi; i++) {
+                        addPoint(points, i);
+                    }
+                }
+                case MIN_MAX -> minMax(points, lo, hi);
+                case LTTB -> lttb(points, lo, hi, Math.max(3, (int) Math.ceil(width) * 2));
+            }
+        }
+
+        /**
+         * Computes the display positions of the points of the buffer that are
+         * drawn as marks of the given size on a plot area of the given size:
+         * the first point in each cell of the size of a mark.
+         */
+        void marks(PointBuffer points, double width, double height, double markSize) {
+            size = 0;
+            int[] range = visibleRange(points, width);
+            double cellSize = Math.max(1, markSize);
+            int columns = (int) Math.ceil(width / cellSize) + 1;
+            int rows = (int) Math.ceil(height / cellSize) + 1;
+            cells.clear();
+            for (int i = range[0]; i < range[1]; i++) {
+                double py = displayY(points.ys[i]);
+                double px = xOffset + points.xs[i] * xScale;
+                int column = (int) Math.floor(px / cellSize);
+                int row = (int) Math.floor(py / cellSize);
+                if (column < 0 || column >= columns || row < 0 || row >= rows) {
+                    // outside the plot area, or a NaN y value
+                    continue;
+                }
+                int cell = row * columns + column;
+                if (!cells.get(cell)) {
+                    cells.set(cell);
+                    add(px, py);
+                }
+            }
+        }
+
+        // the indices in the array of the buffer of the visible points and
+        // the nearest point on either side of them
+        private int[] visibleRange(PointBuffer points, double width) {
+            double from = (0 - xOffset) / xScale;
+            double to = (width - xOffset) / xScale;
+            int lo = points.indexOfX(Math.min(from, to)) - 1;
+            int hi = points.indexOfX(Math.nextUp(Math.max(from, to))) + 1;
+            range[0] = points.start + Math.max(0, lo);
+            range[1] = points.start + Math.min(points.size, hi);
+            return range;
+        }
+
+        private void minMax(PointBuffer points, int lo, int hi) {
+            double[] xs = points.xs;
+            double[] ys = points.ys;
+            long column = Long.MIN_VALUE;
+            int first = -1, min = -1, max = -1, last = -1;
+            for (int i = lo; i < hi; i++) {
+                double value = ys[i];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                long c = (long) Math.floor(xOffset + xs[i] * xScale);
+                if (c != column || first < 0) {
+                    if (first >= 0) {
+                        addColumn(points, first, min, max, last);
+                    }
+                    column = c;
+                    first = min = max = last = i;
+                } else {
+                    last = i;
+                    if (value < ys[min]) {
+                        min = i;
+                    } else if (value > ys[max]) {
+                        max = i;
+                    }
+                }
+            }
+            if (first >= 0) {
+                addColumn(points, first, min, max, last);
+            }
+        }
+
+        private void addColumn(PointBuffer points, int first, int min, int max, int last) {
+            addPoint(points, first);
+            int low = Math.min(min, max);
+            int high = Math.max(min, max);
+            if (low != first && low != last) {
+                addPoint(points, low);
+            }
+            if (high != first && high != last && high != low) {
+                addPoint(points, high);
+            }
+            if (last != first) {
+                addPoint(points, last);
+            }
+        }
+
+        private void lttb(PointBuffer points, int lo, int hi, int threshold) {
+            double[] xs = points.xs;
+            double[] ys = points.ys;
+            // the triangles start at the first point that is drawn
+            while (lo < hi && Double.isNaN(ys[lo])) {
+                lo++;
+            }
+            int n = hi - lo;
+            if (n <= threshold) {
+                for (int i = lo; i < hi; i++) {
+                    addPoint(points, i);
+                }
+                return;
+            }
+            double every = (double) (n - 2) / (threshold - 2);
+            int a = lo;
+            addPoint(points, a);
+            for (int bucket = 0; bucket < threshold - 2; bucket++) {
+                // the average of the next bucket is the third point of the triangles
+                int nextFrom = lo + 1 + (int) ((bucket + 1) * every);
+                int nextTo = Math.min(lo + 1 + (int) ((bucket + 2) * every), hi);
+                double avgX = 0;
+                double avgY = 0;
+                int count = 0;
+                for (int i = nextFrom; i < nextTo; i++) {
+                    if (!Double.isNaN(ys[i])) {
+                        avgX += xs[i];
+                        avgY += ys[i];
+                        count++;
+                    }
+                }
+                if (count == 0) {
+                    avgX = xs[hi - 1];
+                    avgY = ys[hi - 1];
+                } else {
+                    avgX /= count;
+                    avgY /= count;
+                }
+                int from = lo + 1 + (int) (bucket * every);
+                int to = Math.min(lo + 1 + (int) ((bucket + 1) * every), hi - 1);
+                double ax = xs[a];
+                double ay = ys[a];
+                double maxArea = -1;
+                int next = -1;
+                for (int i = from; i < to; i++) {
+                    double area = Math.abs((ax - avgX) * (ys[i] - ay) - (ax - xs[i]) * (avgY - ay));
+                    if (area > maxArea) {
+                        // a NaN area of a NaN y value is never greater
+                        maxArea = area;
+                        next = i;
+                    }
+                }
+                if (next >= 0) {
+                    addPoint(points, next);
+                    a = next;
+                }
+            }
+            addPoint(points, hi - 1);
+        }
+
+        private void addPoint(PointBuffer points, int i) {
+            double value = points.ys[i];
+            if (!Double.isNaN(value)) {
+                add(xOffset + points.xs[i] * xScale, displayY(value));
+            }
+        }
+
+        private void add(double px, double py) {
+            if (size == x.length) {
+                x = Arrays.copyOf(x, size * 2);
+                y = Arrays.copyOf(y, size * 2);
+            }
+            x[size] = px;
+            y[size] = py;
+            size++;
+        }
+    }
+}
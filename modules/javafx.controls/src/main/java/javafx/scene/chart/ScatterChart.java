@@ -34,6 +34,11 @@ import javafx.collections.ObservableList;
 import javafx.scene.AccessibleRole;
 import javafx.scene.Node;
 import javafx.scene.layout.StackPane;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
 import javafx.util.Duration;
 
 import com.sun.javafx.charts.Legend.LegendItem;
@@ -49,8 +54,14 @@ import java.util.Iterator;
  */
 public class ScatterChart<X,Y> extends XYChart<X,Y> {
 
+    /** The size of the marks drawn for the points of a series with a point buffer */
+    private static final double POINT_MARK_SIZE = 3;
+
     private ParallelTransition parallelTransition;
 
+    /** The display positions of the points of a series with a point buffer, reused for each layout */
+    private final PointBuffer.Display pointDisplay = new PointBuffer.Display();
+
     // -------------- CONSTRUCTORS ----------------------------------------------
 
     /**
@@ -137,10 +148,40 @@ public class ScatterChart<X,Y> extends XYChart<X,Y> {
         for (int j=0; j<series.getData().size(); j++) {
             dataItemAdded(series,j,series.getData().get(j));
         }
+        updatePointsNode(series);
+    }
+
+    @Override void seriesPointsChanged(Series<X,Y> series) {
+        super.seriesPointsChanged(series);
+        updatePointsNode(series);
+    }
+
+    /**
+     * Creates the path that draws the points of the point buffer of the series, or removes it if the series no longer
+     * has a point buffer.
+     */
+    private void updatePointsNode(Series<X,Y> series) {
+        final Node node = series.getNode();
+        final boolean pointsNode = node != null && node.getStyleClass().contains("chart-scatter-points");
+        if (series.getPoints() != null && node == null) {
+            Path path = new Path();
+            path.getStyleClass().setAll("chart-scatter-points", "series" + getData().indexOf(series),
+                    series.defaultColorStyleClass);
+            series.setNode(path);
+            getPlotChildren().add(path);
+        } else if (series.getPoints() == null && pointsNode) {
+            getPlotChildren().remove(node);
+            series.setNode(null);
+        }
     }
 
     /** {@inheritDoc} */
     @Override protected  void seriesRemoved(final Series<X,Y> series) {
+        final Node node = series.getNode();
+        if (node != null && node.getStyleClass().contains("chart-scatter-points")) {
+            getPlotChildren().remove(node);
+            series.setNode(null);
+        }
         // remove all symbol nodes
         if (shouldAnimate()) {
             parallelTransition = new ParallelTransition();
@@ -173,6 +214,12 @@ public class ScatterChart<X,Y> extends XYChart<X,Y> {
         // update symbol positions
         for (int seriesIndex=0; seriesIndex < getDataSize(); seriesIndex++) {
             Series<X,Y> series = getData().get(seriesIndex);
+            if (series.getPoints() != null) {
+                if (series.getNode() instanceof Path path) {
+                    layoutPoints(series.getPoints(), path);
+                }
+                continue;
+            }
             for (Iterator<Data<X, Y>> it = getDisplayedDataIterator(series); it.hasNext(); ) {
                 Data<X, Y> item = it.next();
                 double x = getXAxis().getDisplayPosition(item.getCurrentX());
@@ -211,4 +258,30 @@ public class ScatterChart<X,Y> extends XYChart<X,Y> {
             removeSeriesFromDisplay(series);
         }
     }
+
+    /**
+     * Sets the elements of the path to a square mark for each point of the point buffer, leaving out points that fall
+     * on a mark that is already drawn.
+     */
+    private void layoutPoints(PointBuffer points, Path path) {
+        final Axis<X> xa = getXAxis();
+        final Axis<Y> ya = getYAxis();
+        if (pointDisplay.setAxes(xa, ya, 1.0)) {
+            pointDisplay.marks(points, xa.getWidth(), ya.getHeight(), POINT_MARK_SIZE);
+        } else {
+            pointDisplay.size = 0;
+        }
+        final double h = POINT_MARK_SIZE / 2;
+        final PathElement[] elements = new PathElement[pointDisplay.size * 5];
+        for (int i = 0, e = 0; i < pointDisplay.size; i++) {
+            final double x = pointDisplay.x[i];
+            final double y = pointDisplay.y[i];
+            elements[e++] = new MoveTo(x - h, y - h);
+            elements[e++] = new LineTo(x + h, y - h);
+            elements[e++] = new LineTo(x + h, y + h);
+            elements[e++] = new LineTo(x - h, y + h);
+            elements[e++] = new ClosePath();
+        }
+        path.getElements().setAll(elements);
+    }
 }
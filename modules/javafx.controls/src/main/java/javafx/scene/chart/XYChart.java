@@ -43,6 +43,7 @@ import com.sun.javafx.scene.control.skin.resources.ControlResources;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
+import javafx.beans.InvalidationListener;
 import javafx.beans.binding.StringBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
@@ -565,10 +566,7 @@ public abstract class XYChart<X,Y> extends Chart {
         if (currentValueProperty.get() != newValue) invalidateRange();
         dataItemChanged(item);
         if (shouldAnimate()) {
-            animate(
-                    new KeyFrame(Duration.ZERO, new KeyValue(currentValueProperty, currentValueProperty.get())),
-                    new KeyFrame(Duration.millis(700), new KeyValue(currentValueProperty, newValue, Interpolator.EASE_BOTH))
-            );
+            animate(currentValueProperty, newValue, 700, Interpolator.EASE_BOTH);
         } else {
             currentValueProperty.set(newValue);
             requestChartLayout();
@@ -673,6 +671,40 @@ public abstract class XYChart<X,Y> extends Chart {
      */
     protected void seriesChanged(Change<? extends Series> c) {}
 
+    /**
+     * Called when the point buffer of a series is set or its points change.
+     */
+    void seriesPointsChanged(Series<X,Y> series) {
+        invalidateRange();
+        requestChartLayout();
+    }
+
+    /**
+     * Adds the data that the axes have to plot for the given series to the lists, which are null for axes that are
+     * not auto ranging: the lowest and highest values of the point buffer of the series if it has one, or the values of
+     * its data items.
+     */
+    void addAxisRangeData(Series<X,Y> series, List<X> xData, List<Y> yData) {
+        final PointBuffer points = series.getPoints();
+        if (points != null) {
+            if (points.size() > 0) {
+                if (xData != null) {
+                    xData.add(getXAxis().toRealValue(points.getMinX()));
+                    xData.add(getXAxis().toRealValue(points.getMaxX()));
+                }
+                if (yData != null && !Double.isNaN(points.getMinY())) {
+                    yData.add(getYAxis().toRealValue(points.getMinY()));
+                    yData.add(getYAxis().toRealValue(points.getMaxY()));
+                }
+            }
+        } else {
+            for (Data<X,Y> data : series.getData()) {
+                if (xData != null) xData.add(data.getXValue());
+                if (yData != null) yData.add(data.getYValue());
+            }
+        }
+    }
+
     /**
      * This is called when a data change has happened that may cause the range to be invalid.
      */
@@ -694,10 +726,7 @@ public abstract class XYChart<X,Y> extends Chart {
         if(ya.isAutoRanging()) yData = new ArrayList<>();
         if(xData != null || yData != null) {
             for(Series<X,Y> series : getData()) {
-                for(Data<X,Y> data: series.getData()) {
-                    if(xData != null) xData.add(data.getXValue());
-                    if(yData != null) yData.add(data.getYValue());
-                }
+                addAxisRangeData(series, xData, yData);
             }
             if(xData != null) xa.invalidateRange(xData);
             if(yData != null) ya.invalidateRange(yData);
@@ -1620,6 +1649,42 @@ public abstract class XYChart<X,Y> extends Chart {
         public final void setNode(Node value) { node.set(value); }
         public final ObjectProperty<Node> nodeProperty() { return node; }
 
+        private final InvalidationListener pointsListener = o -> pointsChanged();
+
+        /**
+         * A buffer of points to draw for this series instead of its data items. {@link LineChart},
+         * {@link AreaChart} and {@link ScatterChart} draw the points of the buffer, decimated to the pixels of the
+         * plot area, as a single path, which makes series of millions of points, or streaming series that are
+         * appended to many times a second, practical. The data items of a series with a point buffer are not drawn,
+         * and should be left empty. Other charts ignore the point buffer.
+         *
+         * @defaultValue null
+         * @since 24
+         */
+        private final ObjectProperty<PointBuffer> points = new ObjectPropertyBase<>() {
+            private PointBuffer old;
+            @Override protected void invalidated() {
+                final PointBuffer current = get();
+                if (old != null) old.removeListener(pointsListener);
+                if (current != null) current.addListener(pointsListener);
+                old = current;
+                pointsChanged();
+            }
+
+            @Override
+            public Object getBean() {
+                return Series.this;
+            }
+
+            @Override
+            public String getName() {
+                return "points";
+            }
+        };
+        public final PointBuffer getPoints() { return points.get(); }
+        public final void setPoints(PointBuffer value) { points.set(value); }
+        public final ObjectProperty<PointBuffer> pointsProperty() { return points; }
+
         /** ObservableList of data items that make up this series */
         private final ObjectProperty<ObservableList<Data<X,Y>>> data = new ObjectPropertyBase<>() {
             private ObservableList<Data<X,Y>> old;
@@ -1730,6 +1795,11 @@ public abstract class XYChart<X,Y> extends Chart {
         int getDataSize() {
             return displayedData.size();
         }
+
+        private void pointsChanged() {
+            final XYChart<X,Y> chart = getChart();
+            if (chart != null) chart.seriesPointsChanged(this);
+        }
     }
 
 }
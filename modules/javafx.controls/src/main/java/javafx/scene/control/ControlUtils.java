@@ -208,7 +208,6 @@ class ControlUtils {
             }
         }
         c.reset();
-        sm.selectedIndices.reset();
 
         if (sm.isAtomic()) {
             return;
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.util.Callback;
+
+/**
+ * The children list installed by {@link TreeItem#setLazyChildren} and
+ * {@link TreeItem#setLazyChildrenTask}. Its size is known up front, and its
+ * children are loaded in pages when they are first accessed, which happens
+ * when a TreeView or TreeTableView shows their rows. Until a page is loaded,
+ * its children are represented by placeholder TreeItems, which are created
+ * when they are accessed and are replaced by the loaded children, in place,
+ * in a single change.
+ * <p>
+ * The list can not be modified other than by loading pages.
+ */
+final class LazyChildrenList<T> extends ObservableListBase<TreeItem<T>> {
+
+    private static ExecutorService executor;
+
+    private final TreeItem<T> owner;
+    private final int pageSize;
+    private final Callback<IndexRange, List<TreeItem<T>>> pageLoader;
+    private final Callback<IndexRange, Task<? extends List<TreeItem<T>>>> taskLoader;
+
+    // the loaded children and placeholders, null until first accessed
+    private final TreeItem<T>[] items;
+    private final BitSet requestedPages = new BitSet();
+
+    LazyChildrenList(TreeItem<T> owner, int childCount, int pageSize,
+                     Callback<IndexRange, List<TreeItem<T>>> pageLoader,
+                     Callback<IndexRange, Task<? extends List<TreeItem<T>>>> taskLoader) {
+        if (childCount < 0) {
+            throw new IllegalArgumentException("childCount must not be negative: " + childCount);
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.owner = owner;
+        this.pageSize = pageSize;
+        this.pageLoader = pageLoader;
+        this.taskLoader = taskLoader;
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        TreeItem<T>[] array = new TreeItem[childCount];
+        this.items = array;
+    }
+
+    @Override
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Returns the child at the given index, or a placeholder for it if its
+     * page is not loaded yet, in which case the page is requested.
+     */
+    @Override
+    public TreeItem<T> get(int index) {
+        Objects.checkIndex(index, items.length);
+        TreeItem<T> item = items[index];
+        if (item == null) {
+            item = TreeItem.createPlaceholder(owner, index);
+            items[index] = item;
+        }
+        if (item.isPlaceholder()) {
+            requestPage(index / pageSize);
+            // the page may have been loaded right away
+            item = items[index];
+        }
+        return item;
+    }
+
+    /**
+     * Returns the child or placeholder at the given index, or null if it was
+     * never accessed, without requesting its page.
+     */
+    TreeItem<T> peek(int index) {
+        return items[index];
+    }
+
+    boolean isLoaded(int index) {
+        TreeItem<T> item = items[index];
+        return item != null && !item.isPlaceholder();
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof TreeItem<?> item)) return -1;
+        int hint = item.indexInParent;
+        if (hint >= 0 && hint < items.length && items[hint] == item) {
+            return hint;
+        }
+        // children that were never accessed are not in the list yet
+        for (int i = 0; i < items.length; i++) {
+            if (items[i] == item) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    private void requestPage(int page) {
+        if (requestedPages.get(page)) return;
+        requestedPages.set(page);
+
+        final int from = page * pageSize;
+        final IndexRange range = new IndexRange(from, Math.min(items.length, from + pageSize));
+        if (taskLoader != null) {
+            Task<? extends List<TreeItem<T>>> task = taskLoader.call(range);
+            if (task == null) {
+                requestedPages.clear(page);
+                return;
+            }
+            task.stateProperty().addListener((ov, oldState, state) -> {
+                if (state == Worker.State.SUCCEEDED) {
+                    pageLoaded(page, range, task.getValue());
+                } else if (state == Worker.State.FAILED || state == Worker.State.CANCELLED) {
+                    // let the page be requested again the next time it is accessed
+                    requestedPages.clear(page);
+                }
+            });
+            if (task.getState() == Worker.State.READY) {
+                getExecutor().execute(task);
+            }
+        } else {
+            // the children are loaded on the FX thread, but not while the
+            // TreeView is looking up its rows
+            Platform.runLater(() -> pageLoaded(page, range, pageLoader.call(range)));
+        }
+    }
+
+    private void pageLoaded(int page, IndexRange range, List<? extends TreeItem<T>> children) {
+        if (owner.children != this) {
+            // the children were replaced in the meantime
+            return;
+        }
+        if (children == null || children.size() != range.getLength() || children.contains(null)) {
+            requestedPages.clear(page);
+            throw new IllegalStateException("The page loader returned "
+                    + (children == null ? "null" : children.size() + " children, or null children,")
+                    + " for the children " + range.getStart() + " to " + range.getEnd());
+        }
+
+        beginChange();
+        for (int i = range.getStart(); i < range.getEnd(); i++) {
+            TreeItem<T> placeholder = items[i];
+            if (placeholder == null) {
+                placeholder = TreeItem.createPlaceholder(owner, i);
+            } else if (!placeholder.isPlaceholder()) {
+                continue;
+            }
+            items[i] = children.get(i - range.getStart());
+            nextSet(i, placeholder);
+        }
+        endChange();
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "TreeItem Children Loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
@@ -29,8 +29,6 @@ import com.sun.javafx.collections.NonIterableChange;
 import static javafx.scene.control.SelectionMode.SINGLE;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import com.sun.javafx.scene.control.MultipleAdditionAndRemovedChange;
 import com.sun.javafx.scene.control.ReadOnlyUnbackedObservableList;
@@ -197,31 +195,22 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
     }
 
     void shiftSelection(List<Pair<Integer, Integer>> shifts, final Callback<ShiftParams, Void> callback) {
-        int selectedIndicesCardinality = selectedIndices.size(); // number of true bits
-        if (selectedIndicesCardinality == 0) return;
-
-        int selectedIndicesSize = selectedIndices.bitsetSize();   // number of bits reserved
-
-        int[] perm = new int[selectedIndicesSize];
-        Arrays.fill(perm, -1);
+        if (selectedIndices.isEmpty()) return;
 
         // sort the list so that we iterate from highest position to lowest position
         Collections.sort(shifts, (s1, s2) -> Integer.compare(s2.getKey(), s1.getKey()));
         final int lowestShiftPosition = shifts.get(shifts.size() - 1).getKey();
 
         // make a copy of the selectedIndices before so we can compare to it afterwards
-        BitSet selectedIndicesCopy = (BitSet) selectedIndices.bitset.clone();
+        SelectedIndexRanges selectedIndicesCopy = new SelectedIndexRanges(selectedIndices.ranges);
 
+        boolean hasSelectionChanged = false;
         startAtomic();
         for (Pair<Integer, Integer> shift : shifts) {
-            doShift(shift, callback, perm);
+            hasSelectionChanged |= doShift(shift, callback);
         }
         stopAtomic();
 
-        // strip out all useless -1 default values from the perm array
-        final int[] prunedPerm = Arrays.stream(perm).filter(value -> value > -1).toArray();
-        final boolean hasSelectionChanged = prunedPerm.length > 0;
-
         // This ensure that the selection remains accurate when a shift occurs.
         final int selectedIndex = getSelectedIndex();
         if (selectedIndex >= lowestShiftPosition && selectedIndex > -1) {
@@ -256,67 +245,56 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
 
         if (hasSelectionChanged) {
             // work out what indices were removed and added
-            BitSet removed = (BitSet) selectedIndicesCopy.clone();
-            removed.andNot(selectedIndices.bitset);
+            SelectedIndexRanges removed = selectedIndicesCopy.removeAll(selectedIndices.ranges);
+            SelectedIndexRanges added = selectedIndices.ranges.removeAll(selectedIndicesCopy);
 
-            BitSet added = (BitSet) selectedIndices.bitset.clone();
-            added.andNot(selectedIndicesCopy);
-
-            selectedIndices.reset();
             selectedIndices.callObservers(new MultipleAdditionAndRemovedChange<>(
-                    added.stream().boxed().collect(Collectors.toList()),
-                    removed.stream().boxed().collect(Collectors.toList()),
+                    added.toList(),
+                    removed.toList(),
                     selectedIndices
             ));
         }
     }
 
-    private void doShift(Pair<Integer, Integer> shiftPair, final Callback<ShiftParams, Void> callback, int[] perm) {
+    // returns whether any selected index was moved
+    private boolean doShift(Pair<Integer, Integer> shiftPair, final Callback<ShiftParams, Void> callback) {
         final int position = shiftPair.getKey();
         final int shift = shiftPair.getValue();
 
         // with no check here, we get RT-15024
-        if (position < 0) return;
-        if (shift == 0) return;
+        if (position < 0) return false;
+        if (shift == 0) return false;
+
+        final boolean moved = selectedIndices.ranges.nextIndex(shift > 0 ? position : position - shift) >= 0;
 
-        int idx = (int) Arrays.stream(perm).filter(value -> value > -1).count();
+        if (callback == null) {
+            // move the selected ranges as a whole, rather than index by index.
+            // The item count is only needed (and computed) when something moves.
+            if (moved) {
+                selectedIndices.ranges.shift(position, shift, getItemCount());
+            } else if (shift < 0) {
+                selectedIndices.ranges.remove(position, position - shift);
+            }
+            return moved;
+        }
 
-        int selectedIndicesSize = selectedIndices.bitsetSize() - idx;   // number of bits reserved
+        final int selectedIndicesLength = selectedIndices.ranges.length();
 
         if (shift > 0) {
-            for (int i = selectedIndicesSize - 1; i >= position && i >= 0; i--) {
+            for (int i = selectedIndicesLength - 1; i >= position && i >= 0; i--) {
                 boolean selected = selectedIndices.isSelected(i);
-
-                if (callback == null) {
-                    selectedIndices.clear(i);
-                    selectedIndices.set(i + shift, selected);
-                } else {
-                    callback.call(new ShiftParams(i, i + shift, selected));
-                }
-
-                if (selected) {
-                    perm[idx++] = i + 1;
-                }
+                callback.call(new ShiftParams(i, i + shift, selected));
             }
             selectedIndices.clear(position);
         } else if (shift < 0) {
-            for (int i = position; i < selectedIndicesSize; i++) {
+            for (int i = position; i < selectedIndicesLength - shift; i++) {
                 if ((i + shift) < 0) continue;
                 if ((i + 1 + shift) < position) continue;
                 boolean selected = selectedIndices.isSelected(i + 1);
-
-                if (callback == null) {
-                    selectedIndices.clear(i + 1);
-                    selectedIndices.set(i + 1 + shift, selected);
-                } else {
-                    callback.call(new ShiftParams(i + 1, i + 1 + shift, selected));
-                }
-
-                if (selected) {
-                    perm[idx++] = i;
-                }
+                callback.call(new ShiftParams(i + 1, i + 1 + shift, selected));
             }
         }
+        return moved;
     }
 
     void startAtomic() {
@@ -352,9 +330,8 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
         // firstly we make a copy of the selection, so that we can send out
         // the correct details in the selection change event.
         // We remove the new selection from the list seeing as it is not removed.
-        BitSet selectedIndicesCopy = new BitSet();
-        selectedIndicesCopy.or(selectedIndices.bitset);
-        selectedIndicesCopy.clear(row);
+        SelectedIndexRanges selectedIndicesCopy = new SelectedIndexRanges(selectedIndices.ranges);
+        selectedIndicesCopy.remove(row, row + 1);
         // No modifications should be made to 'selectedIndicesCopy' to honour the constructor.
         List<Integer> previousSelectedIndices = new SelectedIndicesList(selectedIndicesCopy);
 
@@ -501,14 +478,16 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
         } else {
             selectedIndices.set(row, rows);
 
-            IntStream.concat(IntStream.of(row), IntStream.of(rows))
-                     .filter(index -> index >= 0 && index < rowCount)
-                     .reduce((first, second) -> second)
-                     .ifPresent(lastIndex -> {
-                         setSelectedIndex(lastIndex);
-                         focus(lastIndex);
-                         setSelectedItem(getModelItem(lastIndex));
-                     });
+            // the last valid index becomes the selected index
+            for (int i = rows.length - 1; i >= -1; i--) {
+                int lastIndex = i < 0 ? row : rows[i];
+                if (lastIndex >= 0 && lastIndex < rowCount) {
+                    setSelectedIndex(lastIndex);
+                    focus(lastIndex);
+                    setSelectedItem(getModelItem(lastIndex));
+                    break;
+                }
+            }
         }
     }
 
@@ -582,17 +561,11 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
 
     @Override public boolean isSelected(int index) {
         // Note the change in semantics here - we used to check to ensure that
-        // the index is less than the item count, but now simply ensure that
-        // it is less than the length of the selectedIndices bitset. This helps
-        // to resolve issues such as RT-26721, where isSelected(int) was being
-        // called for indices that exceeded the item count, as a TreeItem (e.g.
-        // the root) was being collapsed.
-//        if (index >= 0 && index < getItemCount()) {
-        if (index >= 0 && index < selectedIndices.bitsetSize()) {
-            return selectedIndices.isSelected(index);
-        }
-
-        return false;
+        // the index is less than the item count, but now simply look it up in
+        // the selected indices. This helps to resolve issues such as RT-26721,
+        // where isSelected(int) was being called for indices that exceeded the
+        // item count, as a TreeItem (e.g. the root) was being collapsed.
+        return selectedIndices.isSelected(index);
     }
 
     @Override public boolean isEmpty() {
@@ -636,15 +609,14 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
      **********************************************************************/
 
     class SelectedIndicesList extends ReadOnlyUnbackedObservableList<Integer> {
-        private final BitSet bitset;
-
-        private int size = -1;
-        private int lastGetIndex = -1;
-        private int lastGetValue = -1;
+        final SelectedIndexRanges ranges;
 
         // Fix for RT-20945 (and numerous other issues!)
         private int atomicityCount = 0;
 
+        // the number of changes begun and not yet ended
+        private int changeDepth = 0;
+
 //        @Override
 //        public void callObservers(Change<Integer> c) {
 //            throw new RuntimeException("callObservers unavailable");
@@ -654,16 +626,16 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
          * Constructs a new instance of SelectedIndicesList
          */
         public SelectedIndicesList() {
-            this(new BitSet());
+            this(new SelectedIndexRanges());
         }
 
         /**
-         * Constructs a new instance of SelectedIndicesList from the provided BitSet.
-         * The underlying source BitSet shouldn't be modified once it has been passed to the constructor.
-         * @param bitset Bitset to be used.
+         * Constructs a new instance of SelectedIndicesList from the provided ranges.
+         * The underlying ranges shouldn't be modified once they have been passed to the constructor.
+         * @param ranges the selected indices to be used.
          */
-        public SelectedIndicesList(BitSet bitset) {
-            this.bitset = bitset;
+        SelectedIndicesList(SelectedIndexRanges ranges) {
+            this.ranges = ranges;
         }
 
         boolean isAtomic() {
@@ -683,31 +655,7 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
             if (index < 0 || index >= itemCount)  {
                 throw new IndexOutOfBoundsException(index + " >= " + itemCount);
             }
-            if (lastGetIndex == index) {
-                return lastGetValue;
-            } else if (index == (lastGetIndex + 1) && lastGetValue < itemCount) {
-                // we're iterating forward in order, short circuit for
-                // performance reasons (RT-39776)
-                lastGetIndex++;
-                lastGetValue = bitset.nextSetBit(lastGetValue + 1);
-                return lastGetValue;
-            } else if (index == (lastGetIndex - 1) && lastGetValue > 0) {
-                // we're iterating backward in order, short circuit for
-                // performance reasons (RT-39776)
-                lastGetIndex--;
-                lastGetValue = bitset.previousSetBit(lastGetValue - 1);
-                return lastGetValue;
-            } else {
-                for (lastGetIndex = 0, lastGetValue = bitset.nextSetBit(0);
-                     lastGetValue >= 0 || lastGetIndex == index;
-                     lastGetIndex++, lastGetValue = bitset.nextSetBit(lastGetValue + 1)) {
-                    if (lastGetIndex == index) {
-                        return lastGetValue;
-                    }
-                }
-            }
-
-            return -1;
+            return ranges.get(index);
         }
 
         public void set(int index) {
@@ -716,10 +664,8 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
             }
 
             _beginChange();
-            size = -1;
-            bitset.set(index);
-            if (index <= lastGetValue) reset();
-            int indicesIndex = indexOf(index);
+            ranges.add(index, index + 1);
+            int indicesIndex = ranges.rank(index);
             _nextAdd(indicesIndex, indicesIndex + 1);
             _endChange();
         }
@@ -737,20 +683,27 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
         }
 
         public void set(int index, int end, boolean isSet) {
-            _beginChange();
-            size = -1;
+            if (index >= end) {
+                return;
+            }
+            SelectedIndexRanges span = new SelectedIndexRanges();
+            span.add(index, end);
+
             if (isSet) {
-                bitset.set(index, end, isSet);
-                if (index <= lastGetValue) reset();
-                int indicesIndex = indexOf(index);
-                int span = end - index;
-                _nextAdd(indicesIndex, indicesIndex + span);
+                set(span);
             } else {
-                // TODO handle remove
-                bitset.set(index, end, isSet);
-                if (index <= lastGetValue) reset();
+                // every run of indices that were selected is one removal
+                SelectedIndexRanges removed = span.removeAll(span.removeAll(ranges));
+                int indicesIndex = ranges.rank(index);
+                _beginChange();
+                ranges.remove(index, end);
+                for (int i = 0; i < removed.rangeCount(); i++) {
+                    SelectedIndexRanges run = new SelectedIndexRanges();
+                    run.add(removed.rangeStart(i), removed.rangeEnd(i));
+                    _nextRemove(indicesIndex, run.toList());
+                }
+                _endChange();
             }
-            _endChange();
         }
 
         public void set(int index, int... indices) {
@@ -760,99 +713,105 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
                 // we reduce down to the minimal number of changes possible
                 // by finding all contiguous indices, of all indices that are
                 // not already selected, and which are in the valid range
-                startAtomic();
-
-                List<Integer> sortedNewIndices = new ArrayList<>(indices.length + 1);
-                IntStream.concat(IntStream.of(index), IntStream.of(indices))
-                        .distinct()
-                        .filter(this::isValidIndex)
-                        .filter(this::isNotSelected)
-                        .sorted()
-                        .forEach(i -> {
-                            sortedNewIndices.add(i);
-                            set(i);
-                        });
-
-                stopAtomic();
-
-                final int size = sortedNewIndices.size();
-                if (size == 0) {
-                    // no-op
-                } else if (size == 1) {
-                    _beginChange();
-                    int _index = sortedNewIndices.get(0);
-                    int indicesIndex = indexOf(_index);
-                    _nextAdd(indicesIndex, indicesIndex + 1);
-                    _endChange();
-                } else {
-                    _beginChange();
-
-                    int startIndex = indexOf(sortedNewIndices.get(0));
-                    int endIndex = startIndex + 1;
-
-                    for (int i = 1; i < sortedNewIndices.size(); ++i) {
-                        int currentValue = get(endIndex);
-                        int currentNewValue = sortedNewIndices.get(i);
-                        if (currentValue != currentNewValue) {
-                            _nextAdd(startIndex, endIndex);
-                            while (get(endIndex) != currentNewValue) ++endIndex;
-                            startIndex = endIndex++;
-                        } else {
-                            ++endIndex;
-                        }
-                        if (i == sortedNewIndices.size() - 1) {
-                            _nextAdd(startIndex, endIndex);
-                        }
+                int[] sortedIndices = new int[indices.length + 1];
+                sortedIndices[0] = index;
+                System.arraycopy(indices, 0, sortedIndices, 1, indices.length);
+                sort(sortedIndices);
+
+                final int itemCount = getItemCount();
+                SelectedIndexRanges span = new SelectedIndexRanges();
+                for (int i = 0; i < sortedIndices.length;) {
+                    int from = sortedIndices[i++];
+                    int to = from + 1;
+                    while (i < sortedIndices.length && sortedIndices[i] <= to) {
+                        to = sortedIndices[i++] + 1;
                     }
+                    span.add(Math.max(0, from), Math.min(to, itemCount));
+                }
+                set(span);
+            }
+        }
 
-                    _endChange();
+        // selects the given indices, where every run of indices that were not
+        // selected yet is one addition
+        private void set(SelectedIndexRanges indices) {
+            SelectedIndexRanges added = indices.removeAll(ranges);
+            if (added.isEmpty()) {
+                return;
+            }
+            _beginChange();
+            for (int i = 0; i < added.rangeCount(); i++) {
+                ranges.add(added.rangeStart(i), added.rangeEnd(i));
+            }
+            for (int i = 0; i < added.rangeCount(); i++) {
+                int indicesIndex = ranges.rank(added.rangeStart(i));
+                _nextAdd(indicesIndex, indicesIndex + added.rangeEnd(i) - added.rangeStart(i));
+            }
+            _endChange();
+        }
+
+        // selectRange(..) passes its indices in ascending or descending order,
+        // which doesn't need a full sort
+        private static void sort(int[] indices) {
+            boolean ascending = true;
+            boolean descending = true;
+            for (int i = 1; i < indices.length && (ascending || descending); i++) {
+                ascending &= indices[i - 1] <= indices[i];
+                descending &= indices[i - 1] >= indices[i];
+            }
+            if (ascending) {
+                return;
+            }
+            if (descending) {
+                for (int i = 0, j = indices.length - 1; i < j; i++, j--) {
+                    int index = indices[i];
+                    indices[i] = indices[j];
+                    indices[j] = index;
                 }
+            } else {
+                Arrays.sort(indices);
             }
         }
 
         @Override
         public void clear() {
-            _beginChange();
-            List<Integer> removed = bitset.stream().boxed().collect(Collectors.toList());
-            size = 0;
-            bitset.clear();
-            reset();
-            _nextRemove(0, removed);
-            _endChange();
+            if (ranges.isEmpty()) {
+                return;
+            }
+            List<Integer> removed = ranges.toList();
+            ranges.clear();
+            if (changeDepth == 0 && !isAtomic()) {
+                // report the removal directly, rather than copying each of
+                // the removed indices into the change being built
+                callObservers(new NonIterableChange.GenericAddRemoveChange<>(0, 0, removed, this));
+            } else {
+                _beginChange();
+                _nextRemove(0, removed);
+                _endChange();
+            }
         }
 
         public void clear(int index) {
-            if (!bitset.get(index)) return;
+            if (!isSelected(index)) return;
 
-            int indicesIndex = indexOf(index);
+            int indicesIndex = ranges.rank(index);
             _beginChange();
-            size = -1;
-            bitset.clear(index);
-            if (index <= lastGetValue) reset();
+            ranges.remove(index, index + 1);
             _nextRemove(indicesIndex, index);
             _endChange();
         }
 
         public boolean isSelected(int index) {
-            return bitset.get(index);
+            return index >= 0 && ranges.contains(index);
         }
 
         public boolean isNotSelected(int index) {
             return !isSelected(index);
         }
 
-        /** Returns number of true bits in BitSet */
+        /** Returns the number of selected indices */
         @Override public int size() {
-            if (size >= 0) {
-                return size;
-            }
-            size = bitset.cardinality();
-            return size;
-        }
-
-        /** Returns the number of bits reserved in the BitSet */
-        public int bitsetSize() {
-            return bitset.size();
+            return ranges.size();
         }
 
         @Override public int indexOf(Object obj) {
@@ -861,62 +820,31 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
             }
             Number n = (Number) obj;
             int index = n.intValue();
-            if (!bitset.get(index)) {
+            if (!isSelected(index)) {
                 return -1;
             }
-
-            // is left most bit
-            if (index == 0) {
-                return 0;
-            }
-
-            // is right most bit
-            if (index == bitset.length() - 1) {
-                return size() - 1;
-            }
-
-            // count right bit
-            if (index > bitset.length() / 2) {
-                int count = 1;
-                for (int i = bitset.nextSetBit(index+1); i >= 0; i = bitset.nextSetBit(i+1)) {
-                    count++;
-                }
-                return size() - count;
-            }
-
-            // count left bit
-            int count = 0;
-            for (int i = bitset.previousSetBit(index-1);  i >= 0; i = bitset.previousSetBit(i-1)) {
-                count++;
-            }
-            return count;
+            return ranges.rank(index);
         }
 
         @Override public boolean contains(Object o) {
             if (o instanceof Number) {
                 Number n = (Number) o;
-                int index = n.intValue();
-
-                return index >= 0 && index < bitset.length() &&
-                        bitset.get(index);
+                return isSelected(n.intValue());
             }
 
             return false;
         }
 
-        public void reset() {
-            this.lastGetIndex = -1;
-            this.lastGetValue = -1;
-        }
-
         @Override public void _beginChange() {
             if (!isAtomic()) {
+                changeDepth++;
                 super._beginChange();
             }
         }
 
         @Override public void _endChange() {
             if (!isAtomic()) {
+                changeDepth = Math.max(0, changeDepth - 1);
                 super._endChange();
             }
         }
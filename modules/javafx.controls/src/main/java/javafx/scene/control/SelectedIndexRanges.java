@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package javafx.scene.control;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A set of non-negative indices, stored as sorted, disjoint and non-adjacent
+ * ranges. It is the storage of the selected indices of
+ * {@link MultipleSelectionModelBase}: selecting all of millions of rows, or
+ * a range of them, takes a single range, and looking up an index, or the
+ * index at a position in the selection, takes a binary search.
+ */
+final class SelectedIndexRanges {
+
+    private int[] starts;
+    private int[] ends;     // exclusive
+    private int count;
+    private int size;
+
+    // the number of indices in the ranges before each range, which is
+    // only valid for the first validBefore ranges
+    private int[] before;
+    private int validBefore;
+
+    SelectedIndexRanges() {
+        starts = new int[8];
+        ends = new int[8];
+        before = new int[8];
+    }
+
+    SelectedIndexRanges(SelectedIndexRanges other) {
+        starts = Arrays.copyOf(other.starts, Math.max(8, other.count));
+        ends = Arrays.copyOf(other.ends, starts.length);
+        before = new int[starts.length];
+        count = other.count;
+        size = other.size;
+    }
+
+    /** Returns the number of indices in this set. */
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int rangeCount() {
+        return count;
+    }
+
+    int rangeStart(int range) {
+        return starts[range];
+    }
+
+    int rangeEnd(int range) {
+        return ends[range];
+    }
+
+    /** Returns the highest index in this set plus one, or 0 if it is empty. */
+    int length() {
+        return count == 0 ? 0 : ends[count - 1];
+    }
+
+    boolean contains(int index) {
+        int range = rangeAfter(index);
+        return range < count && starts[range] <= index;
+    }
+
+    /** Returns the lowest index in this set that is not lower than the given index, or -1. */
+    int nextIndex(int index) {
+        int range = rangeAfter(index);
+        return range < count ? Math.max(index, starts[range]) : -1;
+    }
+
+    /** Returns the number of indices in this set that are lower than the given index. */
+    int rank(int index) {
+        int range = rangeAfter(index);
+        int rank = before(range);
+        if (range < count && starts[range] < index) {
+            rank += index - starts[range];
+        }
+        return rank;
+    }
+
+    /** Returns the index at the given position in this set, in ascending order. */
+    int get(int position) {
+        Objects.checkIndex(position, size);
+        updateBefore(count);
+        int lo = 0;
+        int hi = count - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (before[mid] <= position) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return starts[lo] + position - before[lo];
+    }
+
+    /** Adds the indices from {@code from} to {@code to}, and returns how many were added. */
+    int add(int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        // the ranges that overlap or touch the new range are merged into it
+        int first = firstEndAtLeast(from);
+        int last = firstStartAbove(to);
+        int start = from;
+        int end = to;
+        int merged = 0;
+        if (first < last) {
+            start = Math.min(from, starts[first]);
+            end = Math.max(to, ends[last - 1]);
+            for (int i = first; i < last; i++) {
+                merged += ends[i] - starts[i];
+            }
+        }
+        replace(first, last, 1);
+        starts[first] = start;
+        ends[first] = end;
+        int added = end - start - merged;
+        size += added;
+        return added;
+    }
+
+    /** Removes the indices from {@code from} to {@code to}, and returns how many were removed. */
+    int remove(int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int first = rangeAfter(from);
+        int last = firstStartAtLeast(to);
+        if (first >= last) {
+            return 0;
+        }
+        int removed = 0;
+        for (int i = first; i < last; i++) {
+            removed += Math.min(to, ends[i]) - Math.max(from, starts[i]);
+        }
+        int headStart = starts[first];
+        int tailEnd = ends[last - 1];
+        boolean head = headStart < from;
+        boolean tail = tailEnd > to;
+        replace(first, last, (head ? 1 : 0) + (tail ? 1 : 0));
+        int i = first;
+        if (head) {
+            starts[i] = headStart;
+            ends[i++] = from;
+        }
+        if (tail) {
+            starts[i] = to;
+            ends[i] = tailEnd;
+        }
+        size -= removed;
+        return removed;
+    }
+
+    void clear() {
+        count = 0;
+        size = 0;
+        validBefore = 0;
+    }
+
+    /**
+     * Moves the indices at and after {@code position} by {@code shift}, as
+     * when items are added to or removed from the model at that position.
+     * Indices that move below {@code position}, or to {@code limit} or above,
+     * are removed.
+     *
+     * @return whether any index was moved
+     */
+    boolean shift(int position, int shift, int limit) {
+        if (shift < 0) {
+            remove(position, position - shift);
+        } else {
+            // split the range that spans the position
+            int range = rangeAfter(position);
+            if (range < count && starts[range] < position) {
+                int end = ends[range];
+                replace(range, range + 1, 2);
+                ends[range] = position;
+                starts[range + 1] = position;
+                ends[range + 1] = end;
+            }
+        }
+        int first = rangeAfter(position);
+        if (first == count) {
+            return false;
+        }
+        for (int i = first; i < count; i++) {
+            starts[i] += shift;
+            ends[i] += shift;
+        }
+        validBefore = Math.min(validBefore, first);
+        if (first > 0 && ends[first - 1] == starts[first]) {
+            // the ranges on both sides of the removed indices touch now
+            ends[first - 1] = ends[first];
+            replace(first, first + 1, 0);
+        }
+        remove(limit, Integer.MAX_VALUE);
+        return true;
+    }
+
+    /** Returns the indices of this set that are not in the other set. */
+    SelectedIndexRanges removeAll(SelectedIndexRanges other) {
+        SelectedIndexRanges result = new SelectedIndexRanges(this);
+        for (int i = 0; i < other.count; i++) {
+            result.remove(other.starts[i], other.ends[i]);
+        }
+        return result;
+    }
+
+    /** Returns an unmodifiable list of the indices of this set, in ascending order. */
+    List<Integer> toList() {
+        return new IndexList(new SelectedIndexRanges(this));
+    }
+
+    // the first range that ends after the index
+    private int rangeAfter(int index) {
+        return firstEndAtLeast(index + 1);
+    }
+
+    private int firstEndAtLeast(int value) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ends[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int firstStartAbove(int value) {
+        return firstStartAtLeast(value + 1);
+    }
+
+    private int firstStartAtLeast(int value) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int before(int range) {
+        if (range == count) {
+            return size;
+        }
+        updateBefore(range + 1);
+        return before[range];
+    }
+
+    private void updateBefore(int rangeCount) {
+        for (int i = validBefore; i < rangeCount; i++) {
+            before[i] = i == 0 ? 0 : before[i - 1] + ends[i - 1] - starts[i - 1];
+        }
+        validBefore = Math.max(validBefore, rangeCount);
+    }
+
+    // replaces the ranges from first to last with n uninitialized ranges
+    private void replace(int first, int last, int n) {
+        int newCount = count - (last - first) + n;
+        if (newCount > starts.length) {
+            int capacity = Math.max(newCount, starts.length * 2);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            before = Arrays.copyOf(before, capacity);
+        }
+        if (last != first + n) {
+            System.arraycopy(starts, last, starts, first + n, count - last);
+            System.arraycopy(ends, last, ends, first + n, count - last);
+        }
+        count = newCount;
+        validBefore = Math.min(validBefore, first);
+    }
+
+    private static final class IndexList extends AbstractList<Integer> implements RandomAccess {
+        private final SelectedIndexRanges ranges;
+
+        IndexList(SelectedIndexRanges ranges) {
+            this.ranges = ranges;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return ranges.get(index);
+        }
+
+        @Override
+        public int size() {
+            return ranges.size();
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (o instanceof Integer i && ranges.contains(i)) {
+                return ranges.rank(i);
+            }
+            return -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+}
@@ -764,9 +764,15 @@ public class TableCell<S,T> extends IndexedCell<T> {
     public final void updateTableColumn(TableColumn col) {
         // remove style class of existing table column, if it is non-null
         TableColumn<S,T> oldCol = getTableColumn();
+        // cells moved between columns with the same style classes keep them,
+        // rather than having them removed and added back
+        final boolean sameStyleClass = oldCol != null && col != null &&
+                oldCol.getStyleClass().equals(col.getStyleClass());
         if (oldCol != null) {
             oldCol.getStyleClass().removeListener(weakColumnStyleClassListener);
-            getStyleClass().removeAll(oldCol.getStyleClass());
+            if (! sameStyleClass) {
+                getStyleClass().removeAll(oldCol.getStyleClass());
+            }
 
             oldCol.idProperty().removeListener(weakColumnIdListener);
             oldCol.styleProperty().removeListener(weakColumnStyleListener);
@@ -784,7 +790,9 @@ public class TableCell<S,T> extends IndexedCell<T> {
         setTableColumn(col);
 
         if (col != null) {
-            getStyleClass().addAll(col.getStyleClass());
+            if (! sameStyleClass) {
+                getStyleClass().addAll(col.getStyleClass());
+            }
             col.getStyleClass().addListener(weakColumnStyleClassListener);
 
             col.idProperty().addListener(weakColumnIdListener);
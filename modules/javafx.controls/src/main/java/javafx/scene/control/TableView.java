@@ -30,7 +30,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -54,12 +53,18 @@ import javafx.beans.Observable;
 import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.Property;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
@@ -629,6 +634,42 @@ public class TableView<S> extends Control {
         }
     };
 
+    /**
+     * A {@link #sortPolicyProperty() sort policy} that sorts large items lists
+     * on a background thread, so that the table stays responsive while millions
+     * of rows are sorted. The sort keys of the items are read from the
+     * {@link TableColumn#cellValueFactoryProperty() cell value factories} of the
+     * sort columns on the JavaFX Application Thread, a slice at a time so as not
+     * to hold up rendering, and are then sorted in parallel on a background
+     * thread, which is where the {@link TableColumn#comparatorProperty() comparators}
+     * of the sort columns are called. Numbers and strings that are compared with
+     * the {@link TableColumnBase#DEFAULT_COMPARATOR default comparator} are
+     * sorted as primitive keys. The items are then reordered in a single
+     * permutation, which keeps the selection on the same items.
+     *
+     * <p>The items are not sorted yet when this policy returns: the
+     * {@link #sortingProperty() sorting} property is {@code true} until they are,
+     * and the {@link #sortProgressProperty() sortProgress} property reports how
+     * far the sort got. The sort starts over if the items list changes in the
+     * meantime, and it is abandoned when the table is sorted again, when the
+     * items list is replaced, or when {@link #cancelSort()} is called.
+     *
+     * <p>Items lists with fewer than 10,000 items, and {@link SortedList sorted lists},
+     * are sorted by the {@link #DEFAULT_SORT_POLICY default sort policy}.
+     *
+     * @since 24
+     */
+    @SuppressWarnings("rawtypes")
+    public static final Callback<TableView, Boolean> BACKGROUND_SORT_POLICY = new Callback<>() {
+        @Override
+        public Boolean call(TableView table) {
+            return table.startBackgroundSort();
+        }
+    };
+
+    // the smallest items list sorted by the background sort policy
+    private static final int BACKGROUND_SORT_THRESHOLD = 10_000;
+
 
 
     /* *************************************************************************
@@ -988,6 +1029,8 @@ public class TableView<S> extends Control {
                     return;
                 }
 
+                cancelBackgroundSort();
+
                 // Fix for RT-35763
                 if (! (newItems instanceof SortedList)) {
                     getSortOrder().clear();
@@ -1284,6 +1327,11 @@ public class TableView<S> extends Control {
      * use -fx-fixed-cell-size, instead of -fx-cell-size. If both properties are
      * specified in CSS, -fx-fixed-cell-size takes precedence.</p>
      *
+     * <p>With a fixed cell size, rows only create cells for the columns in or
+     * near the viewport. Cells of columns that scroll out of view may be reused
+     * for other columns with the same cell factory, so cells must not assume
+     * that their table column never changes.</p>
+     *
      * @return fixedCellSize property
      * @since JavaFX 8.0
      */
@@ -1307,6 +1355,34 @@ public class TableView<S> extends Control {
     }
 
 
+    // --- Frozen column count
+    private IntegerProperty frozenColumnCount;
+    public final void setFrozenColumnCount(int value) {
+        frozenColumnCountProperty().set(value);
+    }
+    public final int getFrozenColumnCount() {
+        return frozenColumnCount == null ? 0 : frozenColumnCount.get();
+    }
+    /**
+     * The number of leading visible leaf columns that stay in place when this
+     * TableView is scrolled horizontally. The headers and cells of these columns
+     * are drawn over the columns that scroll underneath them. A nested column
+     * header stays in place only when all of its visible leaf columns do.
+     * Values less than or equal to zero do not freeze any columns, values
+     * greater than the number of visible leaf columns freeze all of them.
+     *
+     * @return the frozen column count property
+     * @defaultValue 0
+     * @since 24
+     */
+    public final IntegerProperty frozenColumnCountProperty() {
+        if (frozenColumnCount == null) {
+            frozenColumnCount = new SimpleIntegerProperty(this, "frozenColumnCount", 0);
+        }
+        return frozenColumnCount;
+    }
+
+
     // --- Editing Cell
     private ReadOnlyObjectWrapper<TablePosition<S,?>> editingCell;
     private void setEditingCell(TablePosition<S,?> value) {
@@ -1399,6 +1475,66 @@ public class TableView<S> extends Control {
     }
 
 
+    // --- Sorting (read-only)
+    private ReadOnlyBooleanWrapper sorting;
+    private void setSorting(boolean value) {
+        sortingPropertyImpl().set(value);
+    }
+    public final boolean isSorting() {
+        return sorting == null ? false : sorting.get();
+    }
+
+    /**
+     * Whether the items of this TableView are being sorted in the background
+     * by the {@link #BACKGROUND_SORT_POLICY background sort policy}.
+     *
+     * @return the sorting property
+     * @defaultValue false
+     * @since 24
+     */
+    public final ReadOnlyBooleanProperty sortingProperty() {
+        return sortingPropertyImpl().getReadOnlyProperty();
+    }
+
+    private ReadOnlyBooleanWrapper sortingPropertyImpl() {
+        if (sorting == null) {
+            sorting = new ReadOnlyBooleanWrapper(this, "sorting");
+        }
+        return sorting;
+    }
+
+
+    // --- Sort Progress (read-only)
+    private ReadOnlyDoubleWrapper sortProgress;
+    void setSortProgress(double value) {
+        sortProgressPropertyImpl().set(value);
+    }
+    public final double getSortProgress() {
+        return sortProgress == null ? 0 : sortProgress.get();
+    }
+
+    /**
+     * The progress, from 0 to 1, of the sort run in the background by the
+     * {@link #BACKGROUND_SORT_POLICY background sort policy}. The progress is
+     * 1 once the items are sorted, and 0 again if the sort is cancelled.
+     *
+     * @return the sort progress property
+     * @defaultValue 0
+     * @see #sortingProperty()
+     * @since 24
+     */
+    public final ReadOnlyDoubleProperty sortProgressProperty() {
+        return sortProgressPropertyImpl().getReadOnlyProperty();
+    }
+
+    private ReadOnlyDoubleWrapper sortProgressPropertyImpl() {
+        if (sortProgress == null) {
+            sortProgress = new ReadOnlyDoubleWrapper(this, "sortProgress");
+        }
+        return sortProgress;
+    }
+
+
     // onSort
     /**
      * Called when there's a request to sort the control.
@@ -1682,6 +1818,9 @@ public class TableView<S> extends Control {
      * @since JavaFX 8.0
      */
     public void sort() {
+        // a sort still running in the background is for the previous sort order
+        cancelBackgroundSort();
+
         final ObservableList<? extends TableColumnBase<S,?>> sortOrder = getSortOrder();
 
         // update the Comparator property
@@ -1762,6 +1901,21 @@ public class TableView<S> extends Control {
         }
     }
 
+    /**
+     * Cancels the sort that the {@link #BACKGROUND_SORT_POLICY background sort policy}
+     * is running, if any. The items are left in their current order, and the
+     * {@link #getSortOrder() sort order} is cleared to match.
+     *
+     * @see #sortingProperty()
+     * @since 24
+     */
+    public void cancelSort() {
+        if (backgroundSort != null) {
+            cancelBackgroundSort();
+            getSortOrder().clear();
+        }
+    }
+
     /**
      * Calling {@code refresh()} forces the TableView control to recreate and
      * repopulate the cells necessary to populate the visual bounds of the control.
@@ -1786,6 +1940,61 @@ public class TableView<S> extends Control {
     private boolean sortLock = false;
     private TableUtil.SortEventType lastSortEventType = null;
     private Object[] lastSortEventSupportInfo = null;
+    private TableViewBackgroundSort<S> backgroundSort;
+
+    private boolean startBackgroundSort() {
+        final ObservableList<S> itemsList = getItems();
+        final Comparator<S> comparator = getComparator();
+        if (itemsList == null || itemsList instanceof SortedList
+                || itemsList.size() < BACKGROUND_SORT_THRESHOLD
+                || !(comparator instanceof TableColumnComparator)) {
+            return DEFAULT_SORT_POLICY.call(this);
+        }
+
+        @SuppressWarnings("unchecked")
+        final TableColumnComparator<S,Object> columnComparator = (TableColumnComparator<S,Object>) comparator;
+        final List<TableColumn<S,?>> columns = new ArrayList<>();
+        for (TableColumnBase<?,?> column : columnComparator.getColumns()) {
+            @SuppressWarnings("unchecked")
+            final TableColumn<S,Object> tableColumn = (TableColumn<S,Object>) column;
+            if (columnComparator.isSortable(tableColumn)) {
+                columns.add(tableColumn);
+            }
+        }
+        if (columns.isEmpty()) {
+            return true;
+        }
+
+        backgroundSort = new TableViewBackgroundSort<>(this, columns);
+        setSorting(true);
+        backgroundSort.start();
+        return true;
+    }
+
+    // called by the background sort once the items are reordered
+    void backgroundSortFinished(TableViewBackgroundSort<S> sort) {
+        if (backgroundSort == sort) {
+            backgroundSort = null;
+            setSortProgress(1);
+            setSorting(false);
+        }
+    }
+
+    // called by the background sort if the items could not be reordered
+    void backgroundSortFailed(TableViewBackgroundSort<S> sort) {
+        if (backgroundSort == sort) {
+            cancelSort();
+        }
+    }
+
+    private void cancelBackgroundSort() {
+        if (backgroundSort != null) {
+            backgroundSort.cancel();
+            backgroundSort = null;
+            setSortProgress(0);
+            setSorting(false);
+        }
+    }
 
     private void doSort(final TableUtil.SortEventType sortEventType, final Object... supportInfo) {
         if (sortLock) {
@@ -2445,25 +2654,19 @@ public class TableView<S> extends Control {
                 } else if (c.wasPermutated()) {
                     // General approach:
                     //   -- detected a sort has happened
-                    //   -- Create a permutation lookup map (1)
                     //   -- dump all the selected indices into a list (2)
                     //   -- create a list containing the new indices (3)
                     //   -- for each previously-selected index (4)
-                    //     -- if index is in the permutation lookup map
+                    //     -- if index is in the permutated range
                     //       -- add the new index to the new indices list
                     //   -- Perform batch selection (5)
+                    // The permutation is looked up in the change itself (1), rather
+                    // than copied into a map, as it may cover millions of rows.
 
                     startAtomic();
 
                     final int oldSelectedIndex = getSelectedIndex();
 
-                    // (1)
-                    int length = c.getTo() - c.getFrom();
-                    HashMap<Integer, Integer> pMap = new HashMap<> (length);
-                    for (int i = c.getFrom(); i < c.getTo(); i++) {
-                        pMap.put(i, c.getPermutation(i));
-                    }
-
                     // (2)
                     List<TablePosition<S,?>> selectedIndices = new ArrayList<>((ObservableList<TablePosition<S,?>>)(Object)getSelectedCells());
 
@@ -2476,8 +2679,8 @@ public class TableView<S> extends Control {
                         final TablePosition<S,?> oldIndex = selectedIndices.get(i);
                         final int oldRow = oldIndex.getRow();
 
-                        if (pMap.containsKey(oldRow)) {
-                            int newIndex = pMap.get(oldRow);
+                        if (oldRow >= c.getFrom() && oldRow < c.getTo()) {
+                            int newIndex = c.getPermutation(oldRow);
 
                             selectionIndicesChanged = selectionIndicesChanged || newIndex != oldRow;
 
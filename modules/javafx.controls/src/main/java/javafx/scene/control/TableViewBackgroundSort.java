@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package javafx.scene.control;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.DoubleConsumer;
+import com.sun.javafx.collections.SortableList;
+import com.sun.javafx.scene.control.Logging;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+
+/**
+ * A sort of the items of a TableView run by {@link TableView#BACKGROUND_SORT_POLICY}.
+ * The sort keys of all items are read from the sort columns on the FX thread,
+ * in slices that are short enough not to hold up pulses, and are then sorted
+ * on a background thread. The items are reordered in a single permutation,
+ * unless they changed in the meantime, in which case the sort starts over.
+ */
+final class TableViewBackgroundSort<S> {
+
+    // how long the sort keys are read before the FX thread is given back
+    private static final long SLICE_NANOS = 8_000_000L;
+
+    // the share of the progress taken by reading the sort keys
+    private static final double READ_PROGRESS = 0.5;
+
+    private static ExecutorService executor;
+
+    private final TableView<S> tableView;
+    private final ObservableList<S> items;
+    private final List<TableColumn<S,?>> columns;
+    private final Comparator<Object>[] comparators;
+    private final boolean[] descending;
+    private final InvalidationListener itemsListener = o -> restart();
+
+    private Object[][] keys;
+    private int readCount;
+    private boolean reading;
+    private Task<int[]> task;
+    private boolean cancelled;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    TableViewBackgroundSort(TableView<S> tableView, List<TableColumn<S,?>> columns) {
+        this.tableView = tableView;
+        this.items = tableView.getItems();
+        this.columns = columns;
+        this.comparators = new Comparator[columns.size()];
+        this.descending = new boolean[columns.size()];
+        for (int c = 0; c < columns.size(); c++) {
+            TableColumn<S,?> column = columns.get(c);
+            comparators[c] = (Comparator<Object>) column.getComparator();
+            descending[c] = column.getSortType() == TableColumn.SortType.DESCENDING;
+        }
+    }
+
+    void start() {
+        items.addListener(itemsListener);
+        restart();
+    }
+
+    void cancel() {
+        cancelled = true;
+        items.removeListener(itemsListener);
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        keys = null;
+    }
+
+    private void restart() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        keys = new Object[columns.size()][items.size()];
+        readCount = 0;
+        tableView.setSortProgress(0);
+        if (!reading) {
+            reading = true;
+            Platform.runLater(this::readKeys);
+        }
+    }
+
+    private void readKeys() {
+        reading = false;
+        if (cancelled) {
+            return;
+        }
+
+        final Object[][] k = keys;
+        final int size = k[0].length;
+        final long deadline = System.nanoTime() + SLICE_NANOS;
+        int i = readCount;
+        while (i < size) {
+            S item = items.get(i);
+            for (int c = 0; c < k.length; c++) {
+                k[c][i] = columns.get(c).getCellData(item);
+            }
+            i++;
+            if ((i & 0x3ff) == 0 && System.nanoTime() > deadline) {
+                break;
+            }
+        }
+        if (k != keys || cancelled) {
+            // the items changed while their keys were read
+            return;
+        }
+        readCount = i;
+
+        if (i < size) {
+            tableView.setSortProgress(READ_PROGRESS * i / size);
+            reading = true;
+            Platform.runLater(this::readKeys);
+        } else {
+            tableView.setSortProgress(READ_PROGRESS);
+            sortKeys(k);
+        }
+    }
+
+    private void sortKeys(Object[][] k) {
+        final Task<int[]> t = new Task<>() {
+            @Override protected int[] call() {
+                return sort(k, comparators, descending, p -> updateProgress(p, 1));
+            }
+        };
+        task = t;
+        t.progressProperty().addListener(o -> {
+            if (task == t) {
+                tableView.setSortProgress(READ_PROGRESS + (1 - READ_PROGRESS) * Math.max(0, t.getProgress()));
+            }
+        });
+        t.setOnSucceeded(e -> {
+            if (task == t) {
+                reorder(t.getValue());
+            }
+        });
+        t.setOnFailed(e -> {
+            if (task == t) {
+                Logging.getControlsLogger().warning("Failed to sort the TableView items", t.getException());
+                cancel();
+                tableView.backgroundSortFailed(this);
+            }
+        });
+        getExecutor().execute(t);
+    }
+
+    private void reorder(int[] order) {
+        items.removeListener(itemsListener);
+        task = null;
+        keys = null;
+        try {
+            if (items instanceof SortableList) {
+                ((SortableList<S>) items).reorder(order);
+            } else {
+                List<S> sorted = new ArrayList<>(order.length);
+                for (int i : order) {
+                    sorted.add(items.get(i));
+                }
+                items.setAll(sorted);
+            }
+        } catch (UnsupportedOperationException e) {
+            // the items list can not be sorted, as with the default sort policy
+            tableView.backgroundSortFailed(this);
+            return;
+        }
+        tableView.backgroundSortFinished(this);
+    }
+
+    /**
+     * Returns the order of the rows sorted by the given keys, that is, the
+     * index of the row that is sorted to each index. The sort is stable.
+     *
+     * @param keys the sort keys of all rows, for each sort column
+     * @param comparators the comparator of each sort column
+     * @param descending whether each sort column is sorted in descending order
+     * @param progress receives the progress of the sort, from 0 to 1
+     */
+    static int[] sort(Object[][] keys, Comparator<Object>[] comparators, boolean[] descending,
+                      DoubleConsumer progress) {
+        final int size = keys.length == 0 ? 0 : keys[0].length;
+        final int[][] ranks = new int[keys.length][];
+        boolean ranked = true;
+        for (int c = 0; c < keys.length; c++) {
+            ranks[c] = rank(keys[c], comparators[c], descending[c]);
+            ranked &= ranks[c] != null;
+            progress.accept((c + 1.0) / (keys.length + 1));
+        }
+
+        final int[] order = new int[size];
+        if (ranked) {
+            // all keys are ranks, so the rows are sorted as packed longs
+            int[] rank = ranks[0];
+            for (int c = 1; c < ranks.length; c++) {
+                final int[] major = rank;
+                final int[] minor = ranks[c];
+                final long[] packed = new long[size];
+                Arrays.parallelSetAll(packed, i -> (long) major[i] << 32 | minor[i]);
+                rank = rank(packed, null);
+            }
+            final int[] r = rank;
+            final long[] packed = new long[size];
+            Arrays.parallelSetAll(packed, i -> (long) r[i] << 32 | i);
+            Arrays.parallelSort(packed);
+            Arrays.parallelSetAll(order, i -> (int) packed[i]);
+        } else {
+            final Integer[] indices = new Integer[size];
+            Arrays.parallelSetAll(indices, i -> i);
+            Arrays.parallelSort(indices, (a, b) -> {
+                for (int c = 0; c < keys.length; c++) {
+                    int result;
+                    if (ranks[c] != null) {
+                        result = Integer.compare(ranks[c][a], ranks[c][b]);
+                    } else if (descending[c]) {
+                        result = comparators[c].compare(keys[c][b], keys[c][a]);
+                    } else {
+                        result = comparators[c].compare(keys[c][a], keys[c][b]);
+                    }
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                return 0;
+            });
+            Arrays.parallelSetAll(order, i -> indices[i]);
+        }
+        progress.accept(1);
+        return order;
+    }
+
+    /**
+     * Returns the rank of each key among the distinct keys, in the order of
+     * the default comparator, or null if the keys can not be ranked without
+     * calling the comparator: when the column has another comparator, or when
+     * the keys are neither all numbers of one boxed primitive type, nor all
+     * strings. Null keys are ranked first, as by the default comparator.
+     */
+    private static int[] rank(Object[] keys, Comparator<Object> comparator, boolean descending) {
+        if (comparator != TableColumnBase.DEFAULT_COMPARATOR) {
+            return null;
+        }
+        Class<?> type = null;
+        for (Object key : keys) {
+            if (key == null) {
+                continue;
+            } else if (type == null) {
+                type = key.getClass();
+            } else if (key.getClass() != type) {
+                return null;
+            }
+        }
+
+        final int[] ranks;
+        if (type == null) {
+            return new int[keys.length];
+        } else if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            final long[] values = new long[keys.length];
+            Arrays.parallelSetAll(values, i -> keys[i] == null ? 0 : ((Number) keys[i]).longValue());
+            ranks = rank(values, keys);
+        } else if (type == Double.class || type == Float.class) {
+            // the bits are flipped so that the longs sort as Double.compare
+            final long[] values = new long[keys.length];
+            Arrays.parallelSetAll(values, i -> {
+                if (keys[i] == null) {
+                    return 0;
+                }
+                long bits = Double.doubleToLongBits(((Number) keys[i]).doubleValue());
+                return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+            });
+            ranks = rank(values, keys);
+        } else if (type == String.class) {
+            // collation keys compare like the collator the default comparator uses
+            final ThreadLocal<Collator> collators = ThreadLocal.withInitial(Collator::getInstance);
+            final CollationKey[] values = new CollationKey[keys.length];
+            Arrays.parallelSetAll(values, i -> keys[i] == null ? null : collators.get().getCollationKey((String) keys[i]));
+            ranks = rank(values);
+        } else {
+            return null;
+        }
+
+        if (descending) {
+            final int max = Arrays.stream(ranks).parallel().max().orElse(0);
+            Arrays.parallelSetAll(ranks, i -> max - ranks[i]);
+        }
+        return ranks;
+    }
+
+    // ranks the values, or the values whose key is not null after the null keys
+    private static int[] rank(long[] values, Object[] keys) {
+        long[] distinct = values.clone();
+        int count = 0;
+        if (keys == null) {
+            count = distinct.length;
+        } else {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    distinct[count++] = values[i];
+                }
+            }
+        }
+        Arrays.parallelSort(distinct, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || distinct[unique - 1] != distinct[i]) {
+                distinct[unique++] = distinct[i];
+            }
+        }
+
+        final int n = unique;
+        final int[] ranks = new int[values.length];
+        if (keys == null) {
+            Arrays.parallelSetAll(ranks, i -> Arrays.binarySearch(distinct, 0, n, values[i]));
+        } else {
+            Arrays.parallelSetAll(ranks, i -> keys[i] == null ? 0 : Arrays.binarySearch(distinct, 0, n, values[i]) + 1);
+        }
+        return ranks;
+    }
+
+    // ranks the non-null values after the null values
+    private static int[] rank(CollationKey[] values) {
+        CollationKey[] distinct = Arrays.stream(values).parallel()
+                .filter(v -> v != null)
+                .toArray(CollationKey[]::new);
+        Arrays.parallelSort(distinct);
+        int unique = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (unique == 0 || distinct[unique - 1].compareTo(distinct[i]) != 0) {
+                distinct[unique++] = distinct[i];
+            }
+        }
+
+        final int n = unique;
+        final int[] ranks = new int[values.length];
+        Arrays.parallelSetAll(ranks, i -> values[i] == null ? 0 : Arrays.binarySearch(distinct, 0, n, values[i]) + 1);
+        return ranks;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "TableView Sorter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
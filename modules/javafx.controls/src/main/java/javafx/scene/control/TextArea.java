@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
@@ -46,6 +47,7 @@ import javafx.css.StyleableProperty;
 
 import com.sun.javafx.collections.ListListenerHelper;
 import com.sun.javafx.collections.NonIterableChange;
+import com.sun.javafx.scene.control.TextAreaHelper;
 import javafx.css.converter.SizeConverter;
 import javafx.scene.control.skin.TextAreaSkin;
 
@@ -83,9 +85,25 @@ import javafx.scene.AccessibleRole;
 public class TextArea extends TextInputControl {
     // Text area content model
     private static final class TextAreaContent extends ContentBase {
-        private final List<StringBuilder> paragraphs = new ArrayList<>();
+        /*
+         * Paragraphs are either a Slice of the text they were inserted with,
+         * or a StringBuilder once they have been edited. This way inserting
+         * a large text only creates a lightweight view per line instead of
+         * copying every line into its own builder.
+         */
+        private final List<CharSequence> paragraphs = new ArrayList<>();
         private final ParagraphList paragraphList = new ParagraphList();
 
+        /*
+         * Fenwick tree over the paragraph lengths, including the line
+         * terminator, used to map between offsets and paragraphs in
+         * O(log n). Edits within a paragraph update it in place, it is
+         * rebuilt in O(n) on the next lookup after paragraphs were added or
+         * removed.
+         */
+        private int[] offsetTree = new int[0];
+        private boolean offsetTreeValid = false;
+
         private int contentLength = 0;
 
         private TextAreaContent() {
@@ -97,39 +115,28 @@ public class TextArea extends TextInputControl {
             int length = end - start;
             StringBuilder textBuilder = new StringBuilder(length);
 
-            int paragraphCount = paragraphs.size();
-
-            int paragraphIndex = 0;
-            int offset = start;
-
-            while (paragraphIndex < paragraphCount) {
-                StringBuilder paragraph = paragraphs.get(paragraphIndex);
-                int count = paragraph.length() + 1;
-
-                if (offset < count) {
-                    break;
+            int paragraphIndex = getParagraphIndex(start);
+            int offset = start - getParagraphStart(paragraphIndex);
+
+            // Append whole runs of characters until end is reached, moving
+            // to the next paragraph as needed
+            while (length > 0) {
+                CharSequence paragraph = paragraphs.get(paragraphIndex);
+                int count = Math.min(paragraph.length() - offset, length);
+                if (paragraph instanceof Slice) {
+                    Slice slice = (Slice)paragraph;
+                    textBuilder.append(slice.text, slice.start + offset, slice.start + offset + count);
+                } else {
+                    textBuilder.append(paragraph, offset, offset + count);
                 }
+                length -= count;
 
-                offset -= count;
-                paragraphIndex++;
-            }
-
-            // Read characters until end is reached, appending to text builder
-            // and moving to next paragraph as needed
-            StringBuilder paragraph = paragraphs.get(paragraphIndex);
-
-            int i = 0;
-            while (i < length) {
-                if (offset == paragraph.length()
-                    && i < contentLength) {
+                if (length > 0) {
                     textBuilder.append('\n');
-                    paragraph = paragraphs.get(++paragraphIndex);
+                    length--;
+                    paragraphIndex++;
                     offset = 0;
-                } else {
-                    textBuilder.append(paragraph.charAt(offset++));
                 }
-
-                i++;
             }
 
             return textBuilder.toString();
@@ -149,62 +156,55 @@ public class TextArea extends TextInputControl {
             text = TextInputControl.filterInput(text, false, false);
             int length = text.length();
             if (length > 0) {
-                // Split the text into lines
-                ArrayList<StringBuilder> lines = new ArrayList<>();
-
-                StringBuilder line = new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY);
-                for (int i = 0; i < length; i++) {
-                    char c = text.charAt(i);
-
-                    if (c == '\n') {
-                        lines.add(line);
-                        line = new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY);
-                    } else {
-                        line.append(c);
-                    }
-                }
-
-                lines.add(line);
-
-                // Merge the text into the existing content
-                // Merge the text into the existing content
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (index < offset);
-
-                int start = index - offset;
+                // Find the intersecting paragraph
+                int paragraphIndex = getParagraphIndex(index);
+                int start = index - getParagraphStart(paragraphIndex);
+                StringBuilder paragraph = edit(paragraphIndex);
 
-                int n = lines.size();
-                if (n == 1) {
+                int lineEnd = text.indexOf('\n');
+                if (lineEnd < 0) {
                     // The text contains only a single line; insert it into the
                     // intersecting paragraph
-                    paragraph.insert(start, line);
+                    paragraph.insert(start, text);
+                    paragraphLengthChanged(paragraphIndex, length);
                     fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
                         Collections.singletonList((CharSequence)paragraph));
                 } else {
-                    // The text contains multiple line; split the intersecting
-                    // paragraph
-                    int end = paragraph.length();
-                    CharSequence trailingText = paragraph.subSequence(start, end);
-                    paragraph.delete(start, end);
+                    // The text contains multiple lines; split the intersecting
+                    // paragraph, the lines in between are slices of the text
+                    ArrayList<CharSequence> lines = new ArrayList<>();
+                    int lineStart = lineEnd + 1;
+                    int next;
+                    while ((next = text.indexOf('\n', lineStart)) >= 0) {
+                        lines.add(new Slice(text, lineStart, next));
+                        lineStart = next + 1;
+                    }
 
                     // Append the first line to the intersecting paragraph and
                     // append the trailing text to the last line
-                    StringBuilder first = lines.get(0);
-                    paragraph.insert(start, first);
-                    line.append(trailingText);
+                    int end = paragraph.length();
+                    String trailingText = paragraph.substring(start, end);
+                    paragraph.delete(start, end);
+                    paragraph.append(text, 0, lineEnd);
+                    paragraphLengthChanged(paragraphIndex, lineEnd - (end - start));
                     fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
                         Collections.singletonList((CharSequence)paragraph));
 
+                    if (lineStart == length) {
+                        lines.add(new Slice(trailingText, 0, trailingText.length()));
+                    } else if (trailingText.isEmpty()) {
+                        lines.add(new Slice(text, lineStart, length));
+                    } else {
+                        StringBuilder line = new StringBuilder(length - lineStart + trailingText.length());
+                        line.append(text, lineStart, length).append(trailingText);
+                        lines.add(line);
+                    }
+
                     // Insert the remaining lines into the paragraph list
-                    paragraphs.addAll(paragraphIndex + 1, lines.subList(1, n));
-                    fireParagraphListChangeEvent(paragraphIndex + 1, paragraphIndex + n,
+                    int n = lines.size();
+                    paragraphs.addAll(paragraphIndex + 1, lines);
+                    offsetTreeValid = false;
+                    fireParagraphListChangeEvent(paragraphIndex + 1, paragraphIndex + n + 1,
                         Collections.EMPTY_LIST);
                 }
 
@@ -229,66 +229,48 @@ public class TextArea extends TextInputControl {
             int length = end - start;
 
             if (length > 0) {
-                // Identify the trailing paragraph index
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (end < offset);
-
-                int trailingParagraphIndex = paragraphIndex;
-                int trailingOffset = offset;
-                StringBuilder trailingParagraph = paragraph;
-
-                // Identify the leading paragraph index
-                paragraphIndex++;
-                offset += paragraph.length() + 1;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (start < offset);
-
-                int leadingParagraphIndex = paragraphIndex;
-                int leadingOffset = offset;
-                StringBuilder leadingParagraph = paragraph;
+                // Identify the leading and trailing paragraphs
+                int leadingParagraphIndex = getParagraphIndex(start);
+                int leadingOffset = getParagraphStart(leadingParagraphIndex);
+                int trailingParagraphIndex = getParagraphIndex(end);
+                int trailingOffset = getParagraphStart(trailingParagraphIndex);
 
                 // Remove the text
                 if (leadingParagraphIndex == trailingParagraphIndex) {
                     // The removal affects only a single paragraph
+                    StringBuilder leadingParagraph = edit(leadingParagraphIndex);
                     leadingParagraph.delete(start - leadingOffset,
                         end - leadingOffset);
+                    paragraphLengthChanged(leadingParagraphIndex, -length);
 
                     fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)leadingParagraph));
                 } else {
                     // The removal spans paragraphs; remove any intervening paragraphs and
                     // merge the leading and trailing segments
+                    CharSequence leadingParagraph = paragraphs.get(leadingParagraphIndex);
                     CharSequence leadingSegment = leadingParagraph.subSequence(0,
                         start - leadingOffset);
-                    int trailingSegmentLength = (start + length) - trailingOffset;
+                    int trailingSegmentLength = end - trailingOffset;
 
+                    StringBuilder trailingParagraph = edit(trailingParagraphIndex);
                     trailingParagraph.delete(0, trailingSegmentLength);
+                    paragraphLengthChanged(trailingParagraphIndex, -trailingSegmentLength);
                     fireParagraphListChangeEvent(trailingParagraphIndex, trailingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)trailingParagraph));
 
-                    if (trailingParagraphIndex - leadingParagraphIndex > 0) {
-                        List<CharSequence> removed = new ArrayList<>(paragraphs.subList(leadingParagraphIndex,
-                            trailingParagraphIndex));
-                        paragraphs.subList(leadingParagraphIndex,
-                            trailingParagraphIndex).clear();
-                        fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex,
-                            removed);
-                    }
+                    List<CharSequence> removed = new ArrayList<>(paragraphs.subList(leadingParagraphIndex,
+                        trailingParagraphIndex));
+                    paragraphs.subList(leadingParagraphIndex,
+                        trailingParagraphIndex).clear();
+                    offsetTreeValid = false;
+                    fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex,
+                        removed);
 
                     // Trailing paragraph is now at the former leading paragraph's index
                     trailingParagraph.insert(0, leadingSegment);
                     fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
-                        Collections.singletonList((CharSequence)leadingParagraph));
+                        Collections.singletonList(leadingParagraph));
                 }
 
                 // Update content length
@@ -311,12 +293,122 @@ public class TextArea extends TextInputControl {
             return get();
         }
 
+        /**
+         * Returns the index of the paragraph containing the given offset. An
+         * offset at the end of a paragraph, just before its line terminator,
+         * belongs to that paragraph.
+         */
+        int getParagraphIndex(int offset) {
+            validateOffsetTree();
+            int n = paragraphs.size();
+            int index = 0;
+            for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+                int next = index + step;
+                if (next <= n && offsetTree[next] <= offset) {
+                    index = next;
+                    offset -= offsetTree[next];
+                }
+            }
+            return Math.min(index, n - 1);
+        }
+
+        /**
+         * Returns the offset of the first character of the given paragraph.
+         */
+        int getParagraphStart(int paragraphIndex) {
+            validateOffsetTree();
+            int offset = 0;
+            for (int i = paragraphIndex; i > 0; i -= i & -i) {
+                offset += offsetTree[i];
+            }
+            return offset;
+        }
+
+        private void validateOffsetTree() {
+            if (offsetTreeValid) {
+                return;
+            }
+
+            int n = paragraphs.size();
+            if (offsetTree.length <= n) {
+                offsetTree = new int[n + (n >> 1) + 1];
+            }
+            for (int i = 1; i <= n; i++) {
+                offsetTree[i] = paragraphs.get(i - 1).length() + 1;
+            }
+            for (int i = 1; i <= n; i++) {
+                int parent = i + (i & -i);
+                if (parent <= n) {
+                    offsetTree[parent] += offsetTree[i];
+                }
+            }
+            offsetTreeValid = true;
+        }
+
+        private void paragraphLengthChanged(int paragraphIndex, int delta) {
+            if (offsetTreeValid) {
+                for (int i = paragraphIndex + 1, n = paragraphs.size(); i <= n; i += i & -i) {
+                    offsetTree[i] += delta;
+                }
+            }
+        }
+
+        /**
+         * Returns the given paragraph as a StringBuilder that can be edited,
+         * replacing it with a copy first if it is still a slice.
+         */
+        private StringBuilder edit(int paragraphIndex) {
+            CharSequence paragraph = paragraphs.get(paragraphIndex);
+            if (paragraph instanceof StringBuilder) {
+                return (StringBuilder)paragraph;
+            }
+            StringBuilder builder = new StringBuilder(paragraph.length() + DEFAULT_PARAGRAPH_CAPACITY);
+            builder.append(paragraph);
+            paragraphs.set(paragraphIndex, builder);
+            return builder;
+        }
+
         private void fireParagraphListChangeEvent(int from, int to, List<CharSequence> removed) {
             ParagraphListChange change = new ParagraphListChange(paragraphList, from, to, removed);
             ListListenerHelper.fireValueChangedEvent(paragraphList.listenerHelper, change);
         }
     }
 
+    // Unedited paragraph, a range of the text it was inserted with
+    private static final class Slice implements CharSequence {
+        private final String text;
+        private final int start;
+        private final int end;
+
+        private Slice(String text, int start, int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            Objects.checkIndex(index, end - start);
+            return text.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, this.end - this.start);
+            return text.substring(this.start + start, this.start + end);
+        }
+
+        @Override
+        public String toString() {
+            return text.substring(start, end);
+        }
+    }
+
     // Observable list of paragraphs
     private static final class ParagraphList extends AbstractList<CharSequence>
             implements ObservableList<CharSequence> {
@@ -424,6 +516,20 @@ public class TextArea extends TextInputControl {
 
     private static final int DEFAULT_PARAGRAPH_CAPACITY = 32;
 
+    static {
+        TextAreaHelper.setAccessor(new TextAreaHelper.Accessor() {
+            @Override
+            public int getParagraphIndex(TextArea textArea, int offset) {
+                return ((TextAreaContent)textArea.getContent()).getParagraphIndex(offset);
+            }
+
+            @Override
+            public int getParagraphStart(TextArea textArea, int paragraphIndex) {
+                return ((TextAreaContent)textArea.getContent()).getParagraphStart(paragraphIndex);
+            }
+        });
+    }
+
     /**
      * Creates a {@code TextArea} with empty text content.
      */
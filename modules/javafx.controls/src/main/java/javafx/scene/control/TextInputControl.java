@@ -176,18 +176,18 @@ public abstract class TextInputControl extends Control {
             text.controlContentHasChanged();
         });
 
-        // Bind the length to be based on the length of the text property
+        // Bind the length to be based on the length of the text property. The
+        // length is read from the content, getting the text would copy it.
         length.bind(new IntegerBinding() {
             { bind(text); }
             @Override protected int computeValue() {
-                String txt = text.get();
-                return txt == null ? 0 : txt.length();
+                return text.textIsNull ? 0 : content.length();
             }
         });
 
         // Bind the selected text to be based on the selection and text properties
         selection.addListener((ob, o, n) -> updateSelectedText());
-        text.addListener((ob, o, n) -> updateSelectedText());
+        text.addListener(ob -> updateSelectedText());
 
         focusedProperty().addListener((ob, o, n) -> {
             if (n) {
@@ -205,21 +205,20 @@ public abstract class TextInputControl extends Control {
 
     private void updateSelectedText() {
         if (!blockSelectedTextUpdate) {
-            String txt = text.get();
             IndexRange sel = selection.get();
-            if (txt == null || sel == null) {
+            if (text.textIsNull || sel == null) {
                 selectedText.set("");
             } else {
                 int start = sel.getStart();
                 int end = sel.getEnd();
-                int length = txt.length();
+                int length = content.length();
                 if (end > start + length) {
                     end = length;
                 }
                 if (start > length - 1) {
                     start = end = 0;
                 }
-                selectedText.set(txt.substring(start, end));
+                selectedText.set(content.get(start, end));
             }
         }
     }
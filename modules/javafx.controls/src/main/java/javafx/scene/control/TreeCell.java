@@ -204,6 +204,7 @@ public class TreeCell<T> extends IndexedCell<T> {
                 }
 
                 oldValue = get();
+                pseudoClassStateChanged(LOADING_PSEUDOCLASS_STATE, oldValue != null && oldValue.isPlaceholder());
 
                 if (oldValue != null) {
                     oldIsExpanded = oldValue.isExpanded();
@@ -678,6 +679,7 @@ public class TreeCell<T> extends IndexedCell<T> {
 
     private static final PseudoClass EXPANDED_PSEUDOCLASS_STATE = PseudoClass.getPseudoClass("expanded");
     private static final PseudoClass COLLAPSED_PSEUDOCLASS_STATE = PseudoClass.getPseudoClass("collapsed");
+    private static final PseudoClass LOADING_PSEUDOCLASS_STATE = PseudoClass.getPseudoClass("loading");
 
 
     /* *************************************************************************
@@ -26,8 +26,10 @@
 package javafx.scene.control;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.BooleanPropertyBase;
@@ -49,6 +51,8 @@ import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.concurrent.Task;
+import javafx.util.Callback;
 
 import static javafx.scene.control.TreeSortMode.*;
 
@@ -366,6 +370,11 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
         new EventHandler<>() {
             @Override public void handle(TreeModificationEvent<Object> event) {
                 expandedDescendentCountDirty = true;
+                if (event.getTreeItem() != TreeItem.this) {
+                    // the rows taken by one of the children changed, expanding
+                    // or collapsing this item does not change them
+                    childRowsChanged(event.getTreeItem());
+                }
             }
     };
 
@@ -404,6 +413,22 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
     // when all children are collapsed.
     int previousExpandedDescendentCount = 1;
 
+    // The number of rows taken by each child when this TreeItem is expanded
+    // (its expanded descendent count, or 1 if it is collapsed), along with a
+    // Fenwick tree of these counts, so that TreeUtil can map between rows and
+    // children in O(log n) rather than by walking the children. They are
+    // rebuilt when the children list changes, and only the children whose
+    // count changed (recorded in dirtyChildRows) are updated otherwise.
+    private List<TreeItem<T>> childRowsList;
+    private int[] childRows;
+    private int[] childRowTree;
+    private BitSet dirtyChildRows;
+
+    // The index of this TreeItem in the children of its parent when the
+    // parent last built its childRows. It is only a hint, and has to be
+    // checked against the children list.
+    int indexInParent = -1;
+
     Comparator<TreeItem<T>> lastComparator = null;
     TreeSortMode lastSortMode = null;
 
@@ -422,9 +447,13 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
     // called whenever the contents of the children sequence changes
     private ListChangeListener<TreeItem<T>> childrenListener = c -> {
         expandedDescendentCountDirty = true;
+        childrenReplaced(c);
         updateChildren(c);
     };
 
+    // Set on the placeholders of the children that are loaded lazily
+    private boolean placeholder;
+
 
 
     /* *************************************************************************
@@ -666,6 +695,106 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
         return children;
     }
 
+    /**
+     * Replaces the children of this TreeItem with {@code childCount} children
+     * that are loaded lazily, in pages of {@code pageSize} children, when
+     * they are first accessed. This happens when the rows that show them are
+     * looked up by a {@link TreeView} or {@link TreeTableView}, so that only
+     * the pages that are scrolled into view are loaded.
+     * <p>
+     * Until its page is loaded, a child is represented by a placeholder
+     * TreeItem, for which {@link #isPlaceholder()} returns true, and which
+     * the cells show as an empty row with the {@code loading} pseudo-class.
+     * The {@code pageLoader} is called on the JavaFX Application Thread,
+     * shortly after the page was requested, with the range of the children
+     * to load. It must return as many non-null children as there are in the
+     * range, which then replace their placeholders in a single change of the
+     * children list.
+     * <p>
+     * The children list returned by {@link #getChildren()} can then not be
+     * modified, and the lazy children are not sorted. Calling
+     * {@code setLazyChildren} again discards the pages loaded so far.
+     *
+     * @param childCount the number of children of this TreeItem
+     * @param pageSize the number of children loaded together
+     * @param pageLoader the callback that loads the children in a range
+     * @throws IllegalArgumentException if {@code childCount} is negative or
+     *         {@code pageSize} is not positive
+     * @throws NullPointerException if {@code pageLoader} is null
+     * @see #setLazyChildrenTask(int, int, Callback)
+     * @since 24
+     */
+    public final void setLazyChildren(int childCount, int pageSize,
+                                      Callback<IndexRange, List<TreeItem<T>>> pageLoader) {
+        Objects.requireNonNull(pageLoader, "pageLoader must not be null");
+        setChildrenList(new LazyChildrenList<>(this, childCount, pageSize, pageLoader, null));
+    }
+
+    /**
+     * Replaces the children of this TreeItem with {@code childCount} children
+     * that are loaded lazily, in pages of {@code pageSize} children, by
+     * background {@link Task tasks}. This works in the same way as
+     * {@link #setLazyChildren(int, int, Callback)}, except that the
+     * {@code pageLoader} returns a task that loads the children in the
+     * given range. If the task was not started yet, it is run on a background
+     * thread. When it succeeds, its children replace their placeholders on
+     * the JavaFX Application Thread. If it fails or is cancelled, the page is
+     * requested again the next time one of its children is accessed, which
+     * for a TreeView happens once the tree changes again.
+     *
+     * @param childCount the number of children of this TreeItem
+     * @param pageSize the number of children loaded together
+     * @param pageLoader the callback that returns a task loading the
+     *        children in a range
+     * @throws IllegalArgumentException if {@code childCount} is negative or
+     *         {@code pageSize} is not positive
+     * @throws NullPointerException if {@code pageLoader} is null
+     * @since 24
+     */
+    public final void setLazyChildrenTask(int childCount, int pageSize,
+                                          Callback<IndexRange, Task<? extends List<TreeItem<T>>>> pageLoader) {
+        Objects.requireNonNull(pageLoader, "pageLoader must not be null");
+        setChildrenList(new LazyChildrenList<>(this, childCount, pageSize, null, pageLoader));
+    }
+
+    /**
+     * Returns whether this TreeItem is a placeholder for a child that is
+     * loaded lazily and whose page has not been loaded yet.
+     *
+     * @return true if this TreeItem is a placeholder
+     * @see #setLazyChildren(int, int, Callback)
+     * @since 24
+     */
+    public final boolean isPlaceholder() {
+        return placeholder;
+    }
+
+    static <T> TreeItem<T> createPlaceholder(TreeItem<T> parent, int index) {
+        TreeItem<T> item = new TreeItem<>();
+        item.placeholder = true;
+        item.indexInParent = index;
+        item.setParent(parent);
+        return item;
+    }
+
+    private void setChildrenList(ObservableList<TreeItem<T>> list) {
+        if (children != null) {
+            children.removeListener(childrenListener);
+            if (!(children instanceof LazyChildrenList)) {
+                updateChildrenParent(children, null);
+            }
+        }
+        children = list;
+        children.addListener(childrenListener);
+        expandedDescendentCountDirty = true;
+        childRowsList = null;
+        setLeaf(children.isEmpty());
+
+        // the rows of the children are looked up again, but this change is
+        // not described to the listeners as the children were not added
+        fireEvent(new TreeModificationEvent<>(CHILDREN_MODIFICATION_EVENT, this));
+    }
+
 
 
     /* *************************************************************************
@@ -895,6 +1024,10 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
     }
 
     private void doSort(ObservableList<TreeItem<T>> children, final Comparator<TreeItem<T>> comparator) {
+        if (children instanceof LazyChildrenList) {
+            // sorting would require all the children to be loaded
+            return;
+        }
         if (!isLeaf() && isExpanded()) {
             FXCollections.sort(children, comparator);
         }
@@ -913,14 +1046,197 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
         previousExpandedDescendentCount = expandedDescendentCount;
         expandedDescendentCount = 1;
 
-        ignoreSortUpdate = true;
         if (!isLeaf() && isExpanded()) {
-            for (TreeItem<T> child : getChildren()) {
-                if (child == null) continue;
-                expandedDescendentCount += child.isExpanded() ? child.getExpandedDescendentCount(reset) : 1;
+            if (reset) {
+                childRowsList = null;
+            }
+            ignoreSortUpdate = true;
+            List<TreeItem<T>> list = getChildren();
+            ignoreSortUpdate = false;
+            updateChildRows(list, reset);
+            expandedDescendentCount += getChildRowOffset(childRows.length);
+        }
+    }
+
+    /*
+     * Records that the rows taken by the child of this TreeItem that contains
+     * the given descendant may have changed.
+     */
+    private void childRowsChanged(TreeItem<?> descendant) {
+        if (childRowsList == null) return;
+        TreeItem<?> child = descendant;
+        while (child != null && child.getParent() != this) {
+            child = child.getParent();
+        }
+        int index = child == null ? -1 : child.indexInParent;
+        if (index >= 0 && index < childRows.length && peekChild(childRowsList, index) == child) {
+            if (dirtyChildRows == null) {
+                dirtyChildRows = new BitSet();
+            }
+            dirtyChildRows.set(index);
+        } else {
+            childRowsList = null;
+        }
+    }
+
+    /*
+     * Records which children changed when children are replaced in place, as
+     * lazily loaded children are, so that only their rows are counted again.
+     * The rows of all the children are counted again after other changes.
+     */
+    private void childrenReplaced(ListChangeListener.Change<? extends TreeItem<T>> c) {
+        if (childRowsList == null) return;
+        while (c.next()) {
+            if (!c.wasReplaced() || c.getAddedSize() != c.getRemovedSize()) {
+                childRowsList = null;
+                break;
+            }
+            List<? extends TreeItem<T>> added = c.getAddedSubList();
+            for (int i = 0; i < added.size(); i++) {
+                TreeItem<T> child = added.get(i);
+                if (child != null) {
+                    child.indexInParent = c.getFrom() + i;
+                }
+            }
+            if (dirtyChildRows == null) {
+                dirtyChildRows = new BitSet();
+            }
+            dirtyChildRows.set(c.getFrom(), c.getTo());
+        }
+        c.reset();
+    }
+
+    /*
+     * Returns the child at the given index, without loading it if it is
+     * loaded lazily, in which case null is returned if it was never accessed.
+     */
+    private static <T> TreeItem<T> peekChild(List<TreeItem<T>> list, int index) {
+        return list instanceof LazyChildrenList<T> lazyList ? lazyList.peek(index) : list.get(index);
+    }
+
+    /*
+     * Returns the number of rows taken by the child at the given index.
+     */
+    private static <T> int getChildRows(List<TreeItem<T>> list, int index, boolean reset) {
+        TreeItem<T> child = peekChild(list, index);
+        if (child == null) {
+            // the children that are loaded lazily take a row each until then
+            return list instanceof LazyChildrenList ? 1 : 0;
+        }
+        return child.isExpanded() ? child.getExpandedDescendentCount(reset) : 1;
+    }
+
+    /*
+     * Brings childRows and childRowTree up to date with the given children of
+     * this TreeItem and their expanded descendent counts.
+     */
+    private void updateChildRows(List<TreeItem<T>> list, boolean reset) {
+        if (childRowsList != list || childRows.length != list.size()) {
+            // changes made while the rows are counted are not tracked, in the
+            // same way as they are not by expandedDescendentCountDirty
+            childRowsList = null;
+            final int n = list.size();
+            int[] rows = new int[n];
+            int[] tree = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                TreeItem<T> child = peekChild(list, i);
+                if (child != null) {
+                    child.indexInParent = i;
+                }
+                rows[i] = getChildRows(list, i, reset);
+                // build the Fenwick tree in linear time
+                int node = i + 1;
+                tree[node] += rows[i];
+                int parent = node + (node & -node);
+                if (parent <= n) {
+                    tree[parent] += tree[node];
+                }
+            }
+            childRows = rows;
+            childRowTree = tree;
+            if (dirtyChildRows != null) {
+                dirtyChildRows.clear();
+            }
+            childRowsList = list;
+        } else if (dirtyChildRows != null) {
+            for (int i = dirtyChildRows.nextSetBit(0); i >= 0; i = dirtyChildRows.nextSetBit(i + 1)) {
+                dirtyChildRows.clear(i);
+                int rows = getChildRows(list, i, false);
+                int delta = rows - childRows[i];
+                if (delta != 0) {
+                    childRows[i] = rows;
+                    for (int node = i + 1; node < childRowTree.length; node += node & -node) {
+                        childRowTree[node] += delta;
+                    }
+                }
+                if (childRowsList == null) {
+                    // the children changed while counting the rows
+                    updateChildRows(list, false);
+                    return;
+                }
+            }
+        }
+    }
+
+    /*
+     * Returns the number of rows taken by the children of this TreeItem that
+     * precede the child at the given index.
+     */
+    private int getChildRowOffset(int index) {
+        int rows = 0;
+        for (int node = index; node > 0; node -= node & -node) {
+            rows += childRowTree[node];
+        }
+        return rows;
+    }
+
+    /*
+     * Returns the number of rows between this TreeItem and the given child
+     * when this TreeItem is expanded, that is the rows taken by the preceding
+     * children, or -1 if the child does not belong to this TreeItem. Like the
+     * rows of the TreeView, this does not call getChildren(), which may load
+     * or sort the children of this TreeItem.
+     */
+    int getRowOffsetOfChild(TreeItem<T> child) {
+        if (children == null) return -1;
+        updateChildRows(children, false);
+        int index = child.indexInParent;
+        if (index < 0 || index >= childRows.length || peekChild(childRowsList, index) != child) {
+            index = childRowsList.indexOf(child);
+            if (index < 0) return -1;
+        }
+        return getChildRowOffset(index);
+    }
+
+    /*
+     * Returns the child of this TreeItem that contains the given row, counted
+     * from the row following this TreeItem, and stores the row within that
+     * child in rowInChild[0]. Returns null if there is no such row.
+     */
+    TreeItem<T> getChildAtRow(int row, int[] rowInChild) {
+        getExpandedDescendentCount(false);
+        if (childRowsList == null) {
+            // only the case when this TreeItem is a leaf or is collapsed
+            ignoreSortUpdate = true;
+            List<TreeItem<T>> list = getChildren();
+            ignoreSortUpdate = false;
+            updateChildRows(list, false);
+        }
+        if (row < 0) return null;
+        final int n = childRows.length;
+        // find the largest number of children that take at most row rows
+        int index = 0;
+        int remaining = row;
+        for (int step = Integer.highestOneBit(Math.max(1, n)); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= n && childRowTree[next] <= remaining) {
+                index = next;
+                remaining -= childRowTree[next];
             }
         }
-        ignoreSortUpdate = false;
+        if (index >= n) return null;
+        rowInChild[0] = remaining;
+        return childRowsList.get(index);
     }
 
     private void updateChildren(ListChangeListener.Change<? extends TreeItem<T>> c) {
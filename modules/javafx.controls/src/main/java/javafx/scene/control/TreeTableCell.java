@@ -677,7 +677,11 @@ public class TreeTableCell<S,T> extends IndexedCell<T> {
             }
             return;
         } else {
-            currentObservableValue = tableColumn.getCellObservableValue(index);
+            // the placeholders of lazily loaded children have no value for
+            // the cell value factory until they are loaded
+            final TreeItem<S> treeItem = tableView.getTreeItem(index);
+            currentObservableValue = treeItem != null && treeItem.isPlaceholder() ?
+                    null : tableColumn.getCellObservableValue(index);
 
             final T newValue = currentObservableValue == null ? null : currentObservableValue.getValue();
 
@@ -766,9 +770,15 @@ public class TreeTableCell<S,T> extends IndexedCell<T> {
     public final void updateTableColumn(TreeTableColumn<S,T> column) {
         // remove style class of existing tree table column, if it is non-null
         TreeTableColumn<S,T> oldCol = getTableColumn();
+        // cells moved between columns with the same style classes keep them,
+        // rather than having them removed and added back
+        final boolean sameStyleClass = oldCol != null && column != null &&
+                oldCol.getStyleClass().equals(column.getStyleClass());
         if (oldCol != null) {
             oldCol.getStyleClass().removeListener(weakColumnStyleClassListener);
-            getStyleClass().removeAll(oldCol.getStyleClass());
+            if (! sameStyleClass) {
+                getStyleClass().removeAll(oldCol.getStyleClass());
+            }
 
             oldCol.idProperty().removeListener(weakColumnIdListener);
             oldCol.styleProperty().removeListener(weakColumnStyleListener);
@@ -786,7 +796,9 @@ public class TreeTableCell<S,T> extends IndexedCell<T> {
         setTableColumn(column);
 
         if (column != null) {
-            getStyleClass().addAll(column.getStyleClass());
+            if (! sameStyleClass) {
+                getStyleClass().addAll(column.getStyleClass());
+            }
             column.getStyleClass().addListener(weakColumnStyleClassListener);
 
             column.idProperty().addListener(weakColumnIdListener);
@@ -156,6 +156,7 @@ public class TreeTableRow<T> extends IndexedCell<T> {
                 }
 
                 oldValue = get();
+                pseudoClassStateChanged(LOADING_PSEUDOCLASS_STATE, oldValue != null && oldValue.isPlaceholder());
 
                 if (oldValue != null) {
                     oldExpanded = oldValue.isExpanded();
@@ -536,6 +537,7 @@ public class TreeTableRow<T> extends IndexedCell<T> {
 
     private static final PseudoClass EXPANDED_PSEUDOCLASS_STATE = PseudoClass.getPseudoClass("expanded");
     private static final PseudoClass COLLAPSED_PSEUDOCLASS_STATE = PseudoClass.getPseudoClass("collapsed");
+    private static final PseudoClass LOADING_PSEUDOCLASS_STATE = PseudoClass.getPseudoClass("loading");
 
     /** {@inheritDoc} */
     @Override protected Skin<?> createDefaultSkin() {
@@ -46,6 +46,7 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.ReadOnlyIntegerProperty;
@@ -53,6 +54,7 @@ import javafx.beans.property.ReadOnlyIntegerWrapper;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.WeakChangeListener;
@@ -77,6 +79,7 @@ import javafx.scene.Node;
 import javafx.scene.control.skin.TreeTableViewSkin;
 import javafx.scene.layout.Region;
 import javafx.util.Callback;
+import javafx.util.Pair;
 import com.sun.javafx.collections.MappingChange;
 import com.sun.javafx.collections.NonIterableChange;
 import com.sun.javafx.scene.control.ConstrainedColumnResize;
@@ -1509,6 +1512,11 @@ public class TreeTableView<S> extends Control {
      * use -fx-fixed-cell-size, instead of -fx-cell-size. If both properties are
      * specified in CSS, -fx-fixed-cell-size takes precedence.</p>
      *
+     * <p>With a fixed cell size, rows only create cells for the columns in or
+     * near the viewport. Cells of columns that scroll out of view may be reused
+     * for other columns with the same cell factory, so cells must not assume
+     * that their table column never changes.</p>
+     *
      * @return the fixed cell size property
      * @since JavaFX 8.0
      */
@@ -1532,6 +1540,34 @@ public class TreeTableView<S> extends Control {
     }
 
 
+    // --- Frozen column count
+    private IntegerProperty frozenColumnCount;
+    public final void setFrozenColumnCount(int value) {
+        frozenColumnCountProperty().set(value);
+    }
+    public final int getFrozenColumnCount() {
+        return frozenColumnCount == null ? 0 : frozenColumnCount.get();
+    }
+    /**
+     * The number of leading visible leaf columns that stay in place when this
+     * TreeTableView is scrolled horizontally. The headers and cells of these columns
+     * are drawn over the columns that scroll underneath them. A nested column
+     * header stays in place only when all of its visible leaf columns do.
+     * Values less than or equal to zero do not freeze any columns, values
+     * greater than the number of visible leaf columns freeze all of them.
+     *
+     * @return the frozen column count property
+     * @defaultValue 0
+     * @since 24
+     */
+    public final IntegerProperty frozenColumnCountProperty() {
+        if (frozenColumnCount == null) {
+            frozenColumnCount = new SimpleIntegerProperty(this, "frozenColumnCount", 0);
+        }
+        return frozenColumnCount;
+    }
+
+
     // --- SortMode
     /**
      * Specifies the sort mode to use when sorting the contents of this TreeTableView,
@@ -1789,7 +1825,7 @@ public class TreeTableView<S> extends Control {
      *      collapsed).
      */
     public int getRow(TreeItem<S> item) {
-        return TreeUtil.getRow(item, getRoot(), expandedItemCountDirty, isShowRoot());
+        return TreeUtil.getRow(item, getRoot(), isShowRoot());
     }
 
     /**
@@ -1816,7 +1852,7 @@ public class TreeTableView<S> extends Control {
             }
         }
 
-        TreeItem<S> treeItem = TreeUtil.getItem(getRoot(), _row, expandedItemCountDirty);
+        TreeItem<S> treeItem = TreeUtil.getItem(getRoot(), _row);
         treeItemCacheMap.put(_row, new SoftReference<>(treeItem));
         return treeItem;
     }
@@ -2116,7 +2152,7 @@ public class TreeTableView<S> extends Control {
     }
 
     private void updateExpandedItemCount(TreeItem<S> treeItem) {
-        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, expandedItemCountDirty, isShowRoot()));
+        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, isShowRoot()));
 
         if (expandedItemCountDirty) {
             // this is a very inefficient thing to do, but for now having a cache
@@ -2673,6 +2709,7 @@ public class TreeTableView<S> extends Control {
                 int startRow = treeTableView.getRow(treeItem);
 
                 int shift = 0;
+                List<Pair<Integer, Integer>> shifts = new ArrayList<>();
                 ListChangeListener.Change<? extends TreeItem<?>> change = e.getChange();
                 if (change != null) {
                     change.next();
@@ -2787,6 +2824,19 @@ public class TreeTableView<S> extends Control {
                                 focus(selectedIndex);
                             }
                         }
+                    } else if (TreeUtil.isPlaceholderReplacement(change)) {
+                        // lazily loaded children take the rows of their
+                        // placeholders, only the descendants of expanded ones
+                        // add rows, right after the child they belong to
+                        if (ControlUtils.isTreeItemIncludingAncestorsExpanded(treeItem)) {
+                            List<? extends TreeItem<S>> added = e.getChange().getAddedSubList();
+                            int firstRow = treeTableView.getRow(added.get(0));
+                            shifts.addAll(TreeUtil.getDescendantRowShifts(added, firstRow));
+                        }
+
+                        if (change.getRemoved().contains(getSelectedItem())) {
+                            setSelectedItem(getModelItem(getSelectedIndex()));
+                        }
                     } else if (e.wasAdded()) {
                         // shuffle selection by the number of added items
                         shift += ControlUtils.isTreeItemIncludingAncestorsExpanded(treeItem) ? addedSize : 0;
@@ -2858,7 +2908,10 @@ public class TreeTableView<S> extends Control {
                 } while (e.getChange() != null && e.getChange().next());
 
                 if (shift != 0) {
-                    shiftSelection(startRow, shift, new Callback<ShiftParams, Void>() {
+                    shifts.add(new Pair<>(startRow, shift));
+                }
+                if (!shifts.isEmpty()) {
+                    shiftSelection(shifts, new Callback<ShiftParams, Void>() {
                         @Override public Void call(ShiftParams param) {
 
                             // we make the shifts atomic, as otherwise listeners to
@@ -3644,6 +3697,7 @@ public class TreeTableView<S> extends Control {
                 if (getFocusedIndex() == -1) return;
 
                 int shift = 0;
+                boolean refocus = false;
                 if (e.getChange() != null) {
                     e.getChange().next();
                 }
@@ -3662,6 +3716,22 @@ public class TreeTableView<S> extends Control {
                             // that were just hidden
                             shift += -e.getTreeItem().previousExpandedDescendentCount + 1;
                         }
+                    } else if (TreeUtil.isPlaceholderReplacement(e.getChange())) {
+                        // lazily loaded children take the rows of their
+                        // placeholders, only the descendants of expanded ones
+                        // before the focused row add rows above it
+                        if (ControlUtils.isTreeItemIncludingAncestorsExpanded(e.getTreeItem())) {
+                            List<? extends TreeItem<S>> added = e.getChange().getAddedSubList();
+                            int firstRow = treeTableView.getRow(added.get(0));
+                            shift += TreeUtil.getShiftAt(TreeUtil.getDescendantRowShifts(added, firstRow),
+                                                         getFocusedIndex());
+                        }
+                        if (e.getChange().getRemoved().contains(getFocusedItem())) {
+                            // focus the item that was loaded for the focused
+                            // placeholder, which may still be in the row cache
+                            treeTableView.expandedItemCountDirty = true;
+                            refocus = true;
+                        }
                     } else if (e.wasAdded()) {
                         // get the TreeItem the event occurred on - we only need to
                         // shift if the tree item is expanded
@@ -3698,7 +3768,7 @@ public class TreeTableView<S> extends Control {
                     }
                 } while (e.getChange() != null && e.getChange().next());
 
-                if (shift != 0) {
+                if (shift != 0 || refocus) {
                     TreeTablePosition<S, ?> focusedCell = getFocusedCell();
                     final int newFocus = focusedCell.getRow() + shift;
                     if (newFocus >= 0) {
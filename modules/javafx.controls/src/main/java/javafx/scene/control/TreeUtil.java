@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2016, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,7 +25,10 @@
 
 package javafx.scene.control;
 
+import java.util.ArrayList;
 import java.util.List;
+import javafx.collections.ListChangeListener;
+import javafx.util.Pair;
 
 /**
  * A package protected util class used by TreeView and TreeTableView to reduce
@@ -33,67 +36,53 @@ import java.util.List;
  */
 class TreeUtil {
 
-    static <T> int getExpandedDescendantCount(TreeItem<T> node, boolean treeItemCountDirty) {
+    // TreeItems keep the number of rows taken by each of their children in a
+    // Fenwick tree, which is kept up to date as items are expanded, collapsed,
+    // added or removed, so that the methods below only visit one child per
+    // level of the tree, in O(log n) each, rather than all the children.
+
+    static <T> int getExpandedDescendantCount(TreeItem<T> node) {
         if (node == null) return 0;
         if (node.isLeaf()) return 1;
 
-        return node.getExpandedDescendentCount(treeItemCountDirty);
+        return node.getExpandedDescendentCount(false);
     }
 
-    static int updateExpandedItemCount(TreeItem treeItem, boolean treeItemCountDirty, boolean isShowRoot) {
+    static int updateExpandedItemCount(TreeItem treeItem, boolean isShowRoot) {
         if (treeItem == null) {
             return 0;
         } else if (! treeItem.isExpanded()) {
             return 1;
         } else {
-            int count = getExpandedDescendantCount(treeItem, treeItemCountDirty);
+            int count = getExpandedDescendantCount(treeItem);
             if (! isShowRoot) count--;
 
             return count;
         }
     }
 
-    static <T> TreeItem<T> getItem(TreeItem<T> parent, int itemIndex, boolean treeItemCountDirty) {
+    static <T> TreeItem<T> getItem(TreeItem<T> parent, int itemIndex) {
         if (parent == null) return null;
 
-        // if itemIndex is 0 then our parent is what we were looking for
-        if (itemIndex == 0) return parent;
-
         // if itemIndex is > the total item count, then it is out of range
-        if (itemIndex >= getExpandedDescendantCount(parent, treeItemCountDirty)) return null;
-
-        // if we got here, then one of our descendants is the item we're after
-        List<TreeItem<T>> children = parent.getChildren();
-        if (children == null) return null;
-
-        int idx = itemIndex - 1;
-
-        TreeItem<T> child;
-        for (int i = 0, max = children.size(); i < max; i++) {
-            child = children.get(i);
-            if (idx == 0) return child;
-
-            if (child.isLeaf() || ! child.isExpanded()) {
-                idx--;
-                continue;
-            }
-
-            int expandedChildCount = getExpandedDescendantCount(child, treeItemCountDirty);
-            if (idx >= expandedChildCount) {
-                idx -= expandedChildCount;
-                continue;
-            }
-
-            TreeItem<T> result = getItem(child, idx, treeItemCountDirty);
-            if (result != null) return result;
-            idx--;
+        if (itemIndex < 0 || itemIndex >= getExpandedDescendantCount(parent)) return null;
+
+        // walk down the tree, picking at each level the child that contains
+        // the row we are after
+        final int[] rowInChild = new int[1];
+        TreeItem<T> item = parent;
+        int idx = itemIndex;
+        while (idx > 0) {
+            TreeItem<T> child = item.getChildAtRow(idx - 1, rowInChild);
+            if (child == null) return null;
+
+            item = child;
+            idx = rowInChild[0];
         }
-
-        // We might get here if getItem(0) is called on an empty tree
-        return null;
+        return item;
     }
 
-    static <T> int getRow(TreeItem<T> item, TreeItem<T> root, boolean treeItemCountDirty, boolean isShowRoot) {
+    static <T> int getRow(TreeItem<T> item, TreeItem<T> root, boolean isShowRoot) {
         if (item == null) {
             return -1;
         } else if (isShowRoot && item.equals(root)) {
@@ -104,8 +93,6 @@ class TreeUtil {
         TreeItem<T> i = item;
         TreeItem<T> p = item.getParent();
 
-        TreeItem<T> sibling;
-        List<TreeItem<T>> siblings;
         boolean parentIsCollapsed = false;
 
         while (!i.equals(root) && p != null) {
@@ -114,25 +101,31 @@ class TreeUtil {
                 break;
             }
 
-            siblings = p.children;
-
-            // work up each sibling, from the current item
-            int itemIndex = siblings.indexOf(i);
-            for (int pos = itemIndex - 1; pos > -1; pos--) {
-                sibling = siblings.get(pos);
-                if (sibling == null) continue;
-
-                row += getExpandedDescendantCount(sibling, treeItemCountDirty);
-
-                if (sibling.equals(root)) {
-                    if (! isShowRoot) {
-                        // special case: we've found out that our sibling is
-                        // actually the root node AND we aren't showing root nodes.
-                        // This means that the item shouldn't actually be shown.
-                        return -1;
+            if (root != null && root.getParent() == p) {
+                // the root is one of our siblings, fall back to walking the
+                // siblings to find out whether it precedes the item
+                List<TreeItem<T>> siblings = p.children;
+                int itemIndex = siblings.indexOf(i);
+                for (int pos = itemIndex - 1; pos > -1; pos--) {
+                    TreeItem<T> sibling = siblings.get(pos);
+                    if (sibling == null) continue;
+
+                    row += getExpandedDescendantCount(sibling);
+
+                    if (sibling.equals(root)) {
+                        if (! isShowRoot) {
+                            // special case: we've found out that our sibling is
+                            // actually the root node AND we aren't showing root nodes.
+                            // This means that the item shouldn't actually be shown.
+                            return -1;
+                        }
+                        return row;
                     }
-                    return row;
                 }
+            } else {
+                int offset = p.getRowOffsetOfChild(i);
+                if (offset < 0) return -1;
+                row += offset;
             }
 
             i = p;
@@ -149,4 +142,53 @@ class TreeUtil {
 
         return (p == null && row == 0) || parentIsCollapsed ? -1 : isShowRoot ? row : row - 1;
     }
+
+    /*
+     * Returns true if the given change replaces the placeholders of children
+     * that are loaded lazily with the loaded children, which take one row
+     * each, unless they are expanded.
+     */
+    static boolean isPlaceholderReplacement(ListChangeListener.Change<? extends TreeItem<?>> change) {
+        if (change == null || !change.wasReplaced() || change.getAddedSize() != change.getRemovedSize()) {
+            return false;
+        }
+        for (TreeItem<?> item : change.getRemoved()) {
+            if (item == null || !item.isPlaceholder()) return false;
+        }
+        return true;
+    }
+
+    /*
+     * Returns the rows added by the descendants of the given children, which
+     * replaced placeholders starting at firstRow, as pairs of the row right
+     * after each expanded child, counted before any of these rows were added,
+     * and the number of rows taken by its descendants.
+     */
+    static List<Pair<Integer, Integer>> getDescendantRowShifts(List<? extends TreeItem<?>> items, int firstRow) {
+        List<Pair<Integer, Integer>> shifts = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            TreeItem<?> item = items.get(i);
+            if (item != null && item.isExpanded()) {
+                // the placeholders took one row each
+                int count = getExpandedDescendantCount(item) - 1;
+                if (count > 0) {
+                    shifts.add(new Pair<>(firstRow + i + 1, count));
+                }
+            }
+        }
+        return shifts;
+    }
+
+    /*
+     * Returns the sum of the given shifts that apply to the given row.
+     */
+    static int getShiftAt(List<Pair<Integer, Integer>> shifts, int row) {
+        int shift = 0;
+        for (Pair<Integer, Integer> s : shifts) {
+            if (s.getKey() <= row) {
+                shift += s.getValue();
+            }
+        }
+        return shift;
+    }
 }
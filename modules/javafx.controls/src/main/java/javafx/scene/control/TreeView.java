@@ -60,6 +60,7 @@ import javafx.scene.AccessibleRole;
 import javafx.scene.control.TreeItem.TreeModificationEvent;
 import javafx.scene.layout.Region;
 import javafx.util.Callback;
+import javafx.util.Pair;
 
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
@@ -1039,7 +1040,7 @@ public class TreeView<T> extends Control {
      *      collapsed).
      */
     public int getRow(TreeItem<T> item) {
-        return TreeUtil.getRow(item, getRoot(), expandedItemCountDirty, isShowRoot());
+        return TreeUtil.getRow(item, getRoot(), isShowRoot());
     }
 
     /**
@@ -1066,7 +1067,7 @@ public class TreeView<T> extends Control {
             }
         }
 
-        TreeItem<T> treeItem = TreeUtil.getItem(getRoot(), _row, expandedItemCountDirty);
+        TreeItem<T> treeItem = TreeUtil.getItem(getRoot(), _row);
         treeItemCacheMap.put(_row, new SoftReference<>(treeItem));
         return treeItem;
     }
@@ -1130,7 +1131,7 @@ public class TreeView<T> extends Control {
      **************************************************************************/
 
     private void updateExpandedItemCount(TreeItem<T> treeItem) {
-        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, expandedItemCountDirty, isShowRoot()));
+        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, isShowRoot()));
 
         if (expandedItemCountDirty) {
             // this is a very inefficient thing to do, but for now having a cache
@@ -1397,6 +1398,7 @@ public class TreeView<T> extends Control {
             int startRow = treeView.getRow(treeItem);
 
             int shift = 0;
+            List<Pair<Integer, Integer>> shifts = new ArrayList<>();
             ListChangeListener.Change<? extends TreeItem<?>> change = e.getChange();
             if (change != null) {
                 change.next();
@@ -1455,6 +1457,19 @@ public class TreeView<T> extends Control {
                     startRow++;
                 } else if (e.wasPermutated()) {
                     // no-op
+                } else if (TreeUtil.isPlaceholderReplacement(change)) {
+                    // lazily loaded children take the rows of their
+                    // placeholders, only the descendants of expanded ones
+                    // add rows, right after the child they belong to
+                    if (ControlUtils.isTreeItemIncludingAncestorsExpanded(treeItem)) {
+                        List<? extends TreeItem<T>> added = e.getChange().getAddedSubList();
+                        int firstRow = treeView.getRow(added.get(0));
+                        shifts.addAll(TreeUtil.getDescendantRowShifts(added, firstRow));
+                    }
+
+                    if (change.getRemoved().contains(getSelectedItem())) {
+                        setSelectedItem(getModelItem(getSelectedIndex()));
+                    }
                 } else if (e.wasAdded()) {
                     // shuffle selection by the number of added items
                     shift += ControlUtils.isTreeItemIncludingAncestorsExpanded(treeItem) ? addedSize : 0;
@@ -1517,12 +1532,17 @@ public class TreeView<T> extends Control {
                 }
             } while (e.getChange() != null && e.getChange().next());
 
-            shiftSelection(startRow, shift, null);
+            int anchorShift = shift;
+            Integer anchor = TreeCellBehavior.getAnchor(treeView, null);
+            if (anchor != null) {
+                anchorShift += TreeUtil.getShiftAt(shifts, anchor);
+            }
+            shifts.add(new Pair<>(startRow, shift));
+            shiftSelection(shifts, null);
 
             if (e.wasAdded() || e.wasRemoved()) {
-                Integer anchor = TreeCellBehavior.getAnchor(treeView, null);
-                if (anchor != null && isSelected(anchor + shift)) {
-                    TreeCellBehavior.setAnchor(treeView, anchor + shift, false);
+                if (anchor != null && isSelected(anchor + anchorShift)) {
+                    TreeCellBehavior.setAnchor(treeView, anchor + anchorShift, false);
                 }
             }
         };
@@ -1714,6 +1734,7 @@ public class TreeView<T> extends Control {
                 int row = treeView.getRow(e.getTreeItem());
 
                 int shift = 0;
+                boolean refocus = false;
                 if (e.getChange() != null) {
                     e.getChange().next();
                 }
@@ -1730,6 +1751,22 @@ public class TreeView<T> extends Control {
                             // that were just hidden
                             shift += -e.getTreeItem().previousExpandedDescendentCount + 1;
                         }
+                    } else if (TreeUtil.isPlaceholderReplacement(e.getChange())) {
+                        // lazily loaded children take the rows of their
+                        // placeholders, only the descendants of expanded ones
+                        // before the focused row add rows above it
+                        if (ControlUtils.isTreeItemIncludingAncestorsExpanded(e.getTreeItem())) {
+                            List<? extends TreeItem<T>> added = e.getChange().getAddedSubList();
+                            int firstRow = treeView.getRow(added.get(0));
+                            shift += TreeUtil.getShiftAt(TreeUtil.getDescendantRowShifts(added, firstRow),
+                                                         getFocusedIndex());
+                        }
+                        if (e.getChange().getRemoved().contains(getFocusedItem())) {
+                            // focus the item that was loaded for the focused
+                            // placeholder, which may still be in the row cache
+                            treeView.expandedItemCountDirty = true;
+                            refocus = true;
+                        }
                     } else if (e.wasAdded()) {
                         // get the TreeItem the event occurred on - we only need to
                         // shift if the tree item is expanded
@@ -1766,7 +1803,7 @@ public class TreeView<T> extends Control {
                     }
                 } while (e.getChange() != null && e.getChange().next());
 
-                if(shift != 0) {
+                if(shift != 0 || refocus) {
                     final int newFocus = getFocusedIndex() + shift;
                     if (newFocus >= 0) {
                         Platform.runLater(() -> focus(newFocus));
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -98,6 +98,9 @@ public class NestedTableColumnHeader extends TableColumnHeader {
     // drag rectangle overlays
     private Map<TableColumnBase<?,?>, Rectangle> dragRects = new WeakHashMap<>();
 
+    // the headers that were frozen by the last call to layoutFrozenHeaders()
+    private final List<TableColumnHeader> frozenHeaders = new ArrayList<>();
+
     boolean updateColumns = true;
 
 
@@ -394,6 +397,66 @@ public class NestedTableColumnHeader extends TableColumnHeader {
      *                                                                         *
      **************************************************************************/
 
+    /**
+     * Keeps the headers of the first {@code frozenCount} visible leaf columns
+     * in place by translating them, along with their resize handles, by
+     * {@code shift}, the horizontal scroll position. A nested header that is
+     * only partly frozen does the same for its own headers.
+     */
+    void layoutFrozenHeaders(int frozenCount, double shift) {
+        // only the headers that are frozen, or were frozen the last time,
+        // are updated
+        final List<TableColumnHeader> previous = frozenHeaders.isEmpty() ?
+                List.of() : new ArrayList<>(frozenHeaders);
+        frozenHeaders.clear();
+
+        final List<TableColumnHeader> headers = getColumnHeaders();
+        for (int i = 0, max = headers.size(); i < max && frozenCount > 0; i++) {
+            TableColumnHeader n = headers.get(i);
+            if (! n.isVisible()) continue;
+
+            int leafCount = getVisibleLeafCount(n.getTableColumn());
+            boolean frozen = frozenCount >= leafCount;
+            layoutFrozenHeader(n, frozen ? 0 : frozenCount, frozen, shift);
+            frozenHeaders.add(n);
+
+            frozenCount = Math.max(0, frozenCount - leafCount);
+        }
+
+        for (TableColumnHeader n : previous) {
+            if (! frozenHeaders.contains(n)) {
+                layoutFrozenHeader(n, 0, false, 0);
+            }
+        }
+    }
+
+    private void layoutFrozenHeader(TableColumnHeader n, int frozenCount, boolean frozen, double shift) {
+        if (n instanceof NestedTableColumnHeader) {
+            ((NestedTableColumnHeader) n).layoutFrozenHeaders(frozenCount, shift);
+        }
+
+        // frozen headers are drawn over the ones scrolling underneath
+        n.setTranslateX(frozen ? shift : 0);
+        n.setViewOrder(frozen || frozenCount > 0 ? -1 : 0);
+
+        Rectangle dragRect = dragRects.get(n.getTableColumn());
+        if (dragRect != null) {
+            dragRect.setTranslateX(frozen ? shift : 0);
+            dragRect.setViewOrder(frozen ? -1 : 0);
+        }
+    }
+
+    private static int getVisibleLeafCount(TableColumnBase<?,?> column) {
+        if (column == null || ! column.isVisible()) return 0;
+        if (column.getColumns().isEmpty()) return 1;
+
+        int count = 0;
+        for (TableColumnBase<?,?> c : column.getColumns()) {
+            count += getVisibleLeafCount(c);
+        }
+        return count;
+    }
+
     @Override void initStyleClasses() {
         getStyleClass().setAll(DEFAULT_STYLE_CLASS);
         installTableColumnStyleClassListener();
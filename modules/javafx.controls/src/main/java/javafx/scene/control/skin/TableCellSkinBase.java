@@ -80,10 +80,20 @@ public abstract class TableCellSkinBase<S, T, C extends IndexedCell<T>> extends
         getSkinnable().setClip(clip);
         // --- end of RT-22038
 
-        TableColumnBase<?,?> tableColumn = getTableColumn();
-        if (tableColumn != null) {
-            tableColumn.widthProperty().addListener(weakColumnWidthListener);
+        observedColumn = getTableColumn();
+        if (observedColumn != null) {
+            observedColumn.widthProperty().addListener(weakColumnWidthListener);
         }
+        // cells can be moved to another column when the row reuses them
+        registerChangeListener(tableColumnProperty(), e -> {
+            if (observedColumn != null) {
+                observedColumn.widthProperty().removeListener(weakColumnWidthListener);
+            }
+            observedColumn = getTableColumn();
+            if (observedColumn != null) {
+                observedColumn.widthProperty().addListener(weakColumnWidthListener);
+            }
+        });
 
         if (control.getProperties().containsKey(Properties.DEFER_TO_PARENT_PREF_WIDTH)) {
             isDeferToParentForPrefWidth = true;
@@ -103,6 +113,8 @@ public abstract class TableCellSkinBase<S, T, C extends IndexedCell<T>> extends
     private WeakInvalidationListener weakColumnWidthListener =
             new WeakInvalidationListener(columnWidthListener);
 
+    private TableColumnBase<?,?> observedColumn;
+
 
 
     /* *************************************************************************
@@ -131,9 +143,9 @@ public abstract class TableCellSkinBase<S, T, C extends IndexedCell<T>> extends
     /** {@inheritDoc} */
     @Override public void dispose() {
         if (getSkinnable() == null) return;
-        TableColumnBase<?,T> tableColumn = getTableColumn();
-        if (tableColumn != null) {
-            tableColumn.widthProperty().removeListener(weakColumnWidthListener);
+        if (observedColumn != null) {
+            observedColumn.widthProperty().removeListener(weakColumnWidthListener);
+            observedColumn = null;
         }
 
         super.dispose();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -365,6 +365,9 @@ public class TableHeaderRow extends StackPane {
         // position the main nested header
         getRootHeader().resizeRelocate(x, snappedTopInset(), headerWidth, prefHeight);
 
+        // keep the headers of frozen columns in place
+        getRootHeader().layoutFrozenHeaders(TableSkinUtils.getFrozenColumnCount(tableSkin), -x);
+
         // position the filler region
         final Control control = tableSkin.getSkinnable();
         if (control == null) {
@@ -26,6 +26,7 @@
 package javafx.scene.control.skin;
 
 
+import java.lang.ref.Reference;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -45,6 +46,7 @@ import javafx.scene.control.TablePosition;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TableView.TableViewFocusModel;
+import javafx.scene.layout.Region;
 
 /**
  * Default skin implementation for the {@link TableRow} control.
@@ -157,7 +159,8 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
                                 /* This is the row-based case */
                                 column = getTableView().getVisibleLeafColumn(0);
                             }
-                            TableCell<T,?> cell = cellsMap.get(column).get();
+                            Reference<TableCell<T,?>> cellRef = cellsMap.get(column);
+                            TableCell<T,?> cell = cellRef == null ? null : cellRef.get();
                             if (cell != null) selection.add(cell);
                         }
                         return FXCollections.observableArrayList(selection);
@@ -227,6 +230,42 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
         return cell.getTableColumn();
     }
 
+    /** {@inheritDoc} */
+    @Override Object getCellReuseKey(TableColumnBase<T, ?> tc) {
+        // cells created by the same factory can be moved between columns
+        return ((TableColumn<T, ?>) tc).getCellFactory();
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override void updateCellColumn(TableCell<T, ?> cell, TableColumnBase<T, ?> tc) {
+        TableColumn<T, Object> tableColumn = (TableColumn<T, Object>) tc;
+        ((TableCell<T, Object>) cell).updateTableColumn(tableColumn);
+        if (tableColumn != null) {
+            cell.updateTableView(tableColumn.getTableView());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override double getTableFixedCellSize() {
+        TableView<T> tableView = getTableView();
+        return tableView == null ? Region.USE_COMPUTED_SIZE : tableView.getFixedCellSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override TableColumnBase<T, ?> getEditingColumn() {
+        TableView<T> tableView = getTableView();
+        TablePosition<T, ?> editingCell = tableView == null ? null : tableView.getEditingCell();
+        return editingCell != null && editingCell.getRow() == getSkinnable().getIndex() ?
+                editingCell.getTableColumn() : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override int getFrozenColumnCount() {
+        TableView<T> tableView = getTableView();
+        return tableView == null ? 0 : tableView.getFrozenColumnCount();
+    }
+
     private TableView<T> getTableView() {
         return getSkinnable().getTableView();
     }
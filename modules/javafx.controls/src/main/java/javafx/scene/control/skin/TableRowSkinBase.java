@@ -34,13 +34,14 @@ import com.sun.javafx.PlatformUtil;
 import javafx.animation.FadeTransition;
 import javafx.beans.property.ObjectProperty;
 import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
 import javafx.css.StyleOrigin;
 import javafx.css.StyleableObjectProperty;
-import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.*;
+import javafx.scene.layout.Region;
 import javafx.util.Duration;
 
 import com.sun.javafx.tk.Toolkit;
@@ -100,6 +101,13 @@ public abstract class TableRowSkinBase<T,
     // against memory leaks in certain extreme circumstances.
     private static final int DEFAULT_FULL_REFRESH_COUNTER = 100;
 
+    // The distance beyond the viewport up to which the cells of the columns
+    // are created when the row has a fixed cell size.
+    private static final double COLUMN_MARGIN = TableColumnHeader.DEFAULT_COLUMN_WIDTH;
+
+    private static final PseudoClass FROZEN_PSEUDOCLASS_STATE =
+            PseudoClass.getPseudoClass("frozen");
+
 
     /* *************************************************************************
      *                                                                         *
@@ -121,9 +129,24 @@ public abstract class TableRowSkinBase<T,
      */
     WeakHashMap<TableColumnBase, Reference<R>> cellsMap;
 
-    // This observableArrayList contains the currently visible table cells for this row.
+    // This observableArrayList contains the currently visible table cells for this row,
+    // in the order of their columns.
     final List<R> cells = new ArrayList<>();
 
+    /*
+     * With a fixed cell size the height of the row does not depend on its
+     * cells, so cells are only needed for the visible leaf columns within
+     * COLUMN_MARGIN of the viewport, [firstColumn, lastColumn), along with the
+     * frozen columns and the column being edited. The cells of the columns
+     * that go out of view are kept in the cellPool, keyed by
+     * getCellReuseKey(), and reused for the columns that come into view.
+     */
+    private int firstColumn = 0;
+    private int lastColumn = Integer.MAX_VALUE;
+    private int frozenColumnCount = 0;
+    private TableColumnBase<T,?> editingColumn;
+    private final Map<Object, List<R>> cellPool = new HashMap<>();
+
     private int fullRefreshCounter = DEFAULT_FULL_REFRESH_COUNTER;
 
     boolean isDirty = false;
@@ -151,6 +174,10 @@ public abstract class TableRowSkinBase<T,
         super(control);
         getSkinnable().setPickOnBounds(false);
 
+        // the fixed cell size determines for which columns cells are created
+        fixedCellSize = getTableFixedCellSize();
+        fixedCellSizeEnabled = fixedCellSize > 0;
+
         recreateCells();
         updateCells(true);
 
@@ -223,6 +250,45 @@ public abstract class TableRowSkinBase<T,
      */
     protected abstract ObservableList<? extends TableColumnBase/*<T,?>*/> getVisibleLeafColumns();
 
+    /**
+     * Returns the key shared by the columns whose cells can be reused for
+     * one another, or null if the cells of the given column can not be moved
+     * to another column.
+     */
+    Object getCellReuseKey(TableColumnBase<T,?> tc) {
+        return null;
+    }
+
+    /**
+     * Moves the given cell to the given column, or detaches it from its
+     * column if the column is null.
+     */
+    void updateCellColumn(R cell, TableColumnBase<T,?> tc) {
+    }
+
+    /**
+     * Returns the fixed cell size of the table, or a value less than or equal
+     * to zero if it has none.
+     */
+    double getTableFixedCellSize() {
+        return Region.USE_COMPUTED_SIZE;
+    }
+
+    /**
+     * Returns the column of the cell being edited in this row, or null.
+     */
+    TableColumnBase<T,?> getEditingColumn() {
+        return null;
+    }
+
+    /**
+     * Returns the number of leading visible leaf columns that stay in place
+     * when the table is scrolled horizontally.
+     */
+    int getFrozenColumnCount() {
+        return 0;
+    }
+
 
 
     /* *************************************************************************
@@ -245,9 +311,12 @@ public abstract class TableRowSkinBase<T,
     /** {@inheritDoc} */
     @Override protected void layoutChildren(double x, double y, final double w, final double h) {
         checkState();
+        if (updateColumnRange()) {
+            updateColumnCells(false);
+        }
         if (cellsMap.isEmpty()) return;
 
-        ObservableList<? extends TableColumnBase> visibleLeafColumns = getVisibleLeafColumns();
+        List<TableColumnBase<T,?>> visibleLeafColumns = getLeafColumns();
         if (visibleLeafColumns.isEmpty()) {
             super.layoutChildren(x,y,w,h);
             return;
@@ -326,115 +395,121 @@ public abstract class TableRowSkinBase<T,
         int index = control.getIndex();
         if (index < 0/* || row >= itemsProperty().get().size()*/) return;
 
-        for (int column = 0, max = cells.size(); column < max; column++) {
-            R tableCell = cells.get(column);
-            TableColumnBase<T, ?> tableColumn = getTableColumn(tableCell);
+        // cells of frozen columns are moved along with the horizontal scroll
+        // position, so that they stay in place
+        final VirtualFlow<C> flow = frozenColumnCount > 0 ? getVirtualFlow() : null;
+        final double scrollX = flow == null ? 0.0 : flow.getHbar().getValue();
 
-            boolean isVisible = true;
-            if (fixedCellSizeEnabled) {
-                // we determine if the cell is visible, and if not we have the
-                // ability to take it out of the scenegraph to help improve
-                // performance. However, we only do this when there is a
-                // fixed cell length specified in the TableView. This is because
-                // when we have a fixed cell length it is possible to know with
-                // certainty the height of each TableCell - it is the fixed value
-                // provided by the developer, and this means that we do not have
-                // to concern ourselves with the possibility that the height
-                // may be variable and / or dynamic.
-                isVisible = isColumnPartiallyOrFullyVisible(tableColumn);
+        for (int column = 0, cellIndex = 0, max = visibleLeafColumns.size(); column < max; column++) {
+            TableColumnBase<T, ?> tableColumn = visibleLeafColumns.get(column);
+            R tableCell = cellIndex < cells.size() && getTableColumn(cells.get(cellIndex)) == tableColumn ?
+                    cells.get(cellIndex++) : null;
+
+            if (tableCell == null) {
+                // with a fixed cell size there are no cells for the columns
+                // that are out of view
+                x += snapSizeX(tableColumn.getWidth());
+                continue;
+            }
 
+            if (fixedCellSizeEnabled) {
+                // When there is a fixed cell length specified in the TableView
+                // it is possible to know with certainty the height of each
+                // TableCell - it is the fixed value provided by the developer,
+                // and this means that we do not have to concern ourselves with
+                // the possibility that the height may be variable and / or
+                // dynamic. This is what allows us to only have cells for the
+                // columns that are visible.
                 y = 0;
                 height = fixedCellSize;
             } else {
                 height = h;
             }
 
-            if (isVisible) {
-                if (fixedCellSizeEnabled && tableCell.getParent() == null) {
-                    getChildren().add(tableCell);
-                }
-                // Note: prefWidth() has to be called only after the tableCell is added to the tableRow, if it wasn't
-                // already. Otherwise, it might not have its skin yet, and its pref width is therefore 0.
-                width = tableCell.prefWidth(height);
-
-                // Added for RT-32700, and then updated for RT-34074.
-                // We change the alignment from CENTER_LEFT to TOP_LEFT if the
-                // height of the row is greater than the default size, and if
-                // the alignment is the default alignment.
-                // What I would rather do is only change the alignment if the
-                // alignment has not been manually changed, but for now this will
-                // do.
-                final boolean centreContent = height <= 24.0;
-
-                // if the style origin is null then the property has not been
-                // set (or it has been reset to its default), which means that
-                // we can set it without overwriting someone elses settings.
-                final StyleOrigin origin = ((StyleableObjectProperty<?>) tableCell.alignmentProperty()).getStyleOrigin();
-                if (! centreContent && origin == null) {
-                    tableCell.setAlignment(Pos.TOP_LEFT);
-                }
-                // --- end of RT-32700 fix
-
-                //-----------------------------------------
-                // further indentation code starts here
-                //-----------------------------------------
-                if (indentationRequired && column == indentationColumnIndex) {
-                    if (disclosureVisible) {
-                        double ph = disclosureNode.prefHeight(disclosureWidth);
-
-                        if (width > 0 && width < (disclosureWidth + leftMargin)) {
-                            fadeOut(disclosureNode);
-                        } else {
-                            fadeIn(disclosureNode);
-                            disclosureNode.resize(disclosureWidth, ph);
-
-                            disclosureNode.relocate(x + leftMargin,
-                                    centreContent ? y + (h / 2.0 - ph / 2.0) :
-                                            (y + tableCell.getPadding().getTop()));
-                            disclosureNode.toFront();
-                        }
+            final boolean frozen = column < frozenColumnCount;
+            final double cellX = frozen ? x + scrollX : x;
+            final double viewOrder = frozen ? -1 : 0;
+            tableCell.pseudoClassStateChanged(FROZEN_PSEUDOCLASS_STATE, frozen);
+            tableCell.setViewOrder(viewOrder);
+
+            if (fixedCellSizeEnabled && tableCell.getParent() == null) {
+                getChildren().add(tableCell);
+            }
+            // Note: prefWidth() has to be called only after the tableCell is added to the tableRow, if it wasn't
+            // already. Otherwise, it might not have its skin yet, and its pref width is therefore 0.
+            width = tableCell.prefWidth(height);
+
+            // Added for RT-32700, and then updated for RT-34074.
+            // We change the alignment from CENTER_LEFT to TOP_LEFT if the
+            // height of the row is greater than the default size, and if
+            // the alignment is the default alignment.
+            // What I would rather do is only change the alignment if the
+            // alignment has not been manually changed, but for now this will
+            // do.
+            final boolean centreContent = height <= 24.0;
+
+            // if the style origin is null then the property has not been
+            // set (or it has been reset to its default), which means that
+            // we can set it without overwriting someone elses settings.
+            final StyleOrigin origin = ((StyleableObjectProperty<?>) tableCell.alignmentProperty()).getStyleOrigin();
+            if (! centreContent && origin == null) {
+                tableCell.setAlignment(Pos.TOP_LEFT);
+            }
+            // --- end of RT-32700 fix
+
+            //-----------------------------------------
+            // further indentation code starts here
+            //-----------------------------------------
+            if (indentationRequired && column == indentationColumnIndex) {
+                if (disclosureVisible) {
+                    double ph = disclosureNode.prefHeight(disclosureWidth);
+
+                    if (width > 0 && width < (disclosureWidth + leftMargin)) {
+                        fadeOut(disclosureNode);
+                    } else {
+                        fadeIn(disclosureNode);
+                        disclosureNode.resize(disclosureWidth, ph);
+
+                        disclosureNode.relocate(cellX + leftMargin,
+                                centreContent ? y + (h / 2.0 - ph / 2.0) :
+                                        (y + tableCell.getPadding().getTop()));
+                        disclosureNode.setViewOrder(viewOrder);
+                        disclosureNode.toFront();
                     }
+                }
 
-                    // determine starting point of the graphic or cell node, and the
-                    // remaining width available to them
-                    ObjectProperty<Node> graphicProperty = graphicProperty();
-                    Node graphic = graphicProperty == null ? null : graphicProperty.get();
+                // determine starting point of the graphic or cell node, and the
+                // remaining width available to them
+                ObjectProperty<Node> graphicProperty = graphicProperty();
+                Node graphic = graphicProperty == null ? null : graphicProperty.get();
 
-                    if (graphic != null) {
-                        graphicWidth = graphic.prefWidth(-1) + 3;
-                        double ph = graphic.prefHeight(graphicWidth);
+                if (graphic != null) {
+                    graphicWidth = graphic.prefWidth(-1) + 3;
+                    double ph = graphic.prefHeight(graphicWidth);
 
-                        if (width > 0 && width < disclosureWidth + leftMargin + graphicWidth) {
-                            fadeOut(graphic);
-                        } else {
-                            fadeIn(graphic);
+                    if (width > 0 && width < disclosureWidth + leftMargin + graphicWidth) {
+                        fadeOut(graphic);
+                    } else {
+                        fadeIn(graphic);
 
-                            graphic.relocate(x + leftMargin + disclosureWidth,
-                                    centreContent ? (h / 2.0 - ph / 2.0) :
-                                            (y + tableCell.getPadding().getTop()));
+                        graphic.relocate(cellX + leftMargin + disclosureWidth,
+                                centreContent ? (h / 2.0 - ph / 2.0) :
+                                        (y + tableCell.getPadding().getTop()));
 
-                            graphic.toFront();
-                        }
+                        graphic.setViewOrder(viewOrder);
+                        graphic.toFront();
                     }
                 }
-                //-----------------------------------------
-                // further indentation code ends here
-                //-----------------------------------------
-                tableCell.resize(width, height);
-                tableCell.relocate(x, y);
-
-                // Request layout is here as (partial) fix for RT-28684.
-                // This does not appear to impact performance...
-                tableCell.requestLayout();
-            } else {
-                width = tableCell.prefWidth(height);
-                if (fixedCellSizeEnabled) {
-                    // we only add/remove to the scenegraph if the fixed cell
-                    // length support is enabled - otherwise we keep all
-                    // TableCells in the scenegraph
-                    getChildren().remove(tableCell);
-                }
             }
+            //-----------------------------------------
+            // further indentation code ends here
+            //-----------------------------------------
+            tableCell.resize(width, height);
+            tableCell.relocate(cellX, y);
+
+            // Request layout is here as (partial) fix for RT-28684.
+            // This does not appear to impact performance...
+            tableCell.requestLayout();
 
             x += width;
         }
@@ -496,49 +571,16 @@ public abstract class TableRowSkinBase<T,
         // if clear isn't called first, we can run into situations where the
         // cells aren't updated properly.
         final boolean cellsEmpty = cells.isEmpty();
-        cells.clear();
-
-        final C skinnable = getSkinnable();
-        final int skinnableIndex = skinnable.getIndex();
-        final List<? extends TableColumnBase/*<T,?>*/> visibleLeafColumns = getVisibleLeafColumns();
-
-        for (int i = 0, max = visibleLeafColumns.size(); i < max; i++) {
-            TableColumnBase<T,?> col = visibleLeafColumns.get(i);
-
-            R cell = null;
-            if (cellsMap.containsKey(col)) {
-                cell = cellsMap.get(col).get();
-
-                // the reference has been gc'd, remove key entry from map
-                if (cell == null) {
-                    cellsMap.remove(col);
-                }
-            }
-
-            if (cell == null) {
-                // if the cell is null it means we don't have it in cache and
-                // need to create it
-                cell = createCellAndCache(col);
-            }
-
-            updateCell(cell, skinnable);
-            cell.updateIndex(skinnableIndex);
-            cells.add(cell);
-        }
+        updateColumnRange();
+        updateColumnCells(true);
 
         // update children of each row
         if (fixedCellSizeEnabled) {
             // we leave the adding / removing up to the layoutChildren method mostly, but here we remove any children
-            // cells that refer to columns that are removed or not visible.
-            List<Node> toRemove = new ArrayList<>();
-            for (Node cell : getChildren()) {
-                if (!(cell instanceof IndexedCell)) continue;
-                TableColumnBase<T, ?> tableColumn = getTableColumn((R) cell);
-                if (!getVisibleLeafColumns().contains(tableColumn)) {
-                    toRemove.add(cell);
-                }
-            }
-            getChildren().removeAll(toRemove);
+            // cells that are not in use, such as those of columns that are removed or not visible.
+            final Set<Node> cellsInUse = Collections.newSetFromMap(new IdentityHashMap<>());
+            cellsInUse.addAll(cells);
+            getChildren().removeIf(node -> node instanceof IndexedCell && !cellsInUse.contains(node));
         }
         if (resetChildren || cellsEmpty) {
             getChildren().setAll(cells);
@@ -559,6 +601,13 @@ public abstract class TableRowSkinBase<T,
     /** {@inheritDoc} */
     @Override protected double computePrefWidth(double height, double topInset, double rightInset, double bottomInset, double leftInset) {
         double prefWidth = leftInset + rightInset;
+        if (fixedCellSizeEnabled) {
+            // not all columns have cells, the cells are as wide as their columns
+            for (TableColumnBase<?,?> column : getVisibleLeafColumns()) {
+                prefWidth += snapSizeX(column.getWidth());
+            }
+            return prefWidth;
+        }
         for (R cell : cells) {
             prefWidth += cell.prefWidth(height);
         }
@@ -663,27 +712,179 @@ public abstract class TableRowSkinBase<T,
      *                                                                         *
      **************************************************************************/
 
-    private boolean isColumnPartiallyOrFullyVisible(TableColumnBase col) {
-        if (col == null || !col.isVisible()) return false;
+    /**
+     * Returns the visible leaf columns as columns of the rows of this skin.
+     */
+    @SuppressWarnings("unchecked")
+    private List<TableColumnBase<T,?>> getLeafColumns() {
+        return (List<TableColumnBase<T,?>>) (List<?>) getVisibleLeafColumns();
+    }
 
-        final VirtualFlow<?> virtualFlow = getVirtualFlow();
-        double scrollX = virtualFlow == null ? 0.0 : virtualFlow.getHbar().getValue();
+    /**
+     * Updates the range of the leaf columns that need cells, along with the
+     * frozen and editing columns, returning whether any of them changed.
+     */
+    private boolean updateColumnRange() {
+        final List<TableColumnBase<T,?>> visibleLeafColumns = getLeafColumns();
+        int first = 0;
+        int last = Integer.MAX_VALUE;
+
+        final VirtualFlow<C> flow = fixedCellSizeEnabled ? getVirtualFlow() : null;
+        if (flow != null) {
+            final double scrollX = flow.getHbar().getValue();
+            final double start = scrollX - COLUMN_MARGIN;
+            final double end = scrollX + flow.getViewportBreadth() + COLUMN_MARGIN;
+
+            double x = snappedLeftInset();
+            final int max = visibleLeafColumns.size();
+            while (first < max && x + snapSizeX(visibleLeafColumns.get(first).getWidth()) <= start) {
+                x += snapSizeX(visibleLeafColumns.get(first++).getWidth());
+            }
+            last = first;
+            while (last < max && x < end) {
+                x += snapSizeX(visibleLeafColumns.get(last++).getWidth());
+            }
+        }
+
+        final int frozen = Math.max(0, Math.min(getFrozenColumnCount(), visibleLeafColumns.size()));
+        final TableColumnBase<T,?> editing = fixedCellSizeEnabled ? getEditingColumn() : null;
+        final boolean changed = first != firstColumn || last != lastColumn ||
+                frozen != frozenColumnCount || editing != editingColumn;
+        firstColumn = first;
+        lastColumn = last;
+        frozenColumnCount = frozen;
+        editingColumn = editing;
+        return changed;
+    }
 
-        // work out where this column header is, and it's width (start -> end)
-        double start = 0;
-        final ObservableList<? extends TableColumnBase> visibleLeafColumns = getVisibleLeafColumns();
+    /**
+     * Returns the visible leaf columns that need cells, in their order.
+     */
+    private List<TableColumnBase<T,?>> getColumnsInRange() {
+        final List<TableColumnBase<T,?>> visibleLeafColumns = getLeafColumns();
+        final List<TableColumnBase<T,?>> columns = new ArrayList<>();
         for (int i = 0, max = visibleLeafColumns.size(); i < max; i++) {
-            TableColumnBase<?,?> c = visibleLeafColumns.get(i);
-            if (c.equals(col)) break;
-            start += c.getWidth();
+            TableColumnBase<T,?> col = visibleLeafColumns.get(i);
+            if (i < frozenColumnCount || (i >= firstColumn && i < lastColumn) || col == editingColumn) {
+                columns.add(col);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Fills the cells list with the cells of the columns in range, creating or
+     * reusing cells for the columns that came into view. Unless updateAll is
+     * true, only the cells that are new to this row are updated.
+     */
+    private void updateColumnCells(boolean updateAll) {
+        final List<TableColumnBase<T,?>> columns = getColumnsInRange();
+        final List<R> released = releaseCells(columns);
+        cells.clear();
+
+        final C skinnable = getSkinnable();
+        final int skinnableIndex = skinnable.getIndex();
+
+        for (int i = 0, max = columns.size(); i < max; i++) {
+            TableColumnBase<T,?> col = columns.get(i);
+            R cell = getCell(col);
+            final boolean moved = getTableColumn(cell) != col;
+            if (moved) {
+                // the cell was reused from another column
+                updateCellColumn(cell, col);
+            }
+            if (updateAll || moved || cell.getIndex() != skinnableIndex) {
+                updateCell(cell, skinnable);
+                cell.updateIndex(skinnableIndex);
+            }
+            if (cell.getParent() == null) {
+                getChildren().add(cell);
+            }
+            cells.add(cell);
+        }
+
+        if (released.isEmpty()) return;
+
+        // the released cells stay in the row until here, so that the ones that
+        // are reused are not taken out of the scenegraph and added back. The
+        // ones that are left are removed and emptied in one go.
+        final Set<Node> cellsInUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        cellsInUse.addAll(cells);
+        final Set<Node> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0, max = released.size(); i < max; i++) {
+            R cell = released.get(i);
+            if (cellsInUse.contains(cell)) continue;
+
+            toRemove.add(cell);
+            if (getTableColumn(cell) != null && getCellReuseKey(getTableColumn(cell)) != null) {
+                cell.updateIndex(-1);
+                updateCellColumn(cell, null);
+            }
         }
-        double end = start + col.getWidth();
+        getChildren().removeIf(toRemove::contains);
+    }
+
+    /**
+     * Takes the cells of the columns that are no longer in range out of the
+     * cells list, keeping them for reuse by other columns when possible, and
+     * returns them.
+     */
+    private List<R> releaseCells(List<TableColumnBase<T,?>> columns) {
+        if (!fixedCellSizeEnabled || cells.isEmpty()) return Collections.emptyList();
+
+        final Set<TableColumnBase<T,?>> columnsInRange = Collections.newSetFromMap(new IdentityHashMap<>());
+        columnsInRange.addAll(columns);
+
+        final List<R> released = new ArrayList<>();
+        for (int i = 0, max = cells.size(); i < max; i++) {
+            R cell = cells.get(i);
+            TableColumnBase<T,?> col = getTableColumn(cell);
+            if (columnsInRange.contains(col)) continue;
+
+            released.add(cell);
+
+            Object key = col == null ? null : getCellReuseKey(col);
+            if (key != null) {
+                Reference<R> ref = cellsMap.get(col);
+                if (ref != null && ref.get() == cell) {
+                    cellsMap.remove(col);
+                }
+                cellPool.computeIfAbsent(key, k -> new ArrayList<>()).add(cell);
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Returns the cell of the given column, taking a pooled cell, which still
+     * has to be moved to the column, or creating a new one if the column has
+     * none yet.
+     */
+    private R getCell(TableColumnBase<T,?> col) {
+        R cell = null;
+        if (cellsMap.containsKey(col)) {
+            cell = cellsMap.get(col).get();
 
-        // determine the width of the table
-        final Insets padding = getSkinnable().getPadding();
-        double headerWidth = getSkinnable().getWidth() - padding.getLeft() + padding.getRight();
+            // the reference has been gc'd, remove key entry from map
+            if (cell == null) {
+                cellsMap.remove(col);
+            }
+        }
 
-        return (start >= scrollX || end > scrollX) && (start < (headerWidth + scrollX) || end <= (headerWidth + scrollX));
+        if (cell == null) {
+            List<R> pool = cellPool.isEmpty() ? null : cellPool.get(getCellReuseKey(col));
+            if (pool != null && !pool.isEmpty()) {
+                cell = pool.remove(pool.size() - 1);
+                cellsMap.put(col, new WeakReference<>(cell));
+            }
+        }
+
+        if (cell == null) {
+            // if the cell is null it means we don't have it in cache and
+            // need to create it
+            cell = createCellAndCache(col);
+        }
+        return cell;
     }
 
     private void requestCellUpdate() {
@@ -718,21 +919,21 @@ public abstract class TableRowSkinBase<T,
             cellsMap.clear();
         }
 
-        ObservableList<? extends TableColumnBase/*<T,?>*/> columns = getVisibleLeafColumns();
+        for (List<R> pool : cellPool.values()) {
+            for (R cell : pool) {
+                if (cell.getSkin() != null) {
+                    cell.getSkin().dispose();
+                    cell.setSkin(null);
+                }
+            }
+        }
+        cellPool.clear();
 
-        cellsMap = new WeakHashMap<>(columns.size());
+        cellsMap = new WeakHashMap<>(getVisibleLeafColumns().size());
         fullRefreshCounter = DEFAULT_FULL_REFRESH_COUNTER;
         getChildren().clear();
 
-        for (TableColumnBase col : columns) {
-            if (cellsMap.containsKey(col)) {
-                continue;
-            }
-
-            // create a TableCell for this column and store it in the cellsMap
-            // for future use
-            createCellAndCache(col);
-        }
+        // the cells are created by updateCells(), for the columns that need them
     }
 
     private R createCellAndCache(TableColumnBase<T,?> col) {
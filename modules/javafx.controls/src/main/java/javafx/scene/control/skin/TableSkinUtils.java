@@ -26,6 +26,7 @@ package javafx.scene.control.skin;
 
 import com.sun.javafx.scene.control.TreeTableViewBackingList;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
@@ -82,6 +83,27 @@ class TableSkinUtils {
         return null;
     }
 
+    public static IntegerProperty frozenColumnCountProperty(TableViewSkinBase<?,?,?,?,?> tableSkin) {
+        Object control = tableSkin.getSkinnable();
+        if (control instanceof TableView) {
+            return ((TableView)control).frozenColumnCountProperty();
+        } else if (control instanceof TreeTableView) {
+            return ((TreeTableView)control).frozenColumnCountProperty();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of leading visible leaf columns of the table that are
+     * frozen, clamped to the number of visible leaf columns.
+     */
+    public static int getFrozenColumnCount(TableViewSkinBase<?,?,?,?,?> tableSkin) {
+        IntegerProperty frozenColumnCount = frozenColumnCountProperty(tableSkin);
+        if (frozenColumnCount == null) return 0;
+        int count = Math.min(frozenColumnCount.get(), getVisibleLeafColumns(tableSkin).size());
+        return Math.max(0, count);
+    }
+
     public static ObjectProperty<Node> placeholderProperty(TableViewSkinBase<?,?,?,?,?> tableSkin) {
         Object control = tableSkin.getSkinnable();
         if (control instanceof TableView) {
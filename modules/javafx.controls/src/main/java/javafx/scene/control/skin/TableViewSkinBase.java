@@ -333,6 +333,13 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
             flow.getVbar().widthProperty()
         );
 
+        // rows with a fixed cell size only have cells for the visible columns
+        lh.addInvalidationListener(flow.widthProperty(), (ev) -> {
+            if (flow.getFixedCellSize() > 0) {
+                requestRowLayout();
+            }
+        });
+
         final ObjectProperty<Callback<C, I>> rowFactoryProperty = TableSkinUtils.rowFactoryProperty(this);
         lh.addChangeListener(rowFactoryProperty, e -> {
             Callback<C, I> oldFactory = rowFactory;
@@ -354,6 +361,11 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
             updateSuppressBreadthBar();
         });
 
+        lh.addInvalidationListener(TableSkinUtils.frozenColumnCountProperty(this), (ev) -> {
+            tableHeaderRow.requestLayout();
+            requestRowLayout();
+        });
+
         updateSuppressBreadthBar();
     }
 
@@ -598,6 +610,21 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
 
     void horizontalScroll() {
         tableHeaderRow.updateScrollX();
+
+        // rows with a fixed cell size only have cells for the columns in the
+        // viewport, and frozen columns have to follow the scroll position
+        if (flow.getFixedCellSize() > 0 || TableSkinUtils.getFrozenColumnCount(this) > 0) {
+            requestRowLayout();
+        }
+    }
+
+    private void requestRowLayout() {
+        for (int i = 0, max = flow.cells.size(); i < max; i++) {
+            I row = flow.cells.get(i);
+            if (row != null) {
+                row.requestLayout();
+            }
+        }
     }
 
     /**
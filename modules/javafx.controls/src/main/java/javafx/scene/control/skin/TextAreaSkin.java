@@ -27,6 +27,8 @@ package javafx.scene.control.skin;
 
 import static com.sun.javafx.PlatformUtil.isMac;
 import static com.sun.javafx.PlatformUtil.isWindows;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.List;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -60,8 +62,10 @@ import javafx.scene.shape.PathElement;
 import javafx.scene.text.HitInfo;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
+import com.sun.javafx.scene.control.TextAreaHelper;
 import com.sun.javafx.scene.control.behavior.TextAreaBehavior;
 import com.sun.javafx.scene.control.skin.Utils;
+import com.sun.javafx.scene.text.HitInfoHelper;
 /**
  * Default skin implementation for the {@link TextArea} control.
  *
@@ -79,6 +83,17 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     /** A shared helper object, used only by downLines(). */
     private static final Path tmpCaretPath = new Path();
 
+    /**
+     * Paragraph count above which the text of a text area that does not wrap
+     * is virtualized: the text node then only holds the paragraphs around the
+     * viewport and the caret, positioned at their offset, and the content is
+     * sized from the paragraph count instead of from the laid out text.
+     */
+    @SuppressWarnings("removal")
+    private static final int VIRTUALIZATION_THRESHOLD =
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () ->
+                    Integer.getInteger("javafx.scene.control.skin.TextAreaSkin.virtualizationThreshold", 10000));
+
 
 
     /* ************************************************************************
@@ -105,6 +120,19 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     private ContentView contentView = new ContentView();
     private Group paragraphNodes = new Group();
 
+    // The paragraphs shown by the text node when virtualized, and the range
+    // of the text they span. Without virtualization the window is the whole
+    // text. Paragraphs that are not wrapped all have the same height, which
+    // is measured on the laid out window.
+    private boolean virtualized;
+    private int windowFirstParagraph;
+    private int windowLastParagraph;
+    private int windowStart;
+    private int windowEnd;
+    private int windowCaretPosition = -1;
+    private double windowPrefWidth;
+    private double paragraphHeight;
+
     private Text promptNode;
     private ObservableBooleanValue usePromptText;
 
@@ -248,10 +276,14 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         scrollSelectionFrames.add(new KeyFrame(Duration.millis(350), scrollSelectionHandler));
 
         // Add initial text content
+        virtualized = isVirtualizable();
         for (int i = 0, n = USE_MULTIPLE_NODES ? control.getParagraphs().size() : 1; i < n; i++) {
-            CharSequence paragraph = (n == 1) ? control.textProperty().getValueSafe() : control.getParagraphs().get(i);
+            CharSequence paragraph = (n == 1) ? (virtualized ? "" : control.textProperty().getValueSafe()) : control.getParagraphs().get(i);
             addParagraphNode(i, paragraph.toString());
         }
+        if (virtualized) {
+            updateWindow(0, 1);
+        }
 
         registerChangeListener(control.selectionProperty(), e -> {
             // TODO Why do we need two calls here?
@@ -261,6 +293,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
         registerChangeListener(control.wrapTextProperty(), e -> {
             invalidateMetrics();
+            updateVirtualized();
             scrollPane.setFitToWidth(control.isWrapText());
         });
 
@@ -281,6 +314,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         updateFontMetrics();
         fontMetrics.addListener(valueModel -> {
             updateFontMetrics();
+            if (virtualized) {
+                windowPrefWidth = 0;
+                updateWindow(windowFirstParagraph, windowLastParagraph);
+            }
         });
 
         contentView.paddingProperty().addListener(valueModel -> {
@@ -310,6 +347,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             double vValue = (newValue < getScrollTopMax())
                                ? (newValue / getScrollTopMax()) : 1.0;
             scrollPane.setVvalue(vValue);
+            if (virtualized) {
+                contentView.requestLayout();
+            }
         });
 
         registerChangeListener(control.scrollLeftProperty(), e -> {
@@ -349,7 +389,14 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         } else {
             registerInvalidationListener(control.textProperty(), e -> {
                 invalidateMetrics();
-                ((Text)paragraphNodes.getChildren().get(0)).setText(control.textProperty().getValueSafe());
+                if (!updateVirtualized()) {
+                    if (virtualized) {
+                        // only the shown paragraphs need to be updated
+                        updateWindow(windowFirstParagraph, windowLastParagraph);
+                    } else {
+                        ((Text)paragraphNodes.getChildren().get(0)).setText(control.textProperty().getValueSafe());
+                    }
+                }
                 contentView.requestLayout();
             });
         }
@@ -357,9 +404,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         usePromptText = new BooleanBinding() {
             { bind(control.textProperty(), control.promptTextProperty()); }
             @Override protected boolean computeValue() {
-                String txt = control.getText();
+                // use the length, getText() would copy the whole content
                 String promptTxt = control.getPromptText();
-                return ((txt == null || txt.isEmpty()) &&
+                return (control.getLength() == 0 &&
                         promptTxt != null && !promptTxt.isEmpty());
             }
         };
@@ -405,7 +452,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Point2D tp = textNode.localToScene(0, 0);
                 Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + caretHandle.getWidth() / 2,
                                         e.getSceneY() - tp.getY() - pressY - 6);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                HitInfo hit = toContentHit(textNode.hitTest(translateCaretPosition(p)));
                 positionCaret(hit, false);
                 e.consume();
             });
@@ -416,7 +463,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Point2D tp = textNode.localToScene(0, 0);
                 Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + selectionHandle1.getWidth() / 2,
                                         e.getSceneY() - tp.getY() - pressY + selectionHandle1.getHeight() + 5);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                HitInfo hit = toContentHit(textNode.hitTest(translateCaretPosition(p)));
                 if (control1.getAnchor() < control1.getCaretPosition()) {
                     // Swap caret and anchor
                     control1.selectRange(control1.getCaretPosition(), control1.getAnchor());
@@ -437,7 +484,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Point2D tp = textNode.localToScene(0, 0);
                 Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + selectionHandle2.getWidth() / 2,
                                         e.getSceneY() - tp.getY() - pressY - 6);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                HitInfo hit = toContentHit(textNode.hitTest(translateCaretPosition(p)));
                 if (control1.getAnchor() > control1.getCaretPosition()) {
                     // Swap caret and anchor
                     control1.selectRange(control1.getCaretPosition(), control1.getAnchor());
@@ -495,9 +542,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         // adjust the event to be in the same coordinate space as the
         // text content of the textInputControl
         Text textNode = getTextNode();
-        Point2D p = new Point2D(x - textNode.getLayoutX(), y - getTextTranslateY());
+        Point2D p = new Point2D(x - textNode.getLayoutX(), y - getTextTranslateY() - getWindowTranslateY());
         HitInfo hit = textNode.hitTest(translateCaretPosition(p));
-        return hit;
+        return toContentHit(hit);
     }
 
     /** {@inheritDoc} */
@@ -593,7 +640,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         if ((moveRight && charShape.getLayoutBounds().getMaxX() > caretBounds.getMaxX()) ||
                 (!moveRight && charShape.getLayoutBounds().getMinX() < caretBounds.getMinX())) {
             leading = !leading;
-            positionCaret(hit.getInsertionIndex(), leading, false, false);
+            positionCaret(hit.getInsertionIndex() + windowStart, leading, false, false);
         } else {
             // We're at beginning or end of line. Try moving up / down.
             int dot = textArea.getCaretPosition();
@@ -650,7 +697,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 (nLines > 0 && foundLineMidY > caretBounds.getMaxY()) ||
                 (nLines < 0 && foundLineMidY < caretBounds.getMinY())) {
 
-            positionCaret(hit.getInsertionIndex(), hit.isLeading(), select, extendSelection);
+            positionCaret(hit.getInsertionIndex() + windowStart, hit.isLeading(), select, extendSelection);
             targetCaretX = x;
         }
     }
@@ -688,19 +735,17 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     private void paragraphStart(boolean previousIfAtStart, boolean select) {
         TextArea textArea = getSkinnable();
-        String text = textArea.textProperty().getValueSafe();
         int pos = textArea.getCaretPosition();
 
         if (pos > 0) {
-            if (previousIfAtStart && text.codePointAt(pos-1) == 0x0a) {
+            int paragraphIndex = TextAreaHelper.getParagraphIndex(textArea, pos);
+            if (previousIfAtStart && pos == TextAreaHelper.getParagraphStart(textArea, paragraphIndex)) {
                 // We are at the beginning of a paragraph.
                 // Back up to the previous paragraph.
-                pos--;
+                paragraphIndex--;
             }
             // Back up to the beginning of this paragraph
-            while (pos > 0 && text.codePointAt(pos-1) != 0x0a) {
-                pos--;
-            }
+            pos = TextAreaHelper.getParagraphStart(textArea, paragraphIndex);
             if (select) {
                 textArea.selectPositionCaret(pos);
             } else {
@@ -712,24 +757,23 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     private void paragraphEnd(boolean goPastInitialNewline, boolean select) {
         TextArea textArea = getSkinnable();
-        String text = textArea.textProperty().getValueSafe();
         int pos = textArea.getCaretPosition();
-        int len = text.length();
+        int len = textArea.getLength();
         boolean wentPastInitialNewline = false;
         boolean goPastTrailingNewline = isWindows();
 
         if (pos < len) {
-            if (goPastInitialNewline && text.codePointAt(pos) == 0x0a) {
+            int paragraphIndex = TextAreaHelper.getParagraphIndex(textArea, pos);
+            if (goPastInitialNewline && pos == getParagraphEnd(paragraphIndex)) {
                 // We are at the end of a paragraph, start by moving to the
                 // next paragraph.
                 pos++;
+                paragraphIndex++;
                 wentPastInitialNewline = true;
             }
             if (!(goPastTrailingNewline && wentPastInitialNewline)) {
                 // Go to the end of this paragraph
-                while (pos < len && text.codePointAt(pos) != 0x0a) {
-                    pos++;
-                }
+                pos = getParagraphEnd(paragraphIndex);
                 if (goPastTrailingNewline && pos < len) {
                     // We are at the end of a paragraph, finish by moving to
                     // the beginning of the next paragraph (Windows behavior).
@@ -746,12 +790,12 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected PathElement[] getUnderlineShape(int start, int end) {
-        int pStart = 0;
+        int pStart = windowStart;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
             int pEnd = pStart + p.textProperty().getValueSafe().length();
             if (pEnd >= start) {
-                return p.underlineShape(start - pStart, end - pStart);
+                return p.underlineShape(Math.max(0, start - pStart), Math.max(0, end - pStart));
             }
             pStart = pEnd + 1;
         }
@@ -760,12 +804,12 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected PathElement[] getRangeShape(int start, int end) {
-        int pStart = 0;
+        int pStart = windowStart;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
             int pEnd = pStart + p.textProperty().getValueSafe().length();
             if (pEnd >= start) {
-                return p.rangeShape(start - pStart, end - pStart);
+                return p.rangeShape(Math.max(0, start - pStart), Math.max(0, end - pStart));
             }
             pStart = pEnd + 1;
         }
@@ -774,7 +818,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected void addHighlight(List<? extends Node> nodes, int start) {
-        int pStart = 0;
+        int pStart = windowStart;
         Text paragraphNode = null;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
@@ -828,6 +872,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             case LINE_END:
             case BOUNDS_FOR_RANGE:
             case OFFSET_AT_POINT:
+                if (virtualized) {
+                    return queryWindowAccessibleAttribute(attribute, parameters);
+                }
                 Text text = getTextNode();
                 return text.queryAccessibleAttribute(attribute, parameters);
             default: return super.queryAccessibleAttribute(attribute, parameters);
@@ -894,10 +941,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Text lastParagraphView = (Text)paragraphNodes.getChildren().get(lastParagraphIndex);
 
                 index = getNextInsertionPoint(lastParagraphView, x, -1, VerticalDirection.UP)
-                        + (textArea.getLength() - lastParagraphView.getText().length());
+                        + (getWindowEnd() - lastParagraphView.getText().length());
             } else {
                 // Select the character at x in the row at y
-                int paragraphOffset = 0;
+                int paragraphOffset = windowStart;
                 for (int i = 0; i < n; i++) {
                     Text paragraphNode = (Text)paragraphNodes.getChildren().get(i);
 
@@ -934,7 +981,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         boolean isNewLine =
                 (pos > 0 &&
                         pos <= getSkinnable().getLength() &&
-                        getSkinnable().getText().codePointAt(pos-1) == 0x0a);
+                        getSkinnable().getText(pos - 1, pos).codePointAt(0) == 0x0a);
 
         // special handling for a new line
         if (!leading && isNewLine) {
@@ -959,8 +1006,16 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     @Override public Rectangle2D getCharacterBounds(int index) {
         TextArea textArea = getSkinnable();
 
+        if (!isInWindow(index)) {
+            // Not laid out, the paragraphs of a virtualized text are one line each
+            int paragraph = TextAreaHelper.getParagraphIndex(textArea, index);
+            return new Rectangle2D(contentView.snappedLeftInset() - textArea.getScrollLeft(),
+                    contentView.snappedTopInset() + paragraph * paragraphHeight - textArea.getScrollTop(),
+                    0, paragraphHeight);
+        }
+
         int paragraphIndex = paragraphNodes.getChildren().size();
-        int paragraphOffset = textArea.getLength() + 1;
+        int paragraphOffset = getWindowEnd() + 1;
 
         Text paragraphNode = null;
         do {
@@ -1183,6 +1238,11 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     private void updateTextNodeCaretPos(int pos) {
         Text textNode = getTextNode();
+        if (!isInWindow(pos)) {
+            textNode.setCaretPosition(-1);
+            return;
+        }
+        pos -= windowStart;
         if (isForwardBias()) {
             textNode.setCaretPosition(pos);
         } else {
@@ -1191,6 +1251,124 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         textNode.caretBiasProperty().set(isForwardBias());
     }
 
+    private boolean isVirtualizable() {
+        TextArea textArea = getSkinnable();
+        return !USE_MULTIPLE_NODES && !textArea.isWrapText()
+                && textArea.getParagraphs().size() > VIRTUALIZATION_THRESHOLD;
+    }
+
+    /**
+     * Switches between showing the whole text and showing a window of it,
+     * returns whether the text node was updated.
+     */
+    private boolean updateVirtualized() {
+        boolean virtualizable = isVirtualizable();
+        if (virtualizable == virtualized) {
+            return false;
+        }
+
+        virtualized = virtualizable;
+        windowCaretPosition = -1;
+        windowPrefWidth = 0;
+        if (virtualized) {
+            updateWindow(0, 1);
+        } else {
+            windowFirstParagraph = windowLastParagraph = 0;
+            windowStart = windowEnd = 0;
+            getTextNode().setText(getSkinnable().textProperty().getValueSafe());
+        }
+        invalidateMetrics();
+        contentView.requestLayout();
+        return true;
+    }
+
+    /**
+     * Shows the paragraphs from first (inclusive) to last (exclusive) in the
+     * text node of a virtualized text area.
+     */
+    private void updateWindow(int first, int last) {
+        TextArea textArea = getSkinnable();
+        int paragraphCount = textArea.getParagraphs().size();
+        windowFirstParagraph = Math.max(0, Math.min(first, paragraphCount - 1));
+        windowLastParagraph = Math.max(windowFirstParagraph + 1, Math.min(last, paragraphCount));
+        windowStart = TextAreaHelper.getParagraphStart(textArea, windowFirstParagraph);
+        windowEnd = getParagraphEnd(windowLastParagraph - 1);
+
+        Text textNode = getTextNode();
+        textNode.setText(textArea.getText(windowStart, windowEnd));
+        paragraphHeight = textNode.getLayoutBounds().getHeight() / (windowLastParagraph - windowFirstParagraph);
+
+        // The content is as wide as the widest window shown so far
+        double width = Utils.computeTextWidth(textArea.getFont(), textNode.getText(), 0);
+        if (width > windowPrefWidth) {
+            windowPrefWidth = width;
+            computedPrefWidth = Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    private int getParagraphEnd(int paragraphIndex) {
+        TextArea textArea = getSkinnable();
+        return TextAreaHelper.getParagraphStart(textArea, paragraphIndex)
+                + textArea.getParagraphs().get(paragraphIndex).length();
+    }
+
+    private int getWindowEnd() {
+        return virtualized ? windowEnd : getSkinnable().getLength();
+    }
+
+    private boolean isInWindow(int index) {
+        return index >= windowStart && index <= getWindowEnd();
+    }
+
+    private double getWindowTranslateY() {
+        return windowFirstParagraph * paragraphHeight;
+    }
+
+    /**
+     * Maps a hit on the text node to the content of the text area.
+     */
+    private HitInfo toContentHit(HitInfo hit) {
+        if (windowStart == 0) {
+            return hit;
+        }
+        return HitInfoHelper.createHitInfo(hit.getCharIndex() + windowStart,
+                hit.getInsertionIndex() + windowStart, hit.isLeading());
+    }
+
+    private Object queryWindowAccessibleAttribute(AccessibleAttribute attribute, Object... parameters) {
+        TextArea textArea = getSkinnable();
+        switch (attribute) {
+            // Paragraphs are not wrapped, each one is a line
+            case LINE_FOR_OFFSET: {
+                int offset = (Integer)parameters[0];
+                if (offset > textArea.getLength()) return null;
+                return TextAreaHelper.getParagraphIndex(textArea, Math.max(0, offset));
+            }
+            case LINE_START: {
+                int line = (Integer)parameters[0];
+                if (line < 0 || line >= textArea.getParagraphs().size()) return null;
+                return TextAreaHelper.getParagraphStart(textArea, line);
+            }
+            case LINE_END: {
+                // including the line terminator, like the lines of a text node
+                int line = (Integer)parameters[0];
+                int lineCount = textArea.getParagraphs().size();
+                if (line < 0 || line >= lineCount) return null;
+                return getParagraphEnd(line) + (line < lineCount - 1 ? 1 : 0);
+            }
+            case BOUNDS_FOR_RANGE: {
+                int start = Math.max(0, (Integer)parameters[0] - windowStart);
+                int end = Math.min(windowEnd, (Integer)parameters[1]) - windowStart;
+                return getTextNode().queryAccessibleAttribute(attribute, start, Math.max(start, end));
+            }
+            case OFFSET_AT_POINT: {
+                Integer offset = (Integer)getTextNode().queryAccessibleAttribute(attribute, parameters);
+                return offset != null ? offset + windowStart : null;
+            }
+            default: return null;
+        }
+    }
+
     // for testing
     void setHandlePressed(boolean pressed) {
         handlePressed = pressed;
@@ -1244,11 +1422,15 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             if (computedPrefWidth < 0) {
                 double prefWidth = 0;
 
-                for (Node node : paragraphNodes.getChildren()) {
-                    Text paragraphNode = (Text)node;
-                    prefWidth = Math.max(prefWidth,
-                            Utils.computeTextWidth(paragraphNode.getFont(),
-                                    paragraphNode.getText(), 0));
+                if (virtualized) {
+                    prefWidth = windowPrefWidth;
+                } else {
+                    for (Node node : paragraphNodes.getChildren()) {
+                        Text paragraphNode = (Text)node;
+                        prefWidth = Math.max(prefWidth,
+                                Utils.computeTextWidth(paragraphNode.getFont(),
+                                        paragraphNode.getText(), 0));
+                    }
                 }
 
                 prefWidth += snappedLeftInset() + snappedRightInset();
@@ -1275,13 +1457,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
                 double prefHeight = 0;
 
-                for (Node node : paragraphNodes.getChildren()) {
-                    Text paragraphNode = (Text)node;
-                    prefHeight += Utils.computeTextHeight(
-                            paragraphNode.getFont(),
-                            paragraphNode.getText(),
-                            wrappingWidth,
-                            paragraphNode.getBoundsType());
+                if (virtualized) {
+                    // Paragraphs are not wrapped, each one is a line
+                    prefHeight = getSkinnable().getParagraphs().size() * paragraphHeight;
+                } else {
+                    for (Node node : paragraphNodes.getChildren()) {
+                        Text paragraphNode = (Text)node;
+                        prefHeight += Utils.computeTextHeight(
+                                paragraphNode.getFont(),
+                                paragraphNode.getText(),
+                                wrappingWidth,
+                                paragraphNode.getBoundsType());
+                    }
                 }
 
                 prefHeight += snappedTopInset() + snappedBottomInset();
@@ -1308,6 +1495,40 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             return computedMinHeight;
         }
 
+        /**
+         * Moves the window of a virtualized text when the viewport no longer
+         * shows paragraphs in it, or when the caret moved out of it, so that
+         * it can be scrolled to. The window extends one viewport past the
+         * visible paragraphs in both directions.
+         */
+        private void layoutWindow() {
+            if (paragraphHeight <= 0) {
+                return;
+            }
+            TextArea textArea = getSkinnable();
+            Bounds viewportBounds = scrollPane.getViewportBounds();
+            double viewportHeight = viewportBounds != null ? viewportBounds.getHeight() : 0;
+            int visibleCount = (int)Math.ceil(viewportHeight / paragraphHeight) + 1;
+            int first = (int)Math.floor((textArea.getScrollTop() - snappedTopInset()) / paragraphHeight);
+            int last = first + visibleCount;
+
+            int caretPos = textArea.getCaretPosition();
+            if (caretPos != windowCaretPosition) {
+                windowCaretPosition = caretPos;
+                int caretParagraph = TextAreaHelper.getParagraphIndex(textArea, caretPos);
+                if (caretParagraph < first || caretParagraph >= last) {
+                    first = caretParagraph;
+                    last = caretParagraph + 1;
+                }
+            }
+
+            first = Math.max(0, first);
+            last = Math.min(textArea.getParagraphs().size(), last);
+            if (first < windowFirstParagraph || last > windowLastParagraph) {
+                updateWindow(first - visibleCount, last + visibleCount);
+            }
+        }
+
         @Override public void layoutChildren() {
             TextArea textArea = getSkinnable();
             double width = getWidth();
@@ -1317,7 +1538,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             final double leftPadding = snappedLeftInset();
 
             double wrappingWidth = textArea.isWrapText() ? Math.max(width - (leftPadding + snappedRightInset()), 0) : 0;
-            double y = topPadding;
+            if (virtualized) {
+                layoutWindow();
+            }
+            double y = topPadding + getWindowTranslateY();
 
             final List<Node> paragraphNodesChildren = paragraphNodes.getChildren();
 
@@ -1362,16 +1586,16 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
                 // Position the handle for the anchor. This could be handle1 or handle2.
                 // Do this before positioning the actual caret.
-                if (selection.getLength() > 0) {
+                if (selection.getLength() > 0 && isInWindow(anchorPos)) {
                     int paragraphIndex = paragraphNodesChildren.size();
-                    int paragraphOffset = textArea.getLength() + 1;
+                    int paragraphOffset = getWindowEnd() + 1;
                     Text paragraphNode = null;
                     do {
                         paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
                         paragraphOffset -= paragraphNode.getText().length() + 1;
                     } while (anchorPos < paragraphOffset);
 
-                    updateTextNodeCaretPos(anchorPos - paragraphOffset);
+                    updateTextNodeCaretPos(anchorPos - paragraphOffset + windowStart);
                     caretPath.getElements().clear();
                     caretPath.getElements().addAll(paragraphNode.getCaretShape());
                     caretPath.setLayoutX(paragraphNode.getLayoutX());
@@ -1388,10 +1612,13 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 }
             }
 
-            {
+            if (!isInWindow(caretPos)) {
+                // The caret is not in the shown paragraphs of a virtualized text
+                caretPath.getElements().clear();
+            } else {
                 // Position caret
                 int paragraphIndex = paragraphNodesChildren.size();
-                int paragraphOffset = textArea.getLength() + 1;
+                int paragraphOffset = getWindowEnd() + 1;
 
                 Text paragraphNode = null;
                 do {
@@ -1399,7 +1626,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                     paragraphOffset -= paragraphNode.getText().length() + 1;
                 } while (caretPos < paragraphOffset);
 
-                updateTextNodeCaretPos(caretPos - paragraphOffset);
+                updateTextNodeCaretPos(caretPos - paragraphOffset + windowStart);
 
                 caretPath.getElements().clear();
                 caretPath.getElements().addAll(paragraphNode.getCaretShape());
@@ -1416,8 +1643,8 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             }
 
             // Update selection fg and bg
-            int start = selection.getStart();
-            int end = selection.getEnd();
+            int start = Math.max(0, selection.getStart() - windowStart);
+            int end = Math.max(0, selection.getEnd() - windowStart);
             for (int i = 0, max = paragraphNodesChildren.size(); i < max; i++) {
                 Node paragraphNode = paragraphNodesChildren.get(i);
                 Text textNode = (Text)paragraphNode;
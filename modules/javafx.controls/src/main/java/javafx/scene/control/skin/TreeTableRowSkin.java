@@ -25,6 +25,7 @@
 
 package javafx.scene.control.skin;
 
+import java.lang.ref.Reference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -47,6 +48,7 @@ import javafx.scene.control.TreeTableColumn;
 import javafx.scene.control.TreeTablePosition;
 import javafx.scene.control.TreeTableRow;
 import javafx.scene.control.TreeTableView;
+import javafx.scene.layout.Region;
 import com.sun.javafx.scene.control.ListenerHelper;
 import com.sun.javafx.scene.control.behavior.BehaviorBase;
 import com.sun.javafx.scene.control.behavior.TreeTableRowBehavior;
@@ -334,6 +336,42 @@ public class TreeTableRowSkin<T> extends TableRowSkinBase<TreeItem<T>, TreeTable
         return cell.getTableColumn();
     }
 
+    /** {@inheritDoc} */
+    @Override Object getCellReuseKey(TableColumnBase<TreeItem<T>, ?> tc) {
+        // cells created by the same factory can be moved between columns
+        return ((TreeTableColumn<T, ?>) tc).getCellFactory();
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override void updateCellColumn(TreeTableCell<T, ?> cell, TableColumnBase<TreeItem<T>, ?> tc) {
+        TreeTableColumn<T, Object> tableColumn = (TreeTableColumn<T, Object>) tc;
+        ((TreeTableCell<T, Object>) cell).updateTableColumn(tableColumn);
+        if (tableColumn != null) {
+            cell.updateTreeTableView(tableColumn.getTreeTableView());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override double getTableFixedCellSize() {
+        TreeTableView<T> treeTableView = getTreeTableView();
+        return treeTableView == null ? Region.USE_COMPUTED_SIZE : treeTableView.getFixedCellSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override TableColumnBase<TreeItem<T>, ?> getEditingColumn() {
+        TreeTableView<T> treeTableView = getTreeTableView();
+        TreeTablePosition<T, ?> editingCell = treeTableView == null ? null : treeTableView.getEditingCell();
+        return editingCell != null && editingCell.getRow() == getSkinnable().getIndex() ?
+                editingCell.getTableColumn() : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override int getFrozenColumnCount() {
+        TreeTableView<T> treeTableView = getTreeTableView();
+        return treeTableView == null ? 0 : treeTableView.getFrozenColumnCount();
+    }
+
     /** {@inheritDoc} */
     @Override protected ObjectProperty<Node> graphicProperty() {
         if (treeItem == null) return null;
@@ -476,7 +514,8 @@ public class TreeTableRowSkin<T> extends TableRowSkinBase<TreeItem<T>, TreeTable
                                 /* This is the row-based case */
                                 column = treeTableView.getVisibleLeafColumn(0);
                             }
-                            TreeTableCell<T,?> cell = cellsMap.get(column).get();
+                            Reference<TreeTableCell<T,?>> cellRef = cellsMap.get(column);
+                            TreeTableCell<T,?> cell = cellRef == null ? null : cellRef.get();
                             if (cell != null) selection.add(cell);
                         }
                         return FXCollections.observableArrayList(selection);
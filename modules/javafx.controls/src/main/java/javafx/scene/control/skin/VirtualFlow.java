@@ -26,6 +26,7 @@
 package javafx.scene.control.skin;
 
 import com.sun.javafx.scene.ParentHelper;
+import com.sun.javafx.scene.control.CellSizeCache;
 import com.sun.javafx.scene.control.Logging;
 import com.sun.javafx.scene.control.Properties;
 import com.sun.javafx.scene.control.VirtualScrollBar;
@@ -36,6 +37,7 @@ import com.sun.javafx.scene.traversal.ParentTraversalEngine;
 import com.sun.javafx.scene.traversal.TraversalContext;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
@@ -108,6 +110,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      * See RT-23616 for more details.
      */
     private static final String NEW_CELL = "newcell";
+    private static final String PREFETCHED_CELL = "prefetchedcell";
 
     private static final double GOLDEN_RATIO_MULTIPLIER = 0.618033987;
 
@@ -194,6 +197,26 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     final ArrayLinkedList<T> pile = new ArrayLinkedList<>();
 
+    /**
+     * The direction of the last scroll, 1 towards the end, -1 towards the
+     * start, or 0 if unknown. Cells are prefetched in this direction.
+     */
+    private int scrollDirection;
+
+    /**
+     * Whether prefetchCells is scheduled to run once the current pulse is done.
+     */
+    private boolean prefetchScheduled;
+
+    /**
+     * The number of cells that were created, reused from the pile, and reused
+     * from the pile after being prefetched for their index.
+     * This is package private ONLY FOR TESTING
+     */
+    int createdCellCount;
+    int reusedCellCount;
+    int prefetchedCellHitCount;
+
     /**
      * A special cell used to accumulate bounds, such that we reduce object
      * churn. This cell must be recreated whenever the cell factory function
@@ -274,15 +297,16 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     double estimatedSize = -1d;
 
     /**
-     * A list containing the cached version of the calculated size (height for
-     * vertical, width for horizontal) for a (fictive or real) cell for
-     * each element of the backing data.
-     * This list is used to calculate the estimatedSize.
-     * The list is not expected to be complete, but it is always up to date.
-     * When the size of the items in the backing list changes, this list is
+     * The cached version of the calculated size (height for vertical, width
+     * for horizontal) for a (fictive or real) cell for each element of the
+     * backing data.
+     * This cache is used to calculate the estimatedSize, and to map between
+     * offsets and cell indices without summing the sizes of all the cells.
+     * The cache is not expected to be complete, but it is always up to date.
+     * When the size of the items in the backing list changes, this cache is
      * cleared.
      */
-    private ArrayList<Double> itemSizeCache = new ArrayList<>();
+    private final CellSizeCache itemSizeCache = new CellSizeCache();
 
     // used for panning the virtual flow
     private double lastX;
@@ -958,6 +982,29 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     public final DoubleProperty fixedCellSizeProperty() { return fixedCellSize; }
 
 
+    // --- prefetch count
+    /**
+     * The number of cells beyond the viewport that are prepared ahead of time,
+     * in the direction of the last scroll, or on both sides of the viewport if
+     * the flow has not been scrolled. The cells are prepared between pulses and
+     * kept in the pile, so that cells exposed by the next scroll do not have to
+     * be created or updated during the layout pass. A value of zero, the
+     * default, disables prefetching.
+     *
+     * @since 24
+     */
+    private IntegerProperty prefetchCount = new SimpleIntegerProperty(this, "prefetchCount", 0) {
+        @Override protected void invalidated() {
+            if (get() > 0) {
+                schedulePrefetch();
+            }
+        }
+    };
+    public final void setPrefetchCount(final int value) { prefetchCount.set(value); }
+    public final int getPrefetchCount() { return prefetchCount.get(); }
+    public final IntegerProperty prefetchCountProperty() { return prefetchCount; }
+
+
     // --- Cell Factory
     private ObjectProperty<Callback<VirtualFlow<T>, T>> cellFactory;
 
@@ -1069,6 +1116,8 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         // changed in a consistent way.
         // For example, the recalculateEstimatedSize method also recalculates
         // the absoluteOffset and position.
+        final int createdCells = createdCellCount;
+        final int reusedCells = reusedCellCount;
 
         if (needsRecreateCells) {
             lastWidth = -1;
@@ -1340,6 +1389,9 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         recreatedOrRebuilt = recreatedOrRebuilt || rebuild;
         updateScrollBarsAndCells(recreatedOrRebuilt);
 
+        if (position != lastPosition && cellCount == lastCellCount) {
+            scrollDirection = position > lastPosition ? 1 : -1;
+        }
         lastWidth = getWidth();
         lastHeight = getHeight();
         lastCellCount = getCellCount();
@@ -1347,6 +1399,8 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         lastPosition = getPosition();
         recalculateEstimatedSize();
         cleanPile();
+        schedulePrefetch();
+        logCellCounts(createdCells, reusedCells);
     }
 
     /**
@@ -1398,6 +1452,9 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
             if (getCellIndex(_cell) == prefIndex) {
                 cell = _cell;
                 pile.remove(i);
+                if (cell.getProperties().remove(PREFETCHED_CELL) != null) {
+                    prefetchedCellHitCount++;
+                }
                 break;
             }
         }
@@ -1409,6 +1466,10 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         if (cell == null) {
             cell = getCellFactory().call(this);
             cell.getProperties().put(NEW_CELL, null);
+            createdCellCount++;
+        } else {
+            cell.getProperties().remove(PREFETCHED_CELL);
+            reusedCellCount++;
         }
 
         if (cell.getParent() == null) {
@@ -1742,6 +1803,9 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         // Finally, update the scroll bars
         updateScrollBarsAndCells(false);
 
+        scrollDirection = delta > 0 ? 1 : -1;
+        schedulePrefetch();
+
         // notify
         return answer;
     }
@@ -1909,7 +1973,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     private final void setViewportBreadth(double value) {
         this.viewportBreadth = value;
     }
-    private final double getViewportBreadth() {
+    final double getViewportBreadth() {
         return viewportBreadth;
     }
 
@@ -2827,6 +2891,83 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         pile.addLast(cell);
     }
 
+    private void schedulePrefetch() {
+        if (getPrefetchCount() > 0 && !prefetchScheduled) {
+            prefetchScheduled = true;
+            // runs after the current pulse, so that preparing the cells does
+            // not delay the frame that is being laid out
+            Platform.runLater(this::prefetchCells);
+        }
+    }
+
+    /**
+     * Prepares the cells for the prefetchCount indices that follow the last
+     * visible cell, or that precede the first visible cell, depending on the
+     * scroll direction, and keeps them in the pile. Cells of the pile that
+     * are not prepared for one of those indices are reused first.
+     */
+    private void prefetchCells() {
+        prefetchScheduled = false;
+        final int count = getPrefetchCount();
+        if (count <= 0 || cells.isEmpty() || getCellFactory() == null) {
+            return;
+        }
+        final int cellCount = getCellCount();
+        final int first = getCellIndex(cells.getFirst());
+        final int last = getCellIndex(cells.getLast());
+        final int from = scrollDirection > 0 ? last + 1 : Math.max(0, first - count);
+        final int to = scrollDirection < 0 ? first : Math.min(cellCount, last + 1 + count);
+
+        for (int index = from; index < to; index++) {
+            if (index == first) {
+                // skip the visible cells when prefetching on both sides
+                index = last;
+                continue;
+            }
+            if (findPileCell(index, 0, 0) >= 0) {
+                continue;
+            }
+            T cell;
+            int i = findPileCell(-1, from, to);
+            if (i >= 0) {
+                cell = pile.remove(i);
+            } else {
+                cell = getCellFactory().call(this);
+                cell.getProperties().put(NEW_CELL, null);
+                sheetChildren.add(cell);
+                createdCellCount++;
+            }
+            setCellIndex(cell, index);
+            resizeCell(cell);
+            cell.setVisible(false);
+            cell.getProperties().put(PREFETCHED_CELL, Boolean.TRUE);
+            pile.addLast(cell);
+        }
+    }
+
+    /*
+     * Returns the position in the pile of the cell with the given index, or,
+     * if index is -1, of a cell whose index is outside of [from, to).
+     */
+    private int findPileCell(int index, int from, int to) {
+        for (int i = 0, max = pile.size(); i < max; i++) {
+            int cellIndex = getCellIndex(pile.get(i));
+            if (index >= 0 ? cellIndex == index : (cellIndex < from || cellIndex >= to)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void logCellCounts(int createdCells, int reusedCells) {
+        final PlatformLogger logger = Logging.getControlsLogger();
+        if (logger.isLoggable(PlatformLogger.Level.FINE)) {
+            logger.fine("VirtualFlow layout: " + (createdCellCount - createdCells) + " cells created, " +
+                    (reusedCellCount - reusedCells) + " cells reused, " +
+                    prefetchedCellHitCount + " prefetched cells used so far");
+        }
+    }
+
     private void cleanPile() {
         boolean wasFocusOwner = false;
 
@@ -2918,21 +3059,15 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private double computeViewportOffset(double position, int localCellCount) {
-        double p = com.sun.javafx.util.Utils.clamp(0, position, 1);
-        double bound = 0d;
         double estSize = estimatedSize / localCellCount;
         double maxOff = estimatedSize - getViewportLength();
         if ((maxOff > 0) && (absoluteOffset > maxOff)) {
             return maxOff - absoluteOffset;
         }
 
-        for (int i = 0; i < localCellCount; i++) {
-            double h = getCellSize(i);
-            if (h < 0) h = estSize;
-            if (bound + h > absoluteOffset) {
-                return absoluteOffset - bound;
-            }
-            bound += h;
+        int index = itemSizeCache.getIndex(absoluteOffset, estSize, localCellCount);
+        if (index < localCellCount) {
+            return absoluteOffset - itemSizeCache.getOffset(index, estSize);
         }
         return 0d;
     }
@@ -2945,13 +3080,8 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         if (cellCount <= 0) {
             setPosition(0.0f);
         } else {
-            double targetOffset = 0;
             double estSize = estimatedSize/cellCount;
-            for (int i = 0; i < index; i++) {
-                double cz = getCellSize(i);
-                if (cz < 0) cz = estSize;
-                targetOffset = targetOffset+ cz;
-            }
+            double targetOffset = itemSizeCache.getOffset(index, estSize);
             this.absoluteOffset = (estimatedSize < viewportLength)  ? 0  : targetOffset;
             adjustPosition();
         }
@@ -3006,15 +3136,9 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private double computeBaseOffset(int index) {
-        double baseOffset = 0d;
         int currentCellCount = getCellCount();
         double estSize = estimatedSize / currentCellCount;
-        for (int i = 0; i < index; i++) {
-            double nextSize = getCellSize(i);
-            if (nextSize < 0) nextSize = estSize;
-            baseOffset += nextSize;
-        }
-        return baseOffset;
+        return itemSizeCache.getOffset(index, estSize);
     }
 
     /**
@@ -3026,17 +3150,12 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private int computeCurrentIndex(int currentCellCount) {
-        double total = 0;
-        double estSize = estimatedSize / currentCellCount;
-        for (int i = 0; i < currentCellCount; i++) {
-            double nextSize = getCellSize(i);
-            if (nextSize < 0) nextSize = estSize;
-            total = total + nextSize;
-            if (total > absoluteOffset) {
-                return i;
-            }
+        if (currentCellCount == 0) {
+            return 0;
         }
-        return currentCellCount == 0 ? 0 : currentCellCount - 1;
+        double estSize = estimatedSize / currentCellCount;
+        int index = itemSizeCache.getIndex(absoluteOffset, estSize, currentCellCount);
+        return Math.min(index, currentCellCount - 1);
     }
 
     /**
@@ -3068,21 +3187,13 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     private double getOrCreateCellSize (int idx, boolean create) {
         if (idx < 0) return -1;
-        // is the current cache long enough to contain idx?
-        if (itemSizeCache.size() > idx) {
-            // is there a non-null value stored in the cache?
-            if (itemSizeCache.get(idx) != null) {
-                return itemSizeCache.get(idx);
-            }
+        // is there a size stored in the cache?
+        if (itemSizeCache.isKnown(idx)) {
+            return itemSizeCache.get(idx);
         }
         if (!create) return -1;
         boolean doRelease = false;
 
-        // Make sure we have enough space in the cache to store this index
-        while (idx >= itemSizeCache.size()) {
-            itemSizeCache.add(itemSizeCache.size(), null);
-        }
-
         double answer = 1d;
         if (getFixedCellSize() > 0) {
             answer = getFixedCellSize();
@@ -3121,11 +3232,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     void updateCellSize(T cell) {
         int cellIndex = cell.getIndex();
 
-        if (itemSizeCache.size() > cellIndex) {
-            Double oldSize = itemSizeCache.get(cellIndex);
+        if (itemSizeCache.length() > cellIndex) {
+            double oldSize = itemSizeCache.get(cellIndex);
             double newSize = getCellLength(cell);
             itemSizeCache.set(cellIndex, newSize);
-            if ((oldSize != null) && !oldSize.equals(newSize)) {
+            if ((oldSize >= 0) && (Double.compare(oldSize, newSize) != 0)) {
                 int currentIndex = computeCurrentIndex();
                 double oldOffset = computeViewportOffset(getPosition());
                 if ((cellIndex == currentIndex) && (oldOffset != 0)) {
@@ -3161,37 +3272,22 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         recalculating = true;
         try {
             int itemCount = getCellCount();
-            int cacheCount = itemSizeCache.size();
+            int cacheCount = itemSizeCache.length();
             boolean keepRatio = ((cacheCount > 0) && !Double.isInfinite(this.absoluteOffset));
 
             if (oldIndex < 0) oldIndex = computeCurrentIndex();
             int added = 0;
-            while ((itemCount > itemSizeCache.size()) && (added < improve)) {
-                getOrCreateCellSize(itemSizeCache.size());
+            while ((itemCount > itemSizeCache.length()) && (added < improve)) {
+                getOrCreateCellSize(itemSizeCache.length());
                 added++;
             }
-            cacheCount = itemSizeCache.size();
-            int cnt = 0;
-            double tot = 0d;
-            for (int i = 0; (i < itemCount && i < cacheCount); i++) {
-                Double il = itemSizeCache.get(i);
-                if (il != null) {
-                    tot = tot + il;
-                    cnt++;
-                }
-            }
+            int cnt = itemSizeCache.getKnownCount(itemCount);
+            double tot = itemSizeCache.getKnownTotal(itemCount);
             this.estimatedSize = cnt == 0 ? 1d : tot * itemCount / cnt;
             double estSize = estimatedSize / itemCount;
 
             if (keepRatio) {
-                double newOffset = 0;
-                for (int i = 0; i < oldIndex; i++) {
-                    double h = getCellSize(i);
-                    if (h < 0) {
-                        h = estSize;
-                    }
-                    newOffset += h;
-                }
+                double newOffset = itemSizeCache.getOffset(oldIndex, estSize);
                 this.absoluteOffset = newOffset + oldOffset;
                 adjustPosition();
             }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package javafx.scene.control;
+
+import java.util.List;
+
+public class SelectedIndexRangesShim {
+
+    private final SelectedIndexRanges ranges = new SelectedIndexRanges();
+
+    public int size() {
+        return ranges.size();
+    }
+
+    public int rangeCount() {
+        return ranges.rangeCount();
+    }
+
+    public boolean contains(int index) {
+        return ranges.contains(index);
+    }
+
+    public int nextIndex(int index) {
+        return ranges.nextIndex(index);
+    }
+
+    public int rank(int index) {
+        return ranges.rank(index);
+    }
+
+    public int get(int position) {
+        return ranges.get(position);
+    }
+
+    public int add(int from, int to) {
+        return ranges.add(from, to);
+    }
+
+    public int remove(int from, int to) {
+        return ranges.remove(from, to);
+    }
+
+    public void clear() {
+        ranges.clear();
+    }
+
+    public boolean shift(int position, int shift, int limit) {
+        return ranges.shift(position, shift, limit);
+    }
+
+    public List<Integer> toList() {
+        return ranges.toList();
+    }
+}
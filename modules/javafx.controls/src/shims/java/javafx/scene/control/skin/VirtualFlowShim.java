@@ -36,6 +36,7 @@ import javafx.scene.layout.StackPane;
 public class VirtualFlowShim<T extends IndexedCell> extends VirtualFlow<T> {
 
     public final ArrayLinkedList<T> cells = super.cells;
+    public final ArrayLinkedList<T> pile = super.pile;
     public final ObservableList<Node> sheetChildren = super.sheetChildren;
 
     @Override
@@ -100,6 +101,18 @@ public class VirtualFlowShim<T extends IndexedCell> extends VirtualFlow<T> {
         return - super.clipView.getLayoutX();
     }
 
+    public int shim_getCreatedCellCount() {
+        return super.createdCellCount;
+    }
+
+    public int shim_getReusedCellCount() {
+        return super.reusedCellCount;
+    }
+
+    public int shim_getPrefetchedCellHitCount() {
+        return super.prefetchedCellHitCount;
+    }
+
 
     public StackPane get_corner() {
         return super.corner;
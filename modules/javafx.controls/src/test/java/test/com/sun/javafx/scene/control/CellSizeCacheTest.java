@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.scene.control;
+
+import com.sun.javafx.scene.control.CellSizeCache;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CellSizeCacheTest {
+
+    @Test
+    public void testUnknownSizes() {
+        CellSizeCache cache = new CellSizeCache();
+        assertEquals(0, cache.length());
+        assertEquals(-1, cache.get(0));
+        assertEquals(-1, cache.get(-1));
+        assertFalse(cache.isKnown(3));
+        assertEquals(30, cache.getOffset(3, 10));
+        assertEquals(2, cache.getIndex(25, 10, 5));
+    }
+
+    @Test
+    public void testSetAndGet() {
+        CellSizeCache cache = new CellSizeCache();
+        cache.set(5, 20);
+        assertEquals(6, cache.length());
+        assertEquals(20, cache.get(5));
+        assertTrue(cache.isKnown(5));
+        assertFalse(cache.isKnown(4));
+        cache.set(5, 30);
+        assertEquals(30, cache.get(5));
+        assertEquals(1, cache.getKnownCount(10));
+        assertEquals(30, cache.getKnownTotal(10));
+        assertEquals(0, cache.getKnownCount(5));
+    }
+
+    @Test
+    public void testInvalidSize() {
+        CellSizeCache cache = new CellSizeCache();
+        assertThrows(IllegalArgumentException.class, () -> cache.set(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> cache.set(0, Double.NaN));
+        assertThrows(IndexOutOfBoundsException.class, () -> cache.set(-1, 1));
+    }
+
+    @Test
+    public void testClear() {
+        CellSizeCache cache = new CellSizeCache();
+        cache.set(100, 5);
+        cache.clear();
+        assertEquals(0, cache.length());
+        assertEquals(-1, cache.get(100));
+        assertEquals(0, cache.getKnownCount(1000));
+    }
+
+    @Test
+    public void testOffsetsAndIndicesMatchLinearScan() {
+        Random random = new Random(7);
+        CellSizeCache cache = new CellSizeCache();
+        int count = 1000;
+        double[] sizes = new double[count];
+        java.util.Arrays.fill(sizes, -1);
+        for (int i = 0; i < 3000; i++) {
+            int index = random.nextInt(count);
+            double size = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(50);
+            sizes[index] = size;
+            cache.set(index, size);
+        }
+        double estimate = 17;
+        double offset = 0;
+        for (int i = 0; i <= count; i++) {
+            assertEquals(offset, cache.getOffset(i, estimate), 1e-6);
+            if (i < count) {
+                offset += sizes[i] < 0 ? estimate : sizes[i];
+            }
+        }
+        for (int k = 0; k < 2000; k++) {
+            double target = random.nextDouble() * (offset + 100);
+            assertEquals(linearIndex(sizes, estimate, target, count), cache.getIndex(target, estimate, count));
+            int limit = random.nextInt(count) + 1;
+            assertEquals(linearIndex(sizes, estimate, target, limit), cache.getIndex(target, estimate, limit));
+        }
+    }
+
+    @Test
+    public void testIndexBeyondKnownCells() {
+        CellSizeCache cache = new CellSizeCache();
+        cache.set(0, 100);
+        // cells 1 .. 999 have the estimated size
+        assertEquals(0, cache.getIndex(99, 10, 1000));
+        assertEquals(1, cache.getIndex(100, 10, 1000));
+        assertEquals(500, cache.getIndex(100 + 4995, 10, 1000));
+        assertEquals(1000, cache.getIndex(100 + 9990, 10, 1000));
+    }
+
+    private static int linearIndex(double[] sizes, double estimate, double offset, int count) {
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += sizes[i] < 0 ? estimate : sizes[i];
+            if (total > offset) {
+                return i;
+            }
+        }
+        return count;
+    }
+}
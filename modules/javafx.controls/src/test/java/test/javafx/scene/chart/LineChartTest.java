@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -36,7 +36,6 @@ import javafx.scene.chart.XYChartShim;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
-import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.List;
@@ -105,11 +104,7 @@ public class LineChartTest extends XYChartTestBase {
         assertEquals(7, XYChartShim.getPlotChildren(lineChart).size());
     }
 
-     @Test @Ignore
-     // Ignored because the animation's Timeline doesn't run. It used to be that the item was added before the
-     // animation was run. Now the item is added as the onFinished handler of the first KeyFrame. Since the
-     // Timeline doesn't run in the context of the unit test, this test fails. In fact, this test never really
-     // achieved its purpose.
+    @Test
     public void testDataItemAddWithAnimation() {
         startApp();
         lineChart.setAnimated(true);
@@ -147,6 +142,42 @@ public class LineChartTest extends XYChartTestBase {
         assertEquals(true, lineChart.getAnimated());
     }
 
+    @Test
+    public void testDataValueChangeIsAnimated() {
+        startApp();
+        lineChart.getData().addAll(series1);
+        pulse();
+        lineChart.setAnimated(true);
+        XYChart.Data<Number, Number> item = series1.getData().get(0);
+        item.setYValue(20d);
+        // the animation starts at the next frame, and takes 700 ms
+        toolkit.setAnimationTime(1000);
+        assertEquals(10, XYChartShim.Data_getCurrentY(item).doubleValue(), 1e-9);
+        toolkit.setAnimationTime(1350);
+        assertEquals(15, XYChartShim.Data_getCurrentY(item).doubleValue(), 1e-9);
+        toolkit.setAnimationTime(1700);
+        assertEquals(20d, XYChartShim.Data_getCurrentY(item));
+    }
+
+    @Test
+    public void testAnimatingDataValueChangeContinuesFromCurrentValue() {
+        startApp();
+        lineChart.getData().addAll(series1);
+        pulse();
+        lineChart.setAnimated(true);
+        XYChart.Data<Number, Number> item = series1.getData().get(0);
+        item.setYValue(20d);
+        toolkit.setAnimationTime(1000);
+        toolkit.setAnimationTime(1350);
+        // the new animation starts at the last frame
+        item.setYValue(30d);
+        assertEquals(15, XYChartShim.Data_getCurrentY(item).doubleValue(), 1e-9);
+        toolkit.setAnimationTime(1700);
+        assertEquals(22.5, XYChartShim.Data_getCurrentY(item).doubleValue(), 1e-9);
+        toolkit.setAnimationTime(2050);
+        assertEquals(30d, XYChartShim.Data_getCurrentY(item));
+    }
+
     @Override
     void checkSeriesStyleClasses(XYChart.Series<?, ?> series,
             int seriesIndex, int colorIndex) {
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.chart;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.chart.AreaChart;
+import javafx.scene.chart.Chart;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.PointBuffer;
+import javafx.scene.chart.PointBuffer.Decimation;
+import javafx.scene.chart.ScatterChart;
+import javafx.scene.chart.XYChart;
+import javafx.scene.chart.XYChartShim;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.stage.Stage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class PointBufferTest extends ChartTestBase {
+
+    private static final int POINTS = 1_000_000;
+
+    private LineChart<Number, Number> lineChart;
+    private final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+    private final PointBuffer points = new PointBuffer();
+
+    @Override protected Chart createChart() {
+        lineChart = new LineChart<>(new NumberAxis(), new NumberAxis());
+        series.setPoints(points);
+        return lineChart;
+    }
+
+    private static void addWave(PointBuffer points, int count) {
+        double[] x = new double[count];
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = i;
+            y[i] = 100 * Math.sin(i / 5000.0) + (i % 7 == 0 ? 10 : 0);
+        }
+        // a single peak and dip that decimation must keep
+        y[123_457] = 500;
+        y[654_321] = -500;
+        points.addAll(x, y);
+    }
+
+    private static List<PathElement> drawnPoints(Path path) {
+        return path.getElements().stream()
+                .filter(e -> e instanceof MoveTo || e instanceof LineTo)
+                .collect(Collectors.toList());
+    }
+
+    private static double y(PathElement e) {
+        return e instanceof MoveTo m ? m.getY() : ((LineTo) e).getY();
+    }
+
+    private static double x(PathElement e) {
+        return e instanceof MoveTo m ? m.getX() : ((LineTo) e).getX();
+    }
+
+    private Path seriesLine() {
+        return (Path) series.getNode();
+    }
+
+    @Test
+    public void testAddAndGet() {
+        points.add(1, 10);
+        points.add(1, 5);
+        points.addAll(new double[] {0, 2, 3}, new double[] {0, -1, 7}, 1, 2);
+        assertEquals(4, points.size());
+        assertEquals(3, points.getX(3), 0);
+        assertEquals(-1, points.getY(2), 0);
+        assertEquals(1, points.getMinX(), 0);
+        assertEquals(3, points.getMaxX(), 0);
+        assertEquals(-1, points.getMinY(), 0);
+        assertEquals(10, points.getMaxY(), 0);
+        assertEquals(0, points.indexOfX(1));
+        assertEquals(2, points.indexOfX(1.5));
+        assertEquals(4, points.indexOfX(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> points.getX(4));
+    }
+
+    @Test
+    public void testRejectedPointsAreNotAdded() {
+        points.add(5, 0);
+        assertThrows(IllegalArgumentException.class, () -> points.add(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> points.add(Double.NaN, 0));
+        assertThrows(IllegalArgumentException.class, () -> points.add(6, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class,
+                () -> points.addAll(new double[] {6, 7, 6.5}, new double[] {1, 2, 3}));
+        assertEquals(1, points.size());
+        assertEquals(0, points.getMaxY(), 0);
+    }
+
+    @Test
+    public void testAddAllNotifiesOnce() {
+        int[] count = new int[1];
+        points.addListener(o -> count[0]++);
+        points.addAll(new double[] {1, 2, 3}, new double[] {1, 2, 3});
+        assertEquals(1, count[0]);
+        points.removeFirst(2);
+        points.setDecimation(Decimation.LTTB);
+        points.clear();
+        assertEquals(4, count[0]);
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        for (int i = 0; i < 100_000; i++) {
+            points.add(i, i % 1000);
+            if (points.size() > 1000) {
+                points.removeFirst(points.size() - 1000);
+            }
+        }
+        assertEquals(1000, points.size());
+        assertEquals(99_000, points.getMinX(), 0);
+        assertEquals(99_999, points.getMaxX(), 0);
+        assertEquals(0, points.getMinY(), 0);
+        assertEquals(999, points.getMaxY(), 0);
+        points.removeFirst(2);
+        assertEquals(2, points.getMinY(), 0);
+        points.removeFirst(points.size());
+        assertTrue(Double.isNaN(points.getMinX()));
+        assertTrue(Double.isNaN(points.getMaxY()));
+    }
+
+    @Test
+    public void testSeriesAutoRangesToPoints() {
+        startApp();
+        lineChart.getData().add(series);
+        addWave(points, POINTS);
+        pulse();
+        NumberAxis xAxis = (NumberAxis) lineChart.getXAxis();
+        NumberAxis yAxis = (NumberAxis) lineChart.getYAxis();
+        assertTrue(xAxis.getUpperBound() >= POINTS - 1);
+        assertTrue(yAxis.getUpperBound() >= 500);
+        assertTrue(yAxis.getLowerBound() <= -500);
+
+        points.add(2 * POINTS, 0);
+        pulse();
+        assertTrue(xAxis.getUpperBound() >= 2 * POINTS);
+    }
+
+    @Test
+    public void testMinMaxDecimationKeepsExtremes() {
+        startApp();
+        lineChart.getData().add(series);
+        addWave(points, POINTS);
+        pulse();
+        List<PathElement> drawn = drawnPoints(seriesLine());
+        double width = lineChart.getXAxis().getWidth();
+        assertTrue(drawn.size() > width);
+        assertTrue(drawn.size() <= 4 * (Math.ceil(width) + 2));
+        assertTrue(drawn.get(0) instanceof MoveTo);
+
+        NumberAxis yAxis = (NumberAxis) lineChart.getYAxis();
+        double top = drawn.stream().mapToDouble(PointBufferTest::y).min().getAsDouble();
+        double bottom = drawn.stream().mapToDouble(PointBufferTest::y).max().getAsDouble();
+        assertEquals(yAxis.getDisplayPosition(500), top, 1e-6);
+        assertEquals(yAxis.getDisplayPosition(-500), bottom, 1e-6);
+        for (int i = 1; i < drawn.size(); i++) {
+            assertTrue(x(drawn.get(i - 1)) <= x(drawn.get(i)));
+        }
+    }
+
+    @Test
+    public void testLttbDecimation() {
+        points.setDecimation(Decimation.LTTB);
+        startApp();
+        lineChart.getData().add(series);
+        addWave(points, POINTS);
+        pulse();
+        double width = lineChart.getXAxis().getWidth();
+        int size = drawnPoints(seriesLine()).size();
+        assertTrue(size > width);
+        assertTrue(size <= 2 * Math.ceil(width) + 2);
+    }
+
+    @Test
+    public void testOnlyVisibleRangeIsDrawn() {
+        points.setDecimation(Decimation.NONE);
+        NumberAxis xAxis = (NumberAxis) lineChart.getXAxis();
+        xAxis.setAutoRanging(false);
+        xAxis.setLowerBound(1000);
+        xAxis.setUpperBound(2000);
+        startApp();
+        lineChart.getData().add(series);
+        addWave(points, POINTS);
+        pulse();
+        List<PathElement> drawn = drawnPoints(seriesLine());
+        // the visible points and the nearest point on either side
+        assertEquals(1003, drawn.size());
+        assertEquals(xAxis.getDisplayPosition(999), x(drawn.get(0)), 1e-6);
+        assertEquals(xAxis.getDisplayPosition(2001), x(drawn.get(1002)), 1e-6);
+    }
+
+    @Test
+    public void testNaNValuesAreNotDrawn() {
+        points.setDecimation(Decimation.NONE);
+        startApp();
+        lineChart.getData().add(series);
+        points.addAll(new double[] {0, 1, 2, 3}, new double[] {1, Double.NaN, 3, Double.NaN});
+        pulse();
+        assertEquals(2, drawnPoints(seriesLine()).size());
+    }
+
+    @Test
+    public void testDataItemsAreUsedWithoutPoints() {
+        startApp();
+        series.setPoints(null);
+        series.getData().add(new XYChart.Data<>(1, 1));
+        series.getData().add(new XYChart.Data<>(2, 2));
+        lineChart.getData().add(series);
+        pulse();
+        // a move to the first point, and a line to each point
+        assertEquals(3, drawnPoints(seriesLine()).size());
+        series.setPoints(points);
+        pulse();
+        assertEquals(0, drawnPoints(seriesLine()).size());
+    }
+
+    @Test
+    public void testAreaChartFillsPoints() {
+        startApp();
+        AreaChart<Number, Number> areaChart = new AreaChart<>(new NumberAxis(), new NumberAxis());
+        areaChart.setAnimated(false);
+        showInNewStage(areaChart);
+        areaChart.getData().add(series);
+        addWave(points, POINTS);
+        pulse();
+        List<Node> paths = ((javafx.scene.Group) series.getNode()).getChildren();
+        Path fill = (Path) paths.get(0);
+        Path line = (Path) paths.get(1);
+        int size = drawnPoints(line).size();
+        assertTrue(size > 0);
+        assertTrue(size <= 4 * (Math.ceil(areaChart.getXAxis().getWidth()) + 2));
+        assertEquals(size + 3, fill.getElements().size());
+    }
+
+    @Test
+    public void testScatterChartDrawsMarksInOnePath() {
+        startApp();
+        ScatterChart<Number, Number> scatterChart = new ScatterChart<>(new NumberAxis(), new NumberAxis());
+        scatterChart.setAnimated(false);
+        showInNewStage(scatterChart);
+        scatterChart.getData().add(series);
+        addWave(points, POINTS);
+        pulse();
+        Path path = (Path) series.getNode();
+        assertTrue(path.getStyleClass().contains("chart-scatter-points"));
+        assertSame(path, XYChartShim.getPlotChildren(scatterChart).get(0));
+        int marks = path.getElements().size() / 5;
+        assertTrue(marks > 0);
+        // at most one mark per 3x3 pixel cell that the wave passes through
+        double width = scatterChart.getXAxis().getWidth();
+        double height = scatterChart.getYAxis().getHeight();
+        assertTrue(marks < (width / 3 + 1) * (height / 3 + 1) / 4);
+
+        series.setPoints(null);
+        pulse();
+        assertNull(series.getNode());
+        assertFalse(XYChartShim.getPlotChildren(scatterChart).contains(path));
+    }
+
+    private void showInNewStage(Chart chart) {
+        Stage stage = new Stage();
+        stage.setScene(new Scene(chart, 800, 600));
+        stage.show();
+        pulse();
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.scene.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListView;
+import javafx.scene.control.MultipleSelectionModel;
+import javafx.scene.control.SelectionMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the selection of ranges of millions of items, which the selection
+ * model keeps as ranges of indices rather than as individual indices.
+ */
+public class ListViewLargeSelectionTest {
+
+    private static final int ITEMS = 2_000_000;
+
+    private ObservableList<Integer> items;
+    private MultipleSelectionModel<Integer> sm;
+    private final List<String> indexChanges = new ArrayList<>();
+    private final List<String> itemChanges = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        items = FXCollections.observableArrayList(IntStream.range(0, ITEMS).boxed().toList());
+        ListView<Integer> listView = new ListView<>(items);
+        sm = listView.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.getSelectedIndices().addListener((ListChangeListener<Integer>) c -> record(c, indexChanges));
+        sm.getSelectedItems().addListener((ListChangeListener<Integer>) c -> record(c, itemChanges));
+    }
+
+    // records the changes by their range and the first and last removed element,
+    // without copying all of the removed elements
+    private static void record(ListChangeListener.Change<? extends Integer> c, List<String> changes) {
+        while (c.next()) {
+            String change = "[" + c.getFrom() + ", " + c.getTo() + ")";
+            if (c.wasRemoved()) {
+                List<? extends Integer> removed = c.getRemoved();
+                change += " removed " + removed.size() + ": " + removed.get(0) + ".." + removed.get(removed.size() - 1);
+            }
+            changes.add(change);
+        }
+    }
+
+    @Test
+    public void testSelectAll() {
+        sm.selectAll();
+
+        List<Integer> selectedIndices = sm.getSelectedIndices();
+        assertEquals(ITEMS, selectedIndices.size());
+        assertEquals(ITEMS, sm.getSelectedItems().size());
+        assertEquals(0, selectedIndices.get(0));
+        assertEquals(ITEMS / 2, selectedIndices.get(ITEMS / 2));
+        assertEquals(ITEMS - 1, selectedIndices.get(ITEMS - 1));
+        assertEquals(ITEMS - 1, selectedIndices.indexOf(ITEMS - 1));
+        assertEquals(ITEMS - 1, sm.getSelectedItems().get(ITEMS - 1));
+        assertTrue(sm.isSelected(ITEMS - 1));
+        assertFalse(sm.isSelected(ITEMS));
+        assertEquals(List.of("[0, " + ITEMS + ")"), indexChanges);
+        assertEquals(List.of("[0, " + ITEMS + ")"), itemChanges);
+    }
+
+    @Test
+    public void testClearSelectionAfterSelectAll() {
+        sm.selectAll();
+        indexChanges.clear();
+        itemChanges.clear();
+
+        sm.clearSelection();
+
+        assertTrue(sm.getSelectedIndices().isEmpty());
+        assertTrue(sm.getSelectedItems().isEmpty());
+        assertFalse(sm.isSelected(0));
+        String removal = "[0, 0) removed " + ITEMS + ": 0.." + (ITEMS - 1);
+        assertEquals(List.of(removal), indexChanges);
+        assertEquals(List.of(removal), itemChanges);
+    }
+
+    @Test
+    public void testSelectRange() {
+        sm.select(10);
+        sm.selectRange(10, ITEMS - 10);
+
+        List<Integer> selectedIndices = sm.getSelectedIndices();
+        assertEquals(ITEMS - 20, selectedIndices.size());
+        assertEquals(10, selectedIndices.get(0));
+        assertEquals(ITEMS - 11, selectedIndices.get(ITEMS - 21));
+        assertEquals(-1, selectedIndices.indexOf(9));
+        assertEquals(1, selectedIndices.indexOf(11));
+        assertFalse(sm.isSelected(ITEMS - 10));
+    }
+
+    @Test
+    public void testClearSelectionOfIndexSplitsRange() {
+        sm.selectAll();
+        indexChanges.clear();
+
+        sm.clearSelection(1000);
+
+        List<Integer> selectedIndices = sm.getSelectedIndices();
+        assertEquals(ITEMS - 1, selectedIndices.size());
+        assertEquals(999, selectedIndices.get(999));
+        assertEquals(1001, selectedIndices.get(1000));
+        assertEquals(-1, selectedIndices.indexOf(1000));
+        assertEquals(1000, selectedIndices.indexOf(1001));
+        assertEquals(List.of("[1000, 1000) removed 1: 1000..1000"), indexChanges);
+    }
+
+    @Test
+    public void testSelectIndicesWithGaps() {
+        sm.selectRange(0, 100);
+        sm.selectRange(200, 300);
+        indexChanges.clear();
+
+        sm.selectAll();
+
+        assertEquals(ITEMS, sm.getSelectedIndices().size());
+        assertEquals(150, sm.getSelectedIndices().get(150));
+    }
+
+    @Test
+    public void testAddingItemsShiftsSelectedRanges() {
+        sm.selectRange(100, 200);
+        sm.selectRange(ITEMS - 100, ITEMS);
+
+        items.add(150, -1);
+
+        List<Integer> selectedIndices = sm.getSelectedIndices();
+        assertEquals(200, selectedIndices.size());
+        assertTrue(sm.isSelected(149));
+        assertFalse(sm.isSelected(150));
+        assertTrue(sm.isSelected(151));
+        assertTrue(sm.isSelected(200));
+        assertFalse(sm.isSelected(201));
+        assertEquals(ITEMS - 99, selectedIndices.get(100));
+        assertEquals(ITEMS, selectedIndices.get(199));
+        assertEquals(ITEMS - 1, sm.getSelectedItems().get(199));
+    }
+
+    @Test
+    public void testRemovingItemsShiftsSelectedRanges() {
+        sm.selectRange(100, 200);
+        sm.selectRange(ITEMS - 100, ITEMS);
+
+        items.remove(0, 10);
+
+        List<Integer> selectedIndices = sm.getSelectedIndices();
+        assertEquals(200, selectedIndices.size());
+        assertEquals(90, selectedIndices.get(0));
+        assertEquals(189, selectedIndices.get(99));
+        assertEquals(ITEMS - 110, selectedIndices.get(100));
+        assertEquals(100, sm.getSelectedItems().get(0));
+        assertEquals(ITEMS - 1, sm.getSelectedItems().get(199));
+    }
+
+    @Test
+    public void testRemovingSelectedItemsReportsRemovedItems() {
+        // more selected items than are remembered through weak references
+        sm.selectRange(100_000, 120_000);
+        sm.selectRange(200_000, 200_010);
+        List<List<? extends Integer>> removedLists = new ArrayList<>();
+        sm.getSelectedItems().addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    removedLists.add(c.getRemoved());
+                }
+            }
+        });
+
+        items.remove(110_000, 130_000);
+
+        List<Integer> removed = new ArrayList<>();
+        removedLists.forEach(removed::addAll);
+        assertEquals(IntStream.range(110_000, 120_000).boxed().toList(), removed);
+        assertEquals(10_010, sm.getSelectedItems().size());
+        assertEquals(119_999 - 10_000, sm.getSelectedIndices().get(9_999));
+        assertEquals(200_000, sm.getSelectedItems().get(10_000));
+
+        // the removed items were captured, they do not change with the model
+        items.remove(0, 200_000);
+        removed.clear();
+        removedLists.subList(0, 1).forEach(removed::addAll);
+        assertEquals(110_000, removed.get(0));
+        assertEquals(119_999, removed.get(removed.size() - 1));
+    }
+
+    @Test
+    public void testClearingLargeSelectionReportsRemovedItems() {
+        sm.selectRange(100_000, 150_000);
+        List<List<? extends Integer>> removedLists = new ArrayList<>();
+        sm.getSelectedItems().addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                removedLists.add(c.getRemoved());
+            }
+        });
+
+        sm.clearSelection();
+        items.remove(0, 200_000);
+
+        assertEquals(1, removedLists.size());
+        assertEquals(IntStream.range(100_000, 150_000).boxed().toList(), removedLists.get(0));
+    }
+}
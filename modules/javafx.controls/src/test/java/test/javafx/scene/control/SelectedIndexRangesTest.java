@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.scene.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import javafx.scene.control.SelectedIndexRangesShim;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ranges of selected indices of the selection models against a
+ * BitSet of the same indices.
+ */
+public class SelectedIndexRangesTest {
+
+    private final SelectedIndexRangesShim ranges = new SelectedIndexRangesShim();
+
+    private void assertIndices(BitSet expected) {
+        assertEquals(expected.cardinality(), ranges.size());
+        for (int i = 0; i <= expected.length() + 1; i++) {
+            assertEquals(expected.get(i), ranges.contains(i), "contains " + i);
+            int next = expected.nextSetBit(i);
+            assertEquals(next, ranges.nextIndex(i), "nextIndex " + i);
+        }
+        int position = 0;
+        for (int i = expected.nextSetBit(0); i >= 0; i = expected.nextSetBit(i + 1)) {
+            assertEquals(i, ranges.get(position), "get " + position);
+            assertEquals(position, ranges.rank(i), "rank " + i);
+            position++;
+        }
+        assertEquals(expected.stream().boxed().toList(), ranges.toList());
+    }
+
+    @Test
+    public void testAddMergesTouchingRanges() {
+        assertEquals(10, ranges.add(0, 10));
+        assertEquals(10, ranges.add(20, 30));
+        assertEquals(2, ranges.rangeCount());
+        assertEquals(10, ranges.add(10, 20));
+        assertEquals(1, ranges.rangeCount());
+        assertEquals(0, ranges.add(5, 25));
+        assertEquals(30, ranges.size());
+    }
+
+    @Test
+    public void testRemoveSplitsRange() {
+        ranges.add(0, 100);
+        assertEquals(10, ranges.remove(40, 50));
+        assertEquals(2, ranges.rangeCount());
+        assertEquals(90, ranges.size());
+        assertFalse(ranges.contains(45));
+        assertEquals(40, ranges.rank(50));
+        assertEquals(50, ranges.get(40));
+        assertEquals(0, ranges.remove(40, 50));
+    }
+
+    @Test
+    public void testClear() {
+        ranges.add(0, Integer.MAX_VALUE - 1);
+        ranges.clear();
+        assertEquals(0, ranges.size());
+        assertEquals(0, ranges.rangeCount());
+        assertEquals(-1, ranges.nextIndex(0));
+    }
+
+    @Test
+    public void testShiftUpSplitsRange() {
+        ranges.add(10, 20);
+        ranges.add(30, 40);
+        assertTrue(ranges.shift(15, 5, 100));
+        assertEquals(List.of(10, 11, 12, 13, 14, 20, 21, 22, 23, 24), ranges.toList().subList(0, 10));
+        assertEquals(35, ranges.get(10));
+        assertEquals(20, ranges.size());
+    }
+
+    @Test
+    public void testShiftDownMergesRanges() {
+        ranges.add(10, 20);
+        ranges.add(30, 40);
+        assertTrue(ranges.shift(20, -10, 100));
+        assertEquals(1, ranges.rangeCount());
+        assertEquals(20, ranges.size());
+        assertEquals(29, ranges.get(19));
+    }
+
+    @Test
+    public void testShiftRemovesIndicesBeyondLimit() {
+        ranges.add(10, 20);
+        assertTrue(ranges.shift(0, 5, 22));
+        assertEquals(7, ranges.size());
+        assertEquals(21, ranges.get(6));
+        assertFalse(ranges.shift(30, 5, 100));
+    }
+
+    @Test
+    public void testRandomOperationsMatchBitSet() {
+        Random random = new Random(48);
+        BitSet expected = new BitSet();
+        for (int step = 0; step < 2000; step++) {
+            int from = random.nextInt(200);
+            int to = from + random.nextInt(20);
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    int added = to - from - expected.get(from, to).cardinality();
+                    expected.set(from, to);
+                    assertEquals(added, ranges.add(from, to));
+                }
+                case 1 -> {
+                    int removed = expected.get(from, to).cardinality();
+                    expected.clear(from, to);
+                    assertEquals(removed, ranges.remove(from, to));
+                }
+                case 2 -> {
+                    int shift = to - from;
+                    BitSet shifted = expected.get(0, from);
+                    for (int i = expected.nextSetBit(from); i >= 0 && i + shift < 220; i = expected.nextSetBit(i + 1)) {
+                        shifted.set(i + shift);
+                    }
+                    ranges.shift(from, shift, 220);
+                    expected = shifted;
+                }
+                default -> {
+                    int shift = from - to;
+                    BitSet shifted = expected.get(0, from);
+                    for (int i = expected.nextSetBit(to); i >= 0; i = expected.nextSetBit(i + 1)) {
+                        shifted.set(i + shift);
+                    }
+                    ranges.shift(from, shift, 220);
+                    expected = shifted;
+                }
+            }
+            assertIndices(expected);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.scene.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the sort of large TableViews by {@link TableView#BACKGROUND_SORT_POLICY}.
+ */
+public class TableViewBackgroundSortTest {
+
+    private static final int ROWS = 20_000;
+
+    private record Row(int id, Integer number, Double amount, String name) {}
+
+    private TableView<Row> table;
+    private TableColumn<Row, Integer> numberColumn;
+    private TableColumn<Row, Double> amountColumn;
+    private TableColumn<Row, String> nameColumn;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        table = new TableView<>(createRows(ROWS));
+        table.setSortPolicy((Callback) TableView.BACKGROUND_SORT_POLICY);
+        numberColumn = new TableColumn<>("Number");
+        numberColumn.setCellValueFactory(f -> new SimpleObjectProperty<>(f.getValue().number()));
+        amountColumn = new TableColumn<>("Amount");
+        amountColumn.setCellValueFactory(f -> new SimpleObjectProperty<>(f.getValue().amount()));
+        nameColumn = new TableColumn<>("Name");
+        nameColumn.setCellValueFactory(f -> new SimpleObjectProperty<>(f.getValue().name()));
+        table.getColumns().setAll(numberColumn, amountColumn, nameColumn);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        release.countDown();
+    }
+
+    private static ObservableList<Row> createRows(int count) {
+        Random random = new Random(7);
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Integer number = i % 97 == 0 ? null : random.nextInt(500) - 250;
+            Double amount = i % 89 == 0 ? null : random.nextInt(200) / 4.0 - 20;
+            String name = i % 83 == 0 ? null : (i % 2 == 0 ? "row " : "Row ") + random.nextInt(1000);
+            rows.add(new Row(i, number, amount, name));
+        }
+        return FXCollections.observableArrayList(rows);
+    }
+
+    private List<Row> expectedOrder() {
+        List<Row> expected = new ArrayList<>(table.getItems());
+        expected.sort(table.getComparator());
+        return expected;
+    }
+
+    private void waitForSort() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (table.isSorting() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(table.isSorting());
+    }
+
+    // a comparator that blocks the background sort until the test releases it
+    private Comparator<Integer> blockingComparator() {
+        Comparator<Integer> comparator = Comparator.nullsFirst(Comparator.naturalOrder());
+        return (a, b) -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return comparator.compare(a, b);
+        };
+    }
+
+    @Test
+    public void testSmallListIsSortedRightAway() {
+        table.setItems(createRows(100));
+        table.getSortOrder().add(numberColumn);
+
+        assertFalse(table.isSorting());
+        assertEquals(expectedOrder(), table.getItems());
+    }
+
+    @Test
+    public void testNumbersAreSortedInOnePermutation() throws Exception {
+        List<ListChangeListener.Change<? extends Row>> changes = new ArrayList<>();
+        table.getItems().addListener((ListChangeListener<Row>) c -> {
+            while (c.next()) {
+                assertTrue(c.wasPermutated());
+            }
+            changes.add(c);
+        });
+
+        table.getSortOrder().add(numberColumn);
+        waitForSort();
+
+        assertEquals(expectedOrder(), table.getItems());
+        assertEquals(1, changes.size());
+        assertEquals(1, table.getSortProgress());
+    }
+
+    @Test
+    public void testDescendingDoublesAreSorted() throws Exception {
+        amountColumn.setSortType(TableColumn.SortType.DESCENDING);
+        table.getSortOrder().add(amountColumn);
+        waitForSort();
+
+        assertEquals(expectedOrder(), table.getItems());
+        // null amounts are sorted last in descending order
+        assertEquals(null, table.getItems().get(ROWS - 1).amount());
+    }
+
+    @Test
+    public void testStringsAreSortedLikeTheDefaultComparator() throws Exception {
+        table.getSortOrder().add(nameColumn);
+        waitForSort();
+
+        assertEquals(expectedOrder(), table.getItems());
+    }
+
+    @Test
+    public void testSortByMultipleColumns() throws Exception {
+        nameColumn.setSortType(TableColumn.SortType.DESCENDING);
+        table.getSortOrder().addAll(nameColumn, numberColumn, amountColumn);
+        waitForSort();
+
+        assertEquals(expectedOrder(), table.getItems());
+    }
+
+    @Test
+    public void testSortWithCustomComparator() throws Exception {
+        numberColumn.setComparator(Comparator.nullsLast(Comparator.comparing(n -> Math.abs(n))));
+        table.getSortOrder().addAll(numberColumn, nameColumn);
+        waitForSort();
+
+        assertEquals(expectedOrder(), table.getItems());
+    }
+
+    @Test
+    public void testSortIsStable() throws Exception {
+        table.getSortOrder().add(numberColumn);
+        waitForSort();
+
+        List<Row> items = table.getItems();
+        for (int i = 1; i < items.size(); i++) {
+            if (Objects.equals(items.get(i - 1).number(), items.get(i).number())) {
+                assertTrue(items.get(i - 1).id() < items.get(i).id());
+            }
+        }
+    }
+
+    @Test
+    public void testSelectionIsKeptOnTheSameItems() throws Exception {
+        table.getSelectionModel().select(1234);
+        Row selected = table.getSelectionModel().getSelectedItem();
+
+        table.getSortOrder().add(amountColumn);
+        waitForSort();
+
+        assertSame(selected, table.getSelectionModel().getSelectedItem());
+        assertEquals(table.getItems().indexOf(selected), table.getSelectionModel().getSelectedIndex());
+        assertEquals(table.getItems().indexOf(selected), table.getFocusModel().getFocusedIndex());
+    }
+
+    @Test
+    public void testCancelSortKeepsTheItemsAndClearsTheSortOrder() throws Exception {
+        List<Row> before = new ArrayList<>(table.getItems());
+        numberColumn.setComparator(blockingComparator());
+        table.getSortOrder().add(numberColumn);
+        assertTrue(table.isSorting());
+
+        table.cancelSort();
+        release.countDown();
+
+        assertFalse(table.isSorting());
+        assertEquals(0, table.getSortProgress());
+        assertTrue(table.getSortOrder().isEmpty());
+        Thread.sleep(50);
+        assertEquals(before, table.getItems());
+    }
+
+    @Test
+    public void testSortingAgainAbandonsThePreviousSort() throws Exception {
+        numberColumn.setComparator(blockingComparator());
+        table.getSortOrder().add(numberColumn);
+        assertTrue(table.isSorting());
+
+        table.getSortOrder().setAll(amountColumn);
+        release.countDown();
+        waitForSort();
+
+        Thread.sleep(50);
+        assertEquals(expectedOrder(), table.getItems());
+    }
+
+    @Test
+    public void testSortStartsOverWhenItemsChange() throws Exception {
+        numberColumn.setComparator(blockingComparator());
+        table.getSortOrder().add(numberColumn);
+        assertTrue(table.isSorting());
+
+        Row added = new Row(ROWS, -1000, 0.0, "added");
+        table.getItems().add(added);
+        release.countDown();
+        waitForSort();
+
+        assertEquals(ROWS + 1, table.getItems().size());
+        assertEquals(expectedOrder(), table.getItems());
+    }
+
+    @Test
+    public void testReplacingItemsAbandonsTheSort() throws Exception {
+        numberColumn.setComparator(blockingComparator());
+        table.getSortOrder().add(numberColumn);
+        assertTrue(table.isSorting());
+
+        ObservableList<Row> oldItems = table.getItems();
+        List<Row> before = new ArrayList<>(oldItems);
+        table.setItems(createRows(10));
+        release.countDown();
+
+        assertFalse(table.isSorting());
+        Thread.sleep(50);
+        assertEquals(before, oldItems);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.AccessibleAttribute;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.skin.TextAreaSkin;
+import javafx.scene.control.skin.TextInputControlSkin;
+import javafx.scene.control.skin.TextInputSkinShim;
+import javafx.scene.text.Text;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.sun.javafx.PlatformUtil;
+import com.sun.javafx.tk.Toolkit;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+
+/**
+ * Tests the paragraph index of the TextArea content and the virtualized
+ * TextAreaSkin used for texts with many paragraphs.
+ */
+public class TextAreaLargeContentTest {
+
+    private static final int LINE_COUNT = 20_000;
+
+    private TextArea textArea;
+    private StageLoader stageLoader;
+
+    @BeforeEach
+    public void setup() {
+        textArea = new TextArea();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (stageLoader != null) {
+            stageLoader.dispose();
+        }
+    }
+
+    private static String lines(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append('\n');
+            }
+            text.append("line ").append(i);
+        }
+        return text.toString();
+    }
+
+    private void show() {
+        textArea.setPrefSize(400, 300);
+        stageLoader = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+    }
+
+    private Text getTextNode() {
+        return TextInputSkinShim.getTextNode(textArea);
+    }
+
+    private double getParagraphHeight() {
+        Text textNode = getTextNode();
+        return textNode.getLayoutBounds().getHeight() / textNode.getText().split("\n").length;
+    }
+
+    private static int windowFirstParagraph(Text textNode) {
+        return Integer.parseInt(textNode.getText().substring(5, textNode.getText().indexOf('\n')));
+    }
+
+    private int getParagraphStart(int paragraph) {
+        return textArea.getText().indexOf("line " + paragraph + (paragraph < LINE_COUNT - 1 ? "\n" : ""));
+    }
+
+    @Test
+    public void testRandomEditsMatchString() {
+        Random random = new Random(45);
+        StringBuilder expected = new StringBuilder();
+        String[] inserts = { "a", "bc", "\n", "d\ne", "\n\n", "fgh\n", "\nij", "k\nl\nm" };
+
+        for (int i = 0; i < 2000; i++) {
+            int length = expected.length();
+            if (length == 0 || random.nextInt(3) > 0) {
+                int index = random.nextInt(length + 1);
+                String text = inserts[random.nextInt(inserts.length)];
+                textArea.insertText(index, text);
+                expected.insert(index, text);
+            } else {
+                int start = random.nextInt(length);
+                int end = Math.min(length, start + 1 + random.nextInt(5));
+                textArea.deleteText(start, end);
+                expected.delete(start, end);
+            }
+
+            assertEquals(expected.toString(), textArea.getText());
+            assertEquals(expected.toString(), String.join("\n", textArea.getParagraphs()));
+            int start = random.nextInt(expected.length() + 1);
+            int end = start + random.nextInt(expected.length() - start + 1);
+            assertEquals(expected.substring(start, end), textArea.getText(start, end));
+        }
+    }
+
+    @Test
+    public void testInsertedLinesAreParagraphs() {
+        textArea.setText("first\nlast");
+        textArea.insertText(3, "A\nB\n\nC");
+
+        assertEquals(5, textArea.getParagraphs().size());
+        assertEquals("firA", textArea.getParagraphs().get(0).toString());
+        assertEquals("B", textArea.getParagraphs().get(1).toString());
+        assertEquals("", textArea.getParagraphs().get(2).toString());
+        assertEquals("Cst", textArea.getParagraphs().get(3).toString());
+        assertEquals("last", textArea.getParagraphs().get(4).toString());
+        assertEquals("firA\nB\n\nCst\nlast", textArea.getText());
+        assertEquals("B\n\nC", textArea.getText(5, 9));
+    }
+
+    @Test
+    public void testShortTextIsNotVirtualized() {
+        textArea.setText(lines(100));
+        show();
+
+        assertEquals(textArea.getText(), getTextNode().getText());
+    }
+
+    @Test
+    public void testTextNodeShowsVisibleParagraphs() {
+        textArea.setText(lines(LINE_COUNT));
+        show();
+
+        Text textNode = getTextNode();
+        assertTrue(textNode.getText().length() < textArea.getLength() / 10);
+        assertTrue(textNode.getText().startsWith("line 0\n"));
+
+        double top = textNode.getLayoutY();
+        double lineHeight = getParagraphHeight();
+        textArea.setScrollTop(10_000 * lineHeight);
+        Toolkit.getToolkit().firePulse();
+
+        assertTrue(textNode.getText().contains("\nline 10000\n"));
+        assertEquals(top + windowFirstParagraph(textNode) * lineHeight, textNode.getLayoutY(), 0.001);
+    }
+
+    @Test
+    public void testEditUpdatesShownParagraphs() {
+        textArea.setText(lines(LINE_COUNT));
+        show();
+
+        textArea.insertText(0, "new\n");
+        Toolkit.getToolkit().firePulse();
+
+        assertTrue(getTextNode().getText().startsWith("new\nline 0\n"));
+        assertEquals(LINE_COUNT + 1, textArea.getParagraphs().size());
+    }
+
+    @Test
+    public void testCharacterBoundsOutsideOfShownParagraphs() {
+        textArea.setText(lines(LINE_COUNT));
+        show();
+
+        Text textNode = getTextNode();
+        double top = textNode.getLayoutY();
+        TextAreaSkin skin = (TextAreaSkin)textArea.getSkin();
+        Rectangle2D bounds = skin.getCharacterBounds(getParagraphStart(15_000));
+        assertEquals(top + 15_000 * getParagraphHeight(), bounds.getMinY(), 0.001);
+    }
+
+    @Test
+    public void testCaretMovedOutOfViewIsShown() {
+        textArea.setText(lines(LINE_COUNT));
+        show();
+
+        textArea.end();
+        Toolkit.getToolkit().firePulse();
+
+        assertTrue(getTextNode().getText().endsWith("line " + (LINE_COUNT - 1)));
+    }
+
+    @Test
+    public void testParagraphNavigation() {
+        textArea.setText(lines(LINE_COUNT));
+        show();
+
+        int start = getParagraphStart(12_345);
+        textArea.positionCaret(start + 2);
+        TextAreaSkin skin = (TextAreaSkin)textArea.getSkin();
+        skin.moveCaret(TextInputControlSkin.TextUnit.PARAGRAPH, TextInputControlSkin.Direction.BEGINNING, false);
+        assertEquals(start, textArea.getCaretPosition());
+
+        skin.moveCaret(TextInputControlSkin.TextUnit.PARAGRAPH, TextInputControlSkin.Direction.UP, false);
+        assertEquals(getParagraphStart(12_344), textArea.getCaretPosition());
+
+        textArea.positionCaret(start);
+        skin.moveCaret(TextInputControlSkin.TextUnit.PARAGRAPH, TextInputControlSkin.Direction.END, false);
+        assertEquals(start + "line 12345".length() + (PlatformUtil.isWindows() ? 1 : 0), textArea.getCaretPosition());
+    }
+
+    @Test
+    public void testAccessibleLines() {
+        textArea.setText(lines(LINE_COUNT));
+        show();
+
+        int start = getParagraphStart(15_000);
+        assertEquals(15_000, textArea.queryAccessibleAttribute(AccessibleAttribute.LINE_FOR_OFFSET, start + 3));
+        assertEquals(start, textArea.queryAccessibleAttribute(AccessibleAttribute.LINE_START, 15_000));
+    }
+
+    @Test
+    public void testWrappedTextIsNotVirtualized() {
+        textArea.setText(lines(LINE_COUNT));
+        show();
+        assertFalse(getTextNode().getText().length() == textArea.getLength());
+
+        textArea.setWrapText(true);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(textArea.getText(), getTextNode().getText());
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javafx.concurrent.Task;
+import javafx.css.PseudoClass;
+import javafx.scene.control.IndexRange;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableView;
+import javafx.scene.control.TreeView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+import test.com.sun.javafx.scene.control.infrastructure.VirtualFlowTestUtils;
+
+/**
+ * Tests the children of TreeItems that are loaded lazily, in pages, as their
+ * rows are accessed.
+ */
+public class TreeItemLazyChildrenTest {
+
+    private static final PseudoClass LOADING = PseudoClass.getPseudoClass("loading");
+
+    private final List<IndexRange> requests = new ArrayList<>();
+    private final List<PageTask> tasks = new ArrayList<>();
+    private int expandedChild = -1;
+    private StageLoader stageLoader;
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        for (PageTask task : tasks) {
+            task.release();
+        }
+        if (stageLoader != null) {
+            stageLoader.dispose();
+        }
+    }
+
+    private List<TreeItem<String>> loadPage(IndexRange range) {
+        requests.add(range);
+        List<TreeItem<String>> children = new ArrayList<>();
+        for (int i = range.getStart(); i < range.getEnd(); i++) {
+            TreeItem<String> child = new TreeItem<>("child " + i);
+            if (i == expandedChild) {
+                child.getChildren().setAll(new TreeItem<>("a"), new TreeItem<>("b"), new TreeItem<>("c"));
+                child.setExpanded(true);
+            }
+            children.add(child);
+        }
+        return children;
+    }
+
+    private class PageTask extends Task<List<TreeItem<String>>> {
+        private final IndexRange range;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile boolean fail;
+
+        PageTask(IndexRange range) {
+            this.range = range;
+        }
+
+        @Override
+        protected List<TreeItem<String>> call() throws Exception {
+            latch.await(5, TimeUnit.SECONDS);
+            if (fail) {
+                throw new Exception("failed to load " + range);
+            }
+            return loadPage(range);
+        }
+
+        void release() {
+            latch.countDown();
+        }
+
+        void complete() throws Exception {
+            release();
+            try {
+                get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                // checked by the tests
+            }
+        }
+    }
+
+    private TreeItem<String> createRoot(int childCount, int pageSize) {
+        TreeItem<String> root = new TreeItem<>("root");
+        root.setExpanded(true);
+        root.setLazyChildren(childCount, pageSize, this::loadPage);
+        return root;
+    }
+
+    private TreeItem<String> createTaskRoot(int childCount, int pageSize) {
+        TreeItem<String> root = new TreeItem<>("root");
+        root.setExpanded(true);
+        root.setLazyChildrenTask(childCount, pageSize, range -> {
+            PageTask task = new PageTask(range);
+            tasks.add(task);
+            return task;
+        });
+        return root;
+    }
+
+    @Test
+    public void testChildCountIsKnownWithoutLoading() {
+        TreeItem<String> root = createRoot(500_000, 100);
+        TreeView<String> treeView = new TreeView<>(root);
+
+        assertFalse(root.isLeaf());
+        assertEquals(500_000, root.getChildren().size());
+        assertEquals(500_001, treeView.getExpandedItemCount());
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void testRowAccessLoadsOnlyItsPage() {
+        TreeItem<String> root = createRoot(500_000, 100);
+        TreeView<String> treeView = new TreeView<>(root);
+
+        TreeItem<String> item = treeView.getTreeItem(250_001);
+        assertEquals(List.of(new IndexRange(250_000, 250_100)), requests);
+        assertEquals("child 250000", item.getValue());
+        assertSame(root, item.getParent());
+        assertEquals(250_001, treeView.getRow(item));
+
+        // the other children of the page are loaded too
+        assertEquals("child 250099", treeView.getTreeItem(250_100).getValue());
+        assertEquals(1, requests.size());
+        assertEquals(500_001, treeView.getExpandedItemCount());
+    }
+
+    @Test
+    public void testRowsBelowExpandedLazyChild() {
+        TreeItem<String> root = createRoot(1000, 10);
+        TreeView<String> treeView = new TreeView<>(root);
+
+        TreeItem<String> item = treeView.getTreeItem(5);
+        item.getChildren().setAll(new TreeItem<>("a"), new TreeItem<>("b"));
+        item.setExpanded(true);
+
+        assertEquals(1003, treeView.getExpandedItemCount());
+        assertEquals("b", treeView.getTreeItem(7).getValue());
+        assertEquals("child 5", treeView.getTreeItem(8).getValue());
+        assertEquals(8, treeView.getRow(root.getChildren().get(5)));
+    }
+
+    @Test
+    public void testPlaceholdersUntilTaskSucceeds() throws Exception {
+        TreeItem<String> root = createTaskRoot(1000, 50);
+        TreeView<String> treeView = new TreeView<>(root);
+
+        TreeItem<String> placeholder = treeView.getTreeItem(75);
+        assertTrue(placeholder.isPlaceholder());
+        assertNull(placeholder.getValue());
+        assertSame(root, placeholder.getParent());
+        assertEquals(75, treeView.getRow(placeholder));
+        assertEquals(1, tasks.size());
+
+        // accessing the page again does not request it again
+        assertTrue(treeView.getTreeItem(80).isPlaceholder());
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).complete();
+
+        TreeItem<String> item = treeView.getTreeItem(75);
+        assertFalse(item.isPlaceholder());
+        assertEquals("child 74", item.getValue());
+        assertSame(root, item.getParent());
+        assertNull(placeholder.getParent());
+        assertEquals(-1, treeView.getRow(placeholder));
+        assertEquals(1001, treeView.getExpandedItemCount());
+    }
+
+    @Test
+    public void testFailedPageIsRequestedAgain() throws Exception {
+        TreeItem<String> root = createTaskRoot(100, 10);
+        TreeView<String> treeView = new TreeView<>(root);
+
+        treeView.getTreeItem(1);
+        tasks.get(0).fail = true;
+        tasks.get(0).complete();
+        assertEquals(1, tasks.size());
+
+        // the TreeView looks its rows up again after the tree changes
+        root.setExpanded(false);
+        root.setExpanded(true);
+        assertTrue(treeView.getTreeItem(1).isPlaceholder());
+        assertEquals(2, tasks.size());
+
+        tasks.get(1).complete();
+        assertEquals("child 0", treeView.getTreeItem(1).getValue());
+    }
+
+    @Test
+    public void testSelectionIsKeptWhenPageIsLoaded() throws Exception {
+        TreeItem<String> root = createTaskRoot(1000, 50);
+        TreeView<String> treeView = new TreeView<>(root);
+
+        treeView.getSelectionModel().select(60);
+        treeView.getSelectionModel().select(10);
+        assertTrue(treeView.getSelectionModel().getSelectedItem().isPlaceholder());
+
+        for (PageTask task : new ArrayList<>(tasks)) {
+            task.complete();
+        }
+
+        assertEquals(10, treeView.getSelectionModel().getSelectedIndex());
+        assertEquals("child 9", treeView.getSelectionModel().getSelectedItem().getValue());
+        assertEquals(10, treeView.getFocusModel().getFocusedIndex());
+    }
+
+    @Test
+    public void testSelectionIsShiftedAfterExpandedLoadedChild() throws Exception {
+        expandedChild = 5;
+        TreeItem<String> root = createTaskRoot(100, 10);
+        TreeView<String> treeView = new TreeView<>(root);
+        treeView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
+        // rows of children before, at and after the expanded child
+        treeView.getSelectionModel().selectIndices(3, 6, 9);
+        tasks.get(0).complete();
+
+        assertEquals(List.of(3, 6, 12), treeView.getSelectionModel().getSelectedIndices());
+        assertEquals(List.of("child 2", "child 5", "child 8"),
+                treeView.getSelectionModel().getSelectedItems().stream().map(TreeItem::getValue).toList());
+        assertEquals(12, treeView.getFocusModel().getFocusedIndex());
+        assertEquals("a", treeView.getTreeItem(7).getValue());
+    }
+
+    @Test
+    public void testFocusIsNotShiftedBeforeExpandedLoadedChild() throws Exception {
+        expandedChild = 5;
+        TreeItem<String> root = createTaskRoot(100, 10);
+        TreeView<String> treeView = new TreeView<>(root);
+
+        treeView.getFocusModel().focus(3);
+        tasks.get(0).complete();
+
+        assertEquals(3, treeView.getFocusModel().getFocusedIndex());
+        assertEquals("child 2", treeView.getFocusModel().getFocusedItem().getValue());
+    }
+
+    @Test
+    public void testTreeTableViewSelectionIsShiftedAfterExpandedLoadedChild() throws Exception {
+        expandedChild = 5;
+        TreeItem<String> root = createTaskRoot(100, 10);
+        TreeTableView<String> treeTableView = new TreeTableView<>(root);
+        treeTableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
+        treeTableView.getSelectionModel().selectIndices(3, 6, 9);
+        tasks.get(0).complete();
+
+        assertEquals(List.of(3, 6, 12), treeTableView.getSelectionModel().getSelectedIndices());
+        assertEquals(List.of("child 2", "child 5", "child 8"),
+                treeTableView.getSelectionModel().getSelectedItems().stream().map(TreeItem::getValue).toList());
+        assertEquals(12, treeTableView.getFocusModel().getFocusedIndex());
+    }
+
+    @Test
+    public void testTreeTableViewFocusIsNotShiftedBeforeExpandedLoadedChild() throws Exception {
+        expandedChild = 5;
+        TreeItem<String> root = createTaskRoot(100, 10);
+        TreeTableView<String> treeTableView = new TreeTableView<>(root);
+
+        treeTableView.getFocusModel().focus(3);
+        tasks.get(0).complete();
+
+        assertEquals(3, treeTableView.getFocusModel().getFocusedIndex());
+        assertEquals("child 2", treeTableView.getFocusModel().getFocusedItem().getValue());
+    }
+
+    @Test
+    public void testTreeTableViewRows() throws Exception {
+        TreeItem<String> root = createTaskRoot(1000, 50);
+        TreeTableView<String> treeTableView = new TreeTableView<>(root);
+
+        assertEquals(1001, treeTableView.getExpandedItemCount());
+        assertTrue(treeTableView.getTreeItem(500).isPlaceholder());
+        tasks.get(0).complete();
+        assertEquals("child 499", treeTableView.getTreeItem(500).getValue());
+        assertEquals(500, treeTableView.getRow(treeTableView.getTreeItem(500)));
+    }
+
+    @Test
+    public void testPlaceholderCellsHaveLoadingPseudoClass() throws Exception {
+        TreeItem<String> root = createTaskRoot(1000, 50);
+        TreeView<String> treeView = new TreeView<>(root);
+        stageLoader = new StageLoader(treeView);
+
+        IndexedCell<?> cell = VirtualFlowTestUtils.getCell(treeView, 3);
+        assertTrue(cell.getPseudoClassStates().contains(LOADING));
+        assertFalse(VirtualFlowTestUtils.getCell(treeView, 0).getPseudoClassStates().contains(LOADING));
+
+        tasks.get(0).complete();
+        treeView.layout();
+
+        cell = VirtualFlowTestUtils.getCell(treeView, 3);
+        assertFalse(cell.getPseudoClassStates().contains(LOADING));
+        assertEquals("child 2", cell.getItem());
+    }
+
+    @Test
+    public void testLazyChildrenCanNotBeModified() {
+        TreeItem<String> root = createRoot(10, 5);
+        assertThrows(UnsupportedOperationException.class, () -> root.getChildren().add(new TreeItem<>("x")));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        TreeItem<String> root = new TreeItem<>("root");
+        assertThrows(IllegalArgumentException.class, () -> root.setLazyChildren(-1, 10, this::loadPage));
+        assertThrows(IllegalArgumentException.class, () -> root.setLazyChildren(10, 0, this::loadPage));
+        assertThrows(NullPointerException.class, () -> root.setLazyChildren(10, 10, null));
+    }
+
+    @Test
+    public void testSetLazyChildrenReplacesChildren() {
+        TreeItem<String> root = new TreeItem<>("root");
+        root.setExpanded(true);
+        TreeItem<String> child = new TreeItem<>("child");
+        root.getChildren().add(child);
+        TreeView<String> treeView = new TreeView<>(root);
+        assertEquals(2, treeView.getExpandedItemCount());
+
+        root.setLazyChildren(20, 10, this::loadPage);
+        assertNull(child.getParent());
+        assertEquals(21, treeView.getExpandedItemCount());
+        assertEquals("child 19", treeView.getTreeItem(20).getValue());
+    }
+}
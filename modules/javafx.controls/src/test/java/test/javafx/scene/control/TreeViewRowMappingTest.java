@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableView;
+import javafx.scene.control.TreeView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the mapping between rows and TreeItems of TreeView and
+ * TreeTableView against a plain traversal of the tree, as items are expanded,
+ * collapsed, added and removed.
+ */
+public class TreeViewRowMappingTest {
+
+    private TreeItem<String> root;
+    private List<TreeItem<String>> all;
+    private Random random;
+
+    @BeforeEach
+    public void setup() {
+        random = new Random(42);
+        all = new ArrayList<>();
+        root = createItem("root");
+        root.setExpanded(true);
+        populate(root, 4);
+    }
+
+    private TreeItem<String> createItem(String value) {
+        TreeItem<String> item = new TreeItem<>(value);
+        all.add(item);
+        return item;
+    }
+
+    private void populate(TreeItem<String> parent, int depth) {
+        if (depth == 0) return;
+        int count = 1 + random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            TreeItem<String> child = createItem(parent.getValue() + "." + i);
+            child.setExpanded(random.nextBoolean());
+            parent.getChildren().add(child);
+            populate(child, depth - 1);
+        }
+    }
+
+    private static void collectRows(TreeItem<String> item, List<TreeItem<String>> rows) {
+        rows.add(item);
+        if (item.isExpanded()) {
+            for (TreeItem<String> child : item.getChildren()) {
+                collectRows(child, rows);
+            }
+        }
+    }
+
+    private List<TreeItem<String>> expectedRows(boolean showRoot) {
+        List<TreeItem<String>> rows = new ArrayList<>();
+        collectRows(root, rows);
+        if (!showRoot) {
+            rows.remove(0);
+        }
+        return rows;
+    }
+
+    private void assertRows(TreeView<String> treeView) {
+        List<TreeItem<String>> rows = expectedRows(treeView.isShowRoot());
+        assertEquals(rows.size(), treeView.getExpandedItemCount());
+        for (int i = 0; i < rows.size(); i++) {
+            assertSame(rows.get(i), treeView.getTreeItem(i));
+        }
+        assertNull(treeView.getTreeItem(rows.size()));
+        for (TreeItem<String> item : all) {
+            assertEquals(rows.indexOf(item), treeView.getRow(item), () -> item.getValue());
+        }
+    }
+
+    private void assertRows(TreeTableView<String> treeTableView) {
+        List<TreeItem<String>> rows = expectedRows(treeTableView.isShowRoot());
+        assertEquals(rows.size(), treeTableView.getExpandedItemCount());
+        for (int i = 0; i < rows.size(); i++) {
+            assertSame(rows.get(i), treeTableView.getTreeItem(i));
+        }
+        for (TreeItem<String> item : all) {
+            assertEquals(rows.indexOf(item), treeTableView.getRow(item), () -> item.getValue());
+        }
+    }
+
+    private void mutate() {
+        TreeItem<String> item = all.get(random.nextInt(all.size()));
+        if (item == root || item.getParent() == null) {
+            return;
+        }
+        switch (random.nextInt(4)) {
+            case 0, 1 -> item.setExpanded(!item.isExpanded());
+            case 2 -> {
+                TreeItem<String> child = createItem(item.getValue() + "+");
+                child.setExpanded(random.nextBoolean());
+                item.getChildren().add(random.nextInt(item.getChildren().size() + 1), child);
+            }
+            default -> {
+                removeAll(item);
+                item.getParent().getChildren().remove(item);
+            }
+        }
+    }
+
+    private void removeAll(TreeItem<String> item) {
+        all.remove(item);
+        for (TreeItem<String> child : item.getChildren()) {
+            removeAll(child);
+        }
+    }
+
+    @Test
+    public void testTreeViewRows() {
+        TreeView<String> treeView = new TreeView<>(root);
+        assertRows(treeView);
+        for (int i = 0; i < 200; i++) {
+            mutate();
+            assertRows(treeView);
+        }
+    }
+
+    @Test
+    public void testTreeViewRowsWithoutRoot() {
+        TreeView<String> treeView = new TreeView<>(root);
+        treeView.setShowRoot(false);
+        for (int i = 0; i < 200; i++) {
+            mutate();
+            assertRows(treeView);
+        }
+    }
+
+    @Test
+    public void testTreeTableViewRows() {
+        TreeTableView<String> treeTableView = new TreeTableView<>(root);
+        assertRows(treeTableView);
+        for (int i = 0; i < 200; i++) {
+            mutate();
+            assertRows(treeTableView);
+        }
+    }
+
+    @Test
+    public void testRowsAfterSort() {
+        TreeView<String> treeView = new TreeView<>(root);
+        assertRows(treeView);
+        root.getChildren().sort((a, b) -> b.getValue().compareTo(a.getValue()));
+        assertRows(treeView);
+        TreeItem<String> first = root.getChildren().get(0);
+        first.setExpanded(!first.isExpanded());
+        assertRows(treeView);
+    }
+
+    @Test
+    public void testRowsOfDetachedItem() {
+        TreeView<String> treeView = new TreeView<>(root);
+        TreeItem<String> child = root.getChildren().get(0);
+        root.getChildren().remove(child);
+        assertEquals(-1, treeView.getRow(child));
+        assertEquals(-1, treeView.getRow(new TreeItem<>("other")));
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.scene.control.skin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.css.PseudoClass;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumnBase;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableCell;
+import javafx.scene.control.TreeTableColumn;
+import javafx.scene.control.TreeTableRow;
+import javafx.scene.control.TreeTableView;
+import javafx.scene.control.skin.TableColumnHeader;
+import javafx.scene.control.skin.TableSkinShim;
+import javafx.scene.control.skin.VirtualFlowShim;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.sun.javafx.tk.Toolkit;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+import test.com.sun.javafx.scene.control.infrastructure.VirtualFlowTestUtils;
+
+/**
+ * Tests that table rows with a fixed cell size only have cells for the
+ * columns in the viewport, and the frozen columns of TableView and
+ * TreeTableView.
+ */
+public class TableRowSkinColumnVirtualizationTest {
+
+    private static final int COLUMN_COUNT = 200;
+    private static final double COLUMN_WIDTH = 50;
+    private static final PseudoClass FROZEN = PseudoClass.getPseudoClass("frozen");
+
+    private TableView<Integer> tableView;
+    private StageLoader stageLoader;
+
+    @AfterEach
+    public void cleanup() {
+        if (stageLoader != null) {
+            stageLoader.dispose();
+        }
+    }
+
+    private void createTableView(boolean fixedCellSize) {
+        tableView = new TableView<>();
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            final int column = i;
+            TableColumn<Integer, String> tc = new TableColumn<>("c" + i);
+            tc.setPrefWidth(COLUMN_WIDTH);
+            tc.setCellValueFactory(cdf -> new SimpleStringProperty(cdf.getValue() + "," + column));
+            tableView.getColumns().add(tc);
+        }
+        for (int i = 0; i < 100; i++) {
+            tableView.getItems().add(i);
+        }
+        if (fixedCellSize) {
+            tableView.setFixedCellSize(24);
+        }
+        tableView.setPrefSize(400, 300);
+        stageLoader = new StageLoader(tableView);
+        Toolkit.getToolkit().firePulse();
+    }
+
+    private TableRow<?> getRow(int index) {
+        return (TableRow<?>) VirtualFlowTestUtils.getCell(tableView, index);
+    }
+
+    private static List<TableCell<?,?>> getCells(IndexedCell<?> row) {
+        return row.getChildrenUnmodifiable().stream()
+                .filter(TableCell.class::isInstance)
+                .map(n -> (TableCell<?,?>) n)
+                .collect(Collectors.toList());
+    }
+
+    private void scrollTo(double value) {
+        ScrollBar hbar = VirtualFlowShim.getHBar(TableSkinShim.getVirtualFlow(tableView));
+        hbar.setValue(value);
+        Toolkit.getToolkit().firePulse();
+    }
+
+    private void assertCellsMatchColumns(List<TableCell<?,?>> cells, double scrollX, int frozenCount) {
+        for (TableCell<?,?> cell : cells) {
+            int column = tableView.getVisibleLeafColumns().indexOf(cell.getTableColumn());
+            assertTrue(column >= 0);
+            boolean frozen = column < frozenCount;
+            double x = column * COLUMN_WIDTH + (frozen ? scrollX : 0);
+            assertEquals(x, cell.getLayoutX(), 0.5, "column " + column);
+            assertEquals(frozen, cell.getPseudoClassStates().contains(FROZEN), "column " + column);
+            assertEquals(cell.getIndex(), cell.getTableRow().getIndex());
+            assertEquals(tableView.getItems().get(cell.getIndex()) + "," + column, cell.getText());
+        }
+    }
+
+    @Test
+    public void testFixedCellSizeCreatesCellsForVisibleColumnsOnly() {
+        createTableView(true);
+
+        List<TableCell<?,?>> cells = getCells(getRow(0));
+        assertFalse(cells.isEmpty());
+        assertTrue(cells.size() < 20, "cells: " + cells.size());
+        assertSame(tableView.getColumns().get(0), cells.get(0).getTableColumn());
+        assertCellsMatchColumns(cells, 0, 0);
+    }
+
+    @Test
+    public void testWithoutFixedCellSizeAllColumnsHaveCells() {
+        createTableView(false);
+
+        assertEquals(COLUMN_COUNT, getCells(getRow(0)).size());
+    }
+
+    @Test
+    public void testHorizontalScrollMovesCellsToTheColumnsInView() {
+        createTableView(true);
+
+        scrollTo(1000);
+        TableRow<?> row = getRow(0);
+        List<TableCell<?,?>> cells = getCells(row);
+        assertFalse(cells.isEmpty());
+        assertFalse(cells.stream().anyMatch(c -> tableView.getVisibleLeafColumns().indexOf(c.getTableColumn()) < 15));
+        assertTrue(cells.stream().anyMatch(c -> c.getTableColumn() == tableView.getColumns().get(20)));
+        assertCellsMatchColumns(cells, 1000, 0);
+
+        // the same number of columns is in view, so the cells are reused
+        Set<TableCell<?,?>> before = Collections.newSetFromMap(new IdentityHashMap<>());
+        before.addAll(cells);
+        scrollTo(2000);
+        List<TableCell<?,?>> after = getCells(row);
+        assertEquals(cells.size(), after.size());
+        assertTrue(before.containsAll(after));
+        assertTrue(after.stream().anyMatch(c -> c.getTableColumn() == tableView.getColumns().get(40)));
+        assertCellsMatchColumns(after, 2000, 0);
+    }
+
+    @Test
+    public void testAddedColumnGetsCellWhenScrolledIntoView() {
+        createTableView(true);
+
+        TableColumn<Integer, String> other = new TableColumn<>("other");
+        other.setCellValueFactory(cdf -> new SimpleStringProperty("other"));
+        tableView.getColumns().add(other);
+        Toolkit.getToolkit().firePulse();
+        assertFalse(getCells(getRow(0)).stream().anyMatch(c -> c.getTableColumn() == other));
+
+        tableView.scrollToColumn(other);
+        Toolkit.getToolkit().firePulse();
+        assertTrue(getCells(getRow(0)).stream().anyMatch(c -> c.getTableColumn() == other));
+    }
+
+    @Test
+    public void testEditingCellIsKeptWhenScrolledOutOfView() {
+        createTableView(true);
+        tableView.setEditable(true);
+        TableColumn<Integer, ?> first = tableView.getColumns().get(0);
+
+        tableView.edit(1, first);
+        Toolkit.getToolkit().firePulse();
+        scrollTo(2000);
+
+        List<TableCell<?,?>> cells = getCells(getRow(1));
+        assertTrue(cells.stream().anyMatch(c -> c.getTableColumn() == first && c.isEditing()));
+        assertFalse(getCells(getRow(2)).stream().anyMatch(c -> c.getTableColumn() == first));
+    }
+
+    @Test
+    public void testFrozenColumnsStayInPlace() {
+        createTableView(true);
+        tableView.setFrozenColumnCount(2);
+
+        scrollTo(1000);
+        List<TableCell<?,?>> cells = getCells(getRow(0));
+        for (int i = 0; i < 2; i++) {
+            TableColumnBase<?,?> column = tableView.getColumns().get(i);
+            assertTrue(cells.stream().anyMatch(c -> c.getTableColumn() == column));
+            TableColumnHeader header = VirtualFlowTestUtils.getTableColumnHeader(tableView, (TableColumn<?,?>) column);
+            assertNotNull(header);
+            assertEquals(1000, header.getTranslateX(), 0.5);
+        }
+        TableColumnHeader header = VirtualFlowTestUtils.getTableColumnHeader(tableView, tableView.getColumns().get(2));
+        assertEquals(0, header.getTranslateX(), 0);
+        assertCellsMatchColumns(cells, 1000, 2);
+
+        tableView.setFrozenColumnCount(0);
+        Toolkit.getToolkit().firePulse();
+        cells = getCells(getRow(0));
+        assertFalse(cells.stream().anyMatch(c -> c.getTableColumn() == tableView.getColumns().get(0)));
+        assertCellsMatchColumns(cells, 1000, 0);
+        assertEquals(0, VirtualFlowTestUtils.getTableColumnHeader(tableView, tableView.getColumns().get(0)).getTranslateX(), 0);
+    }
+
+    @Test
+    public void testFrozenColumnsWithoutFixedCellSize() {
+        createTableView(false);
+        tableView.setFrozenColumnCount(1);
+
+        scrollTo(500);
+        List<TableCell<?,?>> cells = getCells(getRow(0));
+        assertEquals(COLUMN_COUNT, cells.size());
+        assertCellsMatchColumns(cells, 500, 1);
+    }
+
+    @Test
+    public void testTreeTableViewFixedCellSize() {
+        TreeItem<Integer> root = new TreeItem<>(0);
+        root.setExpanded(true);
+        for (int i = 1; i < 100; i++) {
+            root.getChildren().add(new TreeItem<>(i));
+        }
+        TreeTableView<Integer> treeTableView = new TreeTableView<>(root);
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            TreeTableColumn<Integer, String> tc = new TreeTableColumn<>("c" + i);
+            tc.setPrefWidth(COLUMN_WIDTH);
+            tc.setCellValueFactory(cdf -> new SimpleStringProperty(String.valueOf(cdf.getValue().getValue())));
+            treeTableView.getColumns().add(tc);
+        }
+        treeTableView.setFixedCellSize(24);
+        treeTableView.setFrozenColumnCount(1);
+        treeTableView.setPrefSize(400, 300);
+        stageLoader = new StageLoader(treeTableView);
+        Toolkit.getToolkit().firePulse();
+
+        ScrollBar hbar = VirtualFlowShim.getHBar(TableSkinShim.getVirtualFlow(treeTableView));
+        hbar.setValue(1000);
+        Toolkit.getToolkit().firePulse();
+
+        TreeTableRow<?> row = (TreeTableRow<?>) VirtualFlowTestUtils.getCell(treeTableView, 3);
+        List<TreeTableCell<?,?>> cells = row.getChildrenUnmodifiable().stream()
+                .filter(TreeTableCell.class::isInstance)
+                .map(n -> (TreeTableCell<?,?>) n)
+                .collect(Collectors.toList());
+        assertTrue(cells.size() < 20, "cells: " + cells.size());
+        for (TreeTableCell<?,?> cell : cells) {
+            int column = treeTableView.getVisibleLeafColumns().indexOf(cell.getTableColumn());
+            assertTrue(column == 0 || column >= 15, "column " + column);
+            assertEquals(column * COLUMN_WIDTH + (column == 0 ? 1000 : 0), cell.getLayoutX(), 0.5);
+            assertEquals("3", cell.getText());
+        }
+    }
+}
@@ -333,9 +333,13 @@ public class TableRowSkinTest {
         Toolkit.getToolkit().firePulse();
         assertEquals(5, tableView.getColumns().size());
 
+        // with a fixed cell size only the columns in the viewport have cells
+        tableView.scrollToColumn(otherColumn);
         Toolkit.getToolkit().firePulse();
         IndexedCell<?> row = VirtualFlowTestUtils.getCell(tableView, 1);
-        assertEquals(5, row.getChildrenUnmodifiable().stream().filter(TableCell.class::isInstance).count());
+        assertEquals(1, row.getChildrenUnmodifiable().stream()
+                .filter(child -> child instanceof TableCell<?,?> cell && cell.getTableColumn() == otherColumn)
+                .count());
     }
 
     @After
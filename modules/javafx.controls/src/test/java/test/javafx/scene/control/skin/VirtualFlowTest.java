@@ -2049,6 +2049,79 @@ assertEquals(0, firstCell.getIndex());
         assertEquals(0.0, cell1.getLayoutY(), 0);
     }
 
+    private boolean pileContainsIndex(int index) {
+        for (int i = 0; i < flow.cells_size(flow.pile); i++) {
+            IndexedCell<?> cell = flow.cells_get(flow.pile, i);
+            if (cell.getIndex() == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testNoPrefetchByDefault() {
+        assertEquals(0, flow.getPrefetchCount());
+        flow.scrollPixels(10);
+        pulse();
+        assertFalse(pileContainsIndex(flow.getLastVisibleCell().getIndex() + 1));
+    }
+
+    @Test
+    public void testPrefetchCellsAfterScrollingDown() {
+        flow.setPrefetchCount(5);
+        flow.scrollPixels(10);
+        int last = flow.getLastVisibleCell().getIndex();
+        for (int i = 1; i <= 5; i++) {
+            assertTrue("cell " + (last + i) + " not prefetched", pileContainsIndex(last + i));
+        }
+        assertFalse(pileContainsIndex(last + 6));
+    }
+
+    @Test
+    public void testPrefetchCellsAfterScrollingUp() {
+        flow.scrollPixels(1000);
+        pulse();
+        flow.setPrefetchCount(3);
+        flow.scrollPixels(-10);
+        int first = flow.getFirstVisibleCell().getIndex();
+        for (int i = 1; i <= 3; i++) {
+            assertTrue("cell " + (first - i) + " not prefetched", pileContainsIndex(first - i));
+        }
+        assertFalse(pileContainsIndex(flow.getLastVisibleCell().getIndex() + 1));
+    }
+
+    @Test
+    public void testPrefetchedCellsAreNotVisible() {
+        flow.setPrefetchCount(5);
+        flow.scrollPixels(10);
+        for (int i = 0; i < flow.cells_size(flow.pile); i++) {
+            assertFalse(flow.cells_get(flow.pile, i).isVisible());
+        }
+    }
+
+    @Test
+    public void testPrefetchedCellsAreReusedForTheirIndex() {
+        flow.setPrefetchCount(10);
+        flow.scrollPixels(10);
+        int created = flow.shim_getCreatedCellCount();
+        int last = flow.getLastVisibleCell().getIndex();
+        flow.scrollPixels(100);
+        assertEquals(created, flow.shim_getCreatedCellCount());
+        assertTrue(flow.shim_getPrefetchedCellHitCount() >= 4);
+        assertTrue(flow.getLastVisibleCell().getIndex() >= last + 4);
+    }
+
+    @Test
+    public void testCreatedAndReusedCellCounts() {
+        int created = flow.shim_getCreatedCellCount();
+        assertTrue(created > 0);
+        int reused = flow.shim_getReusedCellCount();
+        flow.scrollPixels(100);
+        pulse();
+        assertTrue(flow.shim_getReusedCellCount() > reused);
+    }
+
 }
 
 class GraphicalCellStub extends IndexedCellShim<Node> {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -32,6 +32,12 @@ import java.util.Arrays;
  * pointer to the first empty dirty region in the array and index of last
  * modified dirty region. It also introduces convenient methods to modify
  * the array of dirty regions.
+ * <p>
+ * When the container runs out of space, regions are merged pairwise, picking
+ * each time the pair whose union adds the least area that was not already
+ * dirty. Optionally, regions whose union would add less than the merge
+ * threshold are clustered as soon as they are added, which trades a little
+ * extra repainted area for fewer render passes.
  */
 public final class DirtyRegionContainer {
 
@@ -40,8 +46,24 @@ public final class DirtyRegionContainer {
 
     private RectBounds[] dirtyRegions;
     private int emptyIndex;
+    private final float mergeThreshold;
+    private final RectBounds mergeTemp = new RectBounds();
+    private float mergedArea;
 
     public DirtyRegionContainer(int count) {
+        this(count, 0);
+    }
+
+    /**
+     * Creates a container for at most {@code count} dirty regions.
+     * @param count the maximum number of dirty regions
+     * @param mergeThreshold regions are merged on insertion whenever their
+     *        union adds at most this area (in square pixels) to the area
+     *        that is already dirty. Zero only merges regions when they
+     *        intersect or when the container is full.
+     */
+    public DirtyRegionContainer(int count, float mergeThreshold) {
+        this.mergeThreshold = mergeThreshold;
         initDirtyRegions(count);
     }
 
@@ -115,9 +137,10 @@ public final class DirtyRegionContainer {
     }
 
     public DirtyRegionContainer copy() {
-        DirtyRegionContainer drc = new DirtyRegionContainer(maxSpace());
+        DirtyRegionContainer drc = new DirtyRegionContainer(maxSpace(), mergeThreshold);
         regioncopy(dirtyRegions, 0, drc.dirtyRegions, 0, emptyIndex);
         drc.emptyIndex = emptyIndex;
+        drc.mergedArea = mergedArea;
         return drc;
     }
 
@@ -154,6 +177,7 @@ public final class DirtyRegionContainer {
                 //can't have overlapping regions
                 dr = dirtyRegions[tempIndex];
                 if (region.intersects(dr)) {
+                    mergedArea += mergeCost(region, dr);
                     region.unionWith(dr);
                     tmp = dirtyRegions[tempIndex];
                     dirtyRegions[tempIndex] = dirtyRegions[emptyIndex - 1];
@@ -163,6 +187,11 @@ public final class DirtyRegionContainer {
                     tempIndex++;
                 }
             }//for
+            if (mergeThreshold > 0 && emptyIndex > 0 && clusterWithNearest(region)) {
+                // the grown region may now intersect some other region
+                addDirtyRegion(region);
+                return;
+            }
             if (hasSpace()) {
                 dr = dirtyRegions[emptyIndex];
                 dr.deriveWithNewBounds(region);
@@ -170,10 +199,12 @@ public final class DirtyRegionContainer {
                 return;
             }
             //match region into existing dirty regions
-            if (dirtyRegions.length == 1)
+            if (dirtyRegions.length == 1) {
+                mergedArea += mergeCost(dirtyRegions[0], region);
                 dirtyRegions[0].deriveWithUnion(region);
-            else
+            } else {
                 compress(region);
+            }
     }
 
     public void merge(DirtyRegionContainer other) {
@@ -189,10 +220,33 @@ public final class DirtyRegionContainer {
 
     public void reset() {
         emptyIndex = 0;
+        mergedArea = 0;
+    }
+
+    /**
+     * Returns the area (in square pixels) that merging regions added to the
+     * dirty area since the last reset. This is the amount of content that is
+     * going to be repainted although it has not changed.
+     * @return the area added by merging dirty regions
+     */
+    public float getMergedArea() {
+        return mergedArea;
+    }
+
+    /**
+     * Returns the sum of the areas of all the dirty regions.
+     * @return the total dirty area
+     */
+    public float getTotalArea() {
+        float area = 0;
+        for (int i = 0; i < emptyIndex; i++) {
+            area += area(dirtyRegions[i]);
+        }
+        return area;
     }
 
     private RectBounds compress(final RectBounds region) {
-        compress_heap();
+        compress_cost(region);
         addDirtyRegion(region);
         return region;
     }
@@ -253,173 +307,106 @@ public final class DirtyRegionContainer {
     }
 
     /***************************************************************************
-     * Shared for all compressing algorithms
+     * Cost based compressing algorithm
      ***************************************************************************/
-    private int[][] heap; // heap used for compressing dirty regions
-    private int heapSize;
-    private long invalidMask;
-
-    private void heapCompress() {
-        invalidMask = 0;
-        int[] map = new int[dirtyRegions.length];
-        for (int i = 0; i < map.length; ++i) {
-            map[i] = i;
-        }
-
-        int[] min;
-        for (int i = 0; i < dirtyRegions.length / 2; ++i) { //compress to 1/2
-            min = takeMinWithMap(map);
-            int idx0 = resolveMap(map, min[1]);
-            int idx1 = resolveMap(map, min[2]);
-            if (idx0 != idx1) {
-                dirtyRegions[idx0].deriveWithUnion(dirtyRegions[idx1]);
-                map[idx1] = idx0;
-                invalidMask |= 1 << idx0;
-                invalidMask |= 1 << idx1;
-            }
-        }
 
-        // move the unused regions to the end
-        RectBounds tmp;
-        for (int i = 0; i < emptyIndex; ++i) {
-            if (map[i] != i) {
-                while(map[emptyIndex - 1] != emptyIndex - 1 ) --emptyIndex;
-                if (i < emptyIndex - 1) {
-                    tmp = dirtyRegions[emptyIndex - 1];
-                    dirtyRegions[emptyIndex - 1] = dirtyRegions[i];
-                    dirtyRegions[i] = tmp;
-                    map[i] = i; // indicate that this element is OK
-                    --emptyIndex;
-                }
-            }
-        }
+    private static float area(RectBounds r) {
+        return r.getWidth() * r.getHeight();
     }
 
-    private void heapify() {
-        for (int i = heapSize / 2; i >= 0; --i) {
-            siftDown(i);
-        }
+    /**
+     * The cost of merging two regions is the area of their union that is not
+     * covered by either of them, i.e. the area that would be repainted
+     * although it is not dirty.
+     */
+    static float mergeCost(RectBounds r0, RectBounds r1) {
+        float minX = Math.min(r0.getMinX(), r1.getMinX());
+        float minY = Math.min(r0.getMinY(), r1.getMinY());
+        float maxX = Math.max(r0.getMaxX(), r1.getMaxX());
+        float maxY = Math.max(r0.getMaxY(), r1.getMaxY());
+        float union = (maxX - minX) * (maxY - minY);
+
+        float iw = Math.min(r0.getMaxX(), r1.getMaxX()) - Math.max(r0.getMinX(), r1.getMinX());
+        float ih = Math.min(r0.getMaxY(), r1.getMaxY()) - Math.max(r0.getMinY(), r1.getMinY());
+        float intersection = (iw > 0 && ih > 0) ? iw * ih : 0;
+
+        return union - (area(r0) + area(r1) - intersection);
     }
 
-    private void siftDown(int i) {
-        int end = heapSize >> 1;
-        int[] temp;
-        while (i < end) {
-            int child = (i << 1) + 1;
-            int[] left = heap[child];
-            if (child + 1 < heapSize && heap[child + 1][0] < left[0]) {
-                child = child + 1;
-            }
-            if (heap[child][0] >= heap[i][0]) {
-                break;
+    /**
+     * Merges the given region with the existing region it costs the least
+     * to merge with, if that cost is within the merge threshold. The merged
+     * region is removed from the array.
+     * @return true if the region was merged
+     */
+    private boolean clusterWithNearest(final RectBounds region) {
+        int best = -1;
+        float bestCost = Float.MAX_VALUE;
+        for (int i = 0; i < emptyIndex; i++) {
+            float cost = mergeCost(region, dirtyRegions[i]);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = i;
             }
-            temp = heap[child];
-            heap[child] = heap[i];
-            heap[i] = temp;
-            i = child;
         }
-    }
-
-    private int[] takeMinWithMap(int[] map) {
-        int[] temp = heap[0];
-
-        // Check if the minimum element wasn't computed with some already merged region
-        // If so, we can recompute it and push it down (as the new merged region can be
-        // only greater than the original region)
-        while (((1 << temp[1] | 1 << temp[2]) & invalidMask) > 0) {
-            temp[0] = unifiedRegionArea(resolveMap(map, temp[1]), resolveMap(map, temp[2]));
-            siftDown(0);
-            if (heap[0] == temp) {
-                break;
-            }
-            temp = heap[0];
+        if (best < 0 || bestCost > mergeThreshold) {
+            return false;
         }
-
-        heap[heapSize - 1] = temp;
-        siftDown(0);
-        heapSize--;
-        return temp;
-    }
-
-    private int[] takeMin() {
-        int[] temp = heap[0];
-        heap[0] = heap[heapSize - 1];
-        heap[heapSize - 1] = temp;
-        siftDown(0);
-        heapSize--;
-        return temp;
+        mergedArea += bestCost;
+        region.unionWith(dirtyRegions[best]);
+        removeRegion(best);
+        return true;
     }
 
-    private int resolveMap(int[] map, int idx) {
-        while(map[idx] != idx) idx = map[idx];
-        return idx;
+    private void removeRegion(int index) {
+        RectBounds tmp = dirtyRegions[index];
+        dirtyRegions[index] = dirtyRegions[emptyIndex - 1];
+        dirtyRegions[emptyIndex - 1] = tmp;
+        emptyIndex--;
     }
 
-    private int unifiedRegionArea(int i0, int i1) {
-        RectBounds r0 = dirtyRegions[i0];
-        RectBounds r1 = dirtyRegions[i1];
-        float minX, minY, maxX, maxY;
-        minX = r0.getMinX() < r1.getMinX() ? r0.getMinX() : r1.getMinX();
-        minY = r0.getMinY() < r1.getMinY() ? r0.getMinY() : r1.getMinY();
-        maxX = r0.getMaxX() > r1.getMaxX() ? r0.getMaxX() : r1.getMaxX();
-        maxY = r0.getMaxY() > r1.getMaxY() ? r0.getMaxY() : r1.getMaxY();
-
-        return (int) ((maxX - minX) * (maxY - minY));
-    }
-    /***************************************************************************
-     * Heap-based compressing algorithm
-     ***************************************************************************/
-
-    private void compress_heap() {
+    /**
+     * Frees one slot for the given region by merging the pair with the lowest
+     * merge cost, either the region with one of the existing regions or two
+     * existing regions. Merged existing regions are re-added so that they get
+     * combined with any region they now overlap.
+     */
+    private void compress_cost(final RectBounds region) {
         assert dirtyRegions.length == emptyIndex; // call only when there is no space left
-        if (heap == null) {
-            int n = dirtyRegions.length;
-            heap = new int[n * (n-1) / 2][3];
+        int nearest = -1;
+        float nearestCost = Float.MAX_VALUE;
+        for (int i = 0; i < emptyIndex; ++i) {
+            float cost = mergeCost(region, dirtyRegions[i]);
+            if (cost < nearestCost) {
+                nearestCost = cost;
+                nearest = i;
+            }
         }
-        heapSize = heap.length;
-        int k = 0;
-        for (int i = 0; i < dirtyRegions.length - 1; ++i) {
-            for (int j = i + 1; j < dirtyRegions.length; ++j) {
-                heap[k][0] = unifiedRegionArea(i, j);
-                heap[k][1] = i;
-                heap[k++][2] = j;
+
+        int best0 = -1, best1 = -1;
+        float bestCost = nearestCost;
+        for (int i = 0; i < emptyIndex - 1; ++i) {
+            for (int j = i + 1; j < emptyIndex; ++j) {
+                float cost = mergeCost(dirtyRegions[i], dirtyRegions[j]);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best0 = i;
+                    best1 = j;
+                }
             }
         }
-        heapify();
-        heapCompress();
+        if (best0 < 0) {
+            mergedArea += nearestCost;
+            region.unionWith(dirtyRegions[nearest]);
+            removeRegion(nearest);
+            return;
+        }
+        mergedArea += bestCost;
+        mergeTemp.deriveWithNewBounds(dirtyRegions[best0]);
+        mergeTemp.unionWith(dirtyRegions[best1]);
+        // remove the higher index first so that the lower one stays valid
+        removeRegion(best1);
+        removeRegion(best0);
+        addDirtyRegion(mergeTemp);
     }
-
-    /***************************************************************************
-     * Simple Monte-Carlo variant of compressing algorithm
-     ***************************************************************************/
-
-//    private void compress_mc() {
-//        assert dirtyRegions.length == emptyIndex; // call only when there is no space left
-//        heapSize = dirtyRegions.length;
-//        if (heap == null) {
-//            heap = new int[heapSize][3];
-//        }
-//        for (int i = 0; i < heapSize; ++i) { //number of tries
-//            int i0 = random(dirtyRegions.length);
-//            int i1 = random(dirtyRegions.length);
-//            if (i1 == i0) i1 = (i0 + random(dirtyRegions.length / 2) + 1) % dirtyRegions.length;
-//            heap[i][0] = unifiedRegionArea(i0, i1);
-//            heap[i][1] = i0;
-//            heap[i][2] = i1;
-//        }
-//        heapify();
-//        heapCompress();
-//    }
-//
-//    private static long rnd = System.currentTimeMillis();
-//    // XOR Random generator by George Marsaglia http://www.jstatsoft.org/v08/i14/
-//    // The LCG algorithm of Random() has an upleasant trait that the numbers generated in
-//    // pairs always have some (tight) mathematical relationship
-//    private int random(int n) {
-//        rnd ^= (rnd << 21);
-//        rnd ^= (rnd >>> 35);
-//        rnd ^= (rnd << 4);
-//        return (int) ((rnd) % n + n) % n;     // the problem with this algorithm is that 0 is never produced.
-//                                              // Given it's independed probability for every bit, we can safely do % n here
-//    }
 }
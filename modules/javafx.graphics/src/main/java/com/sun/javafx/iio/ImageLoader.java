@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,8 @@
 
 package com.sun.javafx.iio;
 
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.iio.common.ImageTools;
 import java.io.IOException;
 
 /**
@@ -76,4 +78,45 @@ public interface ImageLoader {
      */
     public ImageFrame load(int imageIndex, int width, int height,
             boolean preserveAspectRatio, boolean smooth) throws IOException;
+
+    /**
+     * Loads a region of the image at a given index in an image stream. The
+     * region is clipped to the bounds of the image and the requested
+     * dimensions and aspect ratio apply to the clipped region rather than to
+     * the whole image. If no image exists at that index <code>null</code>
+     * will be returned.
+     * <p>
+     * Loaders which can decode a part of an image, or an image at a reduced
+     * resolution, directly should override this method so that the pixels
+     * outside of the region, or those that are dropped by the subsampling
+     * returned by {@link ImageTools#computeSubsampling}, are never stored.
+     * The default implementation loads the whole image and then crops and
+     * scales it.
+     *
+     * @param imageIndex the zero-relative index of the image to load.
+     * @param sourceRegion the region of the image to load, in image pixels,
+     * or <code>null</code> to load the whole image.
+     * @param width the desired width of the region.
+     * @param height the desired height of the region.
+     * @param preserveAspectRatio whether to preserve the width-to-height ratio
+     * of the region.
+     * @param smooth whether to use a smooth downscaling algorithm.
+     * @return the image at the specified index or <code>null</code> on error.
+     * @throws IOException if the region does not intersect the image.
+     */
+    public default ImageFrame load(int imageIndex, Rectangle sourceRegion,
+            int width, int height, boolean preserveAspectRatio, boolean smooth)
+            throws IOException {
+        if (sourceRegion == null) {
+            return load(imageIndex, width, height, preserveAspectRatio, smooth);
+        }
+        ImageFrame frame = load(imageIndex, 0, 0, false, smooth);
+        if (frame == null) {
+            return null;
+        }
+        Rectangle region = ImageTools.clipRegion(sourceRegion, frame.getWidth(), frame.getHeight());
+        int[] widthHeight = ImageTools.computeDimensions(region.width, region.height,
+                width, height, preserveAspectRatio);
+        return ImageTools.cropImageFrame(frame, region, 1, widthHeight[0], widthHeight[1], smooth);
+    }
 }
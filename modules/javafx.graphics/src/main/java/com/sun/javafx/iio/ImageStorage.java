@@ -26,6 +26,8 @@
 package com.sun.javafx.iio;
 
 import com.sun.javafx.PlatformUtil;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.iio.ImageFormatDescription.Signature;
 import com.sun.javafx.iio.bmp.BMPImageLoaderFactory;
 import com.sun.javafx.iio.common.ImageTools;
@@ -277,6 +279,22 @@ public class ImageStorage {
     public ImageFrame[] loadAll(InputStream input, ImageLoadListener listener,
             double width, double height, boolean preserveAspectRatio,
             float pixelScale, boolean smooth) throws ImageStorageException {
+        return loadAll(input, listener, null, width, height, preserveAspectRatio, pixelScale, smooth);
+    }
+
+    /**
+     * Load a region of all images present in the specified stream. For more
+     * details refer to
+     * {@link #loadAll(InputStream, ImageLoadListener, double, double, boolean, float, boolean)},
+     * the requested dimensions apply to the region.
+     *
+     * @param sourceRegion the region to load in the coordinates of the image
+     * scaled by {@code 1 / pixelScale}, or <code>null</code> to load the whole
+     * image.
+     */
+    public ImageFrame[] loadAll(InputStream input, ImageLoadListener listener,
+            RectBounds sourceRegion, double width, double height, boolean preserveAspectRatio,
+            float pixelScale, boolean smooth) throws ImageStorageException {
         ImageLoader loader = null;
         ImageFrame[] images = null;
 
@@ -289,7 +307,7 @@ public class ImageStorage {
                 loader = getLoaderBySignature(input, listener);
             }
             if (loader != null) {
-                images = loadAll(loader, width, height, preserveAspectRatio, pixelScale, smooth);
+                images = loadAll(loader, sourceRegion, width, height, preserveAspectRatio, pixelScale, smooth);
             } else {
                 throw new ImageStorageException("No loader for image data");
             }
@@ -312,6 +330,17 @@ public class ImageStorage {
     public ImageFrame[] loadAll(String input, ImageLoadListener listener,
             double width, double height, boolean preserveAspectRatio,
             float devPixelScale, boolean smooth) throws ImageStorageException {
+        return loadAll(input, listener, null, width, height, preserveAspectRatio, devPixelScale, smooth);
+    }
+
+    /**
+     * Load a region of all images present in the specified input. For more
+     * details refer to
+     * {@link #loadAll(InputStream, ImageLoadListener, RectBounds, double, double, boolean, float, boolean)}.
+     */
+    public ImageFrame[] loadAll(String input, ImageLoadListener listener,
+            RectBounds sourceRegion, double width, double height, boolean preserveAspectRatio,
+            float devPixelScale, boolean smooth) throws ImageStorageException {
 
         if (input == null || input.isEmpty()) {
             throw new ImageStorageException("URL can't be null or empty");
@@ -394,7 +423,7 @@ public class ImageStorage {
             }
 
             if (loader != null) {
-                images = loadAll(loader, width, height, preserveAspectRatio, imgPixelScale, smooth);
+                images = loadAll(loader, sourceRegion, width, height, preserveAspectRatio, imgPixelScale, smooth);
             } else {
                 throw new ImageStorageException("No loader for image data");
             }
@@ -428,7 +457,7 @@ public class ImageStorage {
         return maxSignatureLength;
     }
 
-    private ImageFrame[] loadAll(ImageLoader loader,
+    private ImageFrame[] loadAll(ImageLoader loader, RectBounds sourceRegion,
             double width, double height, boolean preserveAspectRatio,
             float pixelScale, boolean smooth) throws ImageStorageException {
         ImageFrame[] images = null;
@@ -437,9 +466,15 @@ public class ImageStorage {
         ImageFrame image = null;
         int imgw = (int) Math.round(width * pixelScale);
         int imgh = (int) Math.round(height * pixelScale);
+        Rectangle region = null;
+        if (sourceRegion != null) {
+            region = new Rectangle(new RectBounds(
+                    sourceRegion.getMinX() * pixelScale, sourceRegion.getMinY() * pixelScale,
+                    sourceRegion.getMaxX() * pixelScale, sourceRegion.getMaxY() * pixelScale));
+        }
         do {
             try {
-                image = loader.load(imageIndex++, imgw, imgh, preserveAspectRatio, smooth);
+                image = loader.load(imageIndex++, region, imgw, imgh, preserveAspectRatio, smooth);
             } catch (Exception e) {
                 // allow partially loaded animated images
                 if (imageIndex > 1) {
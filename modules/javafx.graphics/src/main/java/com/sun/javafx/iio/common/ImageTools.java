@@ -707,6 +707,83 @@ public class ImageTools {
                 destWidth, destHeight, destWidth * numBands, null, src.getMetadata());
     }
 
+    /**
+     * Clips a source region to the bounds of an image.
+     *
+     * @return the clipped region.
+     * @throws IOException if the region does not intersect the image.
+     */
+    public static Rectangle clipRegion(Rectangle region, int imageWidth, int imageHeight)
+            throws IOException {
+        Rectangle clipped = new Rectangle(region);
+        clipped.intersectWith(new Rectangle(imageWidth, imageHeight));
+        if (clipped.isEmpty()) {
+            throw new IOException("Source region " + region +
+                    " is outside of the " + imageWidth + "x" + imageHeight + " image");
+        }
+        return clipped;
+    }
+
+    /**
+     * Computes the largest factor by which a loader may subsample the rows and
+     * columns of a source region and still produce at least as many pixels as
+     * the destination needs in both directions. When smooth scaling is
+     * requested the subsampled region is kept at twice the destination size
+     * so that the smooth minifier still has pixels to average.
+     *
+     * @return the subsampling factor, {@code 1} if the region must not be
+     * subsampled.
+     */
+    public static int computeSubsampling(int sourceWidth, int sourceHeight,
+            int destWidth, int destHeight, boolean isSmooth) {
+        if (destWidth <= 0 || destHeight <= 0) {
+            return 1;
+        }
+        int subsampling = Math.min(sourceWidth / destWidth, sourceHeight / destHeight);
+        if (isSmooth) {
+            subsampling /= 2;
+        }
+        return Math.max(1, subsampling);
+    }
+
+    /**
+     * Copies a region of an image, keeping every {@code subsampling}-th row
+     * and column of the region, and scales the result to the destination
+     * dimensions if they differ from the subsampled region.
+     */
+    public static ImageFrame cropImageFrame(ImageFrame src, Rectangle region,
+            int subsampling, int destWidth, int destHeight, boolean isSmooth)
+    {
+        int numBands = ImageStorage.getInstance().getNumBands(src.getImageType());
+        int width = (region.width + subsampling - 1) / subsampling;
+        int height = (region.height + subsampling - 1) / subsampling;
+        ByteBuffer srcBuf = (ByteBuffer) src.getImageData();
+        int srcStride = src.getStride();
+        int srcOffset = region.y * srcStride + region.x * numBands;
+        int stride = width * numBands;
+        byte[] dst = new byte[stride * height];
+        if (srcBuf.hasArray() && subsampling == 1) {
+            byte[] image = srcBuf.array();
+            for (int y = 0; y != height; ++y) {
+                System.arraycopy(image, srcOffset + y * srcStride, dst, y * stride, stride);
+            }
+        } else {
+            for (int y = 0; y != height; ++y) {
+                int srcPos = srcOffset + y * subsampling * srcStride;
+                int pos = y * stride;
+                for (int x = 0; x != width; ++x) {
+                    srcBuf.get(srcPos + x * subsampling * numBands, dst, pos + x * numBands, numBands);
+                }
+            }
+        }
+        ImageFrame frame = new ImageFrame(src.getImageType(), ByteBuffer.wrap(dst),
+                width, height, stride, src.getPalette(), src.getMetadata());
+        if (width != destWidth || height != destHeight) {
+            frame = scaleImageFrame(frame, destWidth, destHeight, isSmooth);
+        }
+        return frame;
+    }
+
     public static ByteBuffer scaleImage(ByteBuffer src,
             int sourceWidth, int sourceHeight, int numBands,
             int destWidth, int destHeight, boolean isSmooth)
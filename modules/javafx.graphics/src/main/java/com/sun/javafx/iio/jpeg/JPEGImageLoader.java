@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,7 @@
 
 package com.sun.javafx.iio.jpeg;
 
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.iio.ImageFrame;
 import com.sun.javafx.iio.ImageMetadata;
 import com.sun.javafx.iio.ImageStorage.ImageType;
@@ -100,7 +101,9 @@ public class JPEGImageLoader extends ImageLoaderImpl {
     private native int startDecompression(long structPointer,
             int outColorSpaceCode, int scaleNum, int scaleDenom);
 
-    private native boolean decompressIndirect(long structPointer, boolean reportProgress, byte[] array) throws IOException;
+    /** Decodes the given region, in output coordinates, into the array. */
+    private native boolean decompressIndirect(long structPointer, boolean reportProgress, byte[] array,
+            int srcX, int srcY, int srcWidth, int srcHeight) throws IOException;
 
     static {
         @SuppressWarnings("removal")
@@ -205,14 +208,24 @@ public class JPEGImageLoader extends ImageLoaderImpl {
 
     @Override
     public ImageFrame load(int imageIndex, int width, int height, boolean preserveAspectRatio, boolean smooth) throws IOException {
+        return load(imageIndex, null, width, height, preserveAspectRatio, smooth);
+    }
+
+    @Override
+    public ImageFrame load(int imageIndex, Rectangle sourceRegion, int width, int height,
+            boolean preserveAspectRatio, boolean smooth) throws IOException {
         if (imageIndex != 0) {
             return null;
         }
 
+        Rectangle region = sourceRegion == null ?
+                new Rectangle(inWidth, inHeight) :
+                ImageTools.clipRegion(sourceRegion, inWidth, inHeight);
+
         accessLock.lock();
 
         // Determine output image dimensions.
-        int[] widthHeight = ImageTools.computeDimensions(inWidth, inHeight, width, height, preserveAspectRatio);
+        int[] widthHeight = ImageTools.computeDimensions(region.width, region.height, width, height, preserveAspectRatio);
         width = widthHeight[0];
         height = widthHeight[1];
 
@@ -225,9 +238,18 @@ public class JPEGImageLoader extends ImageLoaderImpl {
         ByteBuffer buffer = null;
 
         int outNumComponents;
+        // The bounds of the region in the image returned by the decompressor.
+        int regionX, regionY, regionWidth, regionHeight;
         try {
+            // The decompressor picks the DCT scaling from the size the whole
+            // image would have if it was scaled like the region.
+            int scaledWidth = width, scaledHeight = height;
+            if (region.width != inWidth || region.height != inHeight) {
+                scaledWidth = (int) Math.ceil((double) width * inWidth / region.width);
+                scaledHeight = (int) Math.ceil((double) height * inHeight / region.height);
+            }
             outNumComponents = startDecompression(structPointer,
-                    outColorSpaceCode, width, height);
+                    outColorSpaceCode, scaledWidth, scaledHeight);
 
             if (outWidth < 0 || outHeight < 0 || outNumComponents < 0) {
                throw new IOException("negative dimension.");
@@ -235,14 +257,23 @@ public class JPEGImageLoader extends ImageLoaderImpl {
             if (outWidth > (Integer.MAX_VALUE / outNumComponents)) {
                throw new IOException("bad width.");
             }
-            int scanlineStride = outWidth * outNumComponents;
-            if (scanlineStride > (Integer.MAX_VALUE / outHeight)) {
+
+            regionX = (int) ((long) region.x * outWidth / inWidth);
+            regionY = (int) ((long) region.y * outHeight / inHeight);
+            regionWidth = Math.max(1, (int) Math.min(outWidth,
+                    ((long) (region.x + region.width) * outWidth + inWidth - 1) / inWidth) - regionX);
+            regionHeight = Math.max(1, (int) Math.min(outHeight,
+                    ((long) (region.y + region.height) * outHeight + inHeight - 1) / inHeight) - regionY);
+
+            int scanlineStride = regionWidth * outNumComponents;
+            if (scanlineStride > (Integer.MAX_VALUE / regionHeight)) {
                throw new IOException("bad height.");
             }
 
-            byte[] array = new byte[scanlineStride*outHeight];
+            byte[] array = new byte[scanlineStride*regionHeight];
             buffer = ByteBuffer.wrap(array);
-            decompressIndirect(structPointer, listeners != null && !listeners.isEmpty(), buffer.array());
+            decompressIndirect(structPointer, listeners != null && !listeners.isEmpty(), buffer.array(),
+                    regionX, regionY, regionWidth, regionHeight);
         } catch (IOException e) {
             throw e;
         } catch (Throwable t) {
@@ -256,14 +287,14 @@ public class JPEGImageLoader extends ImageLoaderImpl {
             throw new IOException("Error decompressing JPEG stream!");
         }
 
-        // Check whether the decompressed image has been scaled to the correct
-        // dimensions. If not, downscale it here. Note outData, outHeight, and
-        // outWidth refer to the image as returned by the decompressor. This
-        // image might have been downscaled from the original source by a factor
-        // of N/8 where 1 <= N <=8.
-        if (outWidth != width || outHeight != height) {
+        // Check whether the decompressed region has been scaled to the correct
+        // dimensions. If not, downscale it here. Note outHeight and outWidth
+        // refer to the image as returned by the decompressor. This image might
+        // have been downscaled from the original source by a factor of N/8
+        // where 1 <= N <=8.
+        if (regionWidth != width || regionHeight != height) {
             buffer = ImageTools.scaleImage(buffer,
-                    outWidth, outHeight, outNumComponents, width, height, smooth);
+                    regionWidth, regionHeight, outNumComponents, width, height, smooth);
         }
 
         return new ImageFrame(outImageType, buffer,
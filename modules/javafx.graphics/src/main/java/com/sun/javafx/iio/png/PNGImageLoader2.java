@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -29,10 +29,13 @@
  */
 package com.sun.javafx.iio.png;
 
+import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.iio.*;
 import com.sun.javafx.iio.common.*;
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.Arrays;
 import java.util.zip.*;
 
@@ -62,6 +65,15 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
     static final int PNG_FILTER_UP = 2;
     static final int PNG_FILTER_AVERAGE = 3;
     static final int PNG_FILTER_PAETH = 4;
+    // Images whose filtered data is at least this large are inflated in
+    // parallel if their IDAT chunks end at zlib flush points, see
+    // PNGParallelInflater. The number of threads is set with the
+    // javafx.iio.png.parallelism system property, 1 disables it.
+    static final int MIN_PARALLEL_SIZE = 1 << 20;
+    @SuppressWarnings("removal")
+    static final int PARALLELISM = AccessController.doPrivileged(
+            (PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.iio.png.parallelism",
+                    Runtime.getRuntime().availableProcessors()));
     // data stream
     private final DataInputStream stream;
     private int width, height, bitDepth, colorType;
@@ -313,7 +325,9 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                         ? ImageStorage.ImageType.RGBA
                         : ImageStorage.ImageType.RGB;
             case PNG_COLOR_PALETTE:
-                return ImageStorage.ImageType.PALETTE;
+                return tRNS_present
+                        ? ImageStorage.ImageType.RGBA
+                        : ImageStorage.ImageType.RGB;
             case PNG_COLOR_GRAY_ALPHA:
                 return ImageStorage.ImageType.GRAY_ALPHA;
             case PNG_COLOR_RGB_ALPHA:
@@ -323,28 +337,64 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         }
     }
 
-    private void doSubFilter(byte line[], int bpp) {
-        int l = line.length;
-        for (int i = bpp; i != l; ++i) {
+    // The filters are undone in place: line[off, off + len) holds the
+    // filtered scanline on entry and the reconstructed one on exit, and
+    // pline[poff, poff + len) holds the reconstructed previous scanline of
+    // the pass, which is all zeros for its first scanline. The byte to the
+    // left of the first pixel is zero for every filter.
+
+    private static void doSubFilter(byte line[], int off, int len, int bpp) {
+        for (int i = off + bpp, l = off + len; i < l; ++i) {
             line[i] = (byte) (line[i] + line[i - bpp]);
         }
     }
 
-    private void doUpFilter(byte line[], byte pline[]) {
-        int l = line.length;
-        for (int i = 0; i != l; ++i) {
-            line[i] = (byte) (line[i] + pline[i]);
+    private static void doUpFilter(byte line[], int off, byte pline[], int poff, int len) {
+        for (int i = 0; i < len; ++i) {
+            line[off + i] = (byte) (line[off + i] + pline[poff + i]);
         }
     }
 
-    private void doAvrgFilter(byte line[], byte pline[], int bpp) {
-        int l = line.length;
-        for (int i = 0; i != bpp; ++i) {
-            line[i] = (byte) (line[i] + (pline[i] & 0xFF) / 2);
+    private static void doAvrgFilter(byte line[], int off, byte pline[], int poff, int len, int bpp) {
+        for (int i = 0; i < bpp && i < len; ++i) {
+            line[off + i] = (byte) (line[off + i] + (pline[poff + i] & 0xFF) / 2);
         }
-        for (int i = bpp; i != l; ++i) {
-            line[i] = (byte) (line[i]
-                    + (((line[i - bpp] & 0xFF) + (pline[i] & 0xFF))) / 2);
+        for (int i = bpp; i < len; ++i) {
+            line[off + i] = (byte) (line[off + i]
+                    + (((line[off + i - bpp] & 0xFF) + (pline[poff + i] & 0xFF))) / 2);
+        }
+    }
+
+    // Each channel of a pixel only depends on the same channel of the pixel
+    // to its left, so the common RGB and RGBA cases keep the reconstructed
+    // channels in locals and decode the independent channels side by side
+    // instead of reloading line[i - bpp] for every byte.
+
+    private static void doAvrgFilter3(byte line[], int off, byte pline[], int poff, int len) {
+        int a0 = 0, a1 = 0, a2 = 0;
+        for (int i = 0, l = len - 2; i < l; i += 3) {
+            int p = off + i, q = poff + i;
+            a0 = (line[p] + ((a0 + (pline[q] & 0xFF)) >> 1)) & 0xFF;
+            a1 = (line[p + 1] + ((a1 + (pline[q + 1] & 0xFF)) >> 1)) & 0xFF;
+            a2 = (line[p + 2] + ((a2 + (pline[q + 2] & 0xFF)) >> 1)) & 0xFF;
+            line[p] = (byte) a0;
+            line[p + 1] = (byte) a1;
+            line[p + 2] = (byte) a2;
+        }
+    }
+
+    private static void doAvrgFilter4(byte line[], int off, byte pline[], int poff, int len) {
+        int a0 = 0, a1 = 0, a2 = 0, a3 = 0;
+        for (int i = 0, l = len - 3; i < l; i += 4) {
+            int p = off + i, q = poff + i;
+            a0 = (line[p] + ((a0 + (pline[q] & 0xFF)) >> 1)) & 0xFF;
+            a1 = (line[p + 1] + ((a1 + (pline[q + 1] & 0xFF)) >> 1)) & 0xFF;
+            a2 = (line[p + 2] + ((a2 + (pline[q + 2] & 0xFF)) >> 1)) & 0xFF;
+            a3 = (line[p + 3] + ((a3 + (pline[q + 3] & 0xFF)) >> 1)) & 0xFF;
+            line[p] = (byte) a0;
+            line[p + 1] = (byte) a1;
+            line[p + 2] = (byte) a2;
+            line[p + 3] = (byte) a3;
         }
     }
 
@@ -356,30 +406,83 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         return (pa <= pb && pa <= pc) ? a : (pb <= pc) ? b : c;
     }
 
-    private void doPaethFilter(byte line[], byte pline[], int bpp) {
-        int l = line.length;
-        for (int i = 0; i != bpp; ++i) {
-            line[i] = (byte) (line[i] + pline[i]);
-        }
-        for (int i = bpp; i != l; ++i) {
-            line[i] = (byte) (line[i]
-                    + paethPr(line[i - bpp] & 0xFF, pline[i] & 0xFF, pline[i - bpp] & 0xFF));
-        }
-    }
-
-    private void doFilter(byte line[], byte pline[], int fType, int bpp) {
+    private static void doPaethFilter(byte line[], int off, byte pline[], int poff, int len, int bpp) {
+        for (int i = 0; i < bpp && i < len; ++i) {
+            line[off + i] = (byte) (line[off + i] + pline[poff + i]);
+        }
+        for (int i = bpp; i < len; ++i) {
+            line[off + i] = (byte) (line[off + i]
+                    + paethPr(line[off + i - bpp] & 0xFF, pline[poff + i] & 0xFF,
+                              pline[poff + i - bpp] & 0xFF));
+        }
+    }
+
+    private static void doPaethFilter3(byte line[], int off, byte pline[], int poff, int len) {
+        int a0 = 0, a1 = 0, a2 = 0;
+        int c0 = 0, c1 = 0, c2 = 0;
+        for (int i = 0, l = len - 2; i < l; i += 3) {
+            int p = off + i, q = poff + i;
+            int b0 = pline[q] & 0xFF, b1 = pline[q + 1] & 0xFF, b2 = pline[q + 2] & 0xFF;
+            a0 = (line[p] + paethPr(a0, b0, c0)) & 0xFF;
+            a1 = (line[p + 1] + paethPr(a1, b1, c1)) & 0xFF;
+            a2 = (line[p + 2] + paethPr(a2, b2, c2)) & 0xFF;
+            line[p] = (byte) a0;
+            line[p + 1] = (byte) a1;
+            line[p + 2] = (byte) a2;
+            c0 = b0;
+            c1 = b1;
+            c2 = b2;
+        }
+    }
+
+    private static void doPaethFilter4(byte line[], int off, byte pline[], int poff, int len) {
+        int a0 = 0, a1 = 0, a2 = 0, a3 = 0;
+        int c0 = 0, c1 = 0, c2 = 0, c3 = 0;
+        for (int i = 0, l = len - 3; i < l; i += 4) {
+            int p = off + i, q = poff + i;
+            int b0 = pline[q] & 0xFF, b1 = pline[q + 1] & 0xFF;
+            int b2 = pline[q + 2] & 0xFF, b3 = pline[q + 3] & 0xFF;
+            a0 = (line[p] + paethPr(a0, b0, c0)) & 0xFF;
+            a1 = (line[p + 1] + paethPr(a1, b1, c1)) & 0xFF;
+            a2 = (line[p + 2] + paethPr(a2, b2, c2)) & 0xFF;
+            a3 = (line[p + 3] + paethPr(a3, b3, c3)) & 0xFF;
+            line[p] = (byte) a0;
+            line[p + 1] = (byte) a1;
+            line[p + 2] = (byte) a2;
+            line[p + 3] = (byte) a3;
+            c0 = b0;
+            c1 = b1;
+            c2 = b2;
+            c3 = b3;
+        }
+    }
+
+    private static void doFilter(byte line[], int off, byte pline[], int poff,
+            int len, int fType, int bpp) {
         switch (fType) {
             case PNG_FILTER_SUB:
-                doSubFilter(line, bpp);
+                doSubFilter(line, off, len, bpp);
                 break;
             case PNG_FILTER_UP:
-                doUpFilter(line, pline);
+                doUpFilter(line, off, pline, poff, len);
                 break;
             case PNG_FILTER_AVERAGE:
-                doAvrgFilter(line, pline, bpp);
+                if (bpp == 4 && len % 4 == 0) {
+                    doAvrgFilter4(line, off, pline, poff, len);
+                } else if (bpp == 3 && len % 3 == 0) {
+                    doAvrgFilter3(line, off, pline, poff, len);
+                } else {
+                    doAvrgFilter(line, off, pline, poff, len, bpp);
+                }
                 break;
             case PNG_FILTER_PAETH:
-                doPaethFilter(line, pline, bpp);
+                if (bpp == 4 && len % 4 == 0) {
+                    doPaethFilter4(line, off, pline, poff, len);
+                } else if (bpp == 3 && len % 3 == 0) {
+                    doPaethFilter3(line, off, pline, poff, len);
+                } else {
+                    doPaethFilter(line, off, pline, poff, len, bpp);
+                }
                 break;
         }
     }
@@ -514,9 +617,7 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
     }
 
     private void upsampleTo8(byte line[], byte image[], int pos, int w, int step, int bpp) {
-        if (colorType == PNG_COLOR_PALETTE) { // as is decoder
-            upsampleTo8Palette(line, image, pos, w, step);
-        } else if (bpp == 1) {
+        if (bpp == 1) {
             upsampleTo8Gray(line, image, pos, w, step);
         } else if (tRNS_GRAY_RGB && bpp == 2) {
             upsampleTo8GrayTrns(line, image, pos, w, step);
@@ -536,18 +637,64 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         return start[mip] + pos * increment[mip];
     }
 
+    private static int scanLineSize(int w, int bitDepth, int colorType) {
+        return (w * bitDepth * numBandsPerColorType[colorType] + 7) / 8;
+    }
+
+    private static void readFully(InputStream data, byte b[], int off, int len) throws IOException {
+        while (len > 0) {
+            int n = data.read(b, off, len);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            off += n;
+            len -= n;
+        }
+    }
+
+    private void expandPalette(byte indices[], int w, byte image[], int pos, int step) {
+        byte r[] = palette[0], g[] = palette[1], b[] = palette[2];
+        if (tRNS_present) {
+            byte a[] = palette[3];
+            for (int i = 0, oPos = pos; i < w; oPos += step * 4, ++i) {
+                int index = indices[i] & 0xFF;
+                image[oPos + 0] = r[index];
+                image[oPos + 1] = g[index];
+                image[oPos + 2] = b[index];
+                image[oPos + 3] = a[index];
+            }
+        } else {
+            for (int i = 0, oPos = pos; i < w; oPos += step * 3, ++i) {
+                int index = indices[i] & 0xFF;
+                image[oPos + 0] = r[index];
+                image[oPos + 1] = g[index];
+                image[oPos + 2] = b[index];
+            }
+        }
+    }
+
     private void loadMip(byte image[], InputStream data, int mip) throws IOException {
 
         int mipWidth = mipSize(width, mip, starting_x, increment_x);
         int mipHeight = mipSize(height, mip, starting_y, increment_y);
 
-        int scanLineSize = (mipWidth * bitDepth * numBandsPerColorType[colorType] + 7) / 8;
-        byte scanLine0[] = new byte[scanLineSize];
-        byte scanLine1[] = new byte[scanLineSize];
+        int scanLineSize = scanLineSize(mipWidth, bitDepth, colorType);
 
         // numBands might be more than numBandsPerColorType[colorType]
         // to support tRNS
         int resultBpp = bpp(), srcBpp = numBandsPerColorType[colorType] * bytesPerColor();
+        int step = increment_x[mip];
+
+        if (bitDepth == 8 && !tRNS_GRAY_RGB && colorType != PNG_COLOR_PALETTE && step == 1) {
+            // The scanlines are stored as is and contiguously in the image,
+            // inflate them right into the image and undo the filters there.
+            loadMipDirect(image, data, mip, mipHeight, scanLineSize, srcBpp);
+            return;
+        }
+
+        byte scanLine0[] = new byte[scanLineSize];
+        byte scanLine1[] = new byte[scanLineSize];
+        byte indices[] = colorType == PNG_COLOR_PALETTE && bitDepth < 8 ? new byte[mipWidth] : null;
 
         for (int y = 0; y != mipHeight; ++y) {
             int filterByte = data.read();
@@ -555,21 +702,84 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 throw new EOFException();
             }
 
-            if (data.read(scanLine0) != scanLineSize) {
-                throw new EOFException();
-            }
+            readFully(data, scanLine0, 0, scanLineSize);
 
-            doFilter(scanLine0, scanLine1, filterByte, srcBpp);
+            doFilter(scanLine0, 0, scanLine1, 0, scanLineSize, filterByte, srcBpp);
 
             int pos = (mipPos(y, mip, starting_y, increment_y) * width + starting_x[mip]) * resultBpp;
-            int step = increment_x[mip];
 
-            if (bitDepth == 16) {
-                downsample16to8(scanLine0, image, pos, step, resultBpp);
-            } else if (bitDepth < 8) {
-                upsampleTo8(scanLine0, image, pos, mipWidth, step, resultBpp);
+            convertScanLine(scanLine0, indices, mipWidth, image, pos, step, resultBpp);
+
+            byte scanLineSwp[] = scanLine0;
+            scanLine0 = scanLine1;
+            scanLine1 = scanLineSwp;
+        }
+    }
+
+    private void convertScanLine(byte scanLine[], byte indices[], int w,
+            byte image[], int pos, int step, int resultBpp) {
+        if (colorType == PNG_COLOR_PALETTE) {
+            // palette entries are looked up right away, there is no
+            // intermediate image of indices
+            if (indices != null) {
+                upsampleTo8Palette(scanLine, indices, 0, w, 1);
+                expandPalette(indices, w, image, pos, step);
             } else {
-                copy(scanLine0, image, pos, step, resultBpp);
+                expandPalette(scanLine, w, image, pos, step);
+            }
+        } else if (bitDepth == 16) {
+            downsample16to8(scanLine, image, pos, step, resultBpp);
+        } else if (bitDepth < 8) {
+            upsampleTo8(scanLine, image, pos, w, step, resultBpp);
+        } else {
+            copy(scanLine, image, pos, step, resultBpp);
+        }
+    }
+
+    /*
+     * Decodes every subsampling-th row and column of a region of a non
+     * interlaced image. All the rows above the region have to be inflated and
+     * unfiltered since each row is filtered against the previous one, but
+     * only the rows that are kept are converted, and the rows below the region
+     * are not inflated at all.
+     */
+    private void loadRegion(byte image[], InputStream data, Rectangle region,
+            int subsampling) throws IOException {
+        int scanLineSize = scanLineSize(width, bitDepth, colorType);
+        int resultBpp = bpp(), srcBpp = numBandsPerColorType[colorType] * bytesPerColor();
+
+        byte scanLine0[] = new byte[scanLineSize];
+        byte scanLine1[] = new byte[scanLineSize];
+        byte indices[] = colorType == PNG_COLOR_PALETTE && bitDepth < 8 ? new byte[width] : null;
+        byte row[] = new byte[width * resultBpp];
+
+        int regionWidth = (region.width + subsampling - 1) / subsampling;
+        int regionStride = regionWidth * resultBpp;
+        int endY = region.y + region.height;
+        int pos = 0;
+
+        for (int y = 0; y != endY; ++y) {
+            int filterByte = data.read();
+            if (filterByte == -1) {
+                throw new EOFException();
+            }
+
+            readFully(data, scanLine0, 0, scanLineSize);
+
+            doFilter(scanLine0, 0, scanLine1, 0, scanLineSize, filterByte, srcBpp);
+
+            if (y >= region.y && (y - region.y) % subsampling == 0) {
+                convertScanLine(scanLine0, indices, width, row, 0, 1, resultBpp);
+                int rowPos = region.x * resultBpp;
+                if (subsampling == 1) {
+                    System.arraycopy(row, rowPos, image, pos, regionStride);
+                } else {
+                    for (int x = 0; x != regionWidth; ++x) {
+                        System.arraycopy(row, rowPos + x * subsampling * resultBpp,
+                                         image, pos + x * resultBpp, resultBpp);
+                    }
+                }
+                pos += regionStride;
             }
 
             byte scanLineSwp[] = scanLine0;
@@ -578,6 +788,25 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         }
     }
 
+    private void loadMipDirect(byte image[], InputStream data, int mip,
+            int mipHeight, int scanLineSize, int bpp) throws IOException {
+        byte prev[] = new byte[scanLineSize];
+        int prevPos = 0;
+        for (int y = 0; y != mipHeight; ++y) {
+            int filterByte = data.read();
+            if (filterByte == -1) {
+                throw new EOFException();
+            }
+
+            int pos = mipPos(y, mip, starting_y, increment_y) * width * bpp;
+            readFully(data, image, pos, scanLineSize);
+            doFilter(image, pos, prev, prevPos, scanLineSize, filterByte, bpp);
+
+            prev = image;
+            prevPos = pos;
+        }
+    }
+
     private void load(byte image[], InputStream data) throws IOException {
         if (isInterlaced) {
             for (int mip = 0; mip != 7; ++mip) {
@@ -590,45 +819,50 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
         }
     }
 
-    private ImageFrame decodePalette(byte srcImage[], ImageMetadata metadata) throws IOException {
-        int bpp = tRNS_present ? 4 : 3;
-        if (width >= (Integer.MAX_VALUE / height / bpp)) {
-            throw new IOException("Bad PNG image size!");
-        }
-        byte newImage[] = new byte[width * height * bpp];
-        int l = width * height;
-
-        if (tRNS_present) {
-            for (int i = 0, j = 0; i != l; j += 4, i++) {
-                int index = 0xFF & srcImage[i];
-                newImage[j + 0] = palette[0][index];
-                newImage[j + 1] = palette[1][index];
-                newImage[j + 2] = palette[2][index];
-                newImage[j + 3] = palette[3][index];
-            }
+    private void load(byte image[], InputStream data, Rectangle region,
+            int subsampling) throws IOException {
+        if (region == null) {
+            load(image, data);
         } else {
-            for (int i = 0, j = 0; i != l; j += 3, i++) {
-                int index = 0xFF & srcImage[i];
-                newImage[j + 0] = palette[0][index];
-                newImage[j + 1] = palette[1][index];
-                newImage[j + 2] = palette[2][index];
-            }
+            loadRegion(image, data, region, subsampling);
         }
+    }
 
-        ImageStorage.ImageType type = tRNS_present
-                ? ImageStorage.ImageType.RGBA
-                : ImageStorage.ImageType.RGB;
+    private void loadSequential(byte image[], InputStream compressed,
+            Rectangle region, int subsampling) throws IOException {
+        Inflater inf = new Inflater();
+        InputStream data = new BufferedInputStream(new InflaterInputStream(compressed, inf));
 
-        return new ImageFrame(type, ByteBuffer.wrap(newImage), width, height,
-                width * bpp, null, metadata);
+        try {
+            load(image, data, region, subsampling);
+        } finally {
+            inf.end();
+        }
+    }
+
+    // the size of the inflated image data, including the filter bytes
+    private long filteredSize() {
+        if (!isInterlaced) {
+            return (long) height * (1 + scanLineSize(width, bitDepth, colorType));
+        }
+        long size = 0;
+        for (int mip = 0; mip != 7; ++mip) {
+            if (width > starting_x[mip] && height > starting_y[mip]) {
+                int mipWidth = mipSize(width, mip, starting_x, increment_x);
+                int mipHeight = mipSize(height, mip, starting_y, increment_y);
+                size += (long) mipHeight * (1 + scanLineSize(mipWidth, bitDepth, colorType));
+            }
+        }
+        return size;
     }
 
-    // we won`t decode palette on fly, we will do it later
-    // it is possible that we might want original paletteized image
-    // ImageFrame does not support 16 bit color depth,
-    // numBandsPerColorType == bytesPerColorType
-    // but we will convert RGB->RGBA and L->LA on order to support tRNS
+    // ImageFrame does not support 16 bit color depth or indexed color,
+    // palette entries are looked up while decoding and
+    // we will convert RGB->RGBA and L->LA on order to support tRNS
     private int bpp() {
+        if (colorType == PNG_COLOR_PALETTE) {
+            return tRNS_present ? 4 : 3;
+        }
         return numBandsPerColorType[colorType] + (tRNS_GRAY_RGB ? 1 : 0);
     }
 
@@ -639,6 +873,12 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
     @Override
     public ImageFrame load(int imageIndex, int rWidth, int rHeight,
             boolean preserveAspectRatio, boolean smooth) throws IOException {
+        return load(imageIndex, null, rWidth, rHeight, preserveAspectRatio, smooth);
+    }
+
+    @Override
+    public ImageFrame load(int imageIndex, Rectangle sourceRegion, int rWidth, int rHeight,
+            boolean preserveAspectRatio, boolean smooth) throws IOException {
 
         if (imageIndex != 0) {
             return null;
@@ -656,7 +896,14 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
             throw new IOException("Bad PNG image size!");
         }
 
-        int[] outWH = ImageTools.computeDimensions(width, height, rWidth, rHeight, preserveAspectRatio);
+        Rectangle region = sourceRegion == null ? null : ImageTools.clipRegion(sourceRegion, width, height);
+        if (region != null && region.width == width && region.height == height) {
+            region = null;
+        }
+        int srcWidth = region == null ? width : region.width;
+        int srcHeight = region == null ? height : region.height;
+
+        int[] outWH = ImageTools.computeDimensions(srcWidth, srcHeight, rWidth, rHeight, preserveAspectRatio);
         rWidth = outWH[0];
         rHeight = outWH[1];
 
@@ -664,30 +911,59 @@ public final class PNGImageLoader2 extends ImageLoaderImpl {
                 null, null, null, null, null, rWidth, rHeight, null, null, null);
         updateImageMetadata(metaData);
 
-        ByteBuffer bb = ByteBuffer.allocate(bpp * width * height);
+        if (colorType == PNG_COLOR_PALETTE && palette == null) {
+            throw new IOException("PNG palette image without PLTE chunk!");
+        }
 
-        PNGIDATChunkInputStream iDat = new PNGIDATChunkInputStream(stream, dataSize);
-        Inflater inf = new Inflater();
-        InputStream data = new BufferedInputStream(new InflaterInputStream(iDat, inf));
+        if (region != null && isInterlaced) {
+            // the rows of a region are spread over all the passes, decode
+            // the whole image and crop it
+            ImageFrame imgPNG = new ImageFrame(getType(), decode(dataSize, null, 1),
+                    width, height, bpp * width, null, metaData);
+            return ImageTools.cropImageFrame(imgPNG, region, 1, rWidth, rHeight, smooth);
+        }
 
-        try {
-            load(bb.array(), data);
-        } catch (IOException e) {
-            throw e;
-        } finally {
-            if (inf != null) {
-                inf.end();
-            }
+        int subsampling = 1;
+        if (region != null) {
+            subsampling = ImageTools.computeSubsampling(srcWidth, srcHeight, rWidth, rHeight, smooth);
+            srcWidth = (srcWidth + subsampling - 1) / subsampling;
+            srcHeight = (srcHeight + subsampling - 1) / subsampling;
         }
 
-        ImageFrame imgPNG = colorType == PNG_COLOR_PALETTE
-                ? decodePalette(bb.array(), metaData)
-                : new ImageFrame(getType(), bb, width, height, bpp * width, palette, metaData);
+        ImageFrame imgPNG = new ImageFrame(getType(), decode(dataSize, region, subsampling),
+                srcWidth, srcHeight, bpp * srcWidth, null, metaData);
 
-        if (width != rWidth || height != rHeight) {
+        if (srcWidth != rWidth || srcHeight != rHeight) {
             imgPNG = ImageTools.scaleImageFrame(imgPNG, rWidth, rHeight, smooth);
         }
 
         return imgPNG;
     }
+
+    private ByteBuffer decode(int dataSize, Rectangle region, int subsampling) throws IOException {
+        int bpp = bpp();
+        ByteBuffer bb;
+        if (region == null) {
+            bb = ByteBuffer.allocate(bpp * width * height);
+        } else {
+            bb = ByteBuffer.allocate(bpp * ((region.width + subsampling - 1) / subsampling)
+                                         * ((region.height + subsampling - 1) / subsampling));
+        }
+
+        long filteredSize = filteredSize();
+        if (region == null && PARALLELISM > 1 && filteredSize >= MIN_PARALLEL_SIZE) {
+            // a region is decoded sequentially so that the rows below it
+            // are never inflated
+            PNGParallelInflater iDat = PNGParallelInflater.read(stream, dataSize);
+            InputStream data = iDat.inflate(filteredSize, PARALLELISM);
+            if (data != null) {
+                load(bb.array(), data);
+            } else {
+                loadSequential(bb.array(), iDat.getCompressedStream(), null, 1);
+            }
+        } else {
+            loadSequential(bb.array(), new PNGIDATChunkInputStream(stream, dataSize), region, subsampling);
+        }
+        return bb;
+    }
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio.png;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Inflates the zlib stream of a PNG image on several threads.
+ *
+ * A zlib stream can only be inflated from its start, unless the encoder
+ * performed a full flush: that ends the current deflate block with an empty
+ * stored block, whose {@code 00 00 FF FF} length fields are byte aligned,
+ * and resets the history, so that the data that follows can be inflated on
+ * its own. Encoders that want the image to be decoded in parallel flush at
+ * the end of their IDAT chunks, so the ends of IDAT chunks are the only
+ * candidate split points considered here.
+ *
+ * A marker that merely looks like a flush point would make the segment
+ * that follows it fail to inflate or inflate to the wrong data, which is
+ * detected by verifying that every segment but the last ends exactly at a
+ * block boundary, that the last one ends the stream, that the total size is
+ * the expected one and that the Adler-32 checksum in the zlib trailer
+ * matches the concatenated output. If any check fails, {@link #inflate}
+ * returns null and the caller inflates the data sequentially.
+ */
+final class PNGParallelInflater {
+
+    private static final int ZLIB_HEADER_SIZE = 2;
+    private static final int ZLIB_TRAILER_SIZE = 4;
+    private static final int MARKER_SIZE = 4;
+
+    private final byte[] data;
+    private final int length;
+    private final int[] chunkEnds;
+    private final int numChunkEnds;
+
+    private PNGParallelInflater(byte[] data, int length, int[] chunkEnds, int numChunkEnds) {
+        this.data = data;
+        this.length = length;
+        this.chunkEnds = chunkEnds;
+        this.numChunkEnds = numChunkEnds;
+    }
+
+    /**
+     * Reads the data of all the consecutive IDAT chunks of a PNG stream
+     * into memory.
+     *
+     * @param stream stream positioned at the beginning of the data field of
+     * the first IDAT chunk
+     * @param firstChunkLength the length of the data field of the first IDAT
+     * chunk
+     */
+    static PNGParallelInflater read(DataInputStream stream, int firstChunkLength) throws IOException {
+        byte[] data = new byte[Math.max(firstChunkLength, 1 << 16)];
+        int[] chunkEnds = new int[16];
+        int length = 0;
+        int numChunkEnds = 0;
+        int chunkLength = firstChunkLength;
+        while (true) {
+            if (chunkLength < 0 || chunkLength > Integer.MAX_VALUE - 8 - length) {
+                throw new IOException("Invalid chunk length");
+            }
+            if (length + chunkLength > data.length) {
+                long newLength = Math.max((long) data.length * 2, (long) length + chunkLength);
+                data = Arrays.copyOf(data, (int) Math.min(newLength, Integer.MAX_VALUE - 8));
+            }
+            stream.readFully(data, length, chunkLength);
+            length += chunkLength;
+            if (numChunkEnds == chunkEnds.length) {
+                chunkEnds = Arrays.copyOf(chunkEnds, numChunkEnds * 2);
+            }
+            chunkEnds[numChunkEnds++] = length;
+            stream.readInt(); // CRC
+            chunkLength = stream.readInt();
+            if (stream.readInt() != PNGImageLoader2.IDAT_TYPE) {
+                break;
+            }
+        }
+        return new PNGParallelInflater(data, length, chunkEnds, numChunkEnds);
+    }
+
+    /**
+     * Returns a stream over the compressed data, to be inflated sequentially
+     * when the data cannot be inflated in parallel.
+     */
+    InputStream getCompressedStream() {
+        return new ByteArrayInputStream(data, 0, length);
+    }
+
+    /**
+     * Inflates the data using up to {@code parallelism} threads.
+     *
+     * @param expectedSize the size of the filtered image data
+     * @param parallelism the maximum number of segments to inflate at once
+     * @return a stream over the inflated data, or null if the data has no
+     * usable flush points or fails verification
+     */
+    InputStream inflate(long expectedSize, int parallelism) {
+        if (length < ZLIB_HEADER_SIZE + ZLIB_TRAILER_SIZE || !isPlainZlibHeader()) {
+            return null;
+        }
+        int[] starts = splitPoints(parallelism);
+        if (starts == null) {
+            return null;
+        }
+        int n = starts.length;
+        Segment[] segments = new Segment[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            int end = i + 1 < n ? starts[i + 1] : length;
+            segments[i] = inflateSegment(starts[i], end, i + 1 == n, expectedSize);
+        });
+
+        long total = 0;
+        for (Segment s : segments) {
+            if (s == null) {
+                return null;
+            }
+            total += s.length;
+        }
+        if (total != expectedSize) {
+            return null;
+        }
+        Adler32 adler = new Adler32();
+        List<InputStream> streams = new ArrayList<>(n);
+        for (Segment s : segments) {
+            adler.update(s.data, 0, s.length);
+            streams.add(new ByteArrayInputStream(s.data, 0, s.length));
+        }
+        if ((int) adler.getValue() != segments[n - 1].adler) {
+            return null;
+        }
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    private boolean isPlainZlibHeader() {
+        int cmf = data[0] & 0xff;
+        int flg = data[1] & 0xff;
+        return (cmf & 0x0f) == 8 &&             // deflate
+               ((cmf << 8) | flg) % 31 == 0 &&  // header check
+               (flg & 0x20) == 0;               // no preset dictionary
+    }
+
+    private boolean isFlushPoint(int end) {
+        return end >= ZLIB_HEADER_SIZE + MARKER_SIZE + 1 &&
+               end < length - ZLIB_TRAILER_SIZE &&
+               data[end - 4] == 0 && data[end - 3] == 0 &&
+               data[end - 2] == (byte) 0xff && data[end - 1] == (byte) 0xff;
+    }
+
+    /**
+     * Returns the start offsets of segments of roughly equal compressed
+     * size that begin after flush points, or null if there are fewer than
+     * two.
+     */
+    private int[] splitPoints(int parallelism) {
+        if (parallelism < 2) {
+            return null;
+        }
+        long target = (length - ZLIB_HEADER_SIZE) / parallelism;
+        int[] starts = new int[parallelism];
+        int n = 0;
+        starts[n++] = ZLIB_HEADER_SIZE;
+        for (int i = 0; i < numChunkEnds && n < parallelism; i++) {
+            int end = chunkEnds[i];
+            if (end - starts[n - 1] >= target && isFlushPoint(end)) {
+                starts[n++] = end;
+            }
+        }
+        return n < 2 ? null : Arrays.copyOf(starts, n);
+    }
+
+    private record Segment(byte[] data, int length, int adler) {
+    }
+
+    private Segment inflateSegment(int start, int end, boolean last, long maxSize) {
+        Inflater inf = new Inflater(true);
+        try {
+            inf.setInput(data, start, end - start);
+            // One byte of slack tells a segment that inflates to more than
+            // the whole image apart from one that just fills it.
+            long limit = Math.min(maxSize + 1, Integer.MAX_VALUE - 8);
+            byte[] out = new byte[(int) Math.min(limit, (long) (end - start) * 4 + 1024)];
+            int len = 0;
+            while (!inf.finished()) {
+                if (len == out.length) {
+                    if (len >= limit) {
+                        return null;
+                    }
+                    out = Arrays.copyOf(out, (int) Math.min(limit, (long) len * 2));
+                }
+                int n = inf.inflate(out, len, out.length - len);
+                len += n;
+                if (n == 0 && (inf.needsInput() || inf.needsDictionary())) {
+                    break;
+                }
+            }
+            int adler = 0;
+            if (last) {
+                // The last segment must end the deflate stream and be
+                // followed by the trailer.
+                int remaining = inf.getRemaining();
+                if (!inf.finished() || remaining < ZLIB_TRAILER_SIZE) {
+                    return null;
+                }
+                int p = end - remaining;
+                adler = ((data[p] & 0xff) << 24) | ((data[p + 1] & 0xff) << 16) |
+                        ((data[p + 2] & 0xff) << 8) | (data[p + 3] & 0xff);
+            } else if (inf.finished() || inf.getRemaining() != 0) {
+                // The other segments must use up all of their input without
+                // reaching the final block.
+                return null;
+            }
+            return new Segment(out, len, adler);
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inf.end();
+        }
+    }
+}
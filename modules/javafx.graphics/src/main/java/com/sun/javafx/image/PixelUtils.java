@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -53,15 +53,45 @@ public class PixelUtils {
                          (xrgb      ) & 0xff);
     }
 
+    /* Reciprocals of the alpha values, scaled by 2^24 and rounded up, so
+     * that unpremultiplying can multiply and shift instead of dividing.
+     */
+    private static final int[] UNPREMUL_SCALE = new int[256];
+    static {
+        for (int a = 1; a < 256; a++) {
+            UNPREMUL_SCALE[a] = (int) (((1L << 24) + a - 1) / a);
+        }
+    }
+
+    /**
+     * Returns {@code (c * a + 0x7f) / 0xff}, computed without a division,
+     * for any component {@code c} and alpha {@code a} in the range 0-255.
+     */
+    public static int premultiply(int c, int a) {
+        int t = c * a + 0x80;
+        return (t + (t >> 8)) >> 8;
+    }
+
+    /**
+     * Returns {@code (c * 0xff + a / 2) / a} clamped to 0xff, computed
+     * without a division, for any premultiplied component {@code c} in the
+     * range 0-255 and alpha {@code a} in the range 1-255.
+     */
+    public static int unpremultiply(int c, int a) {
+        // min(c, a) yields 0xff for c >= a without a branch, and keeps the
+        // unsigned product below 2^32
+        return ((Math.min(c, a) * 0xff + (a >> 1)) * UNPREMUL_SCALE[a]) >>> 24;
+    }
+
     public static int NonPretoPre(int nonpre, int alpha) {
         if (alpha == 0xff) return nonpre;
         if (alpha == 0x00) return 0;
-        return (nonpre * alpha + 0x7f) / 0xff;
+        return premultiply(nonpre, alpha);
     }
 
     public static int PreToNonPre(int pre, int alpha) {
         if (alpha == 0xff || alpha == 0x00) return pre;
-        return (pre >= alpha) ? 0xff : (pre * 0xff + (alpha >> 1)) / alpha;
+        return unpremultiply(pre, alpha);
     }
 
     public static int NonPretoPre(int nonpre) {
@@ -71,9 +101,9 @@ public class PixelUtils {
         int r = (nonpre >> 16) & 0xff;
         int g = (nonpre >>  8) & 0xff;
         int b = (nonpre      ) & 0xff;
-        r = (r * a + 0x7f) / 0xff;
-        g = (g * a + 0x7f) / 0xff;
-        b = (b * a + 0x7f) / 0xff;
+        r = premultiply(r, a);
+        g = premultiply(g, a);
+        b = premultiply(b, a);
         return (a << 24) | (r << 16) | (g << 8) | b;
     }
 
@@ -83,10 +113,9 @@ public class PixelUtils {
         int r = (pre >> 16) & 0xff;
         int g = (pre >>  8) & 0xff;
         int b = (pre      ) & 0xff;
-        int halfa = a >> 1;
-        r = (r >= a) ? 0xff : (r * 0xff + halfa) / a;
-        g = (g >= a) ? 0xff : (g * 0xff + halfa) / a;
-        b = (b >= a) ? 0xff : (b * 0xff + halfa) / a;
+        r = unpremultiply(r, a);
+        g = unpremultiply(g, a);
+        b = unpremultiply(b, a);
         return (a << 24) | (r << 16) | (g << 8) | b;
     }
 
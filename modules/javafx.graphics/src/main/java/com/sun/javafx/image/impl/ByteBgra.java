@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -152,9 +152,9 @@ public class ByteBgra {
                         if (a == 0) {
                             b = g = r = 0;
                         } else {
-                            b = (byte) (((b & 0xff) * a + 0x7f) / 0xff);
-                            g = (byte) (((g & 0xff) * a + 0x7f) / 0xff);
-                            r = (byte) (((r & 0xff) * a + 0x7f) / 0xff);
+                            b = (byte) PixelUtils.premultiply(b & 0xff, a);
+                            g = (byte) PixelUtils.premultiply(g & 0xff, a);
+                            r = (byte) PixelUtils.premultiply(r & 0xff, a);
                         }
                     }
                     dstarr[dstoff++] = b;
@@ -185,9 +185,9 @@ public class ByteBgra {
                         if (a == 0) {
                             b = g = r = 0;
                         } else {
-                            b = (byte) (((b & 0xff) * a + 0x7f) / 0xff);
-                            g = (byte) (((g & 0xff) * a + 0x7f) / 0xff);
-                            r = (byte) (((r & 0xff) * a + 0x7f) / 0xff);
+                            b = (byte) PixelUtils.premultiply(b & 0xff, a);
+                            g = (byte) PixelUtils.premultiply(g & 0xff, a);
+                            r = (byte) PixelUtils.premultiply(r & 0xff, a);
                         }
                     }
                     dstbuf.put(dstoff    , b);
@@ -220,11 +220,8 @@ public class ByteBgra {
             dstscanints -= w;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    dstarr[dstoff++] =
-                        ((srcarr[srcoff++] & 0xff)      ) |
-                        ((srcarr[srcoff++] & 0xff) <<  8) |
-                        ((srcarr[srcoff++] & 0xff) << 16) |
-                        ((srcarr[srcoff++]       ) << 24);
+                    dstarr[dstoff++] = PackedBytes.getInt(srcarr, srcoff);
+                    srcoff += 4;
                 }
                 srcoff += srcscanbytes;
                 dstoff += dstscanints;
@@ -236,14 +233,11 @@ public class ByteBgra {
                        IntBuffer  dstbuf, int dstoff, int dstscanints,
                        int w, int h)
         {
+            srcbuf = PackedBytes.littleEndian(srcbuf);
             srcscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    dstbuf.put(dstoff + x,
-                               ((srcbuf.get(srcoff    ) & 0xff)      ) |
-                               ((srcbuf.get(srcoff + 1) & 0xff) <<  8) |
-                               ((srcbuf.get(srcoff + 2) & 0xff) << 16) |
-                               ((srcbuf.get(srcoff + 3)       ) << 24));
+                    dstbuf.put(dstoff + x, srcbuf.getInt(srcoff));
                     srcoff += 4;
                 }
                 srcoff += srcscanbytes;
@@ -277,9 +271,9 @@ public class ByteBgra {
                         if (a == 0) {
                             b = g = r = 0;
                         } else {
-                            b = (b * a + 0x7f) / 0xff;
-                            g = (g * a + 0x7f) / 0xff;
-                            r = (r * a + 0x7f) / 0xff;
+                            b = PixelUtils.premultiply(b, a);
+                            g = PixelUtils.premultiply(g, a);
+                            r = PixelUtils.premultiply(r, a);
                         }
                     }
                     dstarr[dstoff++] =
@@ -307,9 +301,9 @@ public class ByteBgra {
                         if (a == 0) {
                             b = g = r = 0;
                         } else {
-                            b = (b * a + 0x7f) / 0xff;
-                            g = (g * a + 0x7f) / 0xff;
-                            r = (r * a + 0x7f) / 0xff;
+                            b = PixelUtils.premultiply(b, a);
+                            g = PixelUtils.premultiply(g, a);
+                            r = PixelUtils.premultiply(r, a);
                         }
                     }
                     dstbuf.put(dstoff + x, (a << 24) | (r << 16) | (g << 8) | b);
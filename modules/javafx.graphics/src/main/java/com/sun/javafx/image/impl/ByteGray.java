@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -146,11 +146,9 @@ public class ByteGray {
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    byte g = srcarr[srcoff + x];
-                    dstarr[dstoff++] = g;
-                    dstarr[dstoff++] = g;
-                    dstarr[dstoff++] = g;
-                    dstarr[dstoff++] = (byte) 0xff;
+                    int g = srcarr[srcoff + x] & 0xff;
+                    PackedBytes.putInt(dstarr, dstoff, 0xff000000 | (g * 0x010101));
+                    dstoff += 4;
                 }
                 srcoff += srcscanbytes;
                 dstoff += dstscanbytes;
@@ -162,14 +160,12 @@ public class ByteGray {
                        ByteBuffer dstbuf, int dstoff, int dstscanbytes,
                        int w, int h)
         {
+            dstbuf = PackedBytes.littleEndian(dstbuf);
             dstscanbytes -= w * 4;
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
-                    byte g = srcbuf.get(srcoff + x);
-                    dstbuf.put(dstoff    , g);
-                    dstbuf.put(dstoff + 1, g);
-                    dstbuf.put(dstoff + 2, g);
-                    dstbuf.put(dstoff + 3, (byte) 0xff);
+                    int g = srcbuf.get(srcoff + x) & 0xff;
+                    dstbuf.putInt(dstoff, 0xff000000 | (g * 0x010101));
                     dstoff += 4;
                 }
                 srcoff += srcscanbytes;
@@ -196,7 +192,7 @@ public class ByteGray {
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
                     int g = srcarr[srcoff + x] & 0xff;
-                    dstarr[dstoff + x] = 0xff000000 | (g << 16) | (g << 8) | g;
+                    dstarr[dstoff + x] = 0xff000000 | (g * 0x010101);
                 }
                 srcoff += srcscanbytes;
                 dstoff += dstscanints;
@@ -211,7 +207,7 @@ public class ByteGray {
             while (--h >= 0) {
                 for (int x = 0; x < w; x++) {
                     int g = srcbuf.get(srcoff + x) & 0xff;
-                    dstbuf.put(dstoff + x, 0xff000000 | (g << 16) | (g << 8) | g);
+                    dstbuf.put(dstoff + x, 0xff000000 | (g * 0x010101));
                 }
                 srcoff += srcscanbytes;
                 dstoff += dstscanints;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -142,9 +142,9 @@ public class IntArgb {
                         if (a == 0) {
                             pixel = 0;
                         } else {
-                            int r = (((pixel >> 16) & 0xff) * a + 0x7f) / 0xff;
-                            int g = (((pixel >>  8) & 0xff) * a + 0x7f) / 0xff;
-                            int b = (((pixel      ) & 0xff) * a + 0x7f) / 0xff;
+                            int r = PixelUtils.premultiply((pixel >> 16) & 0xff, a);
+                            int g = PixelUtils.premultiply((pixel >>  8) & 0xff, a);
+                            int b = PixelUtils.premultiply((pixel      ) & 0xff, a);
                             pixel = (a << 24) | (r << 16) | (g << 8) | b;
                         }
                     }
@@ -168,9 +168,9 @@ public class IntArgb {
                         if (a == 0) {
                             pixel = 0;
                         } else {
-                            int r = (((pixel >> 16) & 0xff) * a + 0x7f) / 0xff;
-                            int g = (((pixel >>  8) & 0xff) * a + 0x7f) / 0xff;
-                            int b = (((pixel      ) & 0xff) * a + 0x7f) / 0xff;
+                            int r = PixelUtils.premultiply((pixel >> 16) & 0xff, a);
+                            int g = PixelUtils.premultiply((pixel >>  8) & 0xff, a);
+                            int b = PixelUtils.premultiply((pixel      ) & 0xff, a);
                             pixel = (a << 24) | (r << 16) | (g << 8) | b;
                         }
                     }
@@ -208,9 +208,9 @@ public class IntArgb {
                         if (a == 0) {
                             b = g = r = 0;
                         } else {
-                            b = ((b & 0xff) * a + 0x7f) / 0xff;
-                            g = ((g & 0xff) * a + 0x7f) / 0xff;
-                            r = ((r & 0xff) * a + 0x7f) / 0xff;
+                            b = PixelUtils.premultiply(b & 0xff, a);
+                            g = PixelUtils.premultiply(g & 0xff, a);
+                            r = PixelUtils.premultiply(r & 0xff, a);
                         }
                     }
                     dstarr[dstoff++] = (byte) b;
@@ -240,9 +240,9 @@ public class IntArgb {
                         if (a == 0) {
                             b = g = r = 0;
                         } else {
-                            b = ((b & 0xff) * a + 0x7f) / 0xff;
-                            g = ((g & 0xff) * a + 0x7f) / 0xff;
-                            r = ((r & 0xff) * a + 0x7f) / 0xff;
+                            b = PixelUtils.premultiply(b & 0xff, a);
+                            g = PixelUtils.premultiply(g & 0xff, a);
+                            r = PixelUtils.premultiply(r & 0xff, a);
                         }
                     }
                     dstbuf.put(dstoff    , (byte) b);
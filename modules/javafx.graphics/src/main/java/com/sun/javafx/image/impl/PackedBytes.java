@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.image.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Reads and writes the pixels of the 4 byte formats as little endian ints, so
+ * that converters between formats that store the same components in the same
+ * order (such as BYTE_BGRA and INT_ARGB) move whole pixels instead of single
+ * bytes.
+ */
+final class PackedBytes {
+    private static final VarHandle INT_LE =
+        MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private PackedBytes() {}
+
+    static int getInt(byte arr[], int offset) {
+        return (int) INT_LE.get(arr, offset);
+    }
+
+    static void putInt(byte arr[], int offset, int value) {
+        INT_LE.set(arr, offset, value);
+    }
+
+    /**
+     * Returns a view of the buffer that reads and writes little endian ints.
+     * The position, limit and byte order of the buffer itself are unchanged.
+     */
+    static ByteBuffer littleEndian(ByteBuffer buf) {
+        return buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -54,7 +54,15 @@ public abstract class AbstractAsyncOperation<V> implements AsyncOperation,
     protected AbstractAsyncOperation(final AsyncOperationListener<V> listener) {
         this.listener = listener;
 
-        Callable<V> callable = () -> AbstractAsyncOperation.this.call();
+        Callable<V> callable = () -> {
+            if (listener instanceof WeakAsyncOperationListener<?> weakListener
+                    && weakListener.isReleased()) {
+                // nobody is waiting for the result any more
+                AbstractAsyncOperation.this.future.cancel(false);
+                return null;
+            }
+            return AbstractAsyncOperation.this.call();
+        };
 
         final Runnable completionRunnable = new Runnable() {
             @Override
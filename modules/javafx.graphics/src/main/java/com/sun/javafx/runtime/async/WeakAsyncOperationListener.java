@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.runtime.async;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * WeakAsyncOperationListener. Forwards the notifications of an async operation
+ * to a listener that is only weakly referenced, so that a queued operation does
+ * not keep the object waiting for its result alive. Once the listener has been
+ * collected the notifications are dropped, and an {@link AbstractAsyncOperation}
+ * that has not started yet cancels itself instead of running.
+ */
+public final class WeakAsyncOperationListener<V> implements AsyncOperationListener<V> {
+
+    private final WeakReference<AsyncOperationListener<V>> ref;
+
+    public WeakAsyncOperationListener(AsyncOperationListener<V> listener) {
+        ref = new WeakReference<>(listener);
+    }
+
+    public boolean isReleased() {
+        return ref.get() == null;
+    }
+
+    @Override
+    public void onProgress(int progressValue, int progressMax) {
+        AsyncOperationListener<V> listener = ref.get();
+        if (listener != null) {
+            listener.onProgress(progressValue, progressMax);
+        }
+    }
+
+    @Override
+    public void onCompletion(V value) {
+        AsyncOperationListener<V> listener = ref.get();
+        if (listener != null) {
+            listener.onCompletion(value);
+        }
+    }
+
+    @Override
+    public void onCancel() {
+        AsyncOperationListener<V> listener = ref.get();
+        if (listener != null) {
+            listener.onCancel();
+        }
+    }
+
+    @Override
+    public void onException(Exception e) {
+        AsyncOperationListener<V> listener = ref.get();
+        if (listener != null) {
+            listener.onException(e);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -29,6 +29,7 @@ import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.prism.Graphics;
 import com.sun.scenario.effect.Effect;
+import com.sun.scenario.effect.impl.ImagePool;
 import com.sun.scenario.effect.impl.prism.PrEffectHelper;
 
 /**
@@ -58,7 +59,16 @@ public class EffectFilter {
 
     void render(Graphics g) {
         NodeEffectInput nodeInput = getNodeInput();
-        PrEffectHelper.render(getEffect(), g, 0, 0, nodeInput);
+        // Nodes that render the same content with the same effect share
+        // one result through the effect result cache of the image pool
+        Object signature = ImagePool.isResultSharingEnabled()
+                ? nodeInput.getNode().getRenderSignature()
+                : null;
+        if (signature == null ||
+            !PrEffectHelper.renderShared(getEffect(), signature, g, nodeInput))
+        {
+            PrEffectHelper.render(getEffect(), g, 0, 0, nodeInput);
+        }
         nodeInput.flush();
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,9 +28,12 @@ package com.sun.javafx.sg.prism;
 import javafx.geometry.VPos;
 import javafx.scene.text.Font;
 import java.nio.IntBuffer;
+import java.util.ArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import com.sun.javafx.font.PGFont;
 import com.sun.javafx.geom.Arc2D;
 import com.sun.javafx.geom.BaseBounds;
@@ -45,6 +48,7 @@ import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.Affine2D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.javafx.scene.text.FontHelper;
 import com.sun.javafx.text.PrismTextLayout;
 import com.sun.javafx.tk.RenderJob;
@@ -73,6 +77,7 @@ import com.sun.scenario.effect.impl.prism.PrDrawable;
 import com.sun.scenario.effect.impl.prism.PrFilterContext;
 import com.sun.scenario.effect.impl.prism.PrTexture;
 import javafx.scene.text.FontSmoothingType;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 
 /**
  */
@@ -113,6 +118,7 @@ public class NGCanvas extends NGNode {
     public static final byte STROKE_ARC        = OP_BASE + 9;
     public static final byte FILL_TEXT         = OP_BASE + 10;
     public static final byte STROKE_TEXT       = OP_BASE + 11;
+    public static final byte FILL_OVALS        = OP_BASE + 12;
 
     public static final byte                PATH_BASE = 40;
     public static final byte PATHSTART    = PATH_BASE + 0;
@@ -130,6 +136,7 @@ public class NGCanvas extends NGNode {
     public static final byte DRAW_SUBIMAGE   = IMG_BASE + 1;
     public static final byte PUT_ARGB        = IMG_BASE + 2;
     public static final byte PUT_ARGBPRE_BUF = IMG_BASE + 3;
+    public static final byte DRAW_IMAGES     = IMG_BASE + 4;
 
     public static final byte                   FX_BASE = 60;
     public static final byte FX_APPLY_EFFECT = FX_BASE + 0;
@@ -310,6 +317,93 @@ public class NGCanvas extends NGNode {
         }
     }
 
+    // A retained layer of the canvas. The layer is rendered into its own
+    // texture which is composited over the canvas image and is only
+    // re-rasterized when the FX side records a new stream for the layer.
+    static class Layer {
+        final RenderBuf rb = new RenderBuf(InitType.PRESERVE_UPPER_LEFT);
+        GrowableDataBuffer pending;
+    }
+
+    // The rendering attributes of the main canvas stream, saved while the
+    // stream of a layer is being replayed.
+    private static class SavedAttributes {
+        private final float globalAlpha;
+        private final Blend.Mode blendmode;
+        private final Paint fillPaint, strokePaint;
+        private final float linewidth;
+        private final int linecap, linejoin;
+        private final float miterlimit;
+        private final double[] dashes;
+        private final float dashOffset;
+        private final BasicStroke stroke;
+        private final int windingRule;
+        private final PGFont pgfont;
+        private final int smoothing;
+        private final boolean imageSmoothing;
+        private final int align;
+        private final int baseline;
+        private final Affine2D transform;
+        private final LinkedList<Path2D> clipStack;
+        private final Effect effect;
+        private final int arctype;
+        private final int cw, ch;
+
+        private SavedAttributes(NGCanvas canvas) {
+            globalAlpha = canvas.globalAlpha;
+            blendmode = canvas.blendmode;
+            fillPaint = canvas.fillPaint;
+            strokePaint = canvas.strokePaint;
+            linewidth = canvas.linewidth;
+            linecap = canvas.linecap;
+            linejoin = canvas.linejoin;
+            miterlimit = canvas.miterlimit;
+            dashes = canvas.dashes;
+            dashOffset = canvas.dashOffset;
+            stroke = canvas.stroke;
+            windingRule = canvas.path.getWindingRule();
+            pgfont = canvas.pgfont;
+            smoothing = canvas.smoothing;
+            imageSmoothing = canvas.imageSmoothing;
+            align = canvas.align;
+            baseline = canvas.baseline;
+            transform = new Affine2D(canvas.transform);
+            clipStack = new LinkedList<>(canvas.clipStack);
+            effect = canvas.effect;
+            arctype = canvas.arctype;
+            cw = canvas.cw;
+            ch = canvas.ch;
+        }
+
+        private void restore(NGCanvas canvas) {
+            canvas.globalAlpha = globalAlpha;
+            canvas.blendmode = blendmode;
+            canvas.fillPaint = fillPaint;
+            canvas.strokePaint = strokePaint;
+            canvas.linewidth = linewidth;
+            canvas.linecap = linecap;
+            canvas.linejoin = linejoin;
+            canvas.miterlimit = miterlimit;
+            canvas.dashes = dashes;
+            canvas.dashOffset = dashOffset;
+            canvas.stroke = stroke;
+            canvas.path.setWindingRule(windingRule);
+            canvas.pgfont = pgfont;
+            canvas.smoothing = smoothing;
+            canvas.imageSmoothing = imageSmoothing;
+            canvas.align = align;
+            canvas.baseline = baseline;
+            canvas.transform.setTransform(transform);
+            canvas.inversedirty = true;
+            canvas.clipStack.clear();
+            canvas.clipStack.addAll(clipStack);
+            canvas.effect = effect;
+            canvas.arctype = arctype;
+            canvas.cw = cw;
+            canvas.ch = ch;
+        }
+    }
+
     private static Blend BLENDER = new MyBlend(Mode.SRC_OVER, null, null);
 
     private GrowableDataBuffer thebuf;
@@ -320,6 +414,14 @@ public class NGCanvas extends NGNode {
     private RenderBuf cv;
     private RenderBuf temp;
     private RenderBuf clip;
+    private final LinkedHashMap<String, Layer> layers = new LinkedHashMap<>();
+    private final List<Layer> removedLayers = new ArrayList<>();
+    private boolean replayingLayer;
+
+    private long replayCount;
+    private long replayedValueBytes;
+    private long replayedObjectCount;
+    private long layerRasterizationCount;
 
     private float globalAlpha;
     private Blend.Mode blendmode;
@@ -541,6 +643,25 @@ public class NGCanvas extends NGNode {
                          TEMP_COORDS[2], TEMP_COORDS[3]);
     }
 
+    private static void coordsbounds(float[] coords, int n, float w, float h,
+                                     RectBounds bounds)
+    {
+        float x0 = Float.POSITIVE_INFINITY;
+        float y0 = Float.POSITIVE_INFINITY;
+        float x1 = Float.NEGATIVE_INFINITY;
+        float y1 = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < n * 2; i += 2) {
+            float x = coords[i];
+            float y = coords[i + 1];
+            if (x0 > x) x0 = x;
+            if (x1 < x) x1 = x;
+            if (y0 > y) y0 = y;
+            if (y1 < y) y1 = y;
+        }
+        bounds.setBounds(Math.min(x0, x0 + w), Math.min(y0, y0 + h),
+                         Math.max(x1, x1 + w), Math.max(y1, y1 + h));
+    }
+
     private static void strokebounds(BasicStroke stroke, Shape shape,
                                      RectBounds bounds, BaseTransform transform)
     {
@@ -580,25 +701,36 @@ public class NGCanvas extends NGNode {
             return false;
         }
 
+        printRenderBuf(g, cv);
+        for (Layer layer : layers.values()) {
+            if (layer.rb.tex != null) {
+                printRenderBuf(g, layer.rb);
+            }
+        }
+        return true;
+    }
+
+    private void printRenderBuf(Graphics g, RenderBuf rb) {
+        final RTTexture localTex = rb.tex;
+        ResourceFactory factory = g.getResourceFactory();
         final int tw = localTex.getContentWidth();
         final int th = localTex.getContentHeight();
         final RTTexture tmpTex =
               factory.createRTTexture(tw, th, WrapMode.CLAMP_TO_ZERO);
         final Graphics texg = tmpTex.createGraphics();
         texg.setCompositeMode(CompositeMode.SRC);
-        if (cv.savedPixelData == null) {
+        if (rb.savedPixelData == null) {
             final PixelData pd = new PixelData(cw, ch);
             runOnRenderThread(() -> {
               pd.save(localTex);
               pd.restore(texg, tw, th);
             });
         } else {
-            cv.savedPixelData.restore(texg, tw, th);
+            rb.savedPixelData.restore(texg, tw, th);
         }
         g.drawTexture(tmpTex, 0, 0, tw, th);
         tmpTex.unlock();
         tmpTex.dispose();
-        return true;
     }
 
     @Override
@@ -607,54 +739,170 @@ public class NGCanvas extends NGNode {
         initCanvas(g);
         if (cv.tex != null) {
             if (thebuf != null) {
-                renderStream(thebuf);
+                replay(thebuf);
                 GrowableDataBuffer.returnBuffer(thebuf);
                 thebuf = null;
             }
+            renderLayers();
             float dw = tw / highestPixelScale;
             float dh = th / highestPixelScale;
             g.drawTexture(cv.tex,
                           0, 0, dw, dh,
                           0, 0, tw, th);
+            for (Layer layer : layers.values()) {
+                if (layer.rb.tex != null) {
+                    g.drawTexture(layer.rb.tex,
+                                  0, 0, dw, dh,
+                                  0, 0, tw, th);
+                }
+            }
             // Must save the pixels every frame if RTT is volatile.
-            cv.save(tw, th);
+            saveRenderBufs();
         }
-        this.temp.g = this.clip.g = this.cv.g = null;
+        releaseGraphics();
     }
 
     @Override
     public void renderForcedContent(Graphics gOptional) {
-        if (thebuf != null) {
+        if (thebuf != null || hasPendingLayers()) {
             initCanvas(gOptional);
             if (cv.tex != null) {
-                renderStream(thebuf);
-                GrowableDataBuffer.returnBuffer(thebuf);
-                thebuf = null;
-                cv.save(tw, th);
+                if (thebuf != null) {
+                    replay(thebuf);
+                    GrowableDataBuffer.returnBuffer(thebuf);
+                    thebuf = null;
+                }
+                renderLayers();
+                saveRenderBufs();
             }
-            this.temp.g = this.clip.g = this.cv.g = null;
+            releaseGraphics();
         }
     }
 
     private void initCanvas(Graphics g) {
+        for (Layer layer : removedLayers) {
+            layer.rb.dispose();
+        }
+        removedLayers.clear();
         if (tw <= 0 || th <= 0) {
             cv.dispose();
+            for (Layer layer : layers.values()) {
+                layer.rb.dispose();
+            }
             return;
         }
-        if (cv.validate(g, tw, th)) {
+        initRenderBuf(g, cv);
+        for (Layer layer : layers.values()) {
+            initRenderBuf(g, layer.rb);
+        }
+    }
+
+    private void initRenderBuf(Graphics g, RenderBuf rb) {
+        if (rb.validate(g, tw, th)) {
             // If the texture was recreated then we add a permanent
             // "useful" and extra "lock" status to it.
-            cv.tex.contentsUseful();
-            cv.tex.makePermanent();
-            cv.tex.lock();
+            rb.tex.contentsUseful();
+            rb.tex.makePermanent();
+            rb.tex.lock();
         }
     }
 
+    private void saveRenderBufs() {
+        cv.save(tw, th);
+        for (Layer layer : layers.values()) {
+            if (layer.rb.tex != null) {
+                layer.rb.save(tw, th);
+            }
+        }
+    }
+
+    private void releaseGraphics() {
+        this.temp.g = this.clip.g = this.cv.g = null;
+        for (Layer layer : layers.values()) {
+            layer.rb.g = null;
+        }
+    }
+
+    private boolean hasPendingLayers() {
+        for (Layer layer : layers.values()) {
+            if (layer.pending != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void replay(GrowableDataBuffer buf) {
+        replayCount++;
+        replayedValueBytes += buf.writeValuePosition();
+        replayedObjectCount += buf.writeObjectPosition();
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Canvas buffers replayed");
+        }
+        renderStream(buf);
+    }
+
+    /*
+     * Replays the streams of the layers that were re-recorded since the
+     * last render. Each stream is rendered from a cleared layer texture
+     * with the default attributes, the attributes of the main canvas
+     * stream are saved and restored around it.
+     */
+    private void renderLayers() {
+        if (!hasPendingLayers()) {
+            return;
+        }
+        RenderBuf main = cv;
+        SavedAttributes saved = new SavedAttributes(this);
+        replayingLayer = true;
+        for (Layer layer : layers.values()) {
+            GrowableDataBuffer buf = layer.pending;
+            if (buf == null) {
+                continue;
+            }
+            layer.pending = null;
+            cv = layer.rb;
+            clearCanvas(0, 0, tw, th);
+            initAttributes();
+            resetClip(true);
+            this.cw = this.tw;
+            this.ch = this.th;
+            replay(buf);
+            GrowableDataBuffer.returnBuffer(buf);
+            layerRasterizationCount++;
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Canvas layers rasterized");
+            }
+        }
+        replayingLayer = false;
+        cv = main;
+        saved.restore(this);
+        resetClip(true);
+    }
+
     private void clearCanvas(int x, int y, int w, int h) {
-        cv.g.setCompositeMode(CompositeMode.CLEAR);
-        cv.g.setTransform(BaseTransform.IDENTITY_TRANSFORM);
-        cv.g.fillQuad(x, y, x+w, y+h);
-        cv.g.setCompositeMode(CompositeMode.SRC_OVER);
+        clearRenderBuf(cv, x, y, w, h);
+    }
+
+    private static void clearRenderBuf(RenderBuf rb, int x, int y, int w, int h) {
+        rb.g.setCompositeMode(CompositeMode.CLEAR);
+        rb.g.setTransform(BaseTransform.IDENTITY_TRANSFORM);
+        rb.g.fillQuad(x, y, x+w, y+h);
+        rb.g.setCompositeMode(CompositeMode.SRC_OVER);
+    }
+
+    /*
+     * Clears the given area of the canvas image and, while replaying the
+     * main canvas stream, of all the layers as well.
+     */
+    private void clearCanvasAndLayers(int x, int y, int w, int h) {
+        clearCanvas(x, y, w, h);
+        if (replayingLayer) return;
+        for (Layer layer : layers.values()) {
+            if (layer.rb.g != null) {
+                clearRenderBuf(layer.rb, x, y, w, h);
+            }
+        }
     }
 
     private void resetClip(boolean andDispose) {
@@ -829,14 +1077,14 @@ public class NGCanvas extends NGNode {
                         // the intermediate changes in size by making sure
                         // that all pixels outside of any size change are
                         // cleared at the stream point where they happened
-                        clearCanvas(clearx, 0, this.tw-clearx, this.th);
+                        clearCanvasAndLayers(clearx, 0, this.tw-clearx, this.th);
                     }
                     if (cleary < this.th) {
                         // th is set to the final width, we simulate all of
                         // the intermediate changes in size by making sure
                         // that all pixels outside of any size change are
                         // cleared at the stream point where they happened
-                        clearCanvas(0, cleary, this.tw, this.th-cleary);
+                        clearCanvasAndLayers(0, cleary, this.tw, this.th-cleary);
                     }
                     this.cw = neww;
                     this.ch = newh;
@@ -1048,12 +1296,14 @@ public class NGCanvas extends NGNode {
                 case STROKE_RECT:
                 case FILL_OVAL:
                 case STROKE_OVAL:
+                case FILL_OVALS:
                 case FILL_ROUND_RECT:
                 case STROKE_ROUND_RECT:
                 case FILL_ARC:
                 case STROKE_ARC:
                 case DRAW_IMAGE:
                 case DRAW_SUBIMAGE:
+                case DRAW_IMAGES:
                 case FILL_TEXT:
                 case STROKE_TEXT:
                 {
@@ -1365,6 +1615,50 @@ public class NGCanvas extends NGNode {
                 }
                 break;
             }
+            case FILL_OVALS:
+            {
+                float w = buf.getFloat();
+                float h = buf.getFloat();
+                int n = buf.getInt();
+                float[] coords = (float[]) buf.getObject();
+                if (bounds != null) {
+                    coordsbounds(coords, n, w, h, bounds);
+                    transformBounds = true;
+                }
+                if (gr != null) {
+                    setupFill(gr);
+                    gr.fillEllipses(coords, n, w, h);
+                }
+                break;
+            }
+            case DRAW_IMAGES:
+            {
+                float dw = buf.getFloat();
+                float dh = buf.getFloat();
+                int n = buf.getInt();
+                Image img = (Image) buf.getObject();
+                float[] coords = (float[]) buf.getObject();
+                if (bounds != null) {
+                    coordsbounds(coords, n, dw, dh, bounds);
+                    transformBounds = true;
+                }
+                if (gr != null) {
+                    ResourceFactory factory = gr.getResourceFactory();
+                    Texture tex =
+                        factory.getCachedTexture(img, Texture.WrapMode.CLAMP_TO_EDGE);
+                    boolean isSmooth = tex.getLinearFiltering();
+                    if (imageSmoothing != isSmooth) {
+                        tex.setLinearFiltering(imageSmoothing);
+                    }
+                    gr.drawTextures(tex, coords, n, dw, dh,
+                                    0, 0, img.getWidth(), img.getHeight());
+                    if (imageSmoothing != isSmooth) {
+                        tex.setLinearFiltering(isSmooth);
+                    }
+                    tex.unlock();
+                }
+                break;
+            }
             case FILL_TEXT:
             case STROKE_TEXT:
             {
@@ -1563,6 +1857,79 @@ public class NGCanvas extends NGNode {
         return false;
     }
 
+    /**
+     * Replaces the rendering stream of the named layer. Layers are
+     * composited over the canvas image in the order in which they were
+     * first updated, and the texture of a layer is only re-rasterized when
+     * a new stream is provided for it. A stream that was not rendered yet
+     * is discarded in favor of the new one.
+     *
+     * @param name the name of the layer
+     * @param buf the complete rendering stream of the layer
+     */
+    public void updateLayer(String name, GrowableDataBuffer buf) {
+        Layer layer = layers.get(name);
+        if (layer == null) {
+            layer = new Layer();
+            layers.put(name, layer);
+        }
+        if (layer.pending != null) {
+            GrowableDataBuffer.returnBuffer(layer.pending);
+        }
+        layer.pending = buf;
+        geometryChanged();
+    }
+
+    /**
+     * Removes the named layer, its texture is disposed on the next render.
+     *
+     * @param name the name of the layer
+     */
+    public void removeLayer(String name) {
+        Layer layer = layers.remove(name);
+        if (layer != null) {
+            if (layer.pending != null) {
+                GrowableDataBuffer.returnBuffer(layer.pending);
+                layer.pending = null;
+            }
+            removedLayers.add(layer);
+            geometryChanged();
+        }
+    }
+
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    /**
+     * Returns the number of rendering streams, for the canvas itself or
+     * for one of its layers, that were replayed into a texture.
+     */
+    public long getReplayCount() {
+        return replayCount;
+    }
+
+    /**
+     * Returns the total number of encoded value bytes that were replayed.
+     */
+    public long getReplayedValueBytes() {
+        return replayedValueBytes;
+    }
+
+    /**
+     * Returns the total number of data objects that were replayed.
+     */
+    public long getReplayedObjectCount() {
+        return replayedObjectCount;
+    }
+
+    /**
+     * Returns the number of times a layer was re-rasterized.
+     */
+    public long getLayerRasterizationCount() {
+        return layerRasterizationCount;
+    }
+
     class RenderInput extends Effect {
         float x, y, w, h;
         int token;
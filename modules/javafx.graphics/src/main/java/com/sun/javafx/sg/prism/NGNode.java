@@ -2359,6 +2359,19 @@ public abstract class NGNode {
         getEffectFilter().render(g);
     }
 
+    /**
+     * Returns an immutable object that is equal to the signature of any other
+     * node whose content renders exactly the same pixels, or {@code null} if
+     * the content of this node cannot be identified that way. Nodes with
+     * equal signatures share the results of equal effects, see
+     * {@link EffectFilter}.
+     *
+     * @return the render signature of the content of this node, or null
+     */
+    protected Object getRenderSignature() {
+        return null;
+    }
+
     protected abstract void renderContent(Graphics g);
 
     protected abstract boolean hasOverlappingContents();
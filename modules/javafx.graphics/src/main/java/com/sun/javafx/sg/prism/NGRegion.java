@@ -53,6 +53,7 @@ import java.util.WeakHashMap;
 import com.sun.glass.ui.Screen;
 import com.sun.javafx.PlatformUtil;
 import com.sun.javafx.application.PlatformImpl;
+import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.Path2D;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.Rectangle;
@@ -73,6 +74,12 @@ import com.sun.prism.impl.PrismSettings;
 import com.sun.prism.paint.ImagePattern;
 import com.sun.prism.paint.Paint;
 import com.sun.prism.PrinterGraphics;
+import com.sun.prism.RoundRectShadowGraphics;
+import com.sun.scenario.effect.AbstractShadow;
+import com.sun.scenario.effect.Color4f;
+import com.sun.scenario.effect.DropShadow;
+import com.sun.scenario.effect.Effect;
+import com.sun.scenario.effect.InnerShadow;
 import com.sun.scenario.effect.Offset;
 
 /**
@@ -543,6 +550,53 @@ public class NGRegion extends NGGroup {
      *                                                                        *
      *************************************************************************/
 
+    /**
+     * The parameters that fully determine the rendering of a region without
+     * a shape, children or images.
+     */
+    private record RenderSignature(Background background, Border border,
+                                   float width, float height) {
+    }
+
+    @Override
+    protected Object getRenderSignature() {
+        if (shape != null || !getChildren().isEmpty() ||
+            hasImages(background) || hasImages(border)) {
+            return null;
+        }
+        return new RenderSignature(background, border, width, height);
+    }
+
+    // Backgrounds and borders only compare their images by identity, but an
+    // image may be animated, still loading or writable, so regions that draw
+    // any image cannot be identified by their background and border.
+    private static boolean hasImages(Background background) {
+        if (!background.getImages().isEmpty()) {
+            return true;
+        }
+        for (BackgroundFill fill : background.getFills()) {
+            if (fill.getFill() instanceof javafx.scene.paint.ImagePattern) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasImages(Border border) {
+        if (!border.getImages().isEmpty()) {
+            return true;
+        }
+        for (BorderStroke stroke : border.getStrokes()) {
+            if (stroke.getTopStroke() instanceof javafx.scene.paint.ImagePattern ||
+                stroke.getRightStroke() instanceof javafx.scene.paint.ImagePattern ||
+                stroke.getBottomStroke() instanceof javafx.scene.paint.ImagePattern ||
+                stroke.getLeftStroke() instanceof javafx.scene.paint.ImagePattern) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override protected void renderContent(Graphics g) {
         // Use Effect to render a 3D transformed Region that does not contain 3D
         // transformed children. This is done in order to render the Region's
@@ -579,6 +633,139 @@ public class NGRegion extends NGGroup {
         super.renderContent(g);
     }
 
+    @Override
+    protected void renderEffect(Graphics g) {
+        if (!(g instanceof RoundRectShadowGraphics) || !renderShadowDirectly((RoundRectShadowGraphics) g)) {
+            super.renderEffect(g);
+        }
+    }
+
+    /**
+     * Renders a drop shadow or an inner shadow of a region whose content is
+     * a single opaque rounded rectangle directly, as the closed form shadow
+     * of that rectangle, instead of rendering the region into an image and
+     * blurring it. Returns false if the region or the effect do not qualify,
+     * in which case nothing has been rendered.
+     */
+    private boolean renderShadowDirectly(RoundRectShadowGraphics g) {
+        if (!g.getTransformNoClone().is2D() || shape != null ||
+            width <= 0 || height <= 0 || !background.getImages().isEmpty() ||
+            !background.getOutsets().equals(Insets.EMPTY) ||
+            !border.getImages().isEmpty() ||
+            !border.getOutsets().equals(Insets.EMPTY))
+        {
+            return false;
+        }
+        final float radius = getOpaqueRectangleRadius();
+        if (Float.isNaN(radius)) {
+            return false;
+        }
+        // Children inside the rectangle inset by the distance from its
+        // corners to their arcs cannot add to the alpha of the content.
+        final float inset = radius * (1f - (float) Math.sqrt(0.5));
+        for (NGNode child : getChildren()) {
+            BaseBounds b = child.transformedBounds;
+            if (!b.isEmpty() &&
+                (b.getMinX() < inset || b.getMinY() < inset ||
+                 b.getMaxX() > width - inset || b.getMaxY() > height - inset))
+            {
+                return false;
+            }
+        }
+
+        final Effect effect = getEffect();
+        final float arc = radius * 2;
+        if (effect instanceof DropShadow shadow) {
+            if (shadow.getShadowMode() != AbstractShadow.ShadowMode.GAUSSIAN ||
+                shadow.getGaussianWidth() != shadow.getGaussianHeight() ||
+                shadow.getSpread() != 0f ||
+                shadow.getShadowSourceInput() != null ||
+                shadow.getContentInput() != null ||
+                !g.canFillRoundRectShadow(width, height, arc, arc, shadow.getRadius()))
+            {
+                return false;
+            }
+            g.setPaint(toPrismColor(shadow.getColor()));
+            g.fillRoundRectShadow(shadow.getOffsetX(), shadow.getOffsetY(), width, height,
+                                  arc, arc, shadow.getRadius(), false);
+            renderContent(g);
+            return true;
+        } else if (effect instanceof InnerShadow shadow) {
+            if (shadow.getShadowMode() != AbstractShadow.ShadowMode.GAUSSIAN ||
+                shadow.getGaussianWidth() != shadow.getGaussianHeight() ||
+                shadow.getChoke() != 0f ||
+                shadow.getOffsetX() != 0 || shadow.getOffsetY() != 0 ||
+                shadow.getShadowSourceInput() != null ||
+                shadow.getContentInput() != null ||
+                !g.canFillRoundRectShadow(width, height, arc, arc, shadow.getRadius()))
+            {
+                return false;
+            }
+            renderContent(g);
+            g.setPaint(toPrismColor(shadow.getColor()));
+            g.fillRoundRectShadow(0, 0, width, height,
+                                  arc, arc, shadow.getRadius(), true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the corner radius of the rounded rectangle that defines the
+     * alpha of this region, or NaN if the alpha is not defined by a single
+     * opaque rounded rectangle. That is the case when the first fill is an
+     * opaque color that covers the region with uniform corner radii and all
+     * other fills and strokes lie inside of it.
+     */
+    private float getOpaqueRectangleRadius() {
+        final List<BackgroundFill> fills = background.getFills();
+        if (fills.isEmpty()) {
+            return Float.NaN;
+        }
+        final BackgroundFill first = fills.get(0);
+        final CornerRadii radii = getNormalizedFillRadii(0);
+        if (!(first.getFill() instanceof Color c) || !c.isOpaque() ||
+            !first.getInsets().equals(Insets.EMPTY) ||
+            !isUniformAbsolute(radii))
+        {
+            return Float.NaN;
+        }
+        final double r = radii.getTopLeftHorizontalRadius();
+        for (int i = 1; i < fills.size(); i++) {
+            if (!isInside(fills.get(i).getInsets(), getNormalizedFillRadii(i), r)) {
+                return Float.NaN;
+            }
+        }
+        for (BorderStroke stroke : border.getStrokes()) {
+            if (!isInside(stroke.getInsets(), stroke.getRadii(), r)) {
+                return Float.NaN;
+            }
+        }
+        return (float) r;
+    }
+
+    private static boolean isUniformAbsolute(CornerRadii radii) {
+        return radii.isUniform() && !radii.isTopLeftHorizontalRadiusAsPercentage();
+    }
+
+    /**
+     * A rectangle with uniform corner radii {@code r2} inset by at least
+     * {@code r - r2} lies inside of the rectangle with corner radii r.
+     */
+    private static boolean isInside(Insets insets, CornerRadii radii, double r) {
+        if (!isUniformAbsolute(radii)) {
+            return false;
+        }
+        final double min = Math.max(0, r - radii.getTopLeftHorizontalRadius());
+        return insets.getTop() >= min && insets.getRight() >= min &&
+               insets.getBottom() >= min && insets.getLeft() >= min;
+    }
+
+    private static com.sun.prism.paint.Color toPrismColor(Color4f color) {
+        return new com.sun.prism.paint.Color(color.getRed(), color.getGreen(),
+                                             color.getBlue(), color.getAlpha());
+    }
+
     /**************************************************************************
      *                                                                        *
      * Drawing a region background and borders when the Region has been       *
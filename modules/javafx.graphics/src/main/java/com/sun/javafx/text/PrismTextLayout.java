@@ -25,11 +25,11 @@
 
 package com.sun.javafx.text;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.text.Bidi;
 import java.text.BreakIterator;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Hashtable;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.PathElement;
@@ -58,17 +58,29 @@ public class PrismTextLayout implements TextLayout {
     private static final int X_MAX_INDEX = 2;
     private static final int Y_MAX_INDEX = 3;
 
-    private static final Hashtable<Integer, LayoutCache> stringCache = new Hashtable<>();
-    private static final Object  CACHE_SIZE_LOCK = new Object();
-    private static int cacheSize = 0;
     private static final int MAX_STRING_SIZE = 256;
-    private static final int MAX_CACHE_SIZE = PrismFontFactory.cacheLayoutSize;
+    private static final TextLayoutCache stringCache =
+            new TextLayoutCache((long) PrismFontFactory.cacheLayoutSize * TextLayoutCache.BYTES_PER_CHAR);
+
+    @SuppressWarnings("removal")
+    private static final boolean PRINT_CACHE_STATS = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean("prism.printLayoutCacheStats"));
+
+    static {
+        if (PRINT_CACHE_STATS && stringCache.isEnabled()) {
+            @SuppressWarnings("removal")
+            var dummy = AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+                Runtime.getRuntime().addShutdownHook(new Thread(stringCache::printStats));
+                return null;
+            });
+        }
+    }
 
     private char[] text;
     private TextSpan[] spans;   /* Rich text  (null for single font text) */
     private PGFont font;        /* Single font text (null for rich text) */
     private FontStrike strike;  /* cached strike of font (identity) */
-    private Integer cacheKey;
+    private boolean cacheable;
     private TextLine[] lines;
     private TextRun[] runs;
     private int runCount;
@@ -127,7 +139,7 @@ public class PrismTextLayout implements TextLayout {
         this.font = null;
         this.strike = null;
         this.text = null;   /* Initialized in getText() */
-        this.cacheKey = null;
+        this.cacheable = false;
         return true;
     }
 
@@ -138,12 +150,8 @@ public class PrismTextLayout implements TextLayout {
         this.font = (PGFont)font;
         this.strike = ((PGFont)font).getStrike(IDENTITY);
         this.text = text.toCharArray();
-        if (MAX_CACHE_SIZE > 0) {
-            int length = text.length();
-            if (0 < length && length <= MAX_STRING_SIZE) {
-                cacheKey = text.hashCode() * strike.hashCode();
-            }
-        }
+        int length = text.length();
+        cacheable = stringCache.isEnabled() && 0 < length && length <= MAX_STRING_SIZE;
         return true;
     }
 
@@ -726,11 +734,16 @@ public class PrismTextLayout implements TextLayout {
         return wrapWidth != 0 || align != ALIGN_LEFT || boundsType == 0 || isMirrored();
     }
 
+    /* The flags that affect the shaping and line metrics of a cached layout */
+    private int getCacheFlags() {
+        return flags & (DIRECTION_MASK | BOUNDS_MASK);
+    }
+
     private void initCache() {
-        if (cacheKey != null) {
+        if (cacheable) {
             if (layoutCache == null) {
-                LayoutCache cache = stringCache.get(cacheKey);
-                if (cache != null && cache.font.equals(font) && Arrays.equals(cache.text, text)) {
+                LayoutCache cache = stringCache.get(text, font, getCacheFlags());
+                if (cache != null) {
                     layoutCache = cache;
                     runs = cache.runs;
                     runCount = cache.runCount;
@@ -1459,7 +1472,7 @@ public class PrismTextLayout implements TextLayout {
 
 
         if (layoutCache != null) {
-            if (cacheKey != null && !layoutCache.valid && !copyCache()) {
+            if (cacheable && !layoutCache.valid && !copyCache()) {
                 /* After layoutCache is added to the stringCache it can be
                  * accessed by multiple threads. All the data in it must
                  * be immutable. See copyCache() for the cases where the entire
@@ -1473,15 +1486,7 @@ public class PrismTextLayout implements TextLayout {
                 layoutCache.layoutWidth = layoutWidth;
                 layoutCache.layoutHeight = layoutHeight;
                 layoutCache.analysis = flags & ANALYSIS_MASK;
-                synchronized (CACHE_SIZE_LOCK) {
-                    int charCount = chars.length;
-                    if (cacheSize + charCount > MAX_CACHE_SIZE) {
-                        stringCache.clear();
-                        cacheSize = 0;
-                    }
-                    stringCache.put(cacheKey, layoutCache);
-                    cacheSize += charCount;
-                }
+                stringCache.put(text, font, getCacheFlags(), layoutCache);
             }
             layoutCache.valid = true;
         }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.text;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.sun.javafx.font.PGFont;
+
+/**
+ * A process wide, size bounded cache of shaped text shared by all the
+ * {@link PrismTextLayout} instances. Entries are keyed by the text, the font,
+ * the font features and the layout flags that affect shaping (direction and
+ * bounds type), and are evicted in least recently used order once the
+ * estimated memory used by the cached glyphs, advances, runs and lines
+ * exceeds the budget.
+ *
+ * The cached {@code LayoutCache} instances are shared among threads and must
+ * be treated as immutable once they have been added to the cache.
+ */
+public final class TextLayoutCache {
+
+    /* Rough per object costs used to account for runs and lines, which are
+     * not backed by arrays sized by the text length.
+     */
+    static final int ENTRY_OVERHEAD = 96;
+    static final int RUN_OVERHEAD = 80;
+    static final int LINE_OVERHEAD = 64;
+
+    /* Bytes needed per character of text: the char itself plus one glyph
+     * code and one advance.
+     */
+    public static final int BYTES_PER_CHAR = Character.BYTES + Integer.BYTES + Float.BYTES;
+
+    private final LinkedHashMap<Key, LayoutCache> map = new LinkedHashMap<>(64, 0.75f, true);
+    private final long maxBytes;
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache that holds at most {@code maxBytes} of estimated
+     * layout data. A budget of zero disables the cache.
+     */
+    public TextLayoutCache(long maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    LayoutCache get(char[] text, PGFont font, int flags) {
+        return get(new Key(text, font, flags));
+    }
+
+    synchronized LayoutCache get(Key key) {
+        LayoutCache cache = map.get(key);
+        if (cache != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return cache;
+    }
+
+    void put(char[] text, PGFont font, int flags, LayoutCache cache) {
+        put(new Key(text, font, flags), cache);
+    }
+
+    synchronized void put(Key key, LayoutCache cache) {
+        long size = estimateSize(cache);
+        if (size > maxBytes) return;
+        LayoutCache old = map.put(key, cache);
+        if (old != null) {
+            bytes -= estimateSize(old);
+        }
+        bytes += size;
+        Iterator<Map.Entry<Key, LayoutCache>> it = map.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            Map.Entry<Key, LayoutCache> eldest = it.next();
+            if (eldest.getValue() == cache) continue;
+            bytes -= estimateSize(eldest.getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        bytes = 0;
+    }
+
+    public synchronized int getEntryCount() {
+        return map.size();
+    }
+
+    /**
+     * Returns the estimated number of bytes held by the cached layouts.
+     */
+    public synchronized long getByteCount() {
+        return bytes;
+    }
+
+    public long getMaxByteCount() {
+        return maxBytes;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized void resetStatistics() {
+        hits = misses = evictions = 0;
+    }
+
+    /**
+     * Prints the size and the counters of the cache, which the text layouts
+     * do at shutdown when {@code -Dprism.printLayoutCacheStats=true} is set.
+     */
+    synchronized void printStats() {
+        long lookups = hits + misses;
+        System.err.println("TextLayoutCache: " + map.size() + " entries, " +
+                           bytes + " / " + maxBytes + " bytes, " +
+                           hits + " hits, " + misses + " misses (" +
+                           (lookups == 0 ? 0 : (hits * 100 / lookups)) + "% hit rate), " +
+                           evictions + " evictions");
+    }
+
+    static long estimateSize(LayoutCache cache) {
+        long size = ENTRY_OVERHEAD;
+        if (cache.text != null) size += (long) cache.text.length * Character.BYTES;
+        if (cache.glyphs != null) size += (long) cache.glyphs.length * Integer.BYTES;
+        if (cache.advances != null) size += (long) cache.advances.length * Float.BYTES;
+        size += (long) cache.runCount * RUN_OVERHEAD;
+        if (cache.lines != null) size += (long) cache.lines.length * LINE_OVERHEAD;
+        return size;
+    }
+
+    static final class Key {
+        private final char[] text;
+        private final PGFont font;
+        private final int features;
+        private final int flags;
+        private final int hash;
+
+        /**
+         * The text array is not copied, callers must not modify it after the
+         * key is created.
+         */
+        Key(char[] text, PGFont font, int flags) {
+            this.text = text;
+            this.font = font;
+            this.features = font.getFeatures();
+            this.flags = flags;
+            int h = Arrays.hashCode(text);
+            h = 31 * h + font.hashCode();
+            h = 31 * h + features;
+            h = 31 * h + flags;
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return hash == other.hash &&
+                   flags == other.flags &&
+                   features == other.features &&
+                   font.equals(other.font) &&
+                   Arrays.equals(text, other.text);
+        }
+    }
+}
@@ -26,6 +26,7 @@
 package com.sun.javafx.tk;
 
 import javafx.geometry.Dimension2D;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import javafx.scene.input.Dragboard;
 import javafx.scene.input.InputMethodRequests;
@@ -122,17 +123,17 @@ final public class DummyToolkit extends Toolkit {
     }
 
     @Override
-    public ImageLoader loadImage(String url, double width, double height, boolean preserveRatio, boolean smooth) {
+    public ImageLoader loadImage(String url, Rectangle2D viewport, double width, double height, boolean preserveRatio, boolean smooth) {
         throw new UnsupportedOperationException("Not supported yet.");
     }
 
     @Override
-    public ImageLoader loadImage(InputStream stream, double width, double height, boolean preserveRatio, boolean smooth) {
+    public ImageLoader loadImage(InputStream stream, Rectangle2D viewport, double width, double height, boolean preserveRatio, boolean smooth) {
         throw new UnsupportedOperationException("Not supported yet.");
     }
 
     @Override
-    public AsyncOperation loadImageAsync(AsyncOperationListener<? extends ImageLoader> listener, String url, double width, double height, boolean preserveRatio, boolean smooth) {
+    public AsyncOperation loadImageAsync(AsyncOperationListener<? extends ImageLoader> listener, String url, Rectangle2D viewport, double width, double height, boolean preserveRatio, boolean smooth) {
         throw new UnsupportedOperationException("Not supported yet.");
     }
 
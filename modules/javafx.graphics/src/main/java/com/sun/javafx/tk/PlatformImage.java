@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -102,4 +102,15 @@ public interface PlatformImage {
                           PixelReader reader, int srcx, int srcy);
 
     public void bufferDirty(Rectangle rect);
+
+    /**
+     * Notifies this image that its pixels are now stored in the given
+     * buffer, which has the same size and format as the current buffer and
+     * may be the current buffer itself, and that the given regions changed.
+     *
+     * @param buffer the buffer that holds the pixels of this image
+     * @param dirtyRegions the regions that changed, or {@code null} if the
+     *        whole image changed
+     */
+    public void bufferDirty(Buffer buffer, Rectangle[] dirtyRegions);
 }
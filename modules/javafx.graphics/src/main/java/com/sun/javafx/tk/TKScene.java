@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -58,6 +58,21 @@ public interface TKScene {
      */
     public void releaseSynchronization(boolean updateState);
 
+    /**
+     * Acquires the synchronization lock if the render thread is available,
+     * returning false without waiting if the toolkit allows the
+     * synchronization of this pulse to be deferred while the previous frame
+     * is still being rendered. When this method returns true, the caller has
+     * the lock and must call releaseSynchronization.
+     *
+     * @return true if the lock was acquired
+     */
+    public default boolean trySynchronization() {
+        waitForRenderingToComplete();
+        waitForSynchronization();
+        return true;
+    }
+
     public void setTKSceneListener(TKSceneListener listener);
     public void setTKScenePaintListener(final TKScenePaintListener listener);
 
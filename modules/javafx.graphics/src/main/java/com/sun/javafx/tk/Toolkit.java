@@ -28,6 +28,7 @@ package com.sun.javafx.tk;
 import javafx.application.ConditionalFeature;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.geometry.Dimension2D;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.effect.BlurType;
 import javafx.scene.image.Image;
 import javafx.scene.image.PixelFormat;
@@ -560,17 +561,24 @@ public abstract class Toolkit {
 
     public abstract Future addRenderJob(RenderJob rj);
 
+    /*
+     * The viewport, if not null, is the region of the image to load in image
+     * coordinates; the requested size applies to the viewport.
+     */
     public abstract ImageLoader loadImage(String url,
+                                          Rectangle2D viewport,
                                           double width, double height,
                                           boolean preserveRatio,
                                           boolean smooth);
     public abstract ImageLoader loadImage(InputStream stream,
+                                          Rectangle2D viewport,
                                           double width, double height,
                                           boolean preserveRatio,
                                           boolean smooth);
     public abstract AsyncOperation loadImageAsync(
                                           AsyncOperationListener<? extends ImageLoader> listener,
                                           String url,
+                                          Rectangle2D viewport,
                                           double width, double height,
                                           boolean preserveRatio,
                                           boolean smooth);
@@ -592,6 +600,11 @@ public abstract class Toolkit {
     // Subclasses may override this to provide a platform-specific default
     public boolean getDefaultImageSmooth() { return true; }
 
+    // Runs the runnable while no scene is being rendered, so that it can
+    // replace data that the renderer reads, such as the buffer of an image.
+    // Toolkits that render on a separate thread must override this method.
+    public void runWhileNotRendering(Runnable runnable) { runnable.run(); }
+
     public abstract void startup(Runnable runnable);
     public abstract void defer(Runnable runnable);
     public void exit() {
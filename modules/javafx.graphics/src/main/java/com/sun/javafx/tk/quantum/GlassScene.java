@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -131,6 +131,30 @@ abstract class GlassScene implements TKScene {
         ViewPainter.renderLock.lock();
     }
 
+    /*
+     * The maximum number of consecutive pulses for which synchronization may
+     * be deferred, after which the FX thread waits for the render thread so
+     * that a busy renderer cannot starve the scene of updates.
+     */
+    private static final int MAX_DEFERRED_SYNCS = 2;
+    private int deferredSyncs;
+
+    @Override
+    public boolean trySynchronization() {
+        if (QuantumToolkit.deferredSync && deferredSyncs < MAX_DEFERRED_SYNCS) {
+            if (!PaintCollector.getInstance().isRenderingComplete() ||
+                    !ViewPainter.renderLock.tryLock()) {
+                deferredSyncs++;
+                return false;
+            }
+        } else {
+            waitForRenderingToComplete();
+            waitForSynchronization();
+        }
+        deferredSyncs = 0;
+        return true;
+    }
+
     @Override
     public void releaseSynchronization(boolean updateState) {
         // The UI thread has just synchronized the render tree and
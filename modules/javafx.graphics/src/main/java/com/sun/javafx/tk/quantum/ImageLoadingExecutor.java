@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.tk.quantum;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the background image loading tasks on a bounded number of threads.
+ * Tasks that cannot start right away wait in a queue which is served last in
+ * first out by default, so that the images requested most recently, typically
+ * those of the cells that just scrolled into view, are loaded first. Tasks
+ * that are cancelled while queued are removed from the queue.
+ *
+ * The executor is configured with the following system properties:
+ * <ul>
+ * <li>{@code javafx.image.loader.threads}: the maximum number of images
+ * loaded at the same time, 4 or the number of processors if smaller
+ * <li>{@code javafx.image.loader.order}: {@code lifo} (default) or
+ * {@code fifo}
+ * <li>{@code javafx.image.loader.virtualThreads}: run the tasks on virtual
+ * threads, so that a task blocked on network I/O does not hold a platform
+ * thread; the number of concurrent tasks is still bounded
+ * <li>{@code javafx.image.loader.showstats}: print the queue and load time
+ * statistics on exit
+ * </ul>
+ */
+final class ImageLoadingExecutor {
+
+    @SuppressWarnings("removal")
+    static final int THREADS = AccessController.doPrivileged((PrivilegedAction<Integer>) () ->
+            Math.max(1, Integer.getInteger("javafx.image.loader.threads",
+                                           Math.min(4, Runtime.getRuntime().availableProcessors()))));
+
+    @SuppressWarnings("removal")
+    static final boolean LIFO = AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+            !"fifo".equalsIgnoreCase(System.getProperty("javafx.image.loader.order")));
+
+    @SuppressWarnings("removal")
+    static final boolean VIRTUAL_THREADS = AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+            Boolean.getBoolean("javafx.image.loader.virtualThreads"));
+
+    @SuppressWarnings("removal")
+    private static final boolean SHOW_STATS = AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+            Boolean.getBoolean("javafx.image.loader.showstats"));
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    ImageLoadingExecutor(int threads, boolean lifo, ThreadFactory threadFactory) {
+        BlockingQueue<Runnable> queue;
+        if (lifo) {
+            // ThreadPoolExecutor queues with offer() and takes from the head
+            queue = new LinkedBlockingDeque<>() {
+                @Override
+                public boolean offer(Runnable r) {
+                    return offerFirst(r);
+                }
+            };
+        } else {
+            queue = new LinkedBlockingQueue<>();
+        }
+        executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS,
+                                          queue, threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+
+        if (SHOW_STATS) {
+            @SuppressWarnings("removal")
+            var dummy = AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+                Runtime.getRuntime().addShutdownHook(new Thread(this::printStats));
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Queues the future, the returned task must be passed to
+     * {@link #remove(Task)} when the future is cancelled.
+     */
+    Task submit(RunnableFuture<?> future) {
+        Task task = new Task(future);
+        submitted.increment();
+        executor.execute(task);
+        peakQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+        return task;
+    }
+
+    /**
+     * Removes a cancelled task from the queue. Has no effect if the task has
+     * already started.
+     */
+    void remove(Task task) {
+        if (executor.remove(task)) {
+            cancelled.increment();
+        }
+    }
+
+    int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    int getPeakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    long getCompletedCount() {
+        return completed.sum();
+    }
+
+    long getCancelledCount() {
+        return cancelled.sum();
+    }
+
+    /**
+     * Returns the total time spent by the completed tasks in the queue.
+     */
+    long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * Returns the total time spent reading and decoding by the completed
+     * tasks.
+     */
+    long getLoadNanos() {
+        return loadNanos.sum();
+    }
+
+    void printStats() {
+        long done = getCompletedCount();
+        System.err.println("ImageLoadingExecutor: " + THREADS + " threads, " +
+                           (LIFO ? "LIFO" : "FIFO") + (VIRTUAL_THREADS ? ", virtual" : ""));
+        System.err.println("  images submitted:  " + getSubmittedCount());
+        System.err.println("  images loaded:     " + done);
+        System.err.println("  images cancelled:  " + getCancelledCount());
+        System.err.println("  peak queue depth:  " + getPeakQueueDepth());
+        if (done > 0) {
+            System.err.printf("  avg wait:          %.2f ms%n", getWaitNanos() / 1e6 / done);
+            System.err.printf("  avg load:          %.2f ms%n", getLoadNanos() / 1e6 / done);
+        }
+    }
+
+    final class Task implements Runnable {
+        private final RunnableFuture<?> future;
+        private final long submitTime = System.nanoTime();
+
+        private Task(RunnableFuture<?> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            if (future.isCancelled()) {
+                cancelled.increment();
+                return;
+            }
+            long start = System.nanoTime();
+            future.run();
+            if (future.isCancelled()) {
+                // cancelled while loading, or nobody was waiting for it
+                cancelled.increment();
+            } else {
+                completed.increment();
+                waitNanos.add(start - submitTime);
+                loadNanos.add(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -146,6 +146,14 @@ final class PaintCollector implements CompletionListener {
         toolkit  = qt;
     }
 
+    /**
+     * Gets whether all the rendering requested by the last renderAll call
+     * has completed.
+     */
+    boolean isRenderingComplete() {
+        return allWorkCompletedLatch.getCount() == 0;
+    }
+
     /**
      * Called by renderAll to wait for rendering to complete before
      * continuing.
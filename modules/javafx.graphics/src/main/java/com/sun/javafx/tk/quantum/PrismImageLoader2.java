@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,7 @@ package com.sun.javafx.tk.quantum;
 import java.io.IOException;
 import java.io.InputStream;
 
+import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.iio.ImageFrame;
 import com.sun.javafx.iio.ImageLoadListener;
 import com.sun.javafx.iio.ImageLoader;
@@ -45,11 +46,8 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import javafx.geometry.Rectangle2D;
 import com.sun.javafx.logging.PlatformLogger;
 
 class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
@@ -64,17 +62,27 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
     private float pixelScale;
     private Exception exception;
 
-    public PrismImageLoader2(String url, double width, double height,
+    public PrismImageLoader2(String url, Rectangle2D viewport,
+                             double width, double height,
                              boolean preserveRatio, float pixelScale,
                              boolean smooth)
     {
-        loadAll(url, width, height, preserveRatio, pixelScale, smooth);
+        loadAll(url, toRectBounds(viewport), width, height, preserveRatio, pixelScale, smooth);
     }
 
-    public PrismImageLoader2(InputStream stream, double width, double height,
+    public PrismImageLoader2(InputStream stream, Rectangle2D viewport,
+                             double width, double height,
                              boolean preserveRatio, boolean smooth)
     {
-        loadAll(stream, width, height, preserveRatio, smooth);
+        loadAll(stream, toRectBounds(viewport), width, height, preserveRatio, smooth);
+    }
+
+    private static RectBounds toRectBounds(Rectangle2D viewport) {
+        if (viewport == null) {
+            return null;
+        }
+        return new RectBounds((float) viewport.getMinX(), (float) viewport.getMinY(),
+                              (float) viewport.getMaxX(), (float) viewport.getMaxY());
     }
 
     @Override
@@ -124,14 +132,14 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         return exception;
     }
 
-    private void loadAll(String url, double w, double h,
+    private void loadAll(String url, RectBounds viewport, double w, double h,
                          boolean preserveRatio, float pixelScale,
                          boolean smooth)
     {
         ImageLoadListener listener = new PrismLoadListener();
         try {
             ImageFrame[] imgFrames =
-                ImageStorage.getInstance().loadAll(url, listener, w, h, preserveRatio, pixelScale, smooth);
+                ImageStorage.getInstance().loadAll(url, listener, viewport, w, h, preserveRatio, pixelScale, smooth);
             convertAll(imgFrames);
         } catch (ImageStorageException e) {
             handleException(e);
@@ -140,13 +148,13 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         }
     }
 
-    private void loadAll(InputStream stream, double w, double h,
+    private void loadAll(InputStream stream, RectBounds viewport, double w, double h,
                          boolean preserveRatio, boolean smooth)
     {
         ImageLoadListener listener = new PrismLoadListener();
         try {
             ImageFrame[] imgFrames =
-                ImageStorage.getInstance().loadAll(stream, listener, w, h, preserveRatio, 1.0f, smooth);
+                ImageStorage.getInstance().loadAll(stream, listener, viewport, w, h, preserveRatio, 1.0f, smooth);
             convertAll(imgFrames);
         } catch (ImageStorageException e) {
             handleException(e);
@@ -235,12 +243,15 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
     static final class AsyncImageLoader
         extends AbstractRemoteResource<PrismImageLoader2>
     {
-        private static final ExecutorService BG_LOADING_EXECUTOR =
+        private static final ImageLoadingExecutor BG_LOADING_EXECUTOR =
                 createExecutor();
 
+        private ImageLoadingExecutor.Task task;
+
         @SuppressWarnings("removal")
         private final AccessControlContext acc;
 
+        Rectangle2D viewport;
         double width, height;
         boolean preserveRatio;
         boolean smooth;
@@ -248,10 +259,11 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         @SuppressWarnings("removal")
         public AsyncImageLoader(
                 AsyncOperationListener<PrismImageLoader2> listener,
-                String url,
+                String url, Rectangle2D viewport,
                 double width, double height, boolean preserveRatio, boolean smooth)
         {
             super(url, listener);
+            this.viewport = viewport;
             this.width = width;
             this.height = height;
             this.preserveRatio = preserveRatio;
@@ -261,7 +273,7 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
 
         @Override
         protected PrismImageLoader2 processStream(InputStream stream) throws IOException {
-            return new PrismImageLoader2(stream, width, height, preserveRatio, smooth);
+            return new PrismImageLoader2(stream, viewport, width, height, preserveRatio, smooth);
         }
 
         @SuppressWarnings("removal")
@@ -282,11 +294,25 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
         }
 
         @Override
-        public void start() {
-            BG_LOADING_EXECUTOR.execute(future);
+        public synchronized void start() {
+            task = BG_LOADING_EXECUTOR.submit(future);
+        }
+
+        @Override
+        public synchronized void cancel() {
+            super.cancel();
+            if (task != null) {
+                BG_LOADING_EXECUTOR.remove(task);
+            }
         }
 
-        private static ExecutorService createExecutor() {
+        private static ImageLoadingExecutor createExecutor() {
+            if (ImageLoadingExecutor.VIRTUAL_THREADS) {
+                return new ImageLoadingExecutor(ImageLoadingExecutor.THREADS,
+                        ImageLoadingExecutor.LIFO,
+                        Thread.ofVirtual().name("Background image loading thread ", 0).factory());
+            }
+
             @SuppressWarnings("removal")
             final ThreadGroup bgLoadingThreadGroup =
                     AccessController.doPrivileged(
@@ -310,12 +336,8 @@ class PrismImageLoader2 implements com.sun.javafx.tk.ImageLoader {
                             }
                     );
 
-            final ExecutorService bgLoadingExecutor =
-                    Executors.newCachedThreadPool(bgLoadingThreadFactory);
-            ((ThreadPoolExecutor) bgLoadingExecutor).setKeepAliveTime(
-                                                         1, TimeUnit.SECONDS);
-
-            return bgLoadingExecutor;
+            return new ImageLoadingExecutor(ImageLoadingExecutor.THREADS,
+                    ImageLoadingExecutor.LIFO, bgLoadingThreadFactory);
         }
     }
 }
@@ -27,6 +27,7 @@ package com.sun.javafx.tk.quantum;
 
 import javafx.application.ConditionalFeature;
 import javafx.geometry.Dimension2D;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import javafx.scene.image.PixelBuffer;
 import javafx.scene.input.Dragboard;
@@ -158,6 +159,16 @@ public final class QuantumToolkit extends Toolkit {
                 return result;
             });
 
+    /*
+     * When enabled, a pulse that finds the render thread still busy with the
+     * previous frame does not wait for it: the scene graph stays dirty and is
+     * synchronized on one of the following pulses instead, so that the FX
+     * thread can keep running animations, CSS and layout in the meantime.
+     */
+    @SuppressWarnings("removal")
+    static final boolean deferredSync =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("quantum.deferredsync"));
+
     @SuppressWarnings("removal")
     private static boolean debug =
             AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("quantum.debug"));
@@ -806,19 +817,20 @@ public final class QuantumToolkit extends Toolkit {
         return _maxPixelScale;
     }
 
-    @Override public ImageLoader loadImage(String url, double width, double height, boolean preserveRatio, boolean smooth) {
-        return new PrismImageLoader2(url, width, height, preserveRatio, getMaxRenderScale(), smooth);
+    @Override public ImageLoader loadImage(String url, Rectangle2D viewport, double width, double height,
+                                           boolean preserveRatio, boolean smooth) {
+        return new PrismImageLoader2(url, viewport, width, height, preserveRatio, getMaxRenderScale(), smooth);
     }
 
-    @Override public ImageLoader loadImage(InputStream stream, double width, double height,
+    @Override public ImageLoader loadImage(InputStream stream, Rectangle2D viewport, double width, double height,
                                            boolean preserveRatio, boolean smooth) {
-        return new PrismImageLoader2(stream, width, height, preserveRatio, smooth);
+        return new PrismImageLoader2(stream, viewport, width, height, preserveRatio, smooth);
     }
 
     @Override public AbstractRemoteResource<? extends ImageLoader> loadImageAsync(
-            AsyncOperationListener listener, String url,
+            AsyncOperationListener listener, String url, Rectangle2D viewport,
             double width, double height, boolean preserveRatio, boolean smooth) {
-        return new PrismImageLoader2.AsyncImageLoader(listener, url, width, height, preserveRatio, smooth);
+        return new PrismImageLoader2.AsyncImageLoader(listener, url, viewport, width, height, preserveRatio, smooth);
     }
 
     // Note that this method should only be called by PlatformImpl.runLater
@@ -826,6 +838,13 @@ public final class QuantumToolkit extends Toolkit {
     // glass invokeLater method is not thread-safe with respect to toolkit
     // shutdown. Calling Platform.runLater *is* thread-safe even when the
     // toolkit is shutting down.
+    @Override public void runWhileNotRendering(Runnable runnable) {
+        runWithRenderLock(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
     @Override public void defer(Runnable runnable) {
         if (!toolkitRunning.get()) return;
 
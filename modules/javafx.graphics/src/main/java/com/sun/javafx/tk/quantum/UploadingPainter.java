@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,8 +25,13 @@
 
 package com.sun.javafx.tk.quantum;
 
+import java.lang.ref.WeakReference;
 import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import com.sun.glass.ui.Pixels;
+import com.sun.javafx.geom.Rectangle;
 import com.sun.prism.Graphics;
 import com.sun.prism.GraphicsPipeline;
 import com.sun.prism.RTTexture;
@@ -48,6 +53,23 @@ final class UploadingPainter extends ViewPainter {
     private QueuedPixelSource pixelSource = new QueuedPixelSource(true);
     private float penScaleX, penScaleY;
 
+    /*
+     * The pixels objects handed out by the pixelSource, along with the area of
+     * each of them that is out of date with respect to the render target. When
+     * the render target exposes its pixels directly (as the SW pipeline does)
+     * only that area needs to be copied on the next upload.
+     */
+    private final List<StalePixels> stalePixels = new ArrayList<>(3);
+
+    private static final class StalePixels {
+        final WeakReference<Pixels> pixels;
+        final Rectangle stale = new Rectangle();
+
+        StalePixels(Pixels pixels) {
+            this.pixels = new WeakReference<>(pixels);
+        }
+    }
+
     UploadingPainter(GlassScene view) {
         super(view);
     }
@@ -160,8 +182,10 @@ final class UploadingPainter extends ViewPainter {
             int rawbits[] = rtt.getPixels();
 
             if (rawbits != null) {
-                bits.put(rawbits, 0, outWidth * outHeight);
+                copyPixels(pix, rawbits, outWidth, outHeight, rtt == rttexture && !paintedEverything);
             } else {
+                // The whole frame is read back, there is nothing to track
+                stalePixels.clear();
                 if (!rtt.readPixels(bits)) {
                     /* device lost */
                     sceneState.getScene().entireSceneNeedsRepaint();
@@ -205,6 +229,64 @@ final class UploadingPainter extends ViewPainter {
         }
     }
 
+    /**
+     * Copies the rendered frame into the given pixels. When the frame was only
+     * partially repainted, only the area of the pixels that has changed since
+     * they were last filled is copied.
+     */
+    private void copyPixels(Pixels pix, int[] rawbits, int width, int height, boolean partial) {
+        IntBuffer bits = (IntBuffer) pix.getPixels();
+        StalePixels target = null;
+        Iterator<StalePixels> it = stalePixels.iterator();
+        while (it.hasNext()) {
+            StalePixels sp = it.next();
+            Pixels p = sp.pixels.get();
+            if (p == null) {
+                it.remove();
+                continue;
+            }
+            if (p == pix) {
+                target = sp;
+            } else if (!partial) {
+                sp.stale.setBounds(0, 0, width, height);
+            } else if (sp.stale.isEmpty()) {
+                sp.stale.setBounds(paintedBounds);
+            } else {
+                sp.stale.add(paintedBounds);
+            }
+        }
+
+        if (target == null || !partial) {
+            bits.put(rawbits, 0, width * height);
+            if (target == null) {
+                stalePixels.add(new StalePixels(pix));
+            } else {
+                target.stale.setBounds(0, 0, 0, 0);
+            }
+            return;
+        }
+
+        Rectangle r = target.stale;
+        if (r.isEmpty()) {
+            r.setBounds(paintedBounds);
+        } else {
+            r.add(paintedBounds);
+        }
+        r.intersectWith(new Rectangle(width, height));
+        if (!r.isEmpty()) {
+            if (r.x == 0 && r.width == width) {
+                int offset = r.y * width;
+                bits.put(offset, rawbits, offset, r.height * width);
+            } else {
+                for (int y = r.y; y < r.y + r.height; y++) {
+                    int offset = y * width + r.x;
+                    bits.put(offset, rawbits, offset, r.width);
+                }
+            }
+        }
+        r.setBounds(0, 0, 0, 0);
+    }
+
     private RTTexture resolveRenderTarget(Graphics g, int width, int height) {
         if (resolveRTT != null) {
             resolveRTT.lock();
@@ -123,6 +123,16 @@ abstract class ViewPainter implements Runnable {
      */
     private RTTexture sceneBuffer;
 
+    /**
+     * The device space bounds of what the last call to paintImpl repainted.
+     * Only meaningful when paintedEverything is false, in which case pixels
+     * outside of these bounds still hold the content of the previous frame,
+     * so painters that copy the rendered frame somewhere else may restrict
+     * the copy to these bounds.
+     */
+    protected final Rectangle paintedBounds = new Rectangle();
+    protected boolean paintedEverything = true;
+
     protected ViewPainter(GlassScene gs) {
         sceneState = gs.getSceneState();
         if (sceneState == null) {
@@ -137,7 +147,8 @@ abstract class ViewPainter implements Runnable {
             clip = new RectBounds();
             dirtyRect = new Rectangle();
             dirtyRegionTemp = new RectBounds();
-            dirtyRegionPool = new DirtyRegionPool(PrismSettings.dirtyRegionCount);
+            dirtyRegionPool = new DirtyRegionPool(PrismSettings.dirtyRegionCount,
+                                                  PrismSettings.dirtyRegionMergeThreshold);
             dirtyRegionContainer = dirtyRegionPool.checkOut();
         }
     }
@@ -163,6 +174,9 @@ abstract class ViewPainter implements Runnable {
     }
 
     protected void paintImpl(final Graphics backBufferGraphics) {
+        paintedEverything = true;
+        paintedBounds.setBounds(0, 0, 0, 0);
+
         // We should not be painting anything with a width / height
         // that is <= 0, so we might as well bail right off.
         if (width <= 0 || height <= 0 || backBufferGraphics == null) {
@@ -263,6 +277,8 @@ abstract class ViewPainter implements Runnable {
             // NGNode know whether they ought to be paying attention to dirty region
             // culling bits.
             g.setHasPreCullingBits(true);
+            // The dirty opts overlays are drawn over the whole back buffer
+            paintedEverything = showDirtyOpts;
 
             // Find the render roots. There is a different render root for each dirty region
             if (PULSE_LOGGING_ENABLED) {
@@ -318,6 +334,11 @@ abstract class ViewPainter implements Runnable {
                     dirtyRect.height = (int) Math.ceil (dirtyRegion.getMaxY() * pixelScaleY) - y0;
                     g.setClipRect(dirtyRect);
                     g.setClipRectIndex(i);
+                    if (paintedBounds.isEmpty()) {
+                        paintedBounds.setBounds(dirtyRect);
+                    } else {
+                        paintedBounds.add(dirtyRect);
+                    }
                     doPaint(g, getRootPath(i));
                     getRootPath(i).clear();
                 }
@@ -352,6 +373,7 @@ abstract class ViewPainter implements Runnable {
             }
 
             if (PrismSettings.showOverdraw) {
+                reportDirtyRegionMetrics(dirtyRegionSize);
                 // We are going to show the overdraw rectangles.
                 if (dirtyRegionSize > 0) {
                     // In this case we have dirty regions, so we will iterate over them all
@@ -393,6 +415,28 @@ abstract class ViewPainter implements Runnable {
         root.clearDirty();
     }
 
+    /**
+     * Reports how much of the scene was repainted for the current frame, and
+     * how much of that area was only repainted because dirty regions had to
+     * be merged (either because they overlapped, or because there were more
+     * of them than PrismSettings.dirtyRegionCount).
+     */
+    private void reportDirtyRegionMetrics(int dirtyRegionSize) {
+        final float sceneArea = (float) width * height;
+        final float repainted = dirtyRegionSize > 0 ? dirtyRegionContainer.getTotalArea() : sceneArea;
+        final float merged = dirtyRegionSize > 0 ? dirtyRegionContainer.getMergedArea() : 0;
+        final String message = String.format(
+                "Overdraw: %d dirty regions, repainted %.0f px (%.1f%% of scene), " +
+                "%.0f px (%.1f%% of repainted) added by merging",
+                dirtyRegionSize, repainted, sceneArea > 0 ? 100 * repainted / sceneArea : 0,
+                merged, repainted > 0 ? 100 * merged / repainted : 0);
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.addMessage(message);
+        } else if (QuantumToolkit.verbose) {
+            System.err.println(message);
+        }
+    }
+
     /**
      * Utility method for painting the overdraw rectangles. Right now we're using a computationally
      * intensive approach of having an array of integers (image data) that we then write to in the
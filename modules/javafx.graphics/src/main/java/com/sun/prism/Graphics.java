@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -125,6 +125,19 @@ public interface Graphics {
     public void fillRect(float x, float y, float width, float height);
     public void fillRoundRect(float x, float y, float width, float height, float arcw, float arch);
     public void fillEllipse(float x, float y, float width, float height);
+
+    /**
+     * Fills {@code count} ellipses of the same size. The upper left corners
+     * of their bounds are stored as consecutive x, y pairs in {@code coords}.
+     * The result is the same as calling {@code fillEllipse} for each of them
+     * in order, implementations are expected to set up the paint state only
+     * once for the whole batch.
+     */
+    default void fillEllipses(float[] coords, int count, float width, float height) {
+        for (int i = 0; i < count; i++) {
+            fillEllipse(coords[2 * i], coords[2 * i + 1], width, height);
+        }
+    }
     public void draw(Shape shape);
     public void drawLine(float x1, float y1, float x2, float y2);
     public void drawRect(float x, float y, float width, float height);
@@ -162,6 +175,24 @@ public interface Graphics {
     public void drawTexture(Texture tex,
                             float dx1, float dy1, float dx2, float dy2,
                             float sx1, float sy1, float sx2, float sy2);
+
+    /**
+     * Draws the given source region of a texture {@code count} times, into
+     * destination rectangles of the same size whose upper left corners are
+     * stored as consecutive x, y pairs in {@code coords}. The result is the
+     * same as calling {@code drawTexture} for each of them in order.
+     */
+    default void drawTextures(Texture tex, float[] coords, int count,
+                              float dw, float dh,
+                              float sx1, float sy1, float sx2, float sy2)
+    {
+        for (int i = 0; i < count; i++) {
+            float dx = coords[2 * i];
+            float dy = coords[2 * i + 1];
+            drawTexture(tex, dx, dy, dx + dw, dy + dh, sx1, sy1, sx2, sy2);
+        }
+    }
+
     public void drawTexture3SliceH(Texture tex,
                                    float dx1, float dy1, float dx2, float dy2,
                                    float sx1, float sy1, float sx2, float sy2,
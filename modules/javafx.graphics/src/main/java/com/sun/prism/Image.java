@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -65,7 +65,9 @@ public class Image implements PlatformImage {
     static final javafx.scene.image.PixelFormat<ByteBuffer> FX_ByteRgb_FORMAT =
         javafx.scene.image.PixelFormat.getByteRgbInstance();
 
-    private final Buffer pixelBuffer;
+    // not final, the buffer of an image created from a multi-buffered
+    // PixelBuffer is replaced when a new buffer is presented
+    private volatile Buffer pixelBuffer;
     private final int minX;
     private final int minY;
     private final int width;
@@ -591,8 +593,17 @@ public class Image implements PlatformImage {
     }
 
     public static class Serial {
+        /*
+         * The number of updates whose dirty regions are remembered, a texture
+         * that missed more updates is uploaded as a whole.
+         */
+        private static final int HISTORY = 8;
+
         private int id;
         private Rectangle dirtyRegion;
+        // the dirty regions of the last HISTORY updates, indexed by
+        // id % HISTORY, a null entry means that the whole image changed
+        private final Rectangle[][] history = new Rectangle[HISTORY][];
 
         Serial() {
             id = 0;
@@ -604,10 +615,62 @@ public class Image implements PlatformImage {
             return new Pair(id, (dirtyRegion == null)? null : new Rectangle(dirtyRegion));
         }
 
+        /**
+         * Returns the current id, and the regions that changed since the
+         * update with the given id, or {@code null} if the whole image has
+         * to be considered dirty.
+         */
+        public synchronized Pair<Integer, Rectangle[]> getIdRegions(int sinceId) {
+            // Called on quantumRenderer-0
+            int count = id - sinceId;
+            if (count <= 0 || count > HISTORY) {
+                return new Pair<>(id, null);
+            }
+            int n = 0;
+            for (int i = sinceId + 1; i <= id; i++) {
+                Rectangle[] rects = history[i % HISTORY];
+                if (rects == null) {
+                    return new Pair<>(id, null);
+                }
+                n += rects.length;
+            }
+            Rectangle[] regions = new Rectangle[n];
+            n = 0;
+            for (int i = sinceId + 1; i <= id; i++) {
+                for (Rectangle rect : history[i % HISTORY]) {
+                    regions[n++] = new Rectangle(rect);
+                }
+            }
+            return new Pair<>(id, regions);
+        }
+
         public synchronized void update(Rectangle rect) {
             // Called on FX Application thread
             id++;
             dirtyRegion = rect;
+            history[id % HISTORY] = (rect == null) ? null : new Rectangle[] { new Rectangle(rect) };
+        }
+
+        public synchronized void update(Rectangle[] rects) {
+            // Called on FX Application thread
+            id++;
+            if (rects == null) {
+                dirtyRegion = null;
+                history[id % HISTORY] = null;
+                return;
+            }
+            Rectangle bounds = new Rectangle();
+            Rectangle[] copy = new Rectangle[rects.length];
+            for (int i = 0; i < rects.length; i++) {
+                copy[i] = new Rectangle(rects[i]);
+                if (i == 0) {
+                    bounds.setBounds(rects[i]);
+                } else {
+                    bounds.add(rects[i]);
+                }
+            }
+            dirtyRegion = bounds;
+            history[id % HISTORY] = copy;
         }
     }
 
@@ -662,6 +725,15 @@ public class Image implements PlatformImage {
         updateSerial(rect);
     }
 
+    @Override
+    public void bufferDirty(Buffer buffer, Rectangle[] dirtyRegions) {
+        if (buffer != pixelBuffer) {
+            pixelBuffer = buffer;
+            pixelaccessor = null;
+        }
+        serial.update(dirtyRegions);
+    }
+
     @Override
     public javafx.scene.image.PixelFormat<?> getPlatformPixelFormat() {
         return getPixelAccessor().getPlatformPixelFormat();
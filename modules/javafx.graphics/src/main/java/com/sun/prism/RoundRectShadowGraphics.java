@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism;
+
+/**
+ * A Graphics that can render the Gaussian shadow of a rounded rectangle
+ * directly with the current paint, without rendering the shape into an
+ * intermediate image and blurring it.
+ */
+public interface RoundRectShadowGraphics extends Graphics {
+    /**
+     * Returns true if {@link #fillRoundRectShadow} can render a shadow of
+     * the given geometry under the current transform.
+     *
+     * @param w the width of the rectangle casting the shadow
+     * @param h the height of the rectangle casting the shadow
+     * @param arcw the horizontal diameter of the corner arcs
+     * @param arch the vertical diameter of the corner arcs
+     * @param radius the radius of the Gaussian kernel, three times its
+     *               standard deviation
+     * @return true if the shadow can be rendered directly
+     */
+    public boolean canFillRoundRectShadow(float w, float h,
+                                          float arcw, float arch,
+                                          float radius);
+
+    /**
+     * Fills the Gaussian shadow of a rounded rectangle with the current
+     * paint, which must be a {@code Color}. A drop shadow covers the
+     * rectangle and fades out around it, an inner shadow lies inside the
+     * rectangle and fades out towards its center. The caller must have
+     * checked {@link #canFillRoundRectShadow} first.
+     *
+     * @param x the x coordinate of the rectangle casting the shadow
+     * @param y the y coordinate of the rectangle casting the shadow
+     * @param w the width of the rectangle casting the shadow
+     * @param h the height of the rectangle casting the shadow
+     * @param arcw the horizontal diameter of the corner arcs
+     * @param arch the vertical diameter of the corner arcs
+     * @param radius the radius of the Gaussian kernel, three times its
+     *               standard deviation
+     * @param inner true for an inner shadow, false for a drop shadow
+     */
+    public void fillRoundRectShadow(float x, float y, float w, float h,
+                                    float arcw, float arch,
+                                    float radius, boolean inner);
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,7 @@ package com.sun.prism.impl;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import com.sun.glass.ui.Screen;
 import com.sun.javafx.font.FontResource;
@@ -73,6 +74,10 @@ public abstract class BaseContext {
     private Texture wrapRectTex;
     private Texture ovalTex;
 
+    private static final int MAX_SHADOW_TEXTURES = 16;
+    private final LinkedHashMap<Object, Texture> shadowTextures =
+        new LinkedHashMap<>(MAX_SHADOW_TEXTURES, 0.75f, true);
+
     private final GeneralTransform3D perspectiveTransform = new GeneralTransform3D();
 
     private final Map<FontStrike, GlyphCache>
@@ -423,6 +428,56 @@ public abstract class BaseContext {
         return wrapRectTex;
     }
 
+    /**
+     * Returns a texture holding the given shadow corner patch surrounded by
+     * a one pixel border that replicates its outer pixels, so that linear
+     * filtering at the edges of the patch does not pick up unrelated texels.
+     * The caller must unlock the texture when done with it.
+     */
+    public Texture getRoundRectShadowTexture(RoundRectShadowMask mask) {
+        if (checkDisposed()) return null;
+
+        Texture tex = shadowTextures.get(mask.getKey());
+        if (tex != null && tex.isSurfaceLost()) {
+            shadowTextures.remove(mask.getKey());
+            tex.dispose();
+            tex = null;
+        }
+        if (tex == null) {
+            int mw = mask.getWidth();
+            int mh = mask.getHeight();
+            int w = mw + 2;
+            int h = mh + 2;
+            byte[] src = mask.getData();
+            byte[] padded = new byte[w * h];
+            for (int y = 0; y < h; y++) {
+                int srcRow = Math.min(Math.max(y - 1, 0), mh - 1) * mw;
+                for (int x = 0; x < w; x++) {
+                    padded[y * w + x] = src[srcRow + Math.min(Math.max(x - 1, 0), mw - 1)];
+                }
+            }
+            tex = getResourceFactory().createMaskTexture(w, h, WrapMode.CLAMP_NOT_NEEDED);
+            if (tex == null) return null;
+            tex.contentsUseful();
+            tex.makePermanent();
+            PixelFormat pf = tex.getPixelFormat();
+            tex.update(ByteBuffer.wrap(padded), pf,
+                       0, 0, 0, 0, w, h,
+                       w * pf.getBytesPerPixelUnit(), false);
+            shadowTextures.put(mask.getKey(), tex);
+            if (shadowTextures.size() > MAX_SHADOW_TEXTURES) {
+                Iterator<Texture> it = shadowTextures.values().iterator();
+                Texture eldest = it.next();
+                it.remove();
+                eldest.dispose();
+            }
+        }
+        // Like wrapRectTex, the shadow textures are permanent and locked,
+        // add a lock so that the caller can unlock without knowing that.
+        tex.lock();
+        return tex;
+    }
+
     public Texture getOvalTexture() {
         if (checkDisposed()) return null;
 
@@ -627,6 +682,10 @@ public abstract class BaseContext {
             ovalTex.dispose();
             ovalTex = null;
         }
+        for (Texture tex : shadowTextures.values()) {
+            tex.dispose();
+        }
+        shadowTextures.clear();
         disposed = true;
     }
 
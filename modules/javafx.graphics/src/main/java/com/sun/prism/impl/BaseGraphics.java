@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -498,6 +498,52 @@ public abstract class BaseGraphics implements RectShadowGraphics {
         }
     }
 
+    @Override
+    public void drawTextures(Texture tex, float[] coords, int count,
+                             float dw, float dh,
+                             float sx1, float sy1, float sx2, float sy2)
+    {
+        if (count <= 0) return;
+        PixelFormat format = tex.getPixelFormat();
+        if (format == PixelFormat.BYTE_ALPHA) {
+            // Alpha textures are paint operations whose paint may depend on
+            // the bounds of each individual rectangle
+            for (int i = 0; i < count; i++) {
+                float dx = coords[2 * i];
+                float dy = coords[2 * i + 1];
+                drawTexture(tex, dx, dy, dx + dw, dy + dh, sx1, sy1, sx2, sy2);
+            }
+            return;
+        }
+        BaseTransform xform = isSimpleTranslate ? IDENT : getTransformNoClone();
+        context.validateTextureOp(this, xform, tex, format);
+        float offx = isSimpleTranslate ? transX : 0f;
+        float offy = isSimpleTranslate ? transY : 0f;
+
+        float pw = tex.getPhysicalWidth();
+        float ph = tex.getPhysicalHeight();
+        float cx1 = tex.getContentX();
+        float cy1 = tex.getContentY();
+        float tx1 = (cx1 + sx1) / pw;
+        float ty1 = (cy1 + sy1) / ph;
+        float tx2 = (cx1 + sx2) / pw;
+        float ty2 = (cy1 + sy2) / ph;
+
+        VertexBuffer vb = context.getVertexBuffer();
+        boolean superShader = context.isSuperShaderEnabled();
+        for (int i = 0; i < count; i++) {
+            float dx1 = coords[2 * i] + offx;
+            float dy1 = coords[2 * i + 1] + offy;
+            float dx2 = dx1 + dw;
+            float dy2 = dy1 + dh;
+            if (superShader) {
+                vb.addSuperQuad(dx1, dy1, dx2, dy2, tx1, ty1, tx2, ty2, false);
+            } else {
+                vb.addQuad(dx1, dy1, dx2, dy2, tx1, ty1, tx2, ty2);
+            }
+        }
+    }
+
     @Override
     public void drawTexture3SliceH(Texture tex,
                                    float dx1, float dy1, float dx2, float dy2,
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -34,6 +34,7 @@ import com.sun.prism.Texture;
 import com.sun.prism.Texture.Usage;
 import com.sun.prism.Texture.WrapMode;
 
+import java.nio.Buffer;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.Collection;
@@ -241,18 +242,24 @@ public abstract class BaseResourceFactory implements ResourceFactory {
                 texCache.put(image, tex);
             }
         } else if (tex.getLastImageSerial() != idRect.getKey()) {
-            // If the image was updated only once, then the image is partially updated.
-            // Else whole image is updated.
-            if (idRect.getKey() - tex.getLastImageSerial() == 1 && idRect.getValue() != null) {
-                Rectangle dirtyRect = idRect.getValue();
-                tex.update(image.getPixelBuffer(), image.getPixelFormat(),
-                        dirtyRect.x, dirtyRect.y, dirtyRect.x, dirtyRect.y,
-                        dirtyRect.width, dirtyRect.height,
-                        image.getScanlineStride(), false);
+            // Upload only the regions that changed since the texture was last
+            // updated, if the image remembers them. Else whole image is updated.
+            Pair<Integer, Rectangle[]> idRegions =
+                    image.getSerial().getIdRegions(tex.getLastImageSerial());
+            Rectangle[] dirtyRegions = idRegions.getValue();
+            if (dirtyRegions != null) {
+                Buffer pixels = image.getPixelBuffer();
+                for (Rectangle dirtyRect : dirtyRegions) {
+                    if (dirtyRect.isEmpty()) continue;
+                    tex.update(pixels, image.getPixelFormat(),
+                            dirtyRect.x, dirtyRect.y, dirtyRect.x, dirtyRect.y,
+                            dirtyRect.width, dirtyRect.height,
+                            image.getScanlineStride(), false);
+                }
             } else {
                 tex.update(image, 0, 0, image.getWidth(), image.getHeight(), false);
             }
-            tex.setLastImageSerial(idRect.getKey());
+            tex.setLastImageSerial(idRegions.getKey());
         }
         return tex;
     }
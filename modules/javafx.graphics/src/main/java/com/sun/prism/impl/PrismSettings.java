@@ -61,6 +61,7 @@ public final class PrismSettings {
     public static final boolean printRenderGraph;
     public static final int minRTTSize;
     public static final int dirtyRegionCount;
+    public static final int dirtyRegionMergeThreshold;
     public static final boolean disableBadDriverWarning;
     public static final boolean forceGPU;
     public static final int maxTextureSize;
@@ -135,6 +136,11 @@ public final class PrismSettings {
         // support at present is 15.
         dirtyRegionCount = Utils.clamp(0, getInt(systemProperties, "prism.dirtyregioncount", 6, null), 15);
 
+        // Dirty regions are clustered as soon as merging them adds no more than
+        // this many square pixels of clean content. 0 only merges overlapping
+        // regions, or the cheapest pair once dirtyRegionCount is exceeded.
+        dirtyRegionMergeThreshold = Math.max(0, getInt(systemProperties, "prism.dirtyregionmergethreshold", 0, null));
+
         // Scrolling cache optimization
         // Disabled as a workaround for RT-39755.
         scrollCacheOpt = getBoolean(systemProperties, "prism.scrollcacheopt", false);
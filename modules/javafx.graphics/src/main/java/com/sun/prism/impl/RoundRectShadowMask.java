@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The corner of the Gaussian blurred shadow of a rounded rectangle, computed
+ * in closed form rather than by convolving a rasterized shape.
+ *
+ * The Gaussian kernel is separable, so the blurred coverage of the quadrant
+ * that contains a corner can be written as an integral over the rows of the
+ * shape of the horizontal error function evaluated at the left edge of
+ * each row. Rows below the rounded corner all share the same left edge and
+ * collapse into a single product of two error functions, leaving only a
+ * short sum over the rows of the corner arc.
+ *
+ * A mask holds the top left corner patch of the shadow in device pixels.
+ * The patch starts {@code margin} pixels above and to the left of the
+ * corner of the rectangle and extends far enough into the rectangle that
+ * its last column holds the profile of the top edge and its last row holds
+ * the profile of the left edge, so that a shadow of any size can be drawn
+ * as a nine-patch of the mirrored corner, the stretched edge profiles and
+ * a uniform center.
+ *
+ * For a drop shadow the mask holds the blurred coverage of the shape. For
+ * an inner shadow it holds the blurred coverage of the inverse of the shape
+ * clipped to the antialiased coverage of the shape itself, and the center
+ * of the nine-patch is empty.
+ */
+public final class RoundRectShadowMask {
+
+    /**
+     * Parameters are quantized to this many steps per device pixel so that
+     * nearby shadows share the same mask.
+     */
+    private static final int STEPS = 4;
+    private static final int MAX_CACHED = 32;
+    private static final int MAX_SIZE = 512;
+
+    private static final Map<Key, RoundRectShadowMask> cache =
+        new LinkedHashMap<>(MAX_CACHED, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, RoundRectShadowMask> eldest) {
+                return size() > MAX_CACHED;
+            }
+        };
+
+    /**
+     * Returns the mask for the given shadow, computing it if needed.
+     *
+     * @param sigma the standard deviation of the Gaussian, in device pixels
+     * @param rx the horizontal corner radius, in device pixels
+     * @param ry the vertical corner radius, in device pixels
+     * @param inner true for an inner shadow, false for a drop shadow
+     * @return the mask
+     */
+    public static RoundRectShadowMask get(float sigma, float rx, float ry, boolean inner) {
+        Key key = new Key(quantize(sigma), quantize(rx), quantize(ry), inner);
+        synchronized (cache) {
+            RoundRectShadowMask mask = cache.get(key);
+            if (mask == null) {
+                mask = new RoundRectShadowMask(key);
+                cache.put(key, mask);
+            }
+            return mask;
+        }
+    }
+
+    /**
+     * Returns true if a shadow of the given size, in device pixels, is
+     * large enough to be drawn as a nine-patch of the mask for the given
+     * parameters, and if that mask is not unreasonably large.
+     */
+    public static boolean fits(float sigma, float rx, float ry, float w, float h) {
+        int margin = margin(quantize(sigma));
+        int cw = cornerSize(margin, quantize(rx), quantize(ry));
+        int ch = cornerSize(margin, quantize(ry), quantize(rx));
+        return cw <= MAX_SIZE && ch <= MAX_SIZE &&
+               w >= 2 * (cw - margin) &&
+               h >= 2 * (ch - margin);
+    }
+
+    private static int margin(int sigma) {
+        return (int) Math.ceil(3 * Math.max(sigma, 1) / (float) STEPS);
+    }
+
+    private static int cornerSize(int margin, int r, int otherR) {
+        return 2 * margin + (otherR == 0 ? 0 : (int) Math.ceil(r / (float) STEPS));
+    }
+
+    private static int quantize(float v) {
+        return Math.max(0, Math.round(v * STEPS));
+    }
+
+    private record Key(int sigma, int rx, int ry, boolean inner) {
+    }
+
+    private final Key key;
+    private final int margin;
+    private final int width;
+    private final int height;
+    private final byte[] data;
+    private final byte[][] flipped = new byte[4][];
+
+    private RoundRectShadowMask(Key key) {
+        this.key = key;
+        float sigma = Math.max(key.sigma(), 1) / (float) STEPS;
+        float rx = key.rx() / (float) STEPS;
+        float ry = key.ry() / (float) STEPS;
+        if (rx == 0f || ry == 0f) {
+            rx = ry = 0f;
+        }
+        this.margin = margin(key.sigma());
+        this.width = cornerSize(margin, key.rx(), key.ry());
+        this.height = cornerSize(margin, key.ry(), key.rx());
+        this.data = computeData(sigma, rx, ry, key.inner());
+        flipped[0] = data;
+    }
+
+    /**
+     * Returns an object identifying the parameters of this mask, suitable
+     * for use as a key in a cache of resources derived from the mask.
+     */
+    public Object getKey() {
+        return key;
+    }
+
+    public boolean isInner() {
+        return key.inner();
+    }
+
+    /**
+     * Returns the distance, in device pixels, from the top left corner of
+     * the patch to the corner of the rectangle in each dimension.
+     */
+    public int getMargin() {
+        return margin;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the top left corner patch, one byte per pixel with a scanline
+     * stride equal to the width of the mask. The array must not be modified.
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Returns the corner patch mirrored for one of the other corners of the
+     * shadow. The array must not be modified.
+     *
+     * @param flipX true for the corners on the right side
+     * @param flipY true for the corners on the bottom side
+     * @return the mirrored patch
+     */
+    public synchronized byte[] getData(boolean flipX, boolean flipY) {
+        int index = (flipX ? 1 : 0) | (flipY ? 2 : 0);
+        byte[] ret = flipped[index];
+        if (ret == null) {
+            ret = new byte[data.length];
+            for (int y = 0; y < height; y++) {
+                int srcRow = (flipY ? height - 1 - y : y) * width;
+                int dstRow = y * width;
+                for (int x = 0; x < width; x++) {
+                    ret[dstRow + x] = data[srcRow + (flipX ? width - 1 - x : x)];
+                }
+            }
+            flipped[index] = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the value of the top edge of the shadow, from 0 to 255, for a
+     * row of the patch.
+     */
+    public int getTopEdgeValue(int y) {
+        return data[y * width + width - 1] & 0xff;
+    }
+
+    /**
+     * Returns the value of the left edge of the shadow, from 0 to 255, for a
+     * column of the patch.
+     */
+    public int getLeftEdgeValue(int x) {
+        return data[(height - 1) * width + x] & 0xff;
+    }
+
+    private byte[] computeData(float sigma, float rx, float ry, boolean inner) {
+        // Split the rows of the arc into bins of at most half a pixel and
+        // use the left edge of the arc at the middle of each bin.
+        int bins = (int) Math.ceil(ry * 2);
+        float[] left = new float[bins];
+        for (int k = 0; k < bins; k++) {
+            float v = (k + 0.5f) * ry / bins;
+            left[k] = arcLeft(v, rx, ry);
+        }
+
+        // Horizontal and vertical error functions, sampled at pixel centers.
+        double s = sigma * Math.sqrt(2.0);
+        double[] ex = new double[width];
+        double[] exArc = new double[bins * width];
+        for (int px = 0; px < width; px++) {
+            double x = px + 0.5 - margin;
+            ex[px] = cdf(x / s);
+            for (int k = 0; k < bins; k++) {
+                exArc[k * width + px] = cdf((x - left[k]) / s);
+            }
+        }
+        double[] eyBins = new double[bins + 1];
+
+        byte[] mask = new byte[width * height];
+        for (int py = 0; py < height; py++) {
+            double y = py + 0.5 - margin;
+            // eyBins[k] is the weight of the rows of the shape above the
+            // k-th bin boundary, as seen from this row of pixels.
+            for (int k = 0; k <= bins; k++) {
+                eyBins[k] = cdf((y - k * ry / bins) / s);
+            }
+            double eyBelow = eyBins[bins];
+            int off = py * width;
+            for (int px = 0; px < width; px++) {
+                double v = eyBelow * ex[px];
+                for (int k = 0; k < bins; k++) {
+                    v += (eyBins[k] - eyBins[k + 1]) * exArc[k * width + px];
+                }
+                if (inner) {
+                    v = (1.0 - v) * coverage(px - margin, py - margin, rx, ry);
+                }
+                mask[off + px] = (byte) Math.max(0, Math.min(255, (int) (v * 255.0 + 0.5)));
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the left edge of the quadrant of the rounded rectangle at the
+     * given distance below its top edge.
+     */
+    private static float arcLeft(float v, float rx, float ry) {
+        if (v >= ry) {
+            return 0f;
+        }
+        float dy = (ry - v) / ry;
+        return rx - rx * (float) Math.sqrt(Math.max(0f, 1f - dy * dy));
+    }
+
+    /**
+     * Returns the fraction of the pixel at the given location, relative to
+     * the corner of the rectangle, that lies inside the quadrant.
+     */
+    private static double coverage(int x, int y, float rx, float ry) {
+        if (x >= rx && y >= 0 || y >= ry && x >= 0) {
+            return 1.0;
+        }
+        int inside = 0;
+        for (int j = 0; j < 4; j++) {
+            float v = y + (j + 0.5f) * 0.25f;
+            if (v < 0) continue;
+            float l = arcLeft(v, rx, ry);
+            for (int i = 0; i < 4; i++) {
+                if (x + (i + 0.5f) * 0.25f >= l) {
+                    inside++;
+                }
+            }
+        }
+        return inside / 16.0;
+    }
+
+    /**
+     * Returns the cumulative distribution function of the normal
+     * distribution at {@code t * sqrt(2)} standard deviations.
+     */
+    static double cdf(double t) {
+        return 0.5 * (1.0 + erf(t));
+    }
+
+    /**
+     * Returns the error function, using the rational approximation 7.1.26
+     * from Abramowitz and Stegun, which has an absolute error below 1.5e-7.
+     */
+    static double erf(double x) {
+        double ax = Math.abs(x);
+        double t = 1.0 / (1.0 + 0.3275911 * ax);
+        double y = 1.0 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t
+                           - 0.284496736) * t + 0.254829592) * t * Math.exp(-ax * ax);
+        return x < 0 ? -y : y;
+    }
+}
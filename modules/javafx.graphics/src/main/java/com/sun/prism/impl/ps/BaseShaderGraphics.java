@@ -52,10 +52,12 @@ import com.sun.prism.RTTexture;
 import com.sun.prism.ReadbackGraphics;
 import com.sun.prism.ReadbackRenderTarget;
 import com.sun.prism.RenderTarget;
+import com.sun.prism.RoundRectShadowGraphics;
 import com.sun.prism.Texture;
 import com.sun.prism.impl.BaseGraphics;
 import com.sun.prism.impl.GlyphCache;
 import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.RoundRectShadowMask;
 import com.sun.prism.impl.VertexBuffer;
 import com.sun.prism.impl.ps.BaseShaderContext.MaskType;
 import com.sun.prism.impl.shape.MaskData;
@@ -71,7 +73,8 @@ import com.sun.prism.ps.ShaderGraphics;
 
 public abstract class BaseShaderGraphics
     extends BaseGraphics
-    implements ShaderGraphics, ReadbackGraphics, MaskTextureGraphics
+    implements ShaderGraphics, ReadbackGraphics, MaskTextureGraphics,
+               RoundRectShadowGraphics
 {
     private static Affine2D TEMP_TX2D = new Affine2D();
     private static Affine3D TEMP_TX3D = new Affine3D();
@@ -162,6 +165,23 @@ public abstract class BaseShaderGraphics
         }
     }
 
+    @Override
+    public void drawTextures(Texture tex, float[] coords, int count,
+                             float dw, float dh,
+                             float sx1, float sy1, float sx2, float sy2)
+    {
+        if (tex instanceof MultiTexture) {
+            for (int i = 0; i < count; i++) {
+                float dx = coords[2 * i];
+                float dy = coords[2 * i + 1];
+                drawMultiTexture((MultiTexture) tex, dx, dy, dx + dw, dy + dh,
+                                 sx1, sy1, sx2, sy2);
+            }
+        } else {
+            super.drawTextures(tex, coords, count, dw, dh, sx1, sy1, sx2, sy2);
+        }
+    }
+
     @Override
     public void drawTexture3SliceH(Texture tex,
                                    float dx1, float dy1, float dx2, float dy2,
@@ -1536,6 +1556,81 @@ public abstract class BaseShaderGraphics
                                  MaskType.FILL_PGRAM, null);
     }
 
+    private static float getShadowScale(BaseTransform xform) {
+        return (float) Math.max(Math.hypot(xform.getMxx(), xform.getMyx()),
+                                Math.hypot(xform.getMxy(), xform.getMyy()));
+    }
+
+    @Override
+    public boolean canFillRoundRectShadow(float w, float h,
+                                          float arcw, float arch,
+                                          float radius)
+    {
+        BaseTransform xform = getTransformNoClone();
+        if (!xform.is2D() || radius <= 0f) {
+            return false;
+        }
+        float scale = getShadowScale(xform);
+        return scale > 0f &&
+            RoundRectShadowMask.fits(radius / 3f * scale,
+                                     arcw * 0.5f * scale, arch * 0.5f * scale,
+                                     w * scale, h * scale);
+    }
+
+    @Override
+    public void fillRoundRectShadow(float x, float y, float w, float h,
+                                    float arcw, float arch,
+                                    float radius, boolean inner)
+    {
+        float scale = getShadowScale(getTransformNoClone());
+        RoundRectShadowMask mask =
+            RoundRectShadowMask.get(radius / 3f * scale,
+                                    arcw * 0.5f * scale, arch * 0.5f * scale,
+                                    inner);
+        Texture tex = context.getRoundRectShadowTexture(mask);
+        if (tex == null) {
+            return;
+        }
+        // The patch sits inside a one pixel border in the texture, the
+        // edges are stretched from the texel centers of its last column
+        // and row, and the corners on the right and bottom are mirrored.
+        int mw = mask.getWidth();
+        int mh = mask.getHeight();
+        float tw = tex.getPhysicalWidth();
+        float th = tex.getPhysicalHeight();
+        float u0 = (tex.getContentX() + 1) / tw;
+        float v0 = (tex.getContentY() + 1) / th;
+        float u1 = (tex.getContentX() + 1 + mw) / tw;
+        float v1 = (tex.getContentY() + 1 + mh) / th;
+        float ue = (tex.getContentX() + 0.5f + mw) / tw;
+        float ve = (tex.getContentY() + 0.5f + mh) / th;
+        float m = mask.getMargin() / scale;
+        float x0 = x - m;
+        float y0 = y - m;
+        float x3 = x + w + m;
+        float y3 = y + h + m;
+        float x1 = x0 + mw / scale;
+        float y1 = y0 + mh / scale;
+        float x2 = x3 - mw / scale;
+        float y2 = y3 - mh / scale;
+        drawTextureRaw(tex, x0, y0, x1, y1, u0, v0, u1, v1); // top-left corner
+        drawTextureRaw(tex, x2, y0, x3, y1, u1, v0, u0, v1); // top-right corner
+        drawTextureRaw(tex, x0, y2, x1, y3, u0, v1, u1, v0); // bot-left corner
+        drawTextureRaw(tex, x2, y2, x3, y3, u1, v1, u0, v0); // bot-right corner
+        if (x1 < x2) {
+            drawTextureRaw(tex, x1, y0, x2, y1, ue, v0, ue, v1); // top edge
+            drawTextureRaw(tex, x1, y2, x2, y3, ue, v1, ue, v0); // bot edge
+        }
+        if (y1 < y2) {
+            drawTextureRaw(tex, x0, y1, x1, y2, u0, ve, u1, ve); // left edge
+            drawTextureRaw(tex, x2, y1, x3, y2, u1, ve, u0, ve); // right edge
+        }
+        tex.unlock();
+        if (!inner && x1 < x2 && y1 < y2) {
+            fillRect(x1, y1, x2 - x1, y2 - y1);
+        }
+    }
+
     @Override
     public void fillEllipse(float x, float y, float w, float h) {
         if (w <= 0 || h <= 0) {
@@ -1564,6 +1659,91 @@ public abstract class BaseShaderGraphics
                                  MaskType.FILL_ELLIPSE, null);
     }
 
+    @Override
+    public void fillEllipses(float[] coords, int count, float w, float h) {
+        if (count <= 0 || w <= 0 || h <= 0) {
+            return;
+        }
+        if (isComplexPaint || !isAntialiasedShape() ||
+            PrismSettings.primTextureSize == 0 ||
+            getPaint().getType() != Paint.Type.COLOR ||
+            !fillPrimRects(coords, count, w, h, context.getOvalTexture()))
+        {
+            super.fillEllipses(coords, count, w, h);
+        }
+    }
+
+    /*
+     * Variant of fillPrimRect for many primitives of the same size drawn
+     * with a color paint. The paint state is validated once and the
+     * vertices of the whole batch are then emitted in a single loop.
+     * Returns false if the primitives are too large for the texture.
+     */
+    private boolean fillPrimRects(float[] coords, int count, float w, float h,
+                                  Texture rectTex)
+    {
+        BaseTransform xform = getTransformNoClone();
+        if (!xform.is2D()) {
+            return false;
+        }
+        float mxx = (float) xform.getMxx();
+        float mxy = (float) xform.getMxy();
+        float mxt = (float) xform.getMxt();
+        float myx = (float) xform.getMyx();
+        float myy = (float) xform.getMyy();
+        float myt = (float) xform.getMyt();
+        float dxdist = len(mxx, myx);
+        float dydist = len(mxy, myy);
+        if (dxdist == 0.0f || dydist == 0.0f) {
+            // all of the primitives have collapsed and occupy no area
+            return true;
+        }
+        int cellw = (int) Math.ceil(w * dxdist - 1.0f/512.0f);
+        int cellh = (int) Math.ceil(h * dydist - 1.0f/512.0f);
+        int max = context.getRectTextureMaxSize();
+        if (cellw > max || cellh > max) {
+            return false;
+        }
+        float pixelw = 1.0f / dxdist;
+        float pixelh = 1.0f / dydist;
+        float ox0 = -pixelw * 0.5f;
+        float oy0 = -pixelh * 0.5f;
+        float ox1 = w + pixelw * 0.5f;
+        float oy1 = h + pixelh * 0.5f;
+        float u0 = ((cellw * (cellw + 1)) / 2) - 0.5f;
+        float v0 = ((cellh * (cellh + 1)) / 2) - 0.5f;
+        float u1 = u0 + cellw + 1.0f;
+        float v1 = v0 + cellh + 1.0f;
+        u0 /= rectTex.getPhysicalWidth();
+        v0 /= rectTex.getPhysicalHeight();
+        u1 /= rectTex.getPhysicalWidth();
+        v1 /= rectTex.getPhysicalHeight();
+        context.validatePaintOp(this, IDENT, MaskType.ALPHA_TEXTURE, rectTex,
+                                0, 0, w, h);
+        VertexBuffer vb = context.getVertexBuffer();
+        if (xform.isTranslateOrIdentity()) {
+            for (int i = 0; i < count; i++) {
+                float x = coords[2 * i] + mxt;
+                float y = coords[2 * i + 1] + myt;
+                vb.addQuad(x + ox0, y + oy0, x + ox1, y + oy1,
+                           u0, v0, u1, v1);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                float x0 = coords[2 * i] + ox0;
+                float y0 = coords[2 * i + 1] + oy0;
+                float x1 = coords[2 * i] + ox1;
+                float y1 = coords[2 * i + 1] + oy1;
+                vb.addMappedPgram(x0 * mxx + y0 * mxy + mxt, x0 * myx + y0 * myy + myt,
+                                  x1 * mxx + y0 * mxy + mxt, x1 * myx + y0 * myy + myt,
+                                  x0 * mxx + y1 * mxy + mxt, x0 * myx + y1 * myy + myt,
+                                  x1 * mxx + y1 * mxy + mxt, x1 * myx + y1 * myy + myt,
+                                  u0, v0, u1, v0, u0, v1, u1, v1, 0, 0);
+            }
+        }
+        return true;
+    }
+
     @Override
     public void fillRoundRect(float x, float y, float w, float h,
                               float arcw, float arch)
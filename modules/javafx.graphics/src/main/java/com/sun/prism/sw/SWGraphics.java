@@ -58,13 +58,15 @@ import com.sun.prism.PixelFormat;
 import com.sun.prism.RTTexture;
 import com.sun.prism.ReadbackGraphics;
 import com.sun.prism.RenderTarget;
+import com.sun.prism.RoundRectShadowGraphics;
 import com.sun.prism.Texture;
 import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.RoundRectShadowMask;
 import com.sun.prism.paint.Color;
 import com.sun.prism.paint.ImagePattern;
 import com.sun.prism.paint.Paint;
 
-final class SWGraphics implements ReadbackGraphics {
+final class SWGraphics implements ReadbackGraphics, RoundRectShadowGraphics {
 
     private static final BasicStroke DEFAULT_STROKE =
         new BasicStroke(1.0f, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 10.0f);
@@ -509,6 +511,90 @@ final class SWGraphics implements ReadbackGraphics {
         }
     }
 
+    @Override
+    public boolean canFillRoundRectShadow(float w, float h,
+                                          float arcw, float arch,
+                                          float radius)
+    {
+        // Only translations and uniform scales, the shadow is rendered as
+        // alpha masks and rectangles on whole device pixels.
+        if (tx.getMxy() != 0 || tx.getMyx() != 0 ||
+            tx.getMxx() <= 0 || tx.getMxx() != tx.getMyy() || radius <= 0f)
+        {
+            return false;
+        }
+        float scale = (float) tx.getMxx();
+        return RoundRectShadowMask.fits(radius / 3f * scale,
+                                        arcw * 0.5f * scale, arch * 0.5f * scale,
+                                        Math.round(w * scale), Math.round(h * scale));
+    }
+
+    @Override
+    public void fillRoundRectShadow(float x, float y, float w, float h,
+                                    float arcw, float arch,
+                                    float radius, boolean inner)
+    {
+        if (PrismSettings.debug) {
+            System.out.println("+ SWG.fillRoundRectShadow");
+        }
+        if (this.paint.getType() != Paint.Type.COLOR) {
+            return;
+        }
+        float scale = (float) tx.getMxx();
+        RoundRectShadowMask mask =
+            RoundRectShadowMask.get(radius / 3f * scale,
+                                    arcw * 0.5f * scale, arch * 0.5f * scale,
+                                    inner);
+        int mw = mask.getWidth();
+        int mh = mask.getHeight();
+        int m = mask.getMargin();
+        int x0 = Math.round((float) (x * scale + tx.getMxt())) - m;
+        int y0 = Math.round((float) (y * scale + tx.getMyt())) - m;
+        int x3 = x0 + Math.round(w * scale) + 2 * m;
+        int y3 = y0 + Math.round(h * scale) + 2 * m;
+        int x1 = x0 + mw;
+        int y1 = y0 + mh;
+        int x2 = x3 - mw;
+        int y2 = y3 - mh;
+
+        final Color c = (Color) this.paint;
+        swPaint.setColor(c, swPaint.getCompositeAlpha());
+        this.pr.fillAlphaMask(mask.getData(false, false), x0, y0, mw, mh, 0, mw);
+        this.pr.fillAlphaMask(mask.getData(true, false), x2, y0, mw, mh, 0, mw);
+        this.pr.fillAlphaMask(mask.getData(false, true), x0, y2, mw, mh, 0, mw);
+        this.pr.fillAlphaMask(mask.getData(true, true), x2, y2, mw, mh, 0, mw);
+
+        // The edges vary in one direction only, fill them one row or column
+        // at a time with the color scaled by the edge profile.
+        final int red = (int) (c.getRed() * 255);
+        final int green = (int) (c.getGreen() * 255);
+        final int blue = (int) (c.getBlue() * 255);
+        final int alpha = (int) (255 * c.getAlpha() * swPaint.getCompositeAlpha());
+        final int one = SWUtils.TO_PISCES;
+        if (x1 < x2) {
+            for (int i = 0; i < mh; i++) {
+                int a = (alpha * mask.getTopEdgeValue(i) + 127) / 255;
+                if (a == 0) continue;
+                this.pr.setColor(red, green, blue, a);
+                this.pr.fillRect(x1 * one, (y0 + i) * one, (x2 - x1) * one, one);
+                this.pr.fillRect(x1 * one, (y3 - 1 - i) * one, (x2 - x1) * one, one);
+            }
+        }
+        if (y1 < y2) {
+            for (int i = 0; i < mw; i++) {
+                int a = (alpha * mask.getLeftEdgeValue(i) + 127) / 255;
+                if (a == 0) continue;
+                this.pr.setColor(red, green, blue, a);
+                this.pr.fillRect((x0 + i) * one, y1 * one, one, (y2 - y1) * one);
+                this.pr.fillRect((x3 - 1 - i) * one, y1 * one, one, (y2 - y1) * one);
+            }
+        }
+        if (!inner && x1 < x2 && y1 < y2) {
+            this.pr.setColor(red, green, blue, alpha);
+            this.pr.fillRect(x1 * one, y1 * one, (x2 - x1) * one, (y2 - y1) * one);
+        }
+    }
+
     @Override
     public void fillRoundRect(float x, float y, float width, float height,
                               float arcw, float arch) {
@@ -526,6 +612,30 @@ final class SWGraphics implements ReadbackGraphics {
         this.paintEllipse(x, y, width, height, null);
     }
 
+    @Override
+    public void fillEllipses(float[] coords, int count, float width, float height) {
+        if (PrismSettings.debug) {
+            System.out.println("+ SWG.fillEllipses, count: " + count);
+        }
+        if (count <= 0 || this.finalClip.isEmpty()) {
+            return;
+        }
+        if (this.paint.getType() != Paint.Type.COLOR) {
+            // The paint of each ellipse depends on its own bounds
+            ReadbackGraphics.super.fillEllipses(coords, count, width, height);
+            return;
+        }
+        if (ellipse2d == null) {
+            ellipse2d = new Ellipse2D();
+        }
+        ellipse2d.setFrame(coords[0], coords[1], width, height);
+        swPaint.setPaintFromShape(this.paint, this.tx, this.ellipse2d, this.nodeBounds, 0,0,0,0);
+        for (int i = 0; i < count; i++) {
+            ellipse2d.setFrame(coords[2 * i], coords[2 * i + 1], width, height);
+            paintShapePaintAlreadySet(this.ellipse2d, null, this.tx);
+        }
+    }
+
     @Override
     public void draw(Shape shape) {
         if (PrismSettings.debug) {
@@ -743,6 +853,31 @@ final class SWGraphics implements ReadbackGraphics {
                 RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP);
     }
 
+    @Override
+    public void drawTextures(Texture tex, float[] coords, int count,
+                             float dw, float dh,
+                             float sx1, float sy1, float sx2, float sy2)
+    {
+        if (PrismSettings.debug) {
+            System.out.println("+ SWG.drawTextures, count: " + count);
+        }
+        final int imageMode;
+        final float compositeAlpha = swPaint.getCompositeAlpha();
+        if (compositeAlpha == 1f) {
+            imageMode = RendererBase.IMAGE_MODE_NORMAL;
+        } else {
+            imageMode = RendererBase.IMAGE_MODE_MULTIPLY;
+            this.pr.setColor(255, 255, 255, (int)(255 * compositeAlpha));
+        }
+        for (int i = 0; i < count; i++) {
+            float dx = coords[2 * i];
+            float dy = coords[2 * i + 1];
+            this.drawTexture(tex, imageMode, dx, dy, dx + dw, dy + dh, sx1, sy1, sx2, sy2,
+                    RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP,
+                    RendererBase.IMAGE_FRAC_EDGE_KEEP, RendererBase.IMAGE_FRAC_EDGE_KEEP);
+        }
+    }
+
     private void drawTexture(Texture tex,
                              float dx1, float dy1, float dx2, float dy2,
                              float sx1, float sy1, float sx2, float sy2,
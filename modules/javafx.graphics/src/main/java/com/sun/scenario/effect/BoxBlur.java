@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,7 @@
 
 package com.sun.scenario.effect;
 
+import java.util.List;
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.DirtyRegionContainer;
 import com.sun.javafx.geom.DirtyRegionPool;
@@ -227,6 +228,14 @@ public class BoxBlur extends LinearConvolveCoreEffect {
         state.setBlurPasses(passes);
     }
 
+    @Override
+    public Object getResultKey() {
+        if (!hasOnlyDefaultInputs()) {
+            return null;
+        }
+        return List.of(BoxBlur.class, getHorizontalSize(), getVerticalSize(), getPasses());
+    }
+
     @Override
     public AccelType getAccelType(FilterContext fctx) {
         return Renderer.getRenderer(fctx).getAccelType();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,8 @@
 
 package com.sun.scenario.effect;
 
+import java.util.List;
+
 /**
  * A high-level effect that renders a shadow of the given content behind
  * the content with the specified color, radius, and offset.
@@ -316,6 +318,18 @@ public class DropShadow extends DelegateEffect {
         offset.setY(yoff);
     }
 
+    @Override
+    public Object getResultKey() {
+        if (!hasOnlyDefaultInputs()) {
+            return null;
+        }
+        Color4f c = getColor();
+        return List.of(DropShadow.class, getShadowMode(),
+                       getGaussianWidth(), getGaussianHeight(), getSpread(),
+                       c.getRed(), c.getGreen(), c.getBlue(), c.getAlpha(),
+                       getOffsetX(), getOffsetY());
+    }
+
     @Override
     public AccelType getAccelType(FilterContext fctx) {
         return shadow.getAccelType(fctx);
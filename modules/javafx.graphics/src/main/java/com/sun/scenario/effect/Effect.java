@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -125,6 +125,36 @@ public abstract class Effect {
         return unmodifiableInputs;
     }
 
+    /**
+     * Returns an object identifying the parameters of this {@code Effect},
+     * such that two effects with equal keys produce the same result when
+     * applied to the same default input under the same transform.
+     * Returns {@code null}, the default, if the results of this effect
+     * cannot be shared, as is the case for any effect with explicitly
+     * specified inputs.
+     *
+     * @return the key identifying the results of this {@code Effect},
+     *         or {@code null}
+     */
+    public Object getResultKey() {
+        return null;
+    }
+
+    /**
+     * Returns true if all of the inputs of this {@code Effect} are the
+     * default input.
+     *
+     * @return true if this {@code Effect} only uses the default input
+     */
+    protected final boolean hasOnlyDefaultInputs() {
+        for (Effect input : inputs) {
+            if (input != DefaultInput) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Sets the indexed input for this {@code Effect} to a specific
      * {@code Effect} or to the default input if {@code input} is
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,7 @@
 
 package com.sun.scenario.effect;
 
+import java.util.List;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -335,6 +336,18 @@ public class InnerShadow extends DelegateEffect {
         invert.setOffsetY(yoff);
     }
 
+    @Override
+    public Object getResultKey() {
+        if (!hasOnlyDefaultInputs()) {
+            return null;
+        }
+        Color4f c = getColor();
+        return List.of(InnerShadow.class, getShadowMode(),
+                       getGaussianWidth(), getGaussianHeight(), getChoke(),
+                       c.getRed(), c.getGreen(), c.getBlue(), c.getAlpha(),
+                       getOffsetX(), getOffsetY());
+    }
+
     @Override
     public Point2D transform(Point2D p, Effect defaultInput) {
         return getDefaultedInput(1, defaultInput).transform(p, defaultInput);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -30,14 +30,24 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import com.sun.scenario.effect.Filterable;
+import com.sun.scenario.effect.ImageData;
 
 /**
  * A simple object pool used to recycle temporary images used by the
  * various {@code EffectPeer} implementations.  Image allocation can be
  * a fairly expensive operation (in terms of footprint and performance),
  * especially for the GPU backends, so image reuse is critical.
+ * <p>
+ * The pool also holds a cache of effect results that can be shared by
+ * identical nodes with identical effects, see {@link #getResult} and
+ * {@link #putResult}.  The cache is only used when the
+ * {@code decora.shareResults} property is {@code true}.  The cached images
+ * stay checked out of the pool until they are evicted to stay within the
+ * budget set by the {@code decora.resultCacheSize} property, in bytes.
  */
 public class ImagePool {
 
@@ -46,6 +56,18 @@ public class ImagePool {
     static long pixelsCreated;
     static long numAccessed;
     static long pixelsAccessed;
+    static long resultHits;
+    static long resultMisses;
+    static long resultsCached;
+    static long resultEvictions;
+
+    @SuppressWarnings("removal")
+    private static final boolean shareResults = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean("decora.shareResults"));
+
+    @SuppressWarnings("removal")
+    private static final long defaultMaxResultBytes = AccessController.doPrivileged(
+            (PrivilegedAction<Long>) () -> Long.getLong("decora.resultCacheSize", 32L << 20));
 
     static {
         @SuppressWarnings("removal")
@@ -73,6 +95,10 @@ public class ImagePool {
             System.out.println("images per effect: " + avgImgs);
             System.out.println("pixels per effect: " + avgPxls);
         }
+        System.out.println("results cached:    " + resultsCached);
+        System.out.println("result hits:       " + resultHits);
+        System.out.println("result misses:     " + resultMisses);
+        System.out.println("results evicted:   " + resultEvictions);
     }
 
     static final int QUANT = 32;
@@ -101,10 +127,24 @@ public class ImagePool {
     private final List<SoftReference<PoolFilterable>> softPurgatory =
         new ArrayList<>();
 
+    private final LinkedHashMap<Object, ImageData> results =
+        new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxResultBytes;
+    private long resultBytes;
+
     /**
      * Package-private constructor.
      */
     ImagePool() {
+        this(defaultMaxResultBytes);
+    }
+
+    /**
+     * Package-private constructor for a pool with the given budget for
+     * cached effect results, in bytes.
+     */
+    ImagePool(long maxResultBytes) {
+        this.maxResultBytes = maxResultBytes;
     }
 
     public synchronized PoolFilterable checkOut(Renderer renderer, int w, int h) {
@@ -244,7 +284,125 @@ public class ImagePool {
         }
     }
 
+    /**
+     * Returns true if effect results are cached and shared between nodes,
+     * which is enabled with {@code -Ddecora.shareResults=true}.
+     *
+     * @return true if effect results can be shared
+     */
+    public static boolean isResultSharingEnabled() {
+        return shareResults;
+    }
+
+    /**
+     * Returns true if effect results may be cached and shared, and the
+     * given number of bytes is small enough to be worth caching.
+     *
+     * @param bytes the estimated size of a result
+     * @return true if a result of that size can be cached
+     */
+    public static boolean canCacheResult(long bytes) {
+        return shareResults && bytes <= defaultMaxResultBytes / 4;
+    }
+
+    /**
+     * Returns the cached result for the given key with an added reference
+     * that the caller must release with {@link ImageData#unref()}, or
+     * {@code null} if no valid result is cached for that key.
+     *
+     * @param key the key the result was cached with
+     * @return the cached result, or {@code null}
+     */
+    public synchronized ImageData getResult(Object key) {
+        ImageData data = results.get(key);
+        if (data != null) {
+            if (data.addref()) {
+                resultHits++;
+                return data;
+            }
+            // the image was lost, drop our reference and the cached one
+            // so that the result is computed again
+            data.unref();
+            removeResult(key);
+            data.unref();
+        }
+        resultMisses++;
+        return null;
+    }
+
+    /**
+     * Caches the given result for the given key, adding a reference to it
+     * that the cache holds until the entry is evicted.
+     *
+     * @param key the key for the result
+     * @param data the result
+     */
+    public synchronized void putResult(Object key, ImageData data) {
+        Filterable img = data.getUntransformedImage();
+        long bytes = resultSize(data);
+        if (img == null || bytes > maxResultBytes / 4) {
+            return;
+        }
+        if (!data.addref()) {
+            data.unref();
+            return;
+        }
+        ImageData old = results.put(key, data);
+        if (old != null) {
+            resultBytes -= resultSize(old);
+            old.unref();
+        }
+        resultBytes += bytes;
+        resultsCached++;
+        Iterator<Map.Entry<Object, ImageData>> it = results.entrySet().iterator();
+        while (resultBytes > maxResultBytes && it.hasNext()) {
+            ImageData eldest = it.next().getValue();
+            if (eldest == data) continue;
+            it.remove();
+            resultBytes -= resultSize(eldest);
+            eldest.unref();
+            resultEvictions++;
+        }
+    }
+
+    private void removeResult(Object key) {
+        ImageData data = results.remove(key);
+        if (data != null) {
+            resultBytes -= resultSize(data);
+        }
+    }
+
+    /**
+     * Releases all of the cached effect results back to the pool.
+     */
+    public synchronized void clearResults() {
+        // copy the entries first, releasing them checks images back in
+        List<ImageData> datas = new ArrayList<>(results.values());
+        results.clear();
+        resultBytes = 0;
+        for (ImageData data : datas) {
+            data.unref();
+        }
+    }
+
+    public synchronized int getResultCount() {
+        return results.size();
+    }
+
+    public synchronized long getResultBytes() {
+        return resultBytes;
+    }
+
+    private static long resultSize(ImageData data) {
+        Filterable img = data.getUntransformedImage();
+        if (img == null) {
+            return 0;
+        }
+        return 4L * img.getPhysicalWidth() * img.getPhysicalHeight();
+    }
+
     private void pruneCache() {
+        clearResults();
         // flush all unlocked images
         for (SoftReference<PoolFilterable> r : unlocked) {
             Filterable image = r.get();
@@ -259,6 +417,7 @@ public class ImagePool {
     }
 
     public synchronized void dispose() {
+        clearResults();
         for (SoftReference<PoolFilterable> r : unlocked) {
             Filterable image = r.get();
             if (image != null) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -137,6 +137,16 @@ public abstract class Renderer {
         image.unlock();
     }
 
+    /**
+     * Returns the pool of images used by this renderer, which also holds
+     * the cache of shared effect results.
+     *
+     * @return the {@code ImagePool} of this renderer
+     */
+    public ImagePool getImagePool() {
+        return imagePool;
+    }
+
     /**
      * This is a temporary workaround for a PowerVR SGX issue.  See
      * ImagePool for more details.
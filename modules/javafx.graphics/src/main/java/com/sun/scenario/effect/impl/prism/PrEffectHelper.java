@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,6 +26,7 @@
 package com.sun.scenario.effect.impl.prism;
 
 import com.sun.glass.ui.Screen;
+import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.PickRay;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.Rectangle;
@@ -45,6 +46,7 @@ import com.sun.scenario.effect.FilterContext;
 import com.sun.scenario.effect.ImageData;
 import com.sun.scenario.effect.impl.EffectPeer;
 import com.sun.scenario.effect.impl.ImagePool;
+import com.sun.scenario.effect.impl.Renderer;
 
 public class PrEffectHelper {
 
@@ -182,6 +184,93 @@ public class PrEffectHelper {
         g.setTransform(origtx);
     }
 
+    /**
+     * The key of a shared effect result, the result of an effect with the
+     * given parameters on content with the given signature rendered under a
+     * transform with the given linear components and the given fractional
+     * translation.
+     */
+    private record ResultKey(Object effect, Object content,
+                             double mxx, double mxy, double myx, double myy,
+                             double fracx, double fracy) {
+    }
+
+    /**
+     * Renders the given effect like {@link #render render()}, but looks
+     * up the result in, or adds it to, the result cache of the
+     * {@code ImagePool} so that other nodes rendering the same content
+     * with an equal effect can reuse it, even at other integer locations
+     * on the screen.
+     * The result is computed for the entire bounds of the content rather
+     * than for the clip, so this returns {@code false} without rendering
+     * anything if the effect cannot be shared or if its result would be too
+     * large to cache, in which case the caller should use {@code render()}.
+     *
+     * @param effect the effect to be rendered
+     * @param contentKey the render signature of the default input
+     * @param g the {@code Graphics} to which the {@code Effect} will be
+     *          rendered
+     * @param defaultInput the default input {@code Effect}
+     * @return true if the effect was rendered
+     */
+    public static boolean renderShared(Effect effect, Object contentKey,
+                                       Graphics g, Effect defaultInput)
+    {
+        Object effectKey = effect.getResultKey();
+        BaseTransform origtx = g.getTransformNoClone();
+        Screen screen = g.getAssociatedScreen();
+        if (effectKey == null || contentKey == null || screen == null ||
+            !origtx.is2D() || (g.isDepthBuffer() && g.isDepthTest()))
+        {
+            return false;
+        }
+        double tx = Math.floor(origtx.getMxt());
+        double ty = Math.floor(origtx.getMyt());
+        BaseTransform transform = new Affine2D(origtx.getMxx(), origtx.getMyx(),
+                                               origtx.getMxy(), origtx.getMyy(),
+                                               origtx.getMxt() - tx,
+                                               origtx.getMyt() - ty);
+        BaseBounds bounds = effect.getBounds(transform, defaultInput);
+        long bytes = 4L * (long) Math.ceil(bounds.getWidth()) *
+                          (long) Math.ceil(bounds.getHeight());
+        if (!ImagePool.canCacheResult(bytes)) {
+            return false;
+        }
+
+        FilterContext fctx = PrFilterContext.getInstance(screen);
+        ImagePool pool = Renderer.getRenderer(fctx).getImagePool();
+        ResultKey key = new ResultKey(effectKey, contentKey,
+                                      transform.getMxx(), transform.getMxy(),
+                                      transform.getMyx(), transform.getMyy(),
+                                      transform.getMxt(), transform.getMyt());
+        ImageData res = pool.getResult(key);
+        if (res == null || !res.validate(fctx)) {
+            if (res != null) {
+                res.unref();
+            }
+            ImagePool.numEffects++;
+            res = effect.filter(fctx, transform, null, null, defaultInput);
+            if (res == null) {
+                return true;
+            }
+            if (!res.validate(fctx)) {
+                res.unref();
+                return false;
+            }
+            pool.putResult(key, res);
+        }
+        BaseTransform savetx = origtx.copy();
+        Rectangle r = res.getUntransformedBounds();
+        Texture tex = ((PrTexture)res.getUntransformedImage()).getTextureObject();
+        g.setTransform(null);
+        g.translate((float) tx, (float) ty);
+        g.transform(res.getTransform());
+        g.drawTexture(tex, r.x, r.y, r.width, r.height);
+        res.unref();
+        g.setTransform(savetx);
+        return true;
+    }
+
     static Point2D project(float x, float y, double vw, double vh,
                            NGCamera cam, BaseTransform inv,
                            PickRay tmpray, Vec3d tmpvec, Point2D ret)
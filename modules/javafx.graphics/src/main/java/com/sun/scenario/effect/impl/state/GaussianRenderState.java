@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -34,16 +34,57 @@ import com.sun.scenario.effect.Filterable;
 import com.sun.scenario.effect.ImageData;
 import com.sun.scenario.effect.impl.BufferUtil;
 import java.nio.FloatBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 
 /**
  */
 public class GaussianRenderState extends LinearConvolveRenderState {
     public static final float MAX_RADIUS = (MAX_KERNEL_SIZE - 1) / 2;
 
+    /**
+     * The radius used for large blurs when favoring speed. A Gaussian this
+     * wide hides the loss of resolution of an input scaled down to fit it.
+     */
+    static final float SPEED_RADIUS = 16f;
+
+    /**
+     * The largest radius, in pixels, that is convolved at the resolution
+     * requested by the filter transform. For larger radii the input is
+     * requested at a smaller scale so that the radius shrinks to this
+     * value, and the result transform scales the blurred result back up.
+     * The cost of the convolution drops with the cube of that scale.
+     * By default this is {@link #MAX_RADIUS}, so the input is only scaled
+     * down when the kernel would not fit in the largest peer. With
+     * {@code -Ddecora.blurQuality=speed} it is {@link #SPEED_RADIUS}.
+     */
+    public static final float DOWNSAMPLE_RADIUS;
+
+    static {
+        @SuppressWarnings("removal")
+        String quality = AccessController.doPrivileged(
+                (PrivilegedAction<String>) () -> System.getProperty("decora.blurQuality"));
+        DOWNSAMPLE_RADIUS = getDownsampleRadius(quality);
+    }
+
+    /**
+     * Returns the downsample radius selected by the given value of the
+     * {@code decora.blurQuality} property.
+     *
+     * @param quality the property value, or null if it is not set
+     * @return the largest radius convolved without scaling down the input
+     */
+    static float getDownsampleRadius(String quality) {
+        return "speed".equals(quality)
+                ? Math.min(SPEED_RADIUS, MAX_RADIUS)
+                : MAX_RADIUS;
+    }
+
     // General variables representing the convolve operation
     private boolean isShadow;
     private Color4f shadowColor;
     private float spread;
+    private float downsampleRadius;
 
     // Values specific to this operation, calculated from the rendering context
     private EffectCoordinateSpace space;
@@ -110,6 +151,13 @@ public class GaussianRenderState extends LinearConvolveRenderState {
      */
     public GaussianRenderState(float xradius, float yradius, float spread,
                                boolean isShadow, Color4f shadowColor, BaseTransform filtertx)
+    {
+        this(xradius, yradius, spread, isShadow, shadowColor, filtertx, DOWNSAMPLE_RADIUS);
+    }
+
+    GaussianRenderState(float xradius, float yradius, float spread,
+                        boolean isShadow, Color4f shadowColor, BaseTransform filtertx,
+                        float downsampleRadius)
     {
         /*
          * The operation starts as a description of the size of a (pair of)
@@ -149,7 +197,13 @@ public class GaussianRenderState extends LinearConvolveRenderState {
          *   but we will have to reevaluate our actions when the actual
          *   input pixels are created later.
          *
-         * - If we are blurring enough to trigger the MAX_RADIUS exceptions
+         * - Well before the kernel reaches that limit, a blur is wide
+         *   enough that convolving a downscaled input and scaling the
+         *   result back up costs far less for a nearly identical result,
+         *   so the input is scaled down once the radius exceeds
+         *   DOWNSAMPLE_RADIUS (see decora.blurQuality).
+         *
+         * - If we are blurring enough to trigger the DOWNSAMPLE_RADIUS exceptions
          *   then we can blur at a nice axis-aligned orientation (which is
          *   preferred for the software versions of the shaders) and perform
          *   any rotation and skewing in the final post-processing result
@@ -171,6 +225,7 @@ public class GaussianRenderState extends LinearConvolveRenderState {
         this.isShadow = isShadow;
         this.shadowColor = shadowColor;
         this.spread = spread;
+        this.downsampleRadius = downsampleRadius;
         if (filtertx == null) filtertx = BaseTransform.IDENTITY_TRANSFORM;
         double mxx = filtertx.getMxx();
         double mxy = filtertx.getMxy();
@@ -194,14 +249,14 @@ public class GaussianRenderState extends LinearConvolveRenderState {
             this.resulttx = BaseTransform.IDENTITY_TRANSFORM;
             this.samplevectors = new float[] { 1.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f };
         } else {
-            if (scaledRadiusX > MAX_RADIUS) {
-                scaledRadiusX = MAX_RADIUS;
-                txScaleX = MAX_RADIUS / xradius;
+            if (scaledRadiusX > downsampleRadius) {
+                scaledRadiusX = downsampleRadius;
+                txScaleX = downsampleRadius / xradius;
                 scaled = true;
             }
-            if (scaledRadiusY > MAX_RADIUS) {
-                scaledRadiusY = MAX_RADIUS;
-                txScaleY = MAX_RADIUS / yradius;
+            if (scaledRadiusY > downsampleRadius) {
+                scaledRadiusY = downsampleRadius;
+                txScaleY = downsampleRadius / yradius;
                 scaled = true;
             }
             this.inputRadiusX = scaledRadiusX;
@@ -247,11 +302,18 @@ public class GaussianRenderState extends LinearConvolveRenderState {
      * @param filtertx the transform applied to the filter operation
      */
     public GaussianRenderState(float radius, float dx, float dy, BaseTransform filtertx) {
+        this(radius, dx, dy, filtertx, DOWNSAMPLE_RADIUS);
+    }
+
+    GaussianRenderState(float radius, float dx, float dy, BaseTransform filtertx,
+                        float downsampleRadius)
+    {
         // This is a special case of the above 2 dimensional Gaussian, most of
         // the same strategies and caveats apply except as relevant to our
         // directional single-axis peculiarities
         this.isShadow = false;
         this.spread = 0.0f;
+        this.downsampleRadius = downsampleRadius;
         if (filtertx == null) filtertx = BaseTransform.IDENTITY_TRANSFORM;
         double mxx = filtertx.getMxx();
         double mxy = filtertx.getMxy();
@@ -272,9 +334,9 @@ public class GaussianRenderState extends LinearConvolveRenderState {
             this.resulttx = BaseTransform.IDENTITY_TRANSFORM;
             this.samplevectors = new float[] { 1.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f };
         } else {
-            if (scaledRadius > MAX_RADIUS) {
-                scaledRadius = MAX_RADIUS;
-                txScale = MAX_RADIUS / radius;
+            if (scaledRadius > downsampleRadius) {
+                scaledRadius = downsampleRadius;
+                txScale = downsampleRadius / radius;
                 scaled = true;
             }
             this.inputRadiusX = scaledRadius;
@@ -432,19 +494,19 @@ public class GaussianRenderState extends LinearConvolveRenderState {
             }
             double srcScale = Math.hypot(samplevectors[4], samplevectors[5]);
             float pRad = (float) (iRadius * srcScale);
-            if (pRad > MAX_RADIUS) {
-                pRad = MAX_RADIUS;
-                srcScale = MAX_RADIUS / iRadius;
+            if (pRad > downsampleRadius) {
+                pRad = downsampleRadius;
+                srcScale = downsampleRadius / iRadius;
             }
             this.passRadius = pRad;
-            // For a pixelRadius that was less than MAX_RADIUS, the following
+            // For a pixelRadius that was less than downsampleRadius, the following
             // lines renormalize the un-transformed vectors back into unit
             // vectors in the proper direction and we absorbed their length
             // into the pixelRadius that we will apply for the Gaussian weights.
-            // If we clipped the pixelRadius to MAX_RADIUS, then they will not
+            // If we clipped the pixelRadius to downsampleRadius, then they will not
             // actually end up as unit vectors, but they will represent the
             // proper sampling deltas for the indicated radius (which should
-            // be MAX_RADIUS in that case).
+            // be downsampleRadius in that case).
             samplevectors[4] /= srcScale;
             samplevectors[5] /= srcScale;
         }
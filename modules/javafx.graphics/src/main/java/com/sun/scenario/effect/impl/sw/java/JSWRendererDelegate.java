@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2008, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2008, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,12 +25,30 @@
 
 package com.sun.scenario.effect.impl.sw.java;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Set;
 import com.sun.scenario.effect.Effect.AccelType;
 import com.sun.scenario.effect.impl.Renderer;
 import com.sun.scenario.effect.impl.sw.RendererDelegate;
 
 public class JSWRendererDelegate implements RendererDelegate {
 
+    /**
+     * The names of the effects that have a {@code JSWRow} peer, which works
+     * on whole rows of pixels instead of one pixel at a time.
+     */
+    private static final Set<String> rowPeerNames =
+            Set.of("LinearConvolve", "BoxBlur", "ColorAdjust");
+
+    /**
+     * Whether the row peers are used in place of the original peers. They
+     * can be disabled with {@code -Ddecora.jsw.rowloops=false}.
+     */
+    @SuppressWarnings("removal")
+    private static final boolean useRowPeers = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> !"false".equals(System.getProperty("decora.jsw.rowloops")));
+
     public JSWRendererDelegate() {
     }
 
@@ -41,6 +59,7 @@ public class JSWRendererDelegate implements RendererDelegate {
 
     @Override
     public String getPlatformPeerName(String name, int unrollCount) {
-        return Renderer.rootPkg + ".impl.sw.java.JSW" + name + "Peer";
+        String prefix = (useRowPeers && rowPeerNames.contains(name)) ? "JSWRow" : "JSW";
+        return Renderer.rootPkg + ".impl.sw.java." + prefix + name + "Peer";
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.java;
+
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+
+/**
+ * A {@link JSWBoxBlurPeer} whose vertical pass walks the images one row at
+ * a time instead of striding down each column.
+ */
+public class JSWRowBoxBlurPeer extends JSWBoxBlurPeer {
+
+    public JSWRowBoxBlurPeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    /*
+     * Same as the superclass, but it keeps a running sum for every column
+     * and walks the images one row at a time, so that all of the memory
+     * accesses are sequential instead of striding down each column.
+     */
+    @Override
+    protected void filterVertical(int dstPixels[], int dstw, int dsth, int dstscan,
+                                  int srcPixels[], int srcw, int srch, int srcscan)
+    {
+        int vsize = dsth - srch + 1;
+        int kscale = 0x7fffffff / (vsize * 255);
+        int suma[] = new int[dstw];
+        int sumr[] = new int[dstw];
+        int sumg[] = new int[dstw];
+        int sumb[] = new int[dstw];
+        int dstoff = 0;
+        for (int y = 0; y < dsth; y++) {
+            if (y >= vsize) {
+                // Un-accumulate the data for row y-vsize into the sums.
+                int srcoff = (y - vsize) * srcscan;
+                for (int x = 0; x < dstw; x++) {
+                    int rgb = srcPixels[srcoff + x];
+                    suma[x] -= (rgb >>> 24);
+                    sumr[x] -= (rgb >>  16) & 0xff;
+                    sumg[x] -= (rgb >>   8) & 0xff;
+                    sumb[x] -= (rgb       ) & 0xff;
+                }
+            }
+            if (y < srch) {
+                // Accumulate the data for row y into the sums.
+                int srcoff = y * srcscan;
+                for (int x = 0; x < dstw; x++) {
+                    int rgb = srcPixels[srcoff + x];
+                    suma[x] += (rgb >>> 24);
+                    sumr[x] += (rgb >>  16) & 0xff;
+                    sumg[x] += (rgb >>   8) & 0xff;
+                    sumb[x] += (rgb       ) & 0xff;
+                }
+            }
+            for (int x = 0; x < dstw; x++) {
+                dstPixels[dstoff + x] =
+                    (((suma[x] * kscale) >> 23) << 24) +
+                    (((sumr[x] * kscale) >> 23) << 16) +
+                    (((sumg[x] * kscale) >> 23) <<  8) +
+                    (((sumb[x] * kscale) >> 23)      );
+            }
+            dstoff += dstscan;
+        }
+    }
+}
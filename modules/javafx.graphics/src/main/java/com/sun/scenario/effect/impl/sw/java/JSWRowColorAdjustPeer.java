@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.java;
+
+import com.sun.scenario.effect.ColorAdjust;
+import com.sun.scenario.effect.Effect;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.ImageData;
+import com.sun.scenario.effect.impl.HeapImage;
+import com.sun.scenario.effect.impl.Renderer;
+import com.sun.scenario.effect.impl.state.RenderState;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.transform.BaseTransform;
+
+/**
+ * A row oriented version of the ColorAdjust peer that JSLC generates from
+ * {@code ColorAdjust.jsl}. The source pixel of each destination column is
+ * the same on every row, so the columns are mapped to source offsets once
+ * per filter instead of stepping and bounds checking a sample position
+ * for every pixel. The adjustment only depends on the source pixel, so a
+ * run of identical pixels, such as a flat background or a transparent
+ * area, is only converted to and from HSB once.
+ */
+public class JSWRowColorAdjustPeer extends JSWEffectPeer<RenderState> {
+
+    public JSWRowColorAdjustPeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    @Override
+    protected final ColorAdjust getEffect() {
+        return (ColorAdjust)super.getEffect();
+    }
+
+    private float getHue() {
+        return getEffect().getHue() / 2f;
+    }
+
+    private float getSaturation() {
+        return getEffect().getSaturation() + 1f;
+    }
+
+    private float getBrightness() {
+        return getEffect().getBrightness() + 1f;
+    }
+
+    private float getContrast() {
+        float c = getEffect().getContrast();
+        if (c > 0) c *= 3f;
+        return (c + 1f);
+    }
+
+    @Override
+    public ImageData filter(Effect effect,
+                            RenderState rstate,
+                            BaseTransform transform,
+                            Rectangle outputClip,
+                            ImageData... inputs)
+    {
+        setEffect(effect);
+        Rectangle dstBounds = getResultBounds(transform, outputClip, inputs);
+        setDestBounds(dstBounds);
+
+        // NOTE: for now, all input images must be TYPE_INT_ARGB_PRE
+        HeapImage src0 = (HeapImage)inputs[0].getTransformedImage(dstBounds);
+        int src0w = src0.getPhysicalWidth();
+        int src0h = src0.getPhysicalHeight();
+        int src0scan = src0.getScanlineStride();
+        int[] baseImg = src0.getPixelArray();
+        Rectangle src0Bounds = new Rectangle(0, 0, src0w, src0h);
+        Rectangle src0InputBounds = inputs[0].getTransformedBounds(dstBounds);
+        setInputBounds(0, src0InputBounds);
+        setInputNativeBounds(0, src0Bounds);
+
+        float[] src0Rect = new float[4];
+        getTextureCoordinates(0, src0Rect,
+                              src0InputBounds.x, src0InputBounds.y,
+                              src0w, src0h,
+                              dstBounds, BaseTransform.IDENTITY_TRANSFORM);
+
+        int dstw = dstBounds.width;
+        int dsth = dstBounds.height;
+
+        HeapImage dst = (HeapImage)getRenderer().getCompatibleImage(dstw, dsth);
+        setDestNativeBounds(dst.getPhysicalWidth(), dst.getPhysicalHeight());
+        int dstscan = dst.getScanlineStride();
+        int[] dstPixels = dst.getPixelArray();
+
+        float hue = getHue();
+        float saturation = getSaturation();
+        float brightness = getBrightness();
+        float contrast = getContrast();
+
+        // The sample positions are stepped exactly as in the generated
+        // peer so that the same source pixels are picked.
+        float inc0_x = (src0Rect[2] - src0Rect[0]) / dstw;
+        float inc0_y = (src0Rect[3] - src0Rect[1]) / dsth;
+        int srcx[] = new int[dstw];
+        float pos0_x = src0Rect[0] + inc0_x*0.5f;
+        for (int dx = 0; dx < dstw; dx++) {
+            int iloc_x = (int)(pos0_x*src0w);
+            srcx[dx] = (pos0_x >= 0 && iloc_x < src0w) ? iloc_x : -1;
+            pos0_x += inc0_x;
+        }
+
+        int lastSrc = 0;
+        int lastDst = adjust(0, hue, saturation, brightness, contrast);
+        float pos0_y = src0Rect[1] + inc0_y*0.5f;
+        for (int dy = 0; dy < dsth; dy++) {
+            int iloc_y = (int)(pos0_y*src0h);
+            int srcrow = (pos0_y >= 0 && iloc_y < src0h) ? iloc_y*src0scan : -1;
+            int dyi = dy*dstscan;
+            for (int dx = 0; dx < dstw; dx++) {
+                int rgb = (srcrow < 0 || srcx[dx] < 0) ? 0 : baseImg[srcrow + srcx[dx]];
+                if (rgb != lastSrc) {
+                    lastSrc = rgb;
+                    lastDst = adjust(rgb, hue, saturation, brightness, contrast);
+                }
+                dstPixels[dyi+dx] = lastDst;
+            }
+            pos0_y += inc0_y;
+        }
+
+        inputs[0].releaseTransformedImage(src0);
+
+        return new ImageData(getFilterContext(), dst, dstBounds);
+    }
+
+    /*
+     * Applies the adjustment to one premultiplied pixel, with the same
+     * float operations as ColorAdjust.jsl.
+     */
+    static int adjust(int rgb,
+                      float hue, float saturation,
+                      float brightness, float contrast)
+    {
+        float src_x = (((rgb >>  16) & 0xff) / 255f);
+        float src_y = (((rgb >>   8) & 0xff) / 255f);
+        float src_z = (((rgb       ) & 0xff) / 255f);
+        float src_w = (((rgb >>> 24)       ) / 255f);
+        if (src_w > 0f) {
+            src_x /= src_w;
+            src_y /= src_w;
+            src_z /= src_w;
+        }
+
+        // adjust contrast
+        src_x = ((src_x - 0.5f) * contrast) + 0.5f;
+        src_y = ((src_y - 0.5f) * contrast) + 0.5f;
+        src_z = ((src_z - 0.5f) * contrast) + 0.5f;
+
+        // convert from rgb -> hsb
+        float h, s, b;
+        float cmax = (src_x > src_y) ? src_x : src_y;
+        cmax = (cmax > src_z) ? cmax : src_z;
+        float cmin = (src_x < src_y) ? src_x : src_y;
+        cmin = (cmin < src_z) ? cmin : src_z;
+        if (cmax > cmin) {
+            float c_x = (cmax - src_x) / (cmax - cmin);
+            float c_y = (cmax - src_y) / (cmax - cmin);
+            float c_z = (cmax - src_z) / (cmax - cmin);
+            if (src_x == cmax) {
+                h = c_z - c_y;
+            } else if (src_y == cmax) {
+                h = 2f + c_x - c_z;
+            } else {
+                h = 4f + c_y - c_x;
+            }
+            h /= 6f;
+            if (h < 0f) {
+                h += 1f;
+            }
+            s = (cmax - cmin) / cmax;
+        } else {
+            h = 0f;
+            s = 0f;
+        }
+        b = cmax;
+
+        // adjust hue
+        h += hue;
+        if (h < 0f) {
+            h += 1f;
+        } else if (h > 1f) {
+            h -= 1f;
+        }
+
+        // adjust saturation
+        if (saturation > 1f) {
+            float sat = saturation - 1f;
+            s += (1f - s) * sat;
+        } else {
+            s *= saturation;
+        }
+
+        // adjust brightness
+        if (brightness > 1f) {
+            float brt = brightness - 1f;
+            s *= 1f - brt;
+            b += (1f - b) * brt;
+        } else {
+            b *= brightness;
+        }
+
+        // clamp saturation and brightness values
+        s = (s < 0f) ? 0f : (s > 1f) ? 1f : s;
+        b = (b < 0f) ? 0f : (b > 1f) ? 1f : b;
+
+        // convert back from hsb -> rgb (retaining original alpha)
+        float res_x, res_y, res_z;
+        h = (h - (float)Math.floor(h)) * 6f;
+        float f = h - (float)Math.floor(h);
+        float p = b * (1f - s);
+        float q = b * (1f - (s * f));
+        float t = b * (1f - (s * (1f - f)));
+        h = (float)Math.floor(h);
+        if (h < 1f) {
+            res_x = b; res_y = t; res_z = p;
+        } else if (h < 2f) {
+            res_x = q; res_y = b; res_z = p;
+        } else if (h < 3f) {
+            res_x = p; res_y = b; res_z = t;
+        } else if (h < 4f) {
+            res_x = p; res_y = q; res_z = b;
+        } else if (h < 5f) {
+            res_x = t; res_y = p; res_z = b;
+        } else {
+            res_x = b; res_y = p; res_z = q;
+        }
+
+        float color_x = src_w * res_x;
+        float color_y = src_w * res_y;
+        float color_z = src_w * res_z;
+        float color_w = src_w;
+        if (color_w < 0f) color_w = 0f; else if (color_w > 1f) color_w = 1f;
+        if (color_x < 0f) color_x = 0f; else if (color_x > color_w) color_x = color_w;
+        if (color_y < 0f) color_y = 0f; else if (color_y > color_w) color_y = color_w;
+        if (color_z < 0f) color_z = 0f; else if (color_z > color_w) color_z = color_w;
+        return
+            ((int)(color_x * 0xff) << 16) |
+            ((int)(color_y * 0xff) <<  8) |
+            ((int)(color_z * 0xff) <<  0) |
+            ((int)(color_w * 0xff) << 24);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.scenario.effect.impl.sw.java;
+
+import java.util.Arrays;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.impl.Renderer;
+
+/**
+ * A {@link JSWLinearConvolvePeer} that convolves untransformed sources one
+ * row at a time whenever every sample lands on a whole pixel, which is the
+ * common case for GaussianBlur and DropShadow. Any other geometry uses the
+ * per pixel loop of the superclass.
+ */
+public class JSWRowLinearConvolvePeer extends JSWLinearConvolvePeer {
+
+    public JSWRowLinearConvolvePeer(FilterContext fctx, Renderer r, String uniqueName) {
+        super(fctx, r, uniqueName);
+    }
+
+    @Override
+    protected void filterVector(int dstPixels[], int dstw, int dsth, int dstscan,
+                                int srcPixels[], int srcw, int srch, int srcscan,
+                                float weights[], int count,
+                                float srcx0, float srcy0,
+                                float offsetx, float offsety,
+                                float deltax, float deltay,
+                                float dxcol, float dycol, float dxrow, float dyrow)
+    {
+        if (isAligned(dxcol, 1, dstw) && isAligned(dycol, 0, dstw) &&
+            isAligned(dxrow, 0, dsth) && isAligned(dyrow, 1, dsth))
+        {
+            // Every sample lands on a pixel center of an untransformed
+            // source, so no interpolation is needed if the taps and the
+            // first sample are aligned on whole pixels as well.
+            float cx0 = srcx0 + (dxrow + dxcol) * 0.5f + offsetx - 0.5f;
+            float cy0 = srcy0 + (dyrow + dycol) * 0.5f + offsety - 0.5f;
+            int srcx = Math.round(cx0);
+            int srcy = Math.round(cy0);
+            int stepx = Math.round(deltax);
+            int stepy = Math.round(deltay);
+            if (isAligned(cx0, srcx, 1) && isAligned(cy0, srcy, 1) &&
+                isAligned(deltax, stepx, count) && isAligned(deltay, stepy, count) &&
+                stepx >= 0 && stepy >= 0 && stepx + stepy <= 1)
+            {
+                filterRows(dstPixels, dstw, dsth, dstscan,
+                           srcPixels, srcw, srch, srcscan,
+                           weights, count,
+                           srcx, srcy, stepx, stepy);
+                return;
+            }
+        }
+        super.filterVector(dstPixels, dstw, dsth, dstscan,
+                           srcPixels, srcw, srch, srcscan,
+                           weights, count,
+                           srcx0, srcy0, offsetx, offsety, deltax, deltay,
+                           dxcol, dycol, dxrow, dyrow);
+    }
+
+    /*
+     * Tests whether the n steps of size v accumulate less than a small
+     * fraction of a pixel of error relative to the whole pixel step target.
+     */
+    private static boolean isAligned(float v, int target, int n) {
+        return Math.abs(v - target) * Math.max(n, 1) < 1e-3f;
+    }
+
+    /*
+     * Convolves whole pixels of an untransformed source with unit or zero
+     * steps, one row at a time. The A, R, G and B components of each source
+     * row are unpacked into consecutive planes of a float array so that the
+     * accumulation for each tap is a single multiply-add over contiguous
+     * arrays, which the JIT can turn into SIMD instructions. The vertical
+     * pass keeps the last count unpacked rows in a ring so that each source
+     * row is only unpacked once.
+     */
+    private void filterRows(int dstPixels[], int dstw, int dsth, int dstscan,
+                            int srcPixels[], int srcw, int srch, int srcscan,
+                            float weights[], int count,
+                            int srcx, int srcy, int stepx, int stepy)
+    {
+        float sums[] = new float[dstw * 4];
+        if (stepy == 0) {
+            int span = dstw + (count - 1) * stepx;
+            float row[] = new float[span * 4];
+            for (int dy = 0; dy < dsth; dy++) {
+                Arrays.fill(sums, 0f);
+                if (unpackRow(srcPixels, srcw, srch, srcscan,
+                              srcx, srcy + dy, span, row))
+                {
+                    for (int i = 0; i < count; i++) {
+                        float w = weights[i];
+                        int off = i * stepx;
+                        for (int c = 0; c < 4; c++) {
+                            accumulate(w, row, c * span + off, sums, c * dstw, dstw);
+                        }
+                    }
+                }
+                packRow(sums, dstw, dstPixels, dy * dstscan);
+            }
+        } else {
+            float rows[][] = new float[count][dstw * 4];
+            boolean valid[] = new boolean[count];
+            for (int i = 0; i < count - 1; i++) {
+                valid[i] = unpackRow(srcPixels, srcw, srch, srcscan,
+                                     srcx, srcy + i, dstw, rows[i]);
+            }
+            for (int dy = 0; dy < dsth; dy++) {
+                // The row for the last tap replaces the one that was used
+                // by the first tap of the previous destination row.
+                int last = (dy + count - 1) % count;
+                valid[last] = unpackRow(srcPixels, srcw, srch, srcscan,
+                                        srcx, srcy + dy + count - 1, dstw, rows[last]);
+                Arrays.fill(sums, 0f);
+                for (int i = 0; i < count; i++) {
+                    int r = (dy + i) % count;
+                    if (valid[r]) {
+                        accumulate(weights[i], rows[r], 0, sums, 0, dstw * 4);
+                    }
+                }
+                packRow(sums, dstw, dstPixels, dy * dstscan);
+            }
+        }
+    }
+
+    /*
+     * Unpacks len pixels of source row y starting at column x into the
+     * four planes of row, with zeros for the pixels outside of the source.
+     * Returns false, leaving row untouched, if no pixel is inside the source.
+     */
+    private static boolean unpackRow(int srcPixels[], int srcw, int srch, int srcscan,
+                                     int x, int y, int len, float row[])
+    {
+        int k0 = Math.max(0, -x);
+        int k1 = Math.min(len, srcw - x);
+        if (y < 0 || y >= srch || k0 >= k1) {
+            return false;
+        }
+        for (int c = 0; c < 4; c++) {
+            Arrays.fill(row, c * len, c * len + k0, 0f);
+            Arrays.fill(row, c * len + k1, (c + 1) * len, 0f);
+        }
+        int srcoff = y * srcscan + x;
+        for (int k = k0; k < k1; k++) {
+            int rgb = srcPixels[srcoff + k];
+            row[k        ] = (rgb >>> 24);
+            row[k + len  ] = (rgb >>  16) & 0xff;
+            row[k + len*2] = (rgb >>   8) & 0xff;
+            row[k + len*3] = (rgb       ) & 0xff;
+        }
+        return true;
+    }
+
+    private static void accumulate(float w, float src[], int srcoff,
+                                   float sums[], int sumoff, int n)
+    {
+        for (int k = 0; k < n; k++) {
+            sums[sumoff + k] += w * src[srcoff + k];
+        }
+    }
+
+    private static void packRow(float sums[], int n, int dstPixels[], int dstoff) {
+        for (int k = 0; k < n; k++) {
+            float suma = sums[k      ];
+            float sumr = sums[k + n  ];
+            float sumg = sums[k + n*2];
+            float sumb = sums[k + n*3];
+            dstPixels[dstoff + k] =
+                (((suma < cmin) ? 0 : ((suma > cmax) ? 255 : ((int) suma))) << 24) +
+                (((sumr < cmin) ? 0 : ((sumr > cmax) ? 255 : ((int) sumr))) << 16) +
+                (((sumg < cmin) ? 0 : ((sumg > cmax) ? 255 : ((int) sumg))) <<  8) +
+                (((sumb < cmin) ? 0 : ((sumb > cmax) ? 255 : ((int) sumb)))      );
+        }
+    }
+}
@@ -2616,33 +2616,41 @@ public class Scene implements EventTarget {
                     PulseLogger.newPhase("Update bounds");
                 }
                 getRoot().updateBounds();
-                if (peer != null) {
-                    try {
-                        if (PULSE_LOGGING_ENABLED) {
-                            PulseLogger.newPhase("Waiting for previous rendering");
-                        }
-                        peer.waitForRenderingToComplete();
-                        peer.waitForSynchronization();
-                        // synchronize scene properties
-                        if (PULSE_LOGGING_ENABLED) {
-                            PulseLogger.newPhase("Copy state to render graph");
-                        }
-                        syncLights();
-                        synchronizeSceneProperties();
-                        // Run the synchronizer
-                        synchronizeSceneNodes();
-                        Scene.this.mouseHandler.pulse();
-                        // Tell the scene peer that it needs to repaint
-                        peer.markDirty();
-                    } finally {
-                        peer.releaseSynchronization(true);
-                    }
-                } else {
+                if (peer == null) {
                     if (PULSE_LOGGING_ENABLED) {
                         PulseLogger.newPhase("Synchronize with null peer");
                     }
                     synchronizeSceneNodes();
                     Scene.this.mouseHandler.pulse();
+                } else {
+                    if (PULSE_LOGGING_ENABLED) {
+                        PulseLogger.newPhase("Waiting for previous rendering");
+                    }
+                    if (peer.trySynchronization()) {
+                        try {
+                            // synchronize scene properties
+                            if (PULSE_LOGGING_ENABLED) {
+                                PulseLogger.newPhase("Copy state to render graph");
+                            }
+                            syncLights();
+                            synchronizeSceneProperties();
+                            // Run the synchronizer
+                            synchronizeSceneNodes();
+                            Scene.this.mouseHandler.pulse();
+                            // Tell the scene peer that it needs to repaint
+                            peer.markDirty();
+                        } finally {
+                            peer.releaseSynchronization(true);
+                        }
+                    } else {
+                        // The previous frame is still being rendered. The nodes
+                        // stay dirty and get synchronized on a following pulse.
+                        if (PULSE_LOGGING_ENABLED) {
+                            PulseLogger.incrementCounter("Synchronization deferred");
+                        }
+                        Scene.this.mouseHandler.pulse();
+                        Toolkit.getToolkit().requestNextPulse();
+                    }
                 }
 
                 if (Scene.this.getRoot().cssFlag != CssFlags.CLEAN) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,11 @@
 
 package javafx.scene.canvas;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.DoublePropertyBase;
 import javafx.geometry.NodeOrientation;
@@ -101,6 +106,9 @@ public class Canvas extends Node {
     private static final int SIZE_HISTORY = 5;
 
     private GrowableDataBuffer current;
+    private Map<String, GrowableDataBuffer> layers;
+    private List<String> removedLayers;
+    private String recordingLayer;
     private boolean rendererBehind;
     private int recentvalsizes[];
     private int recentobjsizes[];
@@ -153,6 +161,55 @@ public class Canvas extends Node {
         return current;
     }
 
+    /*
+     * Starts a new recording for the named layer. A recording of the same
+     * layer that was not synchronized to the peer yet is obsolete and its
+     * buffer is reused, so re-recording a layer several times between two
+     * pulses does not accumulate commands.
+     */
+    GrowableDataBuffer startLayer(String name) {
+        NodeHelper.markDirty(this, DirtyBits.NODE_CONTENTS);
+        NodeHelper.markDirty(this, DirtyBits.NODE_FORCE_SYNC);
+        if (layers == null) {
+            layers = new LinkedHashMap<>();
+        }
+        GrowableDataBuffer buf = layers.get(name);
+        if (buf == null) {
+            buf = GrowableDataBuffer.getBuffer(DEFAULT_VAL_BUF_SIZE, DEFAULT_OBJ_BUF_SIZE);
+            layers.put(name, buf);
+        } else {
+            buf.reset();
+        }
+        recordingLayer = name;
+        return buf;
+    }
+
+    GrowableDataBuffer getLayerBuffer(String name) {
+        NodeHelper.markDirty(this, DirtyBits.NODE_CONTENTS);
+        NodeHelper.markDirty(this, DirtyBits.NODE_FORCE_SYNC);
+        return layers.get(name);
+    }
+
+    void endLayer() {
+        NodeHelper.markDirty(this, DirtyBits.NODE_CONTENTS);
+        recordingLayer = null;
+    }
+
+    void removeLayer(String name) {
+        NodeHelper.markDirty(this, DirtyBits.NODE_CONTENTS);
+        NodeHelper.markDirty(this, DirtyBits.NODE_FORCE_SYNC);
+        if (layers != null) {
+            GrowableDataBuffer buf = layers.remove(name);
+            if (buf != null) {
+                GrowableDataBuffer.returnBuffer(buf);
+            }
+        }
+        if (removedLayers == null) {
+            removedLayers = new ArrayList<>();
+        }
+        removedLayers.add(name);
+    }
+
     boolean isRendererFallingBehind() {
         return rendererBehind;
     }
@@ -276,6 +333,24 @@ public class Canvas extends Node {
                 rendererBehind = peer.updateRendering(current);
                 current = null;
             }
+            if (removedLayers != null) {
+                for (String name : removedLayers) {
+                    peer.removeLayer(name);
+                }
+                removedLayers = null;
+            }
+            if (layers != null) {
+                // A layer that is still being recorded is synchronized
+                // once its recording is complete
+                Iterator<Map.Entry<String, GrowableDataBuffer>> it = layers.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, GrowableDataBuffer> entry = it.next();
+                    if (!entry.getKey().equals(recordingLayer)) {
+                        peer.updateLayer(entry.getKey(), entry.getValue());
+                        it.remove();
+                    }
+                }
+            }
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -282,6 +282,7 @@ import javafx.scene.text.FontSmoothingType;
  * {@link #fillRect(double, double, double, double) fillRect()},
  * {@link #fillRoundRect(double, double, double, double, double, double) fillRoundRect()},
  * {@link #fillOval(double, double, double, double) fillOval()},
+ * {@link #fillOvals(double[], double[], int, double, double) fillOvals()},
  * {@link #fillArc(double, double, double, double, double, double, javafx.scene.shape.ArcType) fillArc()}
  * </th>
  * <td class="colLast" style="width:13%; text-align:center; color:#0c0">Yes</td>
@@ -433,7 +434,8 @@ import javafx.scene.text.FontSmoothingType;
  * <tr><th scope="row" colspan="1">Image Rendering</th></tr>
  * <tr class="rowColor">
  * <th scope="row" class="colLast" style="width:22%">
- * {@link #drawImage(javafx.scene.image.Image, double, double) drawImage(all forms)}
+ * {@link #drawImage(javafx.scene.image.Image, double, double) drawImage(all forms)},
+ * {@link #drawImages(javafx.scene.image.Image, double[], double[], int) drawImages()}
  * </th>
  * <td class="colLast" style="width:13%; text-align:center; color:#0c0">Yes</td>
  * <td class="colLast" style="width:13%; text-align:center; color:#c00">No</td>
@@ -488,6 +490,14 @@ public final class GraphicsContext {
     LinkedList<State> stateStack;
     LinkedList<Path2D> clipStack;
 
+    // The layer being recorded, if any, and the state of the context
+    // at the time the recording started
+    String layerName;
+    private State layerSavedState;
+    private LinkedList<State> layerSavedStateStack;
+    private LinkedList<Path2D> layerSavedClipStack;
+    private boolean layerSavedTxdirty;
+
     GraphicsContext(Canvas theCanvas) {
         this.theCanvas = theCanvas;
         this.path = new Path2D();
@@ -612,7 +622,9 @@ public final class GraphicsContext {
     }
 
     private GrowableDataBuffer getBuffer() {
-        return theCanvas.getBuffer();
+        return (layerName == null)
+            ? theCanvas.getBuffer()
+            : theCanvas.getLayerBuffer(layerName);
     }
 
     private float coords[] = new float[6];
@@ -767,6 +779,47 @@ public final class GraphicsContext {
         buf.putObject(platformImg);
     }
 
+    private float[] toCoords(double xPoints[], double yPoints[], int nPoints) {
+        float coords[] = new float[nPoints * 2];
+        for (int i = 0; i < nPoints; i++) {
+            coords[i * 2] = (float) xPoints[i];
+            coords[i * 2 + 1] = (float) yPoints[i];
+        }
+        return coords;
+    }
+
+    private void writeOvals(double xPoints[], double yPoints[], int nPoints,
+                            double w, double h)
+    {
+        if (xPoints == null || yPoints == null) return;
+        float coords[] = toCoords(xPoints, yPoints, nPoints);
+        updateTransform();
+        GrowableDataBuffer buf = getBuffer();
+        buf.putByte(NGCanvas.FILL_OVALS);
+        buf.putFloat((float) w);
+        buf.putFloat((float) h);
+        buf.putInt(nPoints);
+        buf.putObject(coords);
+    }
+
+    private void writeImages(Image img,
+                             double xPoints[], double yPoints[], int nPoints)
+    {
+        if (img == null || img.getProgress() < 1.0) return;
+        if (xPoints == null || yPoints == null) return;
+        Object platformImg = Toolkit.getImageAccessor().getPlatformImage(img);
+        if (platformImg == null) return;
+        float coords[] = toCoords(xPoints, yPoints, nPoints);
+        updateTransform();
+        GrowableDataBuffer buf = getBuffer();
+        buf.putByte(NGCanvas.DRAW_IMAGES);
+        buf.putFloat((float) img.getWidth());
+        buf.putFloat((float) img.getHeight());
+        buf.putInt(nPoints);
+        buf.putObject(platformImg);
+        buf.putObject(coords);
+    }
+
     private void writeText(String text, double x, double y, double maxWidth,
                            byte command)
     {
@@ -829,21 +882,30 @@ public final class GraphicsContext {
             buf.reset();
             buf.putByte(NGCanvas.RESET);
             updateDimensions();
-            txdirty = true;
-            pathDirty = true;
-            State s = this.curState;
-            int numClipPaths = this.curState.numClipPaths;
-            this.curState = new State();
-            for (int i = 0; i < numClipPaths; i++) {
-                Path2D clip = clipStack.get(i);
-                buf.putByte(NGCanvas.PUSH_CLIP);
-                buf.putObject(clip);
-            }
-            this.curState.numClipPaths = numClipPaths;
-            s.restore(this);
+            writeState(buf, false);
         }
     }
 
+    /*
+     * Writes the current state into a buffer whose stream starts with the
+     * default rendering attributes.
+     */
+    private void writeState(GrowableDataBuffer buf, boolean copyClips) {
+        txdirty = true;
+        pathDirty = true;
+        State s = this.curState;
+        int numClipPaths = this.curState.numClipPaths;
+        this.curState = new State();
+        for (int i = 0; i < numClipPaths; i++) {
+            Path2D clip = clipStack.get(i);
+            buf.putByte(NGCanvas.PUSH_CLIP);
+            // The renderer may scale the clip path it receives in place
+            buf.putObject(copyClips ? new Path2D(clip) : clip);
+        }
+        this.curState.numClipPaths = numClipPaths;
+        s.restore(this);
+    }
+
     private void resetIfCovers(Paint p, double x, double y, double w, double h) {
         Affine2D tx = this.curState.transform;
         if (tx.isTranslateOrIdentity()) {
@@ -938,6 +1000,93 @@ public final class GraphicsContext {
         }
     }
 
+    /**
+     * Starts recording the commands of a named layer. A layer is a group of
+     * rendering commands that is retained by the {@code Canvas} as a separate
+     * image, drawn over the image of the canvas itself and over all layers
+     * that were created before it. All of the commands issued until
+     * {@link #endLayer()} is called render into the layer instead of into the
+     * image of the canvas, and replace the previous contents of the layer
+     * entirely. Layers that are not recorded again keep their rendered image
+     * and cost nothing to render, which makes them suited to the static
+     * parts of a drawing that is otherwise redrawn on every frame.
+     * <p>
+     * The recording starts with the current rendering attributes, including
+     * the clip. A fresh state stack is used while recording, and all of the
+     * rendering attributes are set back to the values they had when this
+     * method was called once the recording ends, as if {@link #save()} and
+     * {@link #restore()} had been called around it.
+     * </p>
+     * <p>
+     * Each layer uses as much memory as the image of the canvas.
+     * </p>
+     *
+     * @param name the name of the layer
+     * @throws NullPointerException if {@code name} is null
+     * @throws IllegalStateException if a layer is already being recorded
+     * @see #endLayer()
+     * @see #removeLayer(String)
+     * @since 24
+     */
+    public void beginLayer(String name) {
+        if (name == null) {
+            throw new NullPointerException("Layer name must not be null");
+        }
+        if (layerName != null) {
+            throw new IllegalStateException("Layer " + layerName + " is being recorded");
+        }
+        layerSavedState = curState.copy();
+        layerSavedStateStack = stateStack;
+        layerSavedClipStack = new LinkedList<>(clipStack);
+        layerSavedTxdirty = txdirty;
+        layerName = name;
+        stateStack = new LinkedList<>();
+        writeState(theCanvas.startLayer(name), true);
+    }
+
+    /**
+     * Ends the recording of the current layer started by
+     * {@link #beginLayer(String)} and restores the rendering attributes
+     * that were in effect when the recording started.
+     *
+     * @throws IllegalStateException if no layer is being recorded
+     * @since 24
+     */
+    public void endLayer() {
+        if (layerName == null) {
+            throw new IllegalStateException("No layer is being recorded");
+        }
+        layerName = null;
+        theCanvas.endLayer();
+        curState = layerSavedState;
+        stateStack = layerSavedStateStack;
+        clipStack = layerSavedClipStack;
+        txdirty = layerSavedTxdirty;
+        pathDirty = true;
+        layerSavedState = null;
+        layerSavedStateStack = null;
+        layerSavedClipStack = null;
+    }
+
+    /**
+     * Removes a layer from the {@code Canvas} and releases its image.
+     * Nothing happens if no layer with that name exists.
+     *
+     * @param name the name of the layer
+     * @throws NullPointerException if {@code name} is null
+     * @throws IllegalStateException if the layer is being recorded
+     * @since 24
+     */
+    public void removeLayer(String name) {
+        if (name == null) {
+            throw new NullPointerException("Layer name must not be null");
+        }
+        if (name.equals(layerName)) {
+            throw new IllegalStateException("Layer " + name + " is being recorded");
+        }
+        theCanvas.removeLayer(name);
+    }
+
     /**
      * Translates the current transform by x, y.
      * @param x value to translate along the x axis.
@@ -2436,6 +2585,43 @@ public final class GraphicsContext {
         }
     }
 
+    /**
+     * Fills many ovals of the same size using the current fill paint.
+     * The upper left bounds of the ovals are given by the coordinates in
+     * the two arrays.
+     * A {@code null} value for any of the arrays will be ignored and nothing
+     * will be drawn.
+     * <p>
+     * The result is the same as calling {@link #fillOval fillOval} for each
+     * of the points in order, except that the ovals are recorded and rendered
+     * as a single operation, which is much faster when drawing many small
+     * shapes such as the points of a scatter plot. Effects, clipping and a
+     * global blend mode other than {@link BlendMode#SRC_OVER SRC_OVER} are
+     * applied to the whole group of ovals at once.
+     * </p>
+     * <p>
+     * This method will be affected by any of the
+     * <a href="#comm-attr">global common</a>
+     * or <a href="#fill-attr">fill</a>
+     * attributes as specified in the
+     * <a href="#attr-ops-table">Rendering Attributes Table</a>.
+     * </p>
+     *
+     * @param xPoints array containing the x coordinates of the ovals or null.
+     * @param yPoints array containing the y coordinates of the ovals or null.
+     * @param nPoints the number of ovals to fill.
+     * @param w the width at the center of the ovals.
+     * @param h the height at the center of the ovals.
+     * @since 24
+     */
+    public void fillOvals(double xPoints[], double yPoints[], int nPoints,
+                          double w, double h)
+    {
+        if (nPoints > 0 && w != 0 && h != 0) {
+            writeOvals(xPoints, yPoints, nPoints, w, h);
+        }
+    }
+
     /**
      * Strokes an oval using the current stroke paint.
      * <p>
@@ -2670,6 +2856,41 @@ public final class GraphicsContext {
         writeImage(img, x, y, sw, sh);
     }
 
+    /**
+     * Draws an image at each of the given positions on the canvas.
+     * A {@code null} image value, an image still in progress or a
+     * {@code null} value for any of the arrays will be ignored.
+     * <p>
+     * The result is the same as calling {@link #drawImage(Image, double, double)
+     * drawImage} for each of the positions in order, except that the images are
+     * recorded and rendered as a single operation, which is much faster when
+     * drawing many copies of a small image such as a sprite or a marker.
+     * Effects, clipping and a global blend mode other than
+     * {@link BlendMode#SRC_OVER SRC_OVER} are applied to the whole group of
+     * images at once.
+     * </p>
+     * <p>
+     * This method will be affected by any of the
+     * <a href="#comm-attr">global common</a>
+     * or <a href="#image-attr">image</a>
+     * attributes as specified in the
+     * <a href="#attr-ops-table">Rendering Attributes Table</a>.
+     * </p>
+     *
+     * @param img the image to be drawn or null.
+     * @param xPoints array containing the x coordinates on the destination
+     * for the upper left of the images or null.
+     * @param yPoints array containing the y coordinates on the destination
+     * for the upper left of the images or null.
+     * @param nPoints the number of images to draw.
+     * @since 24
+     */
+    public void drawImages(Image img, double xPoints[], double yPoints[], int nPoints) {
+        if (nPoints > 0) {
+            writeImages(img, xPoints, yPoints, nPoints);
+        }
+    }
+
     /**
      * Draws an image into the given destination rectangle of the canvas. The
      * Image is scaled to fit into the destination rectangle.
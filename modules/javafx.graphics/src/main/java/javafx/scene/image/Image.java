@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -32,8 +32,6 @@ import java.net.URL;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.concurrent.CancellationException;
 import java.util.regex.Pattern;
 import javafx.animation.KeyFrame;
@@ -48,10 +46,12 @@ import javafx.beans.property.ReadOnlyDoubleWrapper;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectPropertyBase;
 import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
 import com.sun.javafx.runtime.async.AsyncOperation;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
+import com.sun.javafx.runtime.async.WeakAsyncOperationListener;
 import com.sun.javafx.tk.ImageLoader;
 import com.sun.javafx.tk.PlatformImage;
 import com.sun.javafx.tk.Toolkit;
@@ -77,7 +77,8 @@ import javafx.beans.property.SimpleIntegerProperty;
  * Images can be resized as they are loaded (for example to reduce the amount of
  * memory consumed by the image). The application can specify the quality of
  * filtering used when scaling, and whether or not to preserve the original
- * image's aspect ratio.
+ * image's aspect ratio. A region of the image can be loaded instead of the
+ * whole image by specifying a {@linkplain #getViewport() viewport}.
  *
  * <p>If a URL string is passed to a constructor, it be any of the following:
  * <ol>
@@ -99,7 +100,9 @@ import javafx.beans.property.SimpleIntegerProperty;
  *
  * <p>Use {@link ImageView} for displaying images loaded with this
  * class. The same {@code Image} instance can be displayed by multiple
- * {@code ImageView}s.
+ * {@code ImageView}s. Applications that create many {@code Image} instances
+ * from the same URL can share the decoded images by installing an
+ * {@link ImageCache}.
  *
  *<p>Example code for loading images:
 
@@ -126,6 +129,11 @@ Image image3 = new Image("http://sample.com/res/flower.png", 100, 0, false, fals
 // The image is located in the current working directory
 Image image4 = new Image("file:flower.png", 0, 100, false, false);
 
+// load the top left 1000x1000 pixels of a large image, scaled down to 250x250
+// The image is located in the current working directory
+Image image5 = new Image("file:map.png", new Rectangle2D(0, 0, 1000, 1000),
+                         250, 250, true, true, false);
+
 </PRE>
  * @since JavaFX 2.0
  */
@@ -233,6 +241,27 @@ public class Image {
         }
         return progress;
     }
+    /**
+     * The region of the source image that is loaded, or {@code null} if the
+     * whole image is loaded.
+     *
+     * @defaultValue null
+     */
+    private final Rectangle2D viewport;
+
+    /**
+     * Gets the region of the source image that is loaded, or {@code null} if
+     * the whole image is loaded. When it is not {@code null}, the requested
+     * width and height are the dimensions of the bounding box within which
+     * the viewport is resized.
+     *
+     * @return the viewport
+     * @since 24
+     */
+    public final Rectangle2D getViewport() {
+        return viewport;
+    }
+
     // PENDING_DOC_REVIEW
     /**
      * The width of the bounding box within which the source image is
@@ -624,7 +653,7 @@ public class Image {
      * @throws IllegalArgumentException if {@code url} is invalid or unsupported
      */
     public Image(@NamedArg("url") String url) {
-        this(validateUrl(url), null, 0, 0, false, false, false);
+        this(validateUrl(url), null, null, 0, 0, false, false, false);
         initialize(null);
     }
 
@@ -639,7 +668,7 @@ public class Image {
      * @throws IllegalArgumentException if {@code url} is invalid or unsupported
      */
     public Image(@NamedArg("url") String url, @NamedArg("backgroundLoading") boolean backgroundLoading) {
-        this(validateUrl(url), null, 0, 0, false, false, backgroundLoading);
+        this(validateUrl(url), null, null, 0, 0, false, false, backgroundLoading);
         initialize(null);
     }
 
@@ -661,7 +690,7 @@ public class Image {
      */
     public Image(@NamedArg("url") String url, @NamedArg("requestedWidth") double requestedWidth, @NamedArg("requestedHeight") double requestedHeight,
                  @NamedArg("preserveRatio") boolean preserveRatio, @NamedArg("smooth") boolean smooth) {
-        this(validateUrl(url), null, requestedWidth, requestedHeight,
+        this(validateUrl(url), null, null, requestedWidth, requestedHeight,
              preserveRatio, smooth, false);
         initialize(null);
     }
@@ -691,7 +720,49 @@ public class Image {
             @NamedArg("preserveRatio") boolean preserveRatio,
             @NamedArg(value="smooth", defaultValue="true") boolean smooth,
             @NamedArg("backgroundLoading") boolean backgroundLoading) {
-        this(validateUrl(url), null, requestedWidth, requestedHeight,
+        this(validateUrl(url), null, null, requestedWidth, requestedHeight,
+             preserveRatio, smooth, backgroundLoading);
+        initialize(null);
+    }
+
+    /**
+     * Constructs an {@code Image} with the content of a region of the image
+     * loaded from the specified URL, using the specified parameters.
+     * <p>
+     * Only the pixels of the {@code viewport} are kept in memory, and image
+     * formats that support it decode only the part of the image that is
+     * needed, at a reduced resolution when the viewport is scaled down to
+     * fit the requested bounding box. The width and height of the image are
+     * those of the viewport after it has been scaled to fit the bounding box.
+     *
+     * @param url a resource path, file path, or URL
+     * @param viewport the region of the source image to load, in the
+     *      coordinate system of the source image; the region is clipped to
+     *      the bounds of the source image
+     * @param requestedWidth the viewport's bounding box width
+     * @param requestedHeight the viewport's bounding box height
+     * @param preserveRatio indicates whether to preserve the aspect ratio of
+     *      the viewport when scaling to fit it within the specified bounding
+     *      box
+     * @param smooth indicates whether to use a better quality filtering
+     *      algorithm or a faster one when scaling the viewport to fit within
+     *      the specified bounding box
+     * @param backgroundLoading indicates whether the image
+     *      is being loaded in the background
+     * @throws NullPointerException if {@code url} or {@code viewport} is null
+     * @throws IllegalArgumentException if {@code url} is invalid or unsupported,
+     *      or if the width or height of {@code viewport} is not positive
+     * @since 24
+     */
+    public Image(
+            @NamedArg(value="url", defaultValue="\"\"") String url,
+            @NamedArg("viewport") Rectangle2D viewport,
+            @NamedArg("requestedWidth") double requestedWidth,
+            @NamedArg("requestedHeight") double requestedHeight,
+            @NamedArg("preserveRatio") boolean preserveRatio,
+            @NamedArg(value="smooth", defaultValue="true") boolean smooth,
+            @NamedArg("backgroundLoading") boolean backgroundLoading) {
+        this(validateUrl(url), null, validateViewport(viewport), requestedWidth, requestedHeight,
              preserveRatio, smooth, backgroundLoading);
         initialize(null);
     }
@@ -704,7 +775,7 @@ public class Image {
      * @throws NullPointerException if input stream is null
      */
     public Image(@NamedArg("is") InputStream is) {
-        this(null, validateInputStream(is), 0, 0, false, false, false);
+        this(null, validateInputStream(is), null, 0, 0, false, false, false);
         initialize(null);
     }
 
@@ -724,7 +795,7 @@ public class Image {
      */
     public Image(@NamedArg("is") InputStream is, @NamedArg("requestedWidth") double requestedWidth, @NamedArg("requestedHeight") double requestedHeight,
                  @NamedArg("preserveRatio") boolean preserveRatio, @NamedArg("smooth") boolean smooth) {
-        this(null, validateInputStream(is), requestedWidth, requestedHeight,
+        this(null, validateInputStream(is), null, requestedWidth, requestedHeight,
              preserveRatio, smooth, false);
         initialize(null);
     }
@@ -738,7 +809,7 @@ public class Image {
      * @throws IllegalArgumentException if either dimension is negative or zero.
      */
     Image(int width, int height) {
-        this(null, null, width, height, false, false, false);
+        this(null, null, null, width, height, false, false, false);
         if (width <= 0 || height <= 0) {
             throw new IllegalArgumentException("Image dimensions must be positive (w,h > 0)");
         }
@@ -751,22 +822,23 @@ public class Image {
      * @param pixelBuffer the {@code PixelBuffer} used to construct this image.
      */
     Image(PixelBuffer pixelBuffer) {
-        this(null, null, pixelBuffer.getWidth(), pixelBuffer.getHeight(),
+        this(null, null, null, pixelBuffer.getWidth(), pixelBuffer.getHeight(),
                 false, false, false);
         initialize(pixelBuffer); // Creates an image using the java.nio.Buffer provided by PixelBuffer.
     }
 
     private Image(Object externalImage) {
-        this(null, null, 0, 0, false, false, false);
+        this(null, null, null, 0, 0, false, false, false);
         initialize(externalImage);
     }
 
-    private Image(String url, InputStream is,
+    private Image(String url, InputStream is, Rectangle2D viewport,
                   double requestedWidth, double requestedHeight,
                   boolean preserveRatio, boolean smooth,
                   boolean backgroundLoading) {
         this.url = url;
         this.inputSource = is;
+        this.viewport = viewport;
         this.requestedWidth = requestedWidth;
         this.requestedHeight = requestedHeight;
         this.preserveRatio = preserveRatio;
@@ -808,6 +880,9 @@ public class Image {
             // object (e.g. a BufferedImage in the case of the Swing profile)
             ImageLoader loader = loadPlatformImage(externalImage);
             finishImage(loader);
+        } else if (loadFromCache()) {
+            // Reuse the image decoded for an earlier image with the same
+            // url and parameters.
         } else if (isBackgroundLoading() && (inputSource == null)) {
             // Load image in the background.
             loadInBackground();
@@ -815,16 +890,52 @@ public class Image {
             // Load image immediately.
             ImageLoader loader;
             if (inputSource != null) {
-                loader = loadImage(inputSource, getRequestedWidth(), getRequestedHeight(),
+                loader = loadImage(inputSource, getViewport(), getRequestedWidth(), getRequestedHeight(),
                                    isPreserveRatio(), isSmooth());
             } else {
-                loader = loadImage(getUrl(), getRequestedWidth(), getRequestedHeight(),
+                loader = loadImage(getUrl(), getViewport(), getRequestedWidth(), getRequestedHeight(),
                                    isPreserveRatio(), isSmooth());
+                addToCache(loader);
             }
             finishImage(loader);
         }
     }
 
+    // The loader of an image shared through the ImageCache. It is kept
+    // reachable for as long as this image, so that the cache can share it
+    // with new images after it has been evicted.
+    private ImageLoader sharedLoader;
+
+    // The key is built from the fields rather than from this image, which
+    // must not escape to the cache while it is being constructed.
+    private ImageCache.Key getCacheKey() {
+        return new ImageCache.Key(url, viewport, requestedWidth, requestedHeight,
+                                  preserveRatio, smooth);
+    }
+
+    private boolean loadFromCache() {
+        ImageCache cache = ImageCache.getDefault();
+        if (cache == null || inputSource != null) {
+            return false;
+        }
+        ImageLoader loader = cache.get(getCacheKey());
+        if (loader == null) {
+            return false;
+        }
+        sharedLoader = loader;
+        finishImage(loader);
+        return true;
+    }
+
+    private void addToCache(ImageLoader loader) {
+        ImageCache cache = ImageCache.getDefault();
+        if (cache == null || loader.getException() != null) {
+            return;
+        }
+        sharedLoader = loader;
+        cache.put(getCacheKey(), loader);
+    }
+
     private void finishImage(ImageLoader loader) {
         final Exception loadingException = loader.getException();
         if (loadingException != null) {
@@ -935,36 +1046,14 @@ public class Image {
         }
     }
 
-    private void cycleTasks() {
-        synchronized (pendingTasks) {
-            runningTasks--;
-            // do we have any pending tasks to run ?
-            // we can assume we are under the throttle limit because
-            // one task just completed.
-            final ImageTask nextTask = pendingTasks.poll();
-            if (nextTask != null) {
-                runningTasks++;
-                nextTask.start();
-            }
-        }
-    }
-
     private void loadInBackground() {
+        // The toolkit bounds the number of images that are loaded at the
+        // same time, the task is queued until it can run. The queued task
+        // only holds a weak reference to this image, so that it is skipped
+        // if the image is no longer used by the time it reaches the head of
+        // the queue.
         backgroundTask = new ImageTask();
-        // This is an artificial throttle on background image loading tasks.
-        // It has been shown that with large images, we can quickly use up the
-        // heap loading images, even if they result in thumbnails.
-        // The limit of MAX_RUNNING_TASKS is arbitrary, and was based on initial
-        // testing with
-        // about 60 2-6 megapixel images.
-        synchronized (pendingTasks) {
-            if (runningTasks >= MAX_RUNNING_TASKS) {
-                pendingTasks.offer(backgroundTask);
-            } else {
-                runningTasks++;
-                backgroundTask.start();
-            }
-        }
+        backgroundTask.start();
     }
 
     // Used by SwingUtils.toFXImage
@@ -1012,11 +1101,6 @@ public class Image {
         platformImage.set(newPlatformImage);
     }
 
-    private static final int MAX_RUNNING_TASKS = 4;
-    private static int runningTasks = 0;
-    private static final Queue<ImageTask> pendingTasks =
-            new LinkedList<>();
-
     private final class ImageTask
             implements AsyncOperationListener<ImageLoader> {
 
@@ -1029,19 +1113,17 @@ public class Image {
         @Override
         public void onCancel() {
             finishImage(new CancellationException("Loading cancelled"));
-            cycleTasks();
         }
 
         @Override
         public void onException(Exception exception) {
             finishImage(exception);
-            cycleTasks();
         }
 
         @Override
         public void onCompletion(ImageLoader value) {
+            addToCache(value);
             finishImage(value);
-            cycleTasks();
         }
 
         @Override
@@ -1063,33 +1145,33 @@ public class Image {
         }
 
         private AsyncOperation constructPeer() {
-            return loadImageAsync(this, url,
+            return loadImageAsync(new WeakAsyncOperationListener<>(this), url, viewport,
                                   requestedWidth, requestedHeight,
                                   preserveRatio, smooth);
         }
     }
 
     private static ImageLoader loadImage(
-            String url, double width, double height,
+            String url, Rectangle2D viewport, double width, double height,
             boolean preserveRatio, boolean smooth) {
-        return Toolkit.getToolkit().loadImage(url, width, height,
+        return Toolkit.getToolkit().loadImage(url, viewport, width, height,
                                               preserveRatio, smooth);
 
     }
 
     private static ImageLoader loadImage(
-            InputStream stream, double width, double height,
+            InputStream stream, Rectangle2D viewport, double width, double height,
             boolean preserveRatio, boolean smooth) {
-        return Toolkit.getToolkit().loadImage(stream, width, height,
+        return Toolkit.getToolkit().loadImage(stream, viewport, width, height,
                                               preserveRatio, smooth);
 
     }
 
     private static AsyncOperation loadImageAsync(
             AsyncOperationListener<? extends ImageLoader> listener,
-            String url, double width, double height,
+            String url, Rectangle2D viewport, double width, double height,
             boolean preserveRatio, boolean smooth) {
-        return Toolkit.getToolkit().loadImageAsync(listener, url,
+        return Toolkit.getToolkit().loadImageAsync(listener, url, viewport,
                                                    width, height,
                                                    preserveRatio, smooth);
     }
@@ -1143,6 +1225,18 @@ public class Image {
         return inputStream;
     }
 
+    private static Rectangle2D validateViewport(final Rectangle2D viewport) {
+        if (viewport == null) {
+            throw new NullPointerException("Viewport must not be null");
+        }
+
+        if (viewport.getWidth() <= 0 || viewport.getHeight() <= 0) {
+            throw new IllegalArgumentException("Viewport must not be empty");
+        }
+
+        return viewport;
+    }
+
     private static String constructDetailedExceptionMessage(
             final String mainMessage,
             final Throwable cause) {
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package javafx.scene.image;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javafx.geometry.Rectangle2D;
+import com.sun.javafx.tk.ImageLoader;
+
+/**
+ * A memory bounded cache of decoded images that is shared by all the
+ * {@code Image} instances loaded from the same URL with the same parameters.
+ * <p>
+ * Images are cached only if an application opts in by installing a cache with
+ * {@link #setDefault(ImageCache)}. When a default cache is installed, an
+ * {@code Image} created from a URL first looks up an image decoded for an
+ * earlier {@code Image} with the same URL, viewport, requested width and
+ * height, {@code preserveRatio} and {@code smooth} flags, and only loads the
+ * image if there is none. An {@code Image} that is served from the cache is
+ * completely loaded when its constructor returns, even if background loading
+ * was requested.
+ * <p>
+ * The most recently used images are kept in the cache until the estimated
+ * number of bytes used by their pixels exceeds the budget of the cache, after
+ * which the least recently used images are evicted. An evicted image is still
+ * shared with new {@code Image} instances for as long as an {@code Image}
+ * that uses it is reachable, so evicting an image never causes it to be held
+ * twice in memory.
+ * <p>
+ * Images loaded from an {@code InputStream} and images that fail to load are
+ * never cached.
+ * <p>
+ * This class is thread safe.
+ *
+ * <p>
+ * The following example installs a cache of 64 MB:
+ * <pre>{@code
+ * ImageCache.setDefault(new ImageCache(64 * 1024 * 1024));
+ * }</pre>
+ *
+ * @since 24
+ */
+public final class ImageCache {
+
+    private static volatile ImageCache defaultCache;
+
+    /**
+     * Returns the cache used by {@code Image} instances that are created from
+     * a URL, or {@code null} if images are not cached.
+     *
+     * @return the default image cache, or {@code null}
+     */
+    public static ImageCache getDefault() {
+        return defaultCache;
+    }
+
+    /**
+     * Sets the cache used by {@code Image} instances that are created from
+     * a URL. Images that have already been created are not affected.
+     *
+     * @param cache the default image cache, or {@code null} to disable
+     *        caching of images
+     */
+    public static void setDefault(ImageCache cache) {
+        defaultCache = cache;
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final HashMap<Key, SharedRef> shared = new HashMap<>();
+    private final ReferenceQueue<ImageLoader> queue = new ReferenceQueue<>();
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an image cache that keeps at most {@code maxBytes} of decoded
+     * pixels reachable. A budget of zero only shares images among the
+     * {@code Image} instances that are reachable.
+     *
+     * @param maxBytes the maximum number of bytes held by the cache
+     * @throws IllegalArgumentException if {@code maxBytes} is negative
+     */
+    public ImageCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the maximum number of bytes held by this cache.
+     *
+     * @return the budget of this cache in bytes
+     */
+    public long getMaxByteCount() {
+        return maxBytes;
+    }
+
+    /**
+     * Returns the estimated number of bytes used by the images held by this
+     * cache. Images that are only shared because they are still used by
+     * reachable {@code Image} instances are not included.
+     *
+     * @return the number of bytes held by this cache
+     */
+    public synchronized long getByteCount() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of images held by this cache.
+     *
+     * @return the number of images held by this cache
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of times an image was found in this cache.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of times an image was not found in this cache and
+     * had to be loaded.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of images that were evicted from this cache to stay
+     * within its budget.
+     *
+     * @return the number of evicted images
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Removes all the images from this cache. {@code Image} instances that
+     * use the images are not affected, but the images are no longer shared
+     * with new {@code Image} instances. The statistics are reset.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        shared.clear();
+        expungeStaleEntries();
+        bytes = 0;
+        hits = misses = evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        long lookups = hits + misses;
+        return "ImageCache[" + entries.size() + " entries, " +
+               bytes + " / " + maxBytes + " bytes, " +
+               hits + " hits, " + misses + " misses (" +
+               (lookups == 0 ? 0 : (hits * 100 / lookups)) + "% hit rate), " +
+               evictions + " evictions]";
+    }
+
+    /**
+     * Returns the loader of an image decoded for an {@code Image} with the
+     * parameters of the given key, or {@code null}.
+     */
+    synchronized ImageLoader get(Key key) {
+        expungeStaleEntries();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+            return entry.loader;
+        }
+        SharedRef ref = shared.get(key);
+        ImageLoader loader = (ref != null) ? ref.get() : null;
+        if (loader != null) {
+            hits++;
+            // the image is in use again, keep it while it is recently used
+            retain(key, loader);
+            return loader;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Adds the loader of a successfully loaded image to the cache.
+     */
+    synchronized void put(Key key, ImageLoader loader) {
+        expungeStaleEntries();
+        shared.put(key, new SharedRef(key, loader, queue));
+        retain(key, loader);
+    }
+
+    private void retain(Key key, ImageLoader loader) {
+        long size = estimateSize(loader);
+        if (size > maxBytes) return;
+        Entry old = entries.put(key, new Entry(loader, size));
+        if (old != null) {
+            bytes -= old.size;
+        }
+        bytes += size;
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            Map.Entry<Key, Entry> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            bytes -= eldest.getValue().size;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private void expungeStaleEntries() {
+        SharedRef ref;
+        while ((ref = (SharedRef) queue.poll()) != null) {
+            shared.remove(ref.key, ref);
+        }
+    }
+
+    /**
+     * Estimates the number of bytes used by the frames of an image, assuming
+     * 4 bytes per pixel.
+     */
+    static long estimateSize(ImageLoader loader) {
+        long pixels = (long) Math.ceil(loader.getWidth()) * (long) Math.ceil(loader.getHeight());
+        return pixels * 4 * Math.max(1, loader.getFrameCount());
+    }
+
+    private record Entry(ImageLoader loader, long size) {
+    }
+
+    private static final class SharedRef extends WeakReference<ImageLoader> {
+        final Key key;
+
+        SharedRef(Key key, ImageLoader loader, ReferenceQueue<ImageLoader> queue) {
+            super(loader, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * The parameters of an {@code Image} that determine its decoded image.
+     */
+    static final class Key {
+        private final String url;
+        private final Rectangle2D viewport;
+        private final double requestedWidth;
+        private final double requestedHeight;
+        private final boolean preserveRatio;
+        private final boolean smooth;
+        private final int hash;
+
+        Key(String url, Rectangle2D viewport,
+            double requestedWidth, double requestedHeight,
+            boolean preserveRatio, boolean smooth) {
+            this.url = url;
+            this.viewport = viewport;
+            this.requestedWidth = requestedWidth;
+            this.requestedHeight = requestedHeight;
+            this.preserveRatio = preserveRatio;
+            this.smooth = smooth;
+            this.hash = Objects.hash(url, viewport, requestedWidth, requestedHeight,
+                                     preserveRatio, smooth);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof Key other)) return false;
+            return hash == other.hash &&
+                   url.equals(other.url) &&
+                   Objects.equals(viewport, other.viewport) &&
+                   requestedWidth == other.requestedWidth &&
+                   requestedHeight == other.requestedHeight &&
+                   preserveRatio == other.preserveRatio &&
+                   smooth == other.smooth;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -34,6 +34,7 @@ import java.lang.ref.WeakReference;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.Iterator;
 import java.util.List;
@@ -61,6 +62,20 @@ import java.util.Objects;
  * PixelFormat<IntBuffer> pixelFormat = PixelFormat.getIntArgbPreInstance();
  * PixelBuffer<IntBuffer> pixelBuffer = new PixelBuffer<>(width, height, intBuffer, pixelFormat);
  * Image img = new WritableImage(pixelBuffer);}</pre>
+ * <p>
+ * A {@code PixelBuffer} can also be created from two or three buffers, so that
+ * the application can write the next frame into a back buffer on any thread while the
+ * images display the front buffer, without synchronizing with the renderer:
+ * <pre>{@code  PixelBuffer<IntBuffer> pixelBuffer = PixelBuffer.createMultiBuffered(width, height,
+ *         List.of(IntBuffer.allocate(width * height), IntBuffer.allocate(width * height),
+ *                 IntBuffer.allocate(width * height)),
+ *         PixelFormat.getIntArgbPreInstance());
+ * Image img = new WritableImage(pixelBuffer);
+ *
+ * // On a background thread, for every frame:
+ * IntBuffer buffer = pixelBuffer.acquireBuffer();
+ * // Update the regions of the buffer that changed.
+ * pixelBuffer.releaseBuffer(List.of(new Rectangle2D(x, y, dirtyWidth, dirtyHeight)));}</pre>
  *
  * @param <T> the type of {@code Buffer} that stores the pixel data.
  *           Only {@code ByteBuffer} and {@code IntBuffer} are supported.
@@ -69,12 +84,38 @@ import java.util.Objects;
  */
 public class PixelBuffer<T extends Buffer> {
 
-    private final T buffer;
+    /*
+     * The maximum number of dirty regions that are tracked for a buffer,
+     * more regions are replaced by their bounds.
+     */
+    private static final int MAX_DIRTY_REGIONS = 16;
+
+    private final List<T> buffers;
     private final int width;
     private final int height;
     private final PixelFormat<T> pixelFormat;
     private final List<WeakReference<WritableImage>> imageRefs;
 
+    /*
+     * The state of the buffers of a multi-buffered PixelBuffer, guarded by
+     * lock. Like in QueuedPixelSource, a buffer is either the front buffer
+     * shown by the images, being presented (about to become the front
+     * buffer), pending (released and waiting to be presented), acquired by
+     * the application, or free.
+     */
+    private final Object lock = new Object();
+    private int front;
+    private int presenting = -1;
+    private int pending = -1;
+    private int acquired = -1;
+    private boolean presentScheduled;
+    // The regions that differ between the front buffer and the pending
+    // buffer, null if the whole buffer differs.
+    private List<Rectangle> pendingDirty = new ArrayList<>();
+    // For every buffer, the regions where its contents differ from the most
+    // recently released buffer, null if the whole buffer may differ.
+    private final List<List<Rectangle>> staleRegions;
+
     /**
      * Constructs a {@code PixelBuffer} using the specified {@code Buffer} and {@code PixelFormat}.
      * The type of the specified {@code PixelFormat} must be either {@code PixelFormat.Type.INT_ARGB_PRE}
@@ -99,6 +140,78 @@ public class PixelBuffer<T extends Buffer> {
     public PixelBuffer(int width, int height, T buffer, PixelFormat<T> pixelFormat) {
         Objects.requireNonNull(buffer, "buffer must not be null.");
         Objects.requireNonNull(pixelFormat, "pixelFormat must not be null.");
+        validateBuffer(width, height, buffer, pixelFormat);
+        this.buffers = List.of(buffer);
+        this.width = width;
+        this.height = height;
+        this.pixelFormat = pixelFormat;
+        this.imageRefs = new LinkedList<>();
+        this.staleRegions = null;
+    }
+
+    /**
+     * Creates a multi-buffered {@code PixelBuffer} using the specified {@code Buffer}s and
+     * {@code PixelFormat}.
+     * <p>The images created from a multi-buffered {@code PixelBuffer} display its front buffer, which
+     * is the first of the specified buffers until another buffer is presented. The application writes
+     * the next frame into a back buffer obtained with {@link #acquireBuffer()}, on any thread, and
+     * presents it with {@link #releaseBuffer(List)}. With two buffers, {@code acquireBuffer} waits until
+     * the previously released buffer has been presented. With three buffers it never waits for the
+     * renderer, a released buffer that was not presented yet is replaced by the next released buffer.
+     * <p>Every buffer must meet the requirements of
+     * {@link #PixelBuffer(int, int, Buffer, PixelFormat) PixelBuffer(width, height, buffer, pixelFormat)}.
+     * This method does not copy the buffers, the application must not modify them
+     * other than through {@code acquireBuffer} and {@code releaseBuffer}.
+     *
+     * @param width       width in pixels of this {@code PixelBuffer}
+     * @param height      height in pixels of this {@code PixelBuffer}
+     * @param buffers     the two or three buffers that store the pixel data
+     * @param pixelFormat the format of pixels in the {@code buffers}
+     * @param <T>         the type of the buffers
+     * @return a new multi-buffered {@code PixelBuffer}
+     * @throws IllegalArgumentException if either {@code width} or {@code height}
+     *                                  is negative or zero, or if the type of {@code pixelFormat}
+     *                                  is unsupported, or if {@code buffers} does not contain
+     *                                  two or three different buffers, or if any buffer does
+     *                                  not have sufficient memory, or if the type of any buffer
+     *                                  and {@code pixelFormat} do not match
+     * @throws NullPointerException     if {@code buffers}, any of its elements or
+     *                                  {@code pixelFormat} is {@code null}
+     * @since 24
+     */
+    public static <T extends Buffer> PixelBuffer<T> createMultiBuffered(int width, int height,
+            List<T> buffers, PixelFormat<T> pixelFormat) {
+        return new PixelBuffer<>(width, height, buffers, pixelFormat);
+    }
+
+    private PixelBuffer(int width, int height, List<T> buffers, PixelFormat<T> pixelFormat) {
+        Objects.requireNonNull(buffers, "buffers must not be null.");
+        Objects.requireNonNull(pixelFormat, "pixelFormat must not be null.");
+        if (buffers.size() < 2 || buffers.size() > 3) {
+            throw new IllegalArgumentException("A multi-buffered PixelBuffer requires 2 or 3 buffers.");
+        }
+        for (int i = 0; i < buffers.size(); i++) {
+            T buffer = Objects.requireNonNull(buffers.get(i), "buffers must not contain null.");
+            validateBuffer(width, height, buffer, pixelFormat);
+            for (int j = 0; j < i; j++) {
+                if (buffers.get(j) == buffer) {
+                    throw new IllegalArgumentException("The buffers must be different.");
+                }
+            }
+        }
+        this.buffers = List.copyOf(buffers);
+        this.width = width;
+        this.height = height;
+        this.pixelFormat = pixelFormat;
+        this.imageRefs = new LinkedList<>();
+        this.staleRegions = new ArrayList<>();
+        for (int i = 0; i < buffers.size(); i++) {
+            // nothing is known about the initial contents of the back buffers
+            staleRegions.add(i == 0 ? new ArrayList<>() : null);
+        }
+    }
+
+    private static void validateBuffer(int width, int height, Buffer buffer, PixelFormat<?> pixelFormat) {
         if (width <= 0 || height <= 0) {
             throw new IllegalArgumentException("PixelBuffer dimensions must be positive (w,h > 0)");
         }
@@ -122,20 +235,31 @@ public class PixelBuffer<T extends Buffer> {
             default:
                 throw new IllegalArgumentException("Unsupported PixelFormat: " + pixelFormat.getType());
         }
-        this.buffer = buffer;
-        this.width = width;
-        this.height = height;
-        this.pixelFormat = pixelFormat;
-        this.imageRefs = new LinkedList<>();
     }
 
     /**
-     * Returns the {@code buffer} of this {@code PixelBuffer}.
+     * Returns the {@code buffer} of this {@code PixelBuffer}. If this {@code PixelBuffer} is
+     * multi-buffered, returns its front buffer, which must not be modified.
      *
      * @return the {@code buffer} of this {@code PixelBuffer}
      */
     public T getBuffer() {
-        return buffer;
+        if (staleRegions == null) {
+            return buffers.get(0);
+        }
+        synchronized (lock) {
+            return buffers.get(front);
+        }
+    }
+
+    /**
+     * Returns the number of buffers of this {@code PixelBuffer}, 1 unless it is multi-buffered.
+     *
+     * @return the number of buffers of this {@code PixelBuffer}
+     * @since 24
+     */
+    public int getBufferCount() {
+        return buffers.size();
     }
 
     /**
@@ -182,26 +306,243 @@ public class PixelBuffer<T extends Buffer> {
      *
      * @param callback the {@code Callback} method that updates the buffer
      * @throws IllegalStateException if this method is called on a thread
-     *                               other than the JavaFX Application Thread.
+     *                               other than the JavaFX Application Thread,
+     *                               or if this {@code PixelBuffer} is multi-buffered.
      * @throws NullPointerException  if {@code callback} is {@code null}
      **/
     public void updateBuffer(Callback<PixelBuffer<T>, Rectangle2D> callback) {
         Toolkit.getToolkit().checkFxUserThread();
         Objects.requireNonNull(callback, "callback must not be null.");
+        if (staleRegions != null) {
+            throw new IllegalStateException("A multi-buffered PixelBuffer is updated with acquireBuffer and releaseBuffer.");
+        }
         Rectangle2D rect2D = callback.call(this);
         if (rect2D != null) {
             if (rect2D.getWidth() > 0 && rect2D.getHeight() > 0) {
-                int x1 = (int) Math.floor(rect2D.getMinX());
-                int y1 = (int) Math.floor(rect2D.getMinY());
-                int x2 = (int) Math.ceil(rect2D.getMaxX());
-                int y2 = (int) Math.ceil(rect2D.getMaxY());
-                bufferDirty(new Rectangle(x1, y1, x2 - x1, y2 - y1));
+                bufferDirty(toRectangle(rect2D));
             }
         } else {
             bufferDirty(null);
         }
     }
 
+    /**
+     * Returns a back buffer of this multi-buffered {@code PixelBuffer} for the application to
+     * write the next frame into. The buffer holds the pixels of the most recently released
+     * buffer, so only the regions that change have to be written. The buffer must be
+     * released with {@link #releaseBuffer(List)} before another buffer can be acquired.
+     * <p>This method can be called on any thread. If all the back buffers are in use, which can
+     * only happen with two buffers, it waits until the previously released buffer is presented.
+     *
+     * @return the buffer to write the next frame into
+     * @throws IllegalStateException if this {@code PixelBuffer} is not multi-buffered,
+     *                               or if a buffer is already acquired
+     * @since 24
+     */
+    public T acquireBuffer() {
+        checkMultiBuffered();
+        boolean interrupted = false;
+        int index;
+        int latest;
+        List<Rectangle> stale;
+        while (true) {
+            boolean present = false;
+            synchronized (lock) {
+                if (acquired >= 0) {
+                    throw new IllegalStateException("A buffer is already acquired.");
+                }
+                index = findFreeBuffer();
+                if (index >= 0) {
+                    acquired = index;
+                    latest = (pending >= 0) ? pending : (presenting >= 0) ? presenting : front;
+                    stale = staleRegions.get(index);
+                    staleRegions.set(index, new ArrayList<>());
+                    break;
+                }
+                if (Toolkit.getToolkit().isFxUserThread()) {
+                    // the buffers are presented on this thread, do not wait
+                    present = true;
+                } else {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (present) {
+                presentPendingBuffer();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        // Only the acquired buffer is written, the latest buffer cannot
+        // change until it is released.
+        copyRegions(buffers.get(latest), buffers.get(index), stale);
+        return buffers.get(index);
+    }
+
+    /**
+     * Releases the buffer acquired with {@link #acquireBuffer()} and schedules it to be
+     * presented, after which all {@code WritableImage}s that were created using this
+     * {@code PixelBuffer} display it. Only the specified dirty regions are uploaded
+     * to the graphics card.
+     * <p>This method can be called on any thread.
+     *
+     * @param dirtyRegions the regions of the buffer that changed since it was acquired,
+     *                     or {@code null} to indicate that the entire buffer is dirty
+     * @throws IllegalStateException if this {@code PixelBuffer} is not multi-buffered,
+     *                               or if no buffer is acquired
+     * @since 24
+     */
+    public void releaseBuffer(List<Rectangle2D> dirtyRegions) {
+        checkMultiBuffered();
+        List<Rectangle> regions = null;
+        if (dirtyRegions != null) {
+            regions = new ArrayList<>();
+            for (Rectangle2D rect2D : dirtyRegions) {
+                if (rect2D.getWidth() > 0 && rect2D.getHeight() > 0) {
+                    Rectangle rect = toRectangle(rect2D);
+                    rect.intersectWith(new Rectangle(width, height));
+                    if (!rect.isEmpty()) {
+                        regions.add(rect);
+                    }
+                }
+            }
+        }
+        boolean schedule;
+        synchronized (lock) {
+            if (acquired < 0) {
+                throw new IllegalStateException("No buffer is acquired.");
+            }
+            for (int i = 0; i < buffers.size(); i++) {
+                if (i != acquired) {
+                    staleRegions.set(i, addRegions(staleRegions.get(i), regions));
+                }
+            }
+            // a pending buffer that was not presented yet is replaced
+            pendingDirty = addRegions(pendingDirty, regions);
+            pending = acquired;
+            acquired = -1;
+            lock.notifyAll();
+            schedule = !presentScheduled;
+            presentScheduled = true;
+        }
+        if (schedule) {
+            Toolkit.getToolkit().defer(this::presentPendingBuffer);
+        }
+    }
+
+    private void checkMultiBuffered() {
+        if (staleRegions == null) {
+            throw new IllegalStateException("PixelBuffer is not multi-buffered.");
+        }
+    }
+
+    private int findFreeBuffer() {
+        for (int i = 0; i < buffers.size(); i++) {
+            if (i != front && i != presenting && i != pending) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Makes the pending buffer the front buffer of the images, called on the
+     * JavaFX Application Thread.
+     */
+    private void presentPendingBuffer() {
+        int index;
+        Rectangle[] dirtyRegions;
+        synchronized (lock) {
+            presentScheduled = false;
+            if (pending < 0) {
+                return;
+            }
+            index = pending;
+            dirtyRegions = (pendingDirty == null) ? null : pendingDirty.toArray(new Rectangle[0]);
+            presenting = pending;
+            pending = -1;
+            pendingDirty = new ArrayList<>();
+        }
+        T buffer = buffers.get(index);
+        List<WritableImage> images = getImages();
+        // The renderer may be reading the current front buffer, it can only
+        // be reused once no scene is being rendered.
+        Toolkit.getToolkit().runWhileNotRendering(() -> {
+            for (WritableImage image : images) {
+                image.bufferDirty(buffer, dirtyRegions);
+            }
+            synchronized (lock) {
+                front = index;
+                presenting = -1;
+                lock.notifyAll();
+            }
+        });
+        for (WritableImage image : images) {
+            image.pixelsDirty();
+        }
+    }
+
+    private static List<Rectangle> addRegions(List<Rectangle> regions, List<Rectangle> added) {
+        if (regions == null || added == null) {
+            return null;
+        }
+        regions.addAll(added);
+        if (regions.size() > MAX_DIRTY_REGIONS) {
+            Rectangle bounds = new Rectangle(regions.get(0));
+            for (Rectangle rect : regions) {
+                bounds.add(rect);
+            }
+            regions.clear();
+            regions.add(bounds);
+        }
+        return regions;
+    }
+
+    private void copyRegions(T src, T dst, List<Rectangle> regions) {
+        if (regions == null) {
+            regions = List.of(new Rectangle(width, height));
+        }
+        int pixelSize = (dst instanceof ByteBuffer) ? 4 : 1;
+        int stride = width * pixelSize;
+        for (Rectangle rect : regions) {
+            int length = rect.width * pixelSize;
+            for (int y = rect.y; y < rect.y + rect.height; y++) {
+                int offset = y * stride + rect.x * pixelSize;
+                if (dst instanceof ByteBuffer dstBuffer) {
+                    dstBuffer.put(offset, (ByteBuffer) src, offset, length);
+                } else {
+                    ((IntBuffer) dst).put(offset, (IntBuffer) src, offset, length);
+                }
+            }
+        }
+    }
+
+    private static Rectangle toRectangle(Rectangle2D rect2D) {
+        int x1 = (int) Math.floor(rect2D.getMinX());
+        int y1 = (int) Math.floor(rect2D.getMinY());
+        int x2 = (int) Math.ceil(rect2D.getMaxX());
+        int y2 = (int) Math.ceil(rect2D.getMaxY());
+        return new Rectangle(x1, y1, x2 - x1, y2 - y1);
+    }
+
+    private List<WritableImage> getImages() {
+        List<WritableImage> images = new ArrayList<>();
+        Iterator<WeakReference<WritableImage>> iter = imageRefs.iterator();
+        while (iter.hasNext()) {
+            final WritableImage image = iter.next().get();
+            if (image != null) {
+                images.add(image);
+            } else {
+                iter.remove();
+            }
+        }
+        return images;
+    }
+
     private void bufferDirty(Rectangle rect) {
         Iterator<WeakReference<WritableImage>> iter = imageRefs.iterator();
         while (iter.hasNext()) {
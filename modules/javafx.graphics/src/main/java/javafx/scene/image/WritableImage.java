@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -172,6 +172,12 @@ public class WritableImage extends Image {
         pixelsDirty();
     }
 
+    // Does not notify the listeners of the image, this may be called while
+    // the renderer is locked, pixelsDirty() must be called afterwards.
+    void bufferDirty(Buffer buffer, Rectangle[] dirtyRegions) {
+        getWritablePlatformImage().bufferDirty(buffer, dirtyRegions);
+    }
+
     private static PixelBuffer<? extends Buffer> validatePixelBuffer(PixelBuffer<? extends Buffer> pixelBuffer) {
         return (Objects.requireNonNull(pixelBuffer, "pixelBuffer must not be null."));
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,12 +25,20 @@
 
 package javafx.scene.text;
 
+import com.sun.javafx.scene.text.HitInfoHelper;
+
 /**
  * Represents the hit information in a Text node.
  *
  * @since 9
  */
 public class HitInfo {
+    static {
+        // This is used by classes in different packages to create HitInfo
+        // instances.
+        HitInfoHelper.setHitInfoAccessor(HitInfo::new);
+    }
+
     private final int charIndex;
     private final boolean leading;
     private final int insertionIndex;
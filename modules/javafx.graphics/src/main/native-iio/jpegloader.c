@@ -1611,19 +1611,37 @@ JNIEXPORT jint JNICALL Java_com_sun_javafx_iio_jpeg_JPEGImageLoader_startDecompr
     }
 
 JNIEXPORT jboolean JNICALL Java_com_sun_javafx_iio_jpeg_JPEGImageLoader_decompressIndirect
-(JNIEnv *env, jobject this, jlong ptr, jboolean report_progress, jbyteArray barray) {
+(JNIEnv *env, jobject this, jlong ptr, jboolean report_progress, jbyteArray barray,
+ jint src_x, jint src_y, jint src_width, jint src_height) {
     imageIODataPtr data = (imageIODataPtr) jlong_to_ptr(ptr);
     j_decompress_ptr cinfo = (j_decompress_ptr) data->jpegObj;
     struct jpeg_source_mgr *src = cinfo->src;
     sun_jpeg_error_ptr jerr;
     int bytes_per_row = cinfo->output_width * cinfo->output_components;
+    int region_offset = src_x * cinfo->output_components;
+    int region_bytes_per_row = src_width * cinfo->output_components;
+    int end_scanline = src_y + src_height;
     int offset = 0;
     JSAMPROW scanline_ptr = NULL;
 
+    /* Only the scanlines and columns of the source region (in output
+     * coordinates) are copied into the array, the scanlines below the region
+     * are not decoded at all.
+     */
+    if (src_x < 0 || src_y < 0 || src_width <= 0 || src_height <= 0 ||
+        src_width > (jint) cinfo->output_width - src_x ||
+        src_height > (jint) cinfo->output_height - src_y)
+    {
+        ThrowByName(env,
+                "java/lang/IllegalArgumentException",
+                "Invalid source region");
+        return JNI_FALSE;
+    }
+
     if (!SAFE_TO_MULT(cinfo->output_width, cinfo->output_components) ||
-        !SAFE_TO_MULT(bytes_per_row, cinfo->output_height) ||
+        !SAFE_TO_MULT(region_bytes_per_row, src_height) ||
         ((*env)->GetArrayLength(env, barray) <
-         (bytes_per_row * cinfo->output_height)))
+         (region_bytes_per_row * src_height)))
      {
         ThrowByName(env,
                 "java/lang/OutOfMemoryError",
@@ -1664,8 +1682,9 @@ JNIEXPORT jboolean JNICALL Java_com_sun_javafx_iio_jpeg_JPEGImageLoader_decompre
         return JNI_FALSE;
     }
 
-    while (cinfo->output_scanline < cinfo->output_height) {
+    while (cinfo->output_scanline < (JDIMENSION) end_scanline) {
         int num_scanlines;
+        JDIMENSION scanline = cinfo->output_scanline;
         if (report_progress == JNI_TRUE) {
             RELEASE_ARRAYS(env, data, cinfo->src->next_input_byte);
             (*env)->CallVoidMethod(env, this,
@@ -1685,7 +1704,7 @@ JNIEXPORT jboolean JNICALL Java_com_sun_javafx_iio_jpeg_JPEGImageLoader_decompre
         }
 
         num_scanlines = jpeg_read_scanlines(cinfo, &scanline_ptr, 1);
-        if (num_scanlines == 1) {
+        if (num_scanlines == 1 && scanline >= (JDIMENSION) src_y) {
             jbyte *body = (*env)->GetPrimitiveArrayCritical(env, barray, NULL);
             if (body == NULL) {
                 RELEASE_ARRAYS(env, data, cinfo->src->next_input_byte);
@@ -1693,9 +1712,9 @@ JNIEXPORT jboolean JNICALL Java_com_sun_javafx_iio_jpeg_JPEGImageLoader_decompre
                 SAFE_FREE(scanline_ptr);
                 return JNI_FALSE;
             }
-            memcpy(body+offset,scanline_ptr, bytes_per_row);
+            memcpy(body+offset, scanline_ptr + region_offset, region_bytes_per_row);
             (*env)->ReleasePrimitiveArrayCritical(env, barray, body, JNI_ABORT);
-            offset += bytes_per_row;
+            offset += region_bytes_per_row;
         }
     }
     SAFE_FREE(scanline_ptr);
@@ -1716,7 +1735,12 @@ JNIEXPORT jboolean JNICALL Java_com_sun_javafx_iio_jpeg_JPEGImageLoader_decompre
         }
     }
 
-    jpeg_finish_decompress(cinfo);
+    if (cinfo->output_scanline < cinfo->output_height) {
+        /* the rest of the image is outside of the source region */
+        jpeg_abort_decompress(cinfo);
+    } else {
+        jpeg_finish_decompress(cinfo);
+    }
 
     RELEASE_ARRAYS(env, data, cinfo->src->next_input_byte);
     return JNI_TRUE;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -59,6 +59,10 @@ public abstract class NGNodeShim extends NGNode {
         return node.dirty;
     }
 
+    public static Object getRenderSignature(NGNode node) {
+        return node.getRenderSignature();
+    }
+
     public static boolean isOpaqueRegionInvalid(NGNode node) {
         return node.isOpaqueRegionInvalid();
     }
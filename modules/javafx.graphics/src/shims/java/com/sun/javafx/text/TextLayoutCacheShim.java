@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.text;
+
+import com.sun.javafx.font.PGFont;
+
+public class TextLayoutCacheShim {
+
+    public static Object get(TextLayoutCache cache, char[] text, PGFont font, int flags) {
+        return cache.get(text, font, flags);
+    }
+
+    public static Object put(TextLayoutCache cache, char[] text, PGFont font, int flags) {
+        LayoutCache layoutCache = new LayoutCache();
+        layoutCache.text = text;
+        layoutCache.font = font;
+        layoutCache.glyphs = new int[text.length];
+        layoutCache.advances = new float[text.length];
+        layoutCache.valid = true;
+        cache.put(text, font, flags, layoutCache);
+        return layoutCache;
+    }
+
+    public static long estimateSize(int charCount) {
+        LayoutCache layoutCache = new LayoutCache();
+        layoutCache.text = new char[charCount];
+        layoutCache.glyphs = new int[charCount];
+        layoutCache.advances = new float[charCount];
+        return TextLayoutCache.estimateSize(layoutCache);
+    }
+}
@@ -191,6 +191,58 @@ public class DirtyRegionContainerTest {
         Assert.assertEquals(new RectBounds(0, 0, 50, 50), drc.getDirtyRegion(2));
     }
 
+    @Test
+    public void test_addDirtyRegion_no_space_merges_cheapest_pair() {
+        // two small indicators in opposite corners of a 1000x1000 window
+        DirtyRegionContainer drc = new DirtyRegionContainer(2);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(990, 990, 1000, 1000));
+
+        drc.addDirtyRegion(new RectBounds(980, 990, 988, 1000));
+
+        Assert.assertEquals(2, drc.size());
+        Assert.assertEquals(new RectBounds(0, 0, 10, 10), drc.getDirtyRegion(0));
+        Assert.assertEquals(new RectBounds(980, 990, 1000, 1000), drc.getDirtyRegion(1));
+        Assert.assertEquals(20f, drc.getMergedArea(), 0f);
+        Assert.assertEquals(300f, drc.getTotalArea(), 0f);
+    }
+
+    @Test
+    public void test_addDirtyRegion_no_space_merges_existing_pair() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(2);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(12, 0, 22, 10));
+
+        drc.addDirtyRegion(new RectBounds(500, 500, 510, 510));
+
+        Assert.assertEquals(2, drc.size());
+        Assert.assertEquals(new RectBounds(0, 0, 22, 10), drc.getDirtyRegion(0));
+        Assert.assertEquals(new RectBounds(500, 500, 510, 510), drc.getDirtyRegion(1));
+        Assert.assertEquals(20f, drc.getMergedArea(), 0f);
+    }
+
+    @Test
+    public void test_addDirtyRegion_merge_threshold_clusters_nearby_regions() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4, 50);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(12, 0, 22, 10));
+        drc.addDirtyRegion(new RectBounds(100, 100, 110, 110));
+
+        Assert.assertEquals(2, drc.size());
+        Assert.assertEquals(new RectBounds(0, 0, 22, 10), drc.getDirtyRegion(0));
+        Assert.assertEquals(new RectBounds(100, 100, 110, 110), drc.getDirtyRegion(1));
+    }
+
+    @Test
+    public void test_reset_clears_merged_area() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(1);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(5, 5, 15, 15));
+        Assert.assertEquals(50f, drc.getMergedArea(), 0f);
+        drc.reset();
+        Assert.assertEquals(0f, drc.getMergedArea(), 0f);
+    }
+
     private DirtyRegionContainer getDRC_initialized() {
         DirtyRegionContainer drc = new DirtyRegionContainer(4);
         return drc.deriveWithNewRegions(nonIntersecting_3_Regions);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,10 +25,15 @@
 
 package test.com.sun.javafx.iio.common;
 
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.ImageStorage.ImageType;
 import com.sun.javafx.iio.common.ImageTools;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Random;
 
 public class ImageToolsTest {
@@ -77,6 +82,51 @@ public class ImageToolsTest {
         assertArrayEquals(new int[] {100, 101}, ImageTools.computeDimensions(100, 101, 0, -1, false));
     }
 
+    @Test
+    public void testComputeSubsampling() {
+        assertEquals(4, ImageTools.computeSubsampling(400, 300, 100, 75, false));
+        assertEquals(2, ImageTools.computeSubsampling(400, 300, 100, 75, true));
+        assertEquals(3, ImageTools.computeSubsampling(400, 300, 100, 100, false));
+        assertEquals(1, ImageTools.computeSubsampling(400, 300, 300, 300, false));
+        assertEquals(1, ImageTools.computeSubsampling(400, 300, 500, 500, true));
+        assertEquals(1, ImageTools.computeSubsampling(400, 300, 0, 0, false));
+    }
+
+    @Test
+    public void testClipRegion() throws IOException {
+        assertEquals(new Rectangle(0, 5, 10, 15), ImageTools.clipRegion(new Rectangle(-5, 5, 15, 20), 20, 20));
+        assertEquals(new Rectangle(0, 0, 20, 20), ImageTools.clipRegion(new Rectangle(-5, -5, 50, 50), 20, 20));
+    }
+
+    @Test(expected = IOException.class)
+    public void testClipRegionOutsideImage() throws IOException {
+        ImageTools.clipRegion(new Rectangle(20, 0, 5, 5), 20, 20);
+    }
+
+    @Test
+    public void testCropImageFrame() {
+        int w = 7, h = 5;
+        byte[] pixels = new byte[w * h * 2];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (byte) i;
+        }
+        ImageFrame src = new ImageFrame(ImageType.GRAY_ALPHA, ByteBuffer.wrap(pixels),
+                w, h, w * 2, null, null);
+
+        ImageFrame crop = ImageTools.cropImageFrame(src, new Rectangle(2, 1, 3, 2), 1, 3, 2, false);
+        assertEquals(3, crop.getWidth());
+        assertEquals(2, crop.getHeight());
+        assertEquals(6, crop.getStride());
+        byte[] expected = {18, 19, 20, 21, 22, 23, 32, 33, 34, 35, 36, 37};
+        assertArrayEquals(expected, ((ByteBuffer) crop.getImageData()).array());
+
+        ImageFrame subsampled = ImageTools.cropImageFrame(src, new Rectangle(1, 0, 6, 5), 2, 3, 3, false);
+        assertEquals(3, subsampled.getWidth());
+        assertEquals(3, subsampled.getHeight());
+        byte[] expectedSubsampled = {2, 3, 6, 7, 10, 11, 30, 31, 34, 35, 38, 39, 58, 59, 62, 63, 66, 67};
+        assertArrayEquals(expectedSubsampled, ((ByteBuffer) subsampled.getImageData()).array());
+    }
+
     private static void assertComputeDimensions(int sw, int sh, int tw, int th) {
         int[] result = ImageTools.computeDimensions(sw, sh, tw, th, true);
 
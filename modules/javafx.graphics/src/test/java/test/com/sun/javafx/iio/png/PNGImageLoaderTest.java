@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2014, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2014, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,12 +25,24 @@
 
 package test.com.sun.javafx.iio.png;
 
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.iio.ImageFrame;
+import com.sun.javafx.iio.ImageStorage;
 import com.sun.javafx.iio.png.PNGImageLoader2;
+import com.sun.javafx.iio.png.PNGParallelInflaterShim;
 import test.com.sun.javafx.iio.ImageTestHelper;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import org.junit.Test;
+import static org.junit.Assert.*;
 
 public class PNGImageLoaderTest {
 
@@ -76,4 +88,309 @@ public class PNGImageLoaderTest {
         ByteArrayInputStream stream = ImageTestHelper.constructStreamFromInts(corruptedIDATLength);
         testImage(stream);
     }
+
+    private static final int IDAT = 0x49444154;
+
+    /**
+     * Returns the raw pixels of a noisy gradient, so that every filter type
+     * has something to predict.
+     */
+    private static byte[] createPixels(int w, int h, int bpp) {
+        Random r = new Random(1);
+        byte[] pixels = new byte[w * h * bpp];
+        for (int y = 0, i = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                for (int b = 0; b < bpp; b++, i++) {
+                    pixels[i] = (byte) (x * (b + 1) + y * 3 + r.nextInt(8));
+                }
+            }
+        }
+        return pixels;
+    }
+
+    private static int predict(int filter, int a, int b, int c) {
+        switch (filter) {
+            case 1: return a;
+            case 2: return b;
+            case 3: return (a + b) / 2;
+            case 4: {
+                int pa = Math.abs(b - c), pb = Math.abs(a - c), pc = Math.abs(a + b - 2 * c);
+                return (pa <= pb && pa <= pc) ? a : (pb <= pc) ? b : c;
+            }
+            default: return 0;
+        }
+    }
+
+    /**
+     * Returns the filtered scanlines of an 8 bit image, cycling through all
+     * the filter types.
+     */
+    private static byte[] filter(byte[] pixels, int w, int h, int bpp) {
+        int stride = w * bpp;
+        byte[] out = new byte[h * (stride + 1)];
+        for (int y = 0, o = 0; y < h; y++) {
+            int filter = y % 5;
+            out[o++] = (byte) filter;
+            for (int i = 0; i < stride; i++) {
+                int p = y * stride + i;
+                int a = i >= bpp ? pixels[p - bpp] & 0xff : 0;
+                int b = y > 0 ? pixels[p - stride] & 0xff : 0;
+                int c = i >= bpp && y > 0 ? pixels[p - stride - bpp] & 0xff : 0;
+                out[o++] = (byte) (pixels[p] - predict(filter, a, b, c));
+            }
+        }
+        return out;
+    }
+
+    private static void writeChunk(DataOutputStream out, int type, byte[] data, int off, int len)
+            throws IOException
+    {
+        CRC32 crc = new CRC32();
+        out.writeInt(len);
+        out.writeInt(type);
+        out.write(data, off, len);
+        crc.update(new byte[] {(byte) (type >> 24), (byte) (type >> 16), (byte) (type >> 8), (byte) type});
+        crc.update(data, off, len);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Compresses the data into IDAT chunks. If {@code flushRows} is not
+     * zero, the data is split into several chunks, each ending with a full
+     * flush, every {@code flushRows} scanlines.
+     */
+    private static void writeIDAT(DataOutputStream out, byte[] filtered, int rowSize, int flushRows)
+            throws IOException
+    {
+        Deflater def = new Deflater();
+        byte[] buf = new byte[filtered.length + 1024];
+        int step = flushRows == 0 ? filtered.length : flushRows * rowSize;
+        for (int off = 0; off < filtered.length; off += step) {
+            int len = Math.min(step, filtered.length - off);
+            def.setInput(filtered, off, len);
+            boolean last = off + len == filtered.length;
+            int n;
+            if (last) {
+                def.finish();
+                n = 0;
+                while (!def.finished()) {
+                    n += def.deflate(buf, n, buf.length - n);
+                }
+            } else {
+                n = def.deflate(buf, 0, buf.length, Deflater.FULL_FLUSH);
+            }
+            writeChunk(out, IDAT, buf, 0, n);
+        }
+        def.end();
+    }
+
+    private static byte[] encode(int w, int h, int colorType, int bpp, byte[] pixels,
+                                 byte[] plte, int flushRows) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[] {(byte) 137, 80, 78, 71, 13, 10, 26, 10});
+        ByteBuffer ihdr = ByteBuffer.allocate(13);
+        ihdr.putInt(w).putInt(h).put((byte) 8).put((byte) colorType).put((byte) 0).put((byte) 0).put((byte) 0);
+        writeChunk(out, 0x49484452, ihdr.array(), 0, 13);
+        if (plte != null) {
+            writeChunk(out, 0x504c5445, plte, 0, plte.length);
+        }
+        writeIDAT(out, filter(pixels, w, h, bpp), w * bpp + 1, flushRows);
+        writeChunk(out, 0x49454e44, new byte[0], 0, 0);
+        return bytes.toByteArray();
+    }
+
+    private static ImageFrame decode(byte[] png) throws IOException {
+        PNGImageLoader2 loader = new PNGImageLoader2(new ByteArrayInputStream(png));
+        return loader.load(0, 0, 0, true, true);
+    }
+
+    private static byte[] getBytes(ImageFrame frame) {
+        ByteBuffer bb = (ByteBuffer) frame.getImageData();
+        byte[] b = new byte[bb.remaining()];
+        bb.duplicate().get(b);
+        return b;
+    }
+
+    private void testFilters(int colorType, int bpp, ImageStorage.ImageType type, int flushRows)
+            throws IOException
+    {
+        int w = 301, h = 57;
+        byte[] pixels = createPixels(w, h, bpp);
+        ImageFrame frame = decode(encode(w, h, colorType, bpp, pixels, null, flushRows));
+        assertEquals(type, frame.getImageType());
+        assertEquals(w * bpp, frame.getStride());
+        assertArrayEquals(pixels, getBytes(frame));
+    }
+
+    @Test
+    public void testFiltersGray() throws IOException {
+        testFilters(0, 1, ImageStorage.ImageType.GRAY, 0);
+    }
+
+    @Test
+    public void testFiltersGrayAlpha() throws IOException {
+        testFilters(4, 2, ImageStorage.ImageType.GRAY_ALPHA, 0);
+    }
+
+    @Test
+    public void testFiltersRGB() throws IOException {
+        testFilters(2, 3, ImageStorage.ImageType.RGB, 0);
+    }
+
+    @Test
+    public void testFiltersRGBA() throws IOException {
+        testFilters(6, 4, ImageStorage.ImageType.RGBA, 0);
+    }
+
+    @Test
+    public void testFlushedChunks() throws IOException {
+        testFilters(6, 4, ImageStorage.ImageType.RGBA, 7);
+    }
+
+    @Test
+    public void testPalette() throws IOException {
+        int w = 37, h = 23;
+        byte[] plte = new byte[256 * 3];
+        for (int i = 0; i < plte.length; i++) {
+            plte[i] = (byte) (i * 7);
+        }
+        byte[] indices = createPixels(w, h, 1);
+        ImageFrame frame = decode(encode(w, h, 3, 1, indices, plte, 0));
+        assertEquals(ImageStorage.ImageType.RGB, frame.getImageType());
+        byte[] rgb = getBytes(frame);
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i] & 0xff;
+            for (int c = 0; c < 3; c++) {
+                assertEquals(plte[index * 3 + c], rgb[i * 3 + c]);
+            }
+        }
+    }
+
+    private static DataInputStream openIDAT(byte[] png) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(png));
+        in.skipBytes(8 + 12 + 13);
+        in.readInt(); // length
+        assertEquals(IDAT, in.readInt());
+        return in;
+    }
+
+    private static int firstIDATLength(byte[] png) {
+        return ByteBuffer.wrap(png, 8 + 12 + 13, 4).getInt();
+    }
+
+    @Test
+    public void testParallelInflate() throws IOException {
+        int w = 128, h = 64, bpp = 4;
+        byte[] pixels = createPixels(w, h, bpp);
+        byte[] filtered = filter(pixels, w, h, bpp);
+        byte[] png = encode(w, h, 6, bpp, pixels, null, 5);
+
+        InputStream data = PNGParallelInflaterShim.inflate(openIDAT(png), firstIDATLength(png), filtered.length, 4);
+        assertNotNull(data);
+        assertArrayEquals(filtered, data.readAllBytes());
+    }
+
+    @Test
+    public void testParallelInflateWithoutFlushPoints() throws IOException {
+        int w = 128, h = 64, bpp = 4;
+        byte[] pixels = createPixels(w, h, bpp);
+        byte[] filtered = filter(pixels, w, h, bpp);
+        byte[] png = encode(w, h, 6, bpp, pixels, null, 0);
+
+        assertNull(PNGParallelInflaterShim.inflate(openIDAT(png), firstIDATLength(png), filtered.length, 4));
+    }
+
+    @Test
+    public void testParallelInflateWrongSize() throws IOException {
+        int w = 128, h = 64, bpp = 4;
+        byte[] pixels = createPixels(w, h, bpp);
+        byte[] filtered = filter(pixels, w, h, bpp);
+        byte[] png = encode(w, h, 6, bpp, pixels, null, 5);
+
+        assertNull(PNGParallelInflaterShim.inflate(openIDAT(png), firstIDATLength(png), filtered.length - 1, 4));
+        assertNull(PNGParallelInflaterShim.inflate(openIDAT(png), firstIDATLength(png), filtered.length + 1, 4));
+    }
+
+    private static ImageFrame decodeRegion(byte[] png, Rectangle region, int w, int h,
+                                           boolean smooth) throws IOException {
+        PNGImageLoader2 loader = new PNGImageLoader2(new ByteArrayInputStream(png));
+        return loader.load(0, region, w, h, false, smooth);
+    }
+
+    private static void assertRegion(byte[] pixels, int w, int bpp, Rectangle region,
+                                     int subsampling, ImageFrame frame) {
+        int fw = frame.getWidth(), fh = frame.getHeight();
+        assertEquals((region.width + subsampling - 1) / subsampling, fw);
+        assertEquals((region.height + subsampling - 1) / subsampling, fh);
+        assertEquals(fw * bpp, frame.getStride());
+        byte[] bytes = getBytes(frame);
+        for (int y = 0; y < fh; y++) {
+            for (int x = 0; x < fw; x++) {
+                int src = ((region.y + y * subsampling) * w + region.x + x * subsampling) * bpp;
+                int dst = (y * fw + x) * bpp;
+                for (int c = 0; c < bpp; c++) {
+                    assertEquals(pixels[src + c], bytes[dst + c]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRegion() throws IOException {
+        int w = 301, h = 57, bpp = 3;
+        byte[] pixels = createPixels(w, h, bpp);
+        byte[] png = encode(w, h, 2, bpp, pixels, null, 0);
+        Rectangle region = new Rectangle(17, 9, 120, 31);
+        assertRegion(pixels, w, bpp, region, 1, decodeRegion(png, region, 0, 0, true));
+    }
+
+    @Test
+    public void testRegionClipped() throws IOException {
+        int w = 64, h = 48, bpp = 4;
+        byte[] pixels = createPixels(w, h, bpp);
+        byte[] png = encode(w, h, 6, bpp, pixels, null, 0);
+        ImageFrame frame = decodeRegion(png, new Rectangle(-10, 40, 30, 30), 0, 0, false);
+        assertRegion(pixels, w, bpp, new Rectangle(0, 40, 20, 8), 1, frame);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRegionOutsideImage() throws IOException {
+        int w = 64, h = 48, bpp = 4;
+        byte[] png = encode(w, h, 6, bpp, createPixels(w, h, bpp), null, 0);
+        decodeRegion(png, new Rectangle(64, 0, 10, 10), 0, 0, false);
+    }
+
+    @Test
+    public void testRegionSubsampled() throws IOException {
+        int w = 301, h = 57, bpp = 4;
+        byte[] pixels = createPixels(w, h, bpp);
+        byte[] png = encode(w, h, 6, bpp, pixels, null, 0);
+        Rectangle region = new Rectangle(3, 5, 160, 48);
+        // rows and columns are dropped when the region is scaled down by an
+        // integer factor without smoothing
+        assertRegion(pixels, w, bpp, region, 4, decodeRegion(png, region, 40, 12, false));
+        // smooth scaling keeps twice the destination resolution
+        ImageFrame frame = decodeRegion(png, region, 40, 12, true);
+        assertEquals(40, frame.getWidth());
+        assertEquals(12, frame.getHeight());
+    }
+
+    @Test
+    public void testRegionPalette() throws IOException {
+        int w = 37, h = 23;
+        byte[] plte = new byte[256 * 3];
+        for (int i = 0; i < plte.length; i++) {
+            plte[i] = (byte) (i * 5);
+        }
+        byte[] indices = createPixels(w, h, 1);
+        byte[] rgb = new byte[w * h * 3];
+        for (int i = 0; i < indices.length; i++) {
+            System.arraycopy(plte, (indices[i] & 0xff) * 3, rgb, i * 3, 3);
+        }
+        byte[] png = encode(w, h, 3, 1, indices, plte, 0);
+        Rectangle region = new Rectangle(4, 6, 30, 12);
+        assertRegion(rgb, w, 3, region, 2, decodeRegion(png, region, 15, 6, false));
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -654,6 +654,25 @@ public class ConverterTest {
         assertNotNull(PixelUtils.getConverter(ByteBgraPre.getter, IntArgbPre.setter));
     }
 
+    @Test
+    public void testPremultiply() {
+        for (int a = 0; a < 256; a++) {
+            for (int c = 0; c < 256; c++) {
+                assertEquals((c * a + 0x7f) / 0xff, PixelUtils.premultiply(c, a));
+            }
+        }
+    }
+
+    @Test
+    public void testUnpremultiply() {
+        for (int a = 1; a < 256; a++) {
+            for (int c = 0; c < 256; c++) {
+                int expected = (c >= a) ? 0xff : (c * 0xff + (a >> 1)) / a;
+                assertEquals(expected, PixelUtils.unpremultiply(c, a));
+            }
+        }
+    }
+
     @Test
     public void testIntAccessors() {
         testIntAccessors(heapIntBuffer(0, 2));
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,7 @@
 
 package test.com.sun.javafx.pgstub;
 
+import javafx.geometry.Rectangle2D;
 import com.sun.javafx.tk.ImageLoader;
 import com.sun.javafx.tk.PlatformImage;
 
@@ -32,6 +33,7 @@ public final class StubImageLoader implements ImageLoader {
     private final Object source;
 
     private final StubPlatformImageInfo imageInfo;
+    private final Rectangle2D viewport;
     private final double loadWidth;
     private final double loadHeight;
     private final boolean preserveRatio;
@@ -41,6 +43,7 @@ public final class StubImageLoader implements ImageLoader {
 
     public StubImageLoader(final Object source,
                            final StubPlatformImageInfo imageInfo,
+                           final Rectangle2D viewport,
                            final double loadWidth,
                            final double loadHeight,
                            final boolean preserveRatio,
@@ -48,6 +51,7 @@ public final class StubImageLoader implements ImageLoader {
         this.source = source;
 
         this.imageInfo = imageInfo;
+        this.viewport = viewport;
         this.loadWidth = loadWidth;
         this.loadHeight = loadHeight;
         this.preserveRatio = preserveRatio;
@@ -102,6 +106,10 @@ public final class StubImageLoader implements ImageLoader {
         return imageInfo;
     }
 
+    public Rectangle2D getViewport() {
+        return viewport;
+    }
+
     public double getLoadHeight() {
         return loadHeight;
     }
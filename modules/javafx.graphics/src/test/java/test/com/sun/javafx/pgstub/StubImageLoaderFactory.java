@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,8 @@ package test.com.sun.javafx.pgstub;
 import java.util.HashMap;
 import java.util.Map;
 
+import javafx.geometry.Rectangle2D;
+
 import com.sun.javafx.runtime.async.AsyncOperation;
 import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.tk.ImageLoader;
@@ -102,21 +104,33 @@ public final class StubImageLoaderFactory {
                                          final double loadHeight,
                                          final boolean preserveRatio,
                                          final boolean smooth) {
+        return createImageLoader(source, null, loadWidth, loadHeight,
+                                 preserveRatio, smooth);
+    }
+
+    public ImageLoader createImageLoader(final Object source,
+                                         final Rectangle2D viewport,
+                                         final double loadWidth,
+                                         final double loadHeight,
+                                         final boolean preserveRatio,
+                                         final boolean smooth) {
         final StubPlatformImageInfo imageInfo = imageInfos.get(source);
         if (imageInfo == null) {
             return ERROR_IMAGE_LOADER;
         }
 
-        return new StubImageLoader(source, imageInfo, loadWidth, loadHeight,
+        return new StubImageLoader(source, imageInfo, viewport,
+                                   loadWidth, loadHeight,
                                    preserveRatio, smooth);
     }
 
     public AsyncOperation createAsyncImageLoader(
             final AsyncOperationListener listener,
-            final String url, final double loadWidth, final double loadHeight,
+            final String url, final Rectangle2D viewport,
+            final double loadWidth, final double loadHeight,
             final boolean preserveRatio, final boolean smooth) {
         final ImageLoader imageLoader =
-                createImageLoader(url, loadWidth, loadHeight,
+                createImageLoader(url, viewport, loadWidth, loadHeight,
                                   preserveRatio, smooth);
         final StubAsyncImageLoader asyncLoader =
                 new StubAsyncImageLoader(imageLoader, listener);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -163,4 +163,9 @@ public final class StubPlatformImage implements PlatformImage {
     public void bufferDirty(Rectangle rect) {
         throw new UnsupportedOperationException("Not supported yet.");
     }
+
+    @Override
+    public void bufferDirty(Buffer buffer, Rectangle[] dirtyRegions) {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
 }
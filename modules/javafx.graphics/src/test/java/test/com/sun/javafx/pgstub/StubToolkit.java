@@ -50,6 +50,7 @@ import com.sun.scenario.effect.FilterContext;
 import com.sun.scenario.effect.Filterable;
 import javafx.application.ConditionalFeature;
 import javafx.geometry.Dimension2D;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import javafx.scene.input.*;
 import javafx.scene.paint.Color;
@@ -566,25 +567,25 @@ public class StubToolkit extends Toolkit {
     }
 
     @Override
-    public ImageLoader loadImage(String url, double width, double height,
+    public ImageLoader loadImage(String url, Rectangle2D viewport, double width, double height,
             boolean preserveRatio, boolean smooth) {
-        return imageLoaderFactory.createImageLoader(url, width, height,
+        return imageLoaderFactory.createImageLoader(url, viewport, width, height,
                                                     preserveRatio, smooth);
     }
 
     @Override
-    public ImageLoader loadImage(InputStream stream, double width, double height,
+    public ImageLoader loadImage(InputStream stream, Rectangle2D viewport, double width, double height,
             boolean preserveRatio, boolean smooth) {
-        return imageLoaderFactory.createImageLoader(stream, width, height,
+        return imageLoaderFactory.createImageLoader(stream, viewport, width, height,
                                                     preserveRatio, smooth);
     }
 
     @Override
     public AsyncOperation loadImageAsync(
-            AsyncOperationListener listener, String url, double width, double height,
+            AsyncOperationListener listener, String url, Rectangle2D viewport, double width, double height,
             boolean preserveRatio, boolean smooth) {
         return imageLoaderFactory.createAsyncImageLoader(
-                listener, url, width, height, preserveRatio, smooth);
+                listener, url, viewport, width, height, preserveRatio, smooth);
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -107,4 +107,8 @@ public class StubWritablePlatformImage implements PlatformImage {
     @Override
     public void bufferDirty(Rectangle rect) {
     }
+
+    @Override
+    public void bufferDirty(Buffer buffer, Rectangle[] dirtyRegions) {
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.runtime.async;
+
+import com.sun.javafx.runtime.async.AsyncOperationListener;
+import com.sun.javafx.runtime.async.WeakAsyncOperationListener;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import test.util.memory.JMemoryBuddy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeakAsyncOperationListenerTest {
+
+    private static final class RecordingListener implements AsyncOperationListener<String> {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onProgress(int progressValue, int progressMax) {
+            events.add("progress " + progressValue + "/" + progressMax);
+        }
+
+        @Override
+        public void onCompletion(String value) {
+            events.add("completion " + value);
+        }
+
+        @Override
+        public void onCancel() {
+            events.add("cancel");
+        }
+
+        @Override
+        public void onException(Exception e) {
+            events.add("exception " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testForwardsToListener() {
+        RecordingListener listener = new RecordingListener();
+        WeakAsyncOperationListener<String> weak = new WeakAsyncOperationListener<>(listener);
+        weak.onProgress(1, 2);
+        weak.onCompletion("done");
+        weak.onCancel();
+        weak.onException(new Exception("failed"));
+        assertFalse(weak.isReleased());
+        assertEquals(List.of("progress 1/2", "completion done", "cancel", "exception failed"),
+                     listener.events);
+    }
+
+    @Test
+    public void testDoesNotKeepListenerAlive() {
+        RecordingListener listener = new RecordingListener();
+        WeakAsyncOperationListener<String> weak = new WeakAsyncOperationListener<>(listener);
+        WeakReference<RecordingListener> ref = new WeakReference<>(listener);
+        listener = null;
+        JMemoryBuddy.assertCollectable(ref);
+        assertTrue(weak.isReleased());
+        // notifications are dropped
+        weak.onCompletion("done");
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2016, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -30,15 +30,31 @@ import com.sun.javafx.sg.prism.NGNodeShim;
 import com.sun.javafx.sg.prism.NGRegion;
 import javafx.geometry.Insets;
 import javafx.scene.layout.Background;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderImage;
+import javafx.scene.layout.BorderRepeat;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.ClosePath;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -140,4 +156,47 @@ public class NGRegionTest {
         NodeHelper.updatePeer(r);
         assertTrue(NGNodeShim.isOpaqueRegionInvalid(peer));
     }
+
+    private static NGRegion createRegion(Background background, Border border) {
+        NGRegion r = new NGRegion();
+        r.updateBackground(background);
+        r.updateBorder(border);
+        r.setSize(100, 50);
+        return r;
+    }
+
+    @Test public void equalRegionsHaveEqualRenderSignatures() {
+        Object a = NGNodeShim.getRenderSignature(createRegion(
+                new Background(new BackgroundFill(Color.RED, null, null)),
+                new Border(new BorderStroke(Color.BLUE, BorderStrokeStyle.SOLID, null, null))));
+        Object b = NGNodeShim.getRenderSignature(createRegion(
+                new Background(new BackgroundFill(Color.RED, null, null)),
+                new Border(new BorderStroke(Color.BLUE, BorderStrokeStyle.SOLID, null, null))));
+        Object c = NGNodeShim.getRenderSignature(createRegion(
+                new Background(new BackgroundFill(Color.GREEN, null, null)),
+                new Border(new BorderStroke(Color.BLUE, BorderStrokeStyle.SOLID, null, null))));
+        assertNotNull(a);
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    @Test public void regionWithBackgroundImageHasNoRenderSignature() {
+        BackgroundImage image = new BackgroundImage(new WritableImage(4, 4),
+                BackgroundRepeat.REPEAT, BackgroundRepeat.REPEAT,
+                BackgroundPosition.DEFAULT, BackgroundSize.DEFAULT);
+        assertNull(NGNodeShim.getRenderSignature(createRegion(new Background(image), null)));
+    }
+
+    @Test public void regionWithBorderImageHasNoRenderSignature() {
+        BorderImage image = new BorderImage(new WritableImage(4, 4),
+                new BorderWidths(1), null, new BorderWidths(1), false,
+                BorderRepeat.STRETCH, BorderRepeat.STRETCH);
+        assertNull(NGNodeShim.getRenderSignature(createRegion(null, new Border(image))));
+    }
+
+    @Test public void regionWithImagePatternStrokeHasNoRenderSignature() {
+        ImagePattern pattern = new ImagePattern(new WritableImage(4, 4));
+        assertNull(NGNodeShim.getRenderSignature(createRegion(null,
+                new Border(new BorderStroke(pattern, BorderStrokeStyle.SOLID, null, null)))));
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.text;
+
+import com.sun.javafx.font.FontResource;
+import com.sun.javafx.font.FontStrike;
+import com.sun.javafx.font.PGFont;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.scene.text.TextLayout;
+import com.sun.javafx.text.TextLayoutCache;
+import com.sun.javafx.text.TextLayoutCacheShim;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextLayoutCacheTest {
+
+    private static class StubFont implements PGFont {
+        private final String name;
+        private final int features;
+
+        StubFont(String name, int features) {
+            this.name = name;
+            this.features = features;
+        }
+
+        @Override public String getFullName() { return name; }
+        @Override public String getFamilyName() { return name; }
+        @Override public String getStyleName() { return "Regular"; }
+        @Override public String getName() { return name; }
+        @Override public float getSize() { return 12; }
+        @Override public FontResource getFontResource() { return null; }
+        @Override public FontStrike getStrike(BaseTransform transform) { return null; }
+        @Override public FontStrike getStrike(BaseTransform transform, int smoothingType) { return null; }
+        @Override public int getFeatures() { return features; }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof StubFont other && name.equals(other.name) && features == other.features;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
+    private final PGFont font = new StubFont("System", 0);
+
+    @Test
+    public void testHitAndMiss() {
+        TextLayoutCache cache = new TextLayoutCache(100_000);
+        assertNull(TextLayoutCacheShim.get(cache, "USD".toCharArray(), font, 0));
+        Object entry = TextLayoutCacheShim.put(cache, "USD".toCharArray(), font, 0);
+        assertSame(entry, TextLayoutCacheShim.get(cache, "USD".toCharArray(), new StubFont("System", 0), 0));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(TextLayoutCacheShim.estimateSize(3), cache.getByteCount());
+    }
+
+    @Test
+    public void testKeyIncludesFontFeaturesAndDirection() {
+        TextLayoutCache cache = new TextLayoutCache(100_000);
+        TextLayoutCacheShim.put(cache, "EUR".toCharArray(), font, TextLayout.DIRECTION_LTR);
+        assertNull(TextLayoutCacheShim.get(cache, "EUR".toCharArray(), font, TextLayout.DIRECTION_RTL));
+        assertNull(TextLayoutCacheShim.get(cache, "EUR".toCharArray(), new StubFont("Serif", 0), TextLayout.DIRECTION_LTR));
+        assertNull(TextLayoutCacheShim.get(cache, "EUR".toCharArray(), new StubFont("System", 1), TextLayout.DIRECTION_LTR));
+        assertNull(TextLayoutCacheShim.get(cache, "EUR ".toCharArray(), font, TextLayout.DIRECTION_LTR));
+        assertNotNull(TextLayoutCacheShim.get(cache, "EUR".toCharArray(), font, TextLayout.DIRECTION_LTR));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        long entrySize = TextLayoutCacheShim.estimateSize(4);
+        TextLayoutCache cache = new TextLayoutCache(entrySize * 2);
+        TextLayoutCacheShim.put(cache, "Open".toCharArray(), font, 0);
+        TextLayoutCacheShim.put(cache, "Done".toCharArray(), font, 0);
+        assertNotNull(TextLayoutCacheShim.get(cache, "Open".toCharArray(), font, 0));
+        TextLayoutCacheShim.put(cache, "Fail".toCharArray(), font, 0);
+
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.getByteCount() <= cache.getMaxByteCount());
+        assertNotNull(TextLayoutCacheShim.get(cache, "Open".toCharArray(), font, 0));
+        assertNull(TextLayoutCacheShim.get(cache, "Done".toCharArray(), font, 0));
+        assertNotNull(TextLayoutCacheShim.get(cache, "Fail".toCharArray(), font, 0));
+    }
+
+    @Test
+    public void testEntryLargerThanBudgetIsNotCached() {
+        TextLayoutCache cache = new TextLayoutCache(TextLayoutCacheShim.estimateSize(4));
+        TextLayoutCacheShim.put(cache, "Pending".toCharArray(), font, 0);
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getByteCount());
+    }
+
+    @Test
+    public void testDisabledCache() {
+        TextLayoutCache cache = new TextLayoutCache(0);
+        assertFalse(cache.isEnabled());
+        TextLayoutCacheShim.put(cache, "USD".toCharArray(), font, 0);
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void testClear() {
+        TextLayoutCache cache = new TextLayoutCache(100_000);
+        TextLayoutCacheShim.put(cache, "USD".toCharArray(), font, 0);
+        cache.clear();
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getByteCount());
+        assertNull(TextLayoutCacheShim.get(cache, "USD".toCharArray(), font, 0));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.tk.quantum;
+
+import com.sun.javafx.tk.quantum.ImageLoadingExecutorShim;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageLoadingExecutorTest {
+
+    private final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    private FutureTask<Void> blocker() {
+        return new FutureTask<>(() -> {
+            gate.await();
+            return null;
+        });
+    }
+
+    private FutureTask<Void> task(int id) {
+        return new FutureTask<>(() -> {
+            order.add(id);
+            return null;
+        });
+    }
+
+    private List<Integer> run(boolean lifo) throws Exception {
+        ImageLoadingExecutorShim executor = new ImageLoadingExecutorShim(1, lifo);
+        executor.submit(blocker());
+        List<FutureTask<Void>> tasks = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            FutureTask<Void> task = task(i);
+            tasks.add(task);
+            executor.submit(task);
+        }
+        assertEquals(3, executor.getQueueDepth());
+        gate.countDown();
+        for (FutureTask<Void> task : tasks) {
+            task.get(5, TimeUnit.SECONDS);
+        }
+        return order;
+    }
+
+    @Test
+    public void testLifoOrder() throws Exception {
+        assertEquals(List.of(3, 2, 1), run(true));
+    }
+
+    @Test
+    public void testFifoOrder() throws Exception {
+        assertEquals(List.of(1, 2, 3), run(false));
+    }
+
+    @Test
+    public void testCancelledTasksDoNotRun() throws Exception {
+        ImageLoadingExecutorShim executor = new ImageLoadingExecutorShim(1, true);
+        FutureTask<Void> blocker = blocker();
+        executor.submit(blocker);
+        FutureTask<Void> removed = task(1);
+        Object removedTask = executor.submit(removed);
+        FutureTask<Void> skipped = task(2);
+        executor.submit(skipped);
+        FutureTask<Void> last = task(3);
+        executor.submit(last);
+        assertEquals(3, executor.getPeakQueueDepth());
+
+        // a removed task leaves the queue right away, a task that is only
+        // cancelled is skipped when it reaches the head of the queue
+        removed.cancel(false);
+        executor.remove(removedTask);
+        assertEquals(2, executor.getQueueDepth());
+        skipped.cancel(false);
+
+        gate.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        last.get(5, TimeUnit.SECONDS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getCompletedCount() + executor.getCancelledCount() < 4
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(List.of(3), order);
+        assertEquals(4, executor.getSubmittedCount());
+        assertEquals(2, executor.getCompletedCount());
+        assertEquals(2, executor.getCancelledCount());
+        assertTrue(executor.getLoadNanos() > 0);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism;
+
+import com.sun.prism.impl.RoundRectShadowMask;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoundRectShadowMaskTest {
+
+    private static int value(RoundRectShadowMask mask, int x, int y) {
+        return mask.getData()[y * mask.getWidth() + x] & 0xff;
+    }
+
+    @Test
+    public void dropShadowEdgeProfile() {
+        RoundRectShadowMask mask = RoundRectShadowMask.get(3f, 6f, 6f, false);
+        int m = mask.getMargin();
+        assertEquals(9, m);
+        assertEquals(0, mask.getTopEdgeValue(0), 1);
+        assertEquals(255, mask.getTopEdgeValue(mask.getHeight() - 1));
+        // The pixels straddling the edge of the rectangle are half covered.
+        assertEquals(255, mask.getTopEdgeValue(m - 1) + mask.getTopEdgeValue(m), 2);
+        for (int y = 1; y < mask.getHeight(); y++) {
+            assertTrue(mask.getTopEdgeValue(y) >= mask.getTopEdgeValue(y - 1));
+            assertEquals(mask.getTopEdgeValue(y), mask.getLeftEdgeValue(y));
+        }
+    }
+
+    @Test
+    public void squareCornerIsProductOfEdges() {
+        RoundRectShadowMask mask = RoundRectShadowMask.get(2f, 0f, 0f, false);
+        for (int y = 0; y < mask.getHeight(); y++) {
+            for (int x = 0; x < mask.getWidth(); x++) {
+                int expected = Math.round(mask.getTopEdgeValue(y) * mask.getLeftEdgeValue(x) / 255f);
+                assertEquals(expected, value(mask, x, y), 1);
+            }
+        }
+    }
+
+    @Test
+    public void dropShadowMatchesConvolution() {
+        float sigma = 2f;
+        float r = 5f;
+        RoundRectShadowMask mask = RoundRectShadowMask.get(sigma, r, r, false);
+        int m = mask.getMargin();
+        int ss = 4;
+        int n = (mask.getWidth() + 2 * m) * ss;
+        boolean[][] inside = new boolean[n][n];
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                double u = (x + 0.5) / ss - m;
+                double v = (y + 0.5) / ss - m;
+                boolean in = u >= 0 && v >= 0;
+                if (in && u < r && v < r) {
+                    in = (r - u) * (r - u) + (r - v) * (r - v) <= r * r;
+                }
+                inside[y][x] = in;
+            }
+        }
+        for (int py = 0; py < mask.getHeight(); py++) {
+            for (int px = 0; px < mask.getWidth(); px++) {
+                double sum = 0;
+                double total = 0;
+                for (int y = 0; y < n; y++) {
+                    double v = (y + 0.5) / ss - (py + 0.5);
+                    double gy = Math.exp(-v * v / (2 * sigma * sigma));
+                    for (int x = 0; x < n; x++) {
+                        double u = (x + 0.5) / ss - (px + 0.5);
+                        double g = gy * Math.exp(-u * u / (2 * sigma * sigma));
+                        total += g;
+                        if (inside[y][x]) sum += g;
+                    }
+                }
+                assertEquals(sum / total * 255, value(mask, px, py), 3,
+                             "pixel " + px + ", " + py);
+            }
+        }
+    }
+
+    @Test
+    public void innerShadowIsClippedToShape() {
+        RoundRectShadowMask mask = RoundRectShadowMask.get(3f, 8f, 8f, true);
+        RoundRectShadowMask drop = RoundRectShadowMask.get(3f, 8f, 8f, false);
+        int m = mask.getMargin();
+        for (int i = 0; i < m; i++) {
+            assertEquals(0, mask.getTopEdgeValue(i));
+            assertEquals(0, value(mask, i, i));
+        }
+        // Inside of the shape the inner shadow is the complement of the
+        // drop shadow.
+        for (int i = m; i < mask.getHeight(); i++) {
+            assertEquals(255 - drop.getTopEdgeValue(i), mask.getTopEdgeValue(i), 1);
+        }
+        assertEquals(0, mask.getTopEdgeValue(mask.getHeight() - 1));
+        // The corner is outside of the arc and inside of the bounding box.
+        assertEquals(0, value(mask, m, m));
+    }
+
+    @Test
+    public void mirroredCorners() {
+        RoundRectShadowMask mask = RoundRectShadowMask.get(2.5f, 4f, 4f, false);
+        int w = mask.getWidth();
+        int h = mask.getHeight();
+        byte[] data = mask.getData();
+        byte[] flipX = mask.getData(true, false);
+        byte[] flipXY = mask.getData(true, true);
+        assertSame(data, mask.getData(false, false));
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                assertEquals(data[y * w + x], flipX[y * w + (w - 1 - x)]);
+                assertEquals(data[y * w + x], flipXY[(h - 1 - y) * w + (w - 1 - x)]);
+            }
+        }
+    }
+
+    @Test
+    public void masksAreShared() {
+        assertSame(RoundRectShadowMask.get(3f, 6f, 6f, false),
+                   RoundRectShadowMask.get(3.01f, 6f, 6f, false));
+        assertNotSame(RoundRectShadowMask.get(3f, 6f, 6f, false),
+                      RoundRectShadowMask.get(3f, 6f, 6f, true));
+    }
+
+    @Test
+    public void fits() {
+        // margin 9, corner patch 24 pixels, 15 pixels on each side inside
+        assertTrue(RoundRectShadowMask.fits(3f, 6f, 6f, 30f, 30f));
+        assertFalse(RoundRectShadowMask.fits(3f, 6f, 6f, 29f, 30f));
+        assertFalse(RoundRectShadowMask.fits(3f, 6f, 6f, 30f, 29f));
+        assertFalse(RoundRectShadowMask.fits(200f, 6f, 6f, 10000f, 10000f));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.scenario.effect;
+
+import com.sun.prism.paint.Color;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.scenario.effect.BoxBlur;
+import com.sun.scenario.effect.Color4f;
+import com.sun.scenario.effect.DropShadow;
+import com.sun.scenario.effect.Flood;
+import com.sun.scenario.effect.GaussianBlur;
+import com.sun.scenario.effect.InnerShadow;
+import com.sun.scenario.effect.Offset;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EffectResultKeyTest {
+
+    private static DropShadow createDropShadow(float radius, Color4f color, int offset) {
+        DropShadow shadow = new DropShadow();
+        shadow.setRadius(radius);
+        shadow.setColor(color);
+        shadow.setOffsetX(offset);
+        shadow.setOffsetY(offset);
+        return shadow;
+    }
+
+    @Test
+    public void testEqualDropShadowsHaveEqualKeys() {
+        DropShadow a = createDropShadow(12f, new Color4f(0f, 0f, 0f, 0.5f), 3);
+        DropShadow b = createDropShadow(12f, new Color4f(0f, 0f, 0f, 0.5f), 3);
+        assertNotNull(a.getResultKey());
+        assertEquals(a.getResultKey(), b.getResultKey());
+        assertEquals(a.getResultKey().hashCode(), b.getResultKey().hashCode());
+    }
+
+    @Test
+    public void testDropShadowKeyTracksParameters() {
+        DropShadow a = createDropShadow(12f, Color4f.BLACK, 3);
+        Object key = a.getResultKey();
+        a.setRadius(13f);
+        assertNotEquals(key, a.getResultKey());
+        a.setRadius(12f);
+        assertEquals(key, a.getResultKey());
+        a.setColor(new Color4f(1f, 0f, 0f, 1f));
+        assertNotEquals(key, a.getResultKey());
+        a.setColor(Color4f.BLACK);
+        a.setOffsetY(4);
+        assertNotEquals(key, a.getResultKey());
+        a.setOffsetY(3);
+        a.setSpread(0.5f);
+        assertNotEquals(key, a.getResultKey());
+    }
+
+    @Test
+    public void testDifferentEffectsHaveDifferentKeys() {
+        assertNotEquals(new GaussianBlur(10f).getResultKey(), new BoxBlur(10, 10, 1).getResultKey());
+        assertNotEquals(new DropShadow().getResultKey(), new InnerShadow().getResultKey());
+        assertEquals(new BoxBlur(5, 7, 2).getResultKey(), new BoxBlur(5, 7, 2).getResultKey());
+        assertNotEquals(new BoxBlur(5, 7, 2).getResultKey(), new BoxBlur(5, 7, 3).getResultKey());
+    }
+
+    @Test
+    public void testExplicitInputsHaveNoKey() {
+        Flood flood = new Flood(Color.RED, new RectBounds(0, 0, 10, 10));
+        assertNull(new GaussianBlur(10f, flood).getResultKey());
+        assertNull(new DropShadow(flood).getResultKey());
+        assertNull(new InnerShadow(flood).getResultKey());
+        assertNull(new BoxBlur(5, 5, 1, flood).getResultKey());
+    }
+
+    @Test
+    public void testEffectsWithoutSupportHaveNoKey() {
+        assertNull(new Offset(1, 1, null).getResultKey());
+    }
+}
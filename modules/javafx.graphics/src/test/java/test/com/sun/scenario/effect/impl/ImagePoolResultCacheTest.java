@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.scenario.effect.impl;
+
+import java.util.List;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.sg.prism.NGNodeShim;
+import com.sun.javafx.sg.prism.NGRegion;
+import com.sun.scenario.effect.DropShadow;
+import com.sun.scenario.effect.FilterContext;
+import com.sun.scenario.effect.Filterable;
+import com.sun.scenario.effect.ImageData;
+import com.sun.scenario.effect.impl.ImagePool;
+import com.sun.scenario.effect.impl.ImagePoolShim;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImagePoolResultCacheTest {
+
+    private static final class TestImage implements Filterable {
+        private final int w, h;
+        // images are locked when they are checked out of the pool
+        int locks = 1;
+        boolean lost;
+
+        TestImage(int w, int h) {
+            this.w = w;
+            this.h = h;
+        }
+
+        @Override public Object getData() { return this; }
+        @Override public int getContentWidth() { return w; }
+        @Override public int getContentHeight() { return h; }
+        @Override public void setContentWidth(int contentW) { }
+        @Override public void setContentHeight(int contentH) { }
+        @Override public int getMaxContentWidth() { return w; }
+        @Override public int getMaxContentHeight() { return h; }
+        @Override public int getPhysicalWidth() { return w; }
+        @Override public int getPhysicalHeight() { return h; }
+        @Override public float getPixelScale() { return 1f; }
+        @Override public void flush() { }
+        @Override public void lock() { locks++; }
+        @Override public void unlock() { locks--; }
+        @Override public boolean isLost() { return lost; }
+    }
+
+    // 10x10 images take 400 bytes, so a budget of 1600 bytes holds 4 of them
+    private static final long BUDGET = 1600;
+
+    private static ImageData createResult(TestImage image) {
+        return new ImageData(null, image,
+                             new Rectangle(0, 0, image.getPhysicalWidth(), image.getPhysicalHeight()));
+    }
+
+    private static NGRegion createRegion(Color color) {
+        NGRegion region = new NGRegion();
+        region.updateBackground(new Background(new BackgroundFill(color, null, null)));
+        region.setSize(100, 50);
+        return region;
+    }
+
+    private static Object createKey(DropShadow shadow, NGRegion region) {
+        return List.of(shadow.getResultKey(), NGNodeShim.getRenderSignature(region));
+    }
+
+    @Test
+    public void testResultIsSharedAcrossNodes() {
+        ImagePool pool = ImagePoolShim.createImagePool(BUDGET);
+        NGRegion a = createRegion(Color.RED);
+        NGRegion b = createRegion(Color.RED);
+        NGRegion c = createRegion(Color.BLUE);
+        DropShadow shadow = new DropShadow();
+
+        ImageData result = createResult(new TestImage(10, 10));
+        pool.putResult(createKey(shadow, a), result);
+        result.unref();
+
+        ImageData shared = pool.getResult(createKey(new DropShadow(), b));
+        assertSame(result, shared);
+        assertEquals(2, shared.getReferenceCount());
+        shared.unref();
+        assertNull(pool.getResult(createKey(shadow, c)));
+        assertEquals(1, pool.getResultCount());
+    }
+
+    @Test
+    public void testResultSharingIsDisabledByDefault() {
+        assertFalse(ImagePool.isResultSharingEnabled());
+        assertFalse(ImagePool.canCacheResult(400));
+    }
+
+    @Test
+    public void testChangedInputsDoNotShareResult() {
+        ImagePool pool = ImagePoolShim.createImagePool(BUDGET);
+        NGRegion region = createRegion(Color.RED);
+        DropShadow shadow = new DropShadow();
+
+        ImageData result = createResult(new TestImage(10, 10));
+        pool.putResult(createKey(shadow, region), result);
+        result.unref();
+
+        DropShadow wider = new DropShadow();
+        wider.setRadius(20);
+        assertNull(pool.getResult(createKey(wider, region)));
+
+        region.setSize(100, 60);
+        assertNull(pool.getResult(createKey(shadow, region)));
+        region.setSize(100, 50);
+
+        region.updateBackground(new Background(new BackgroundFill(Color.BLUE, null, null)));
+        assertNull(pool.getResult(createKey(shadow, region)));
+        region.updateBackground(new Background(new BackgroundFill(Color.RED, null, null)));
+
+        ImageData shared = pool.getResult(createKey(shadow, region));
+        assertSame(result, shared);
+        shared.unref();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultsAreEvicted() {
+        ImagePool pool = ImagePoolShim.createImagePool(BUDGET);
+        ImageData[] results = new ImageData[5];
+        for (int i = 0; i < 4; i++) {
+            results[i] = createResult(new TestImage(10, 10));
+            pool.putResult("key" + i, results[i]);
+            results[i].unref();
+        }
+        assertEquals(4, pool.getResultCount());
+        assertEquals(BUDGET, pool.getResultBytes());
+
+        // touch key0 so that key1 is now the least recently used
+        pool.getResult("key0").unref();
+        results[4] = createResult(new TestImage(10, 10));
+        pool.putResult("key4", results[4]);
+        results[4].unref();
+
+        assertEquals(4, pool.getResultCount());
+        assertEquals(BUDGET, pool.getResultBytes());
+        assertNull(pool.getResult("key1"));
+        for (int i : new int[] { 0, 2, 3, 4 }) {
+            ImageData data = pool.getResult("key" + i);
+            assertSame(results[i], data);
+            data.unref();
+        }
+    }
+
+    @Test
+    public void testResultsLargerThanAQuarterOfTheBudgetAreNotCached() {
+        ImagePool pool = ImagePoolShim.createImagePool(BUDGET);
+        ImageData result = createResult(new TestImage(10, 11));
+        pool.putResult("key", result);
+        assertEquals(1, result.getReferenceCount());
+        assertEquals(0, pool.getResultCount());
+        assertNull(pool.getResult("key"));
+    }
+
+    @Test
+    public void testEvictionReleasesReferences() {
+        ImagePool pool = ImagePoolShim.createImagePool(BUDGET);
+        TestImage image = new TestImage(10, 10);
+        FilterContext fctx = new FilterContext(image) {};
+        ImageData result = new ImageData(fctx, image, new Rectangle(0, 0, 10, 10));
+        result.setReusable(true);
+        pool.putResult("key0", result);
+        assertEquals(2, result.getReferenceCount());
+        result.unref();
+        assertEquals(1, result.getReferenceCount());
+
+        // a hit holds another reference until the caller releases it
+        ImageData hit = pool.getResult("key0");
+        assertEquals(2, hit.getReferenceCount());
+        hit.unref();
+
+        for (int i = 1; i <= 4; i++) {
+            ImageData other = createResult(new TestImage(10, 10));
+            pool.putResult("key" + i, other);
+            other.unref();
+        }
+        assertNull(pool.getResult("key0"));
+        assertEquals(0, result.getReferenceCount());
+        // the last reference of a reusable result unlocks its image
+        assertEquals(0, image.locks);
+    }
+
+    @Test
+    public void testReplacedResultIsReleased() {
+        ImagePool pool = ImagePoolShim.createImagePool(BUDGET);
+        ImageData first = createResult(new TestImage(10, 10));
+        pool.putResult("key", first);
+        first.unref();
+        ImageData second = createResult(new TestImage(10, 10));
+        pool.putResult("key", second);
+        second.unref();
+        assertEquals(0, first.getReferenceCount());
+        assertEquals(1, second.getReferenceCount());
+        assertEquals(400, pool.getResultBytes());
+    }
+
+    @Test
+    public void testLostResultIsDropped() {
+        ImagePool pool = ImagePoolShim.createImagePool(BUDGET);
+        TestImage image = new TestImage(10, 10);
+        ImageData result = createResult(image);
+        pool.putResult("key", result);
+        result.unref();
+        image.lost = true;
+        assertNull(pool.getResult("key"));
+        assertEquals(0, result.getReferenceCount());
+        assertEquals(0, pool.getResultCount());
+        assertEquals(0, pool.getResultBytes());
+    }
+
+    @Test
+    public void testClearResultsReleasesReferences() {
+        ImagePool pool = ImagePoolShim.createImagePool(BUDGET);
+        ImageData result = createResult(new TestImage(10, 10));
+        pool.putResult("key", result);
+        result.unref();
+        pool.clearResults();
+        assertEquals(0, result.getReferenceCount());
+        assertEquals(0, pool.getResultCount());
+    }
+}
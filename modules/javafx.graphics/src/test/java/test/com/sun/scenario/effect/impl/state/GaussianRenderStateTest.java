@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.scenario.effect.impl.state;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.scenario.effect.Filterable;
+import com.sun.scenario.effect.ImageData;
+import com.sun.scenario.effect.impl.state.GaussianRenderState;
+import com.sun.scenario.effect.impl.state.GaussianRenderStateShim;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GaussianRenderStateTest {
+
+    private static final float MAX_RADIUS = GaussianRenderState.MAX_RADIUS;
+    private static final float SPEED_RADIUS = 16f;
+    private static final double EPSILON = 1e-5;
+
+    private static final class TestImage implements Filterable {
+        @Override public Object getData() { return this; }
+        @Override public int getContentWidth() { return 100; }
+        @Override public int getContentHeight() { return 100; }
+        @Override public void setContentWidth(int contentW) { }
+        @Override public void setContentHeight(int contentH) { }
+        @Override public int getMaxContentWidth() { return 100; }
+        @Override public int getMaxContentHeight() { return 100; }
+        @Override public int getPhysicalWidth() { return 100; }
+        @Override public int getPhysicalHeight() { return 100; }
+        @Override public float getPixelScale() { return 1f; }
+        @Override public void flush() { }
+        @Override public void lock() { }
+        @Override public void unlock() { }
+        @Override public boolean isLost() { return false; }
+    }
+
+    private static int kernelSize(float radius) {
+        return 1 + 2 * (int) Math.ceil(radius);
+    }
+
+    private static void assertScale(double expected, BaseTransform tx) {
+        assertEquals(expected, tx.getMxx(), EPSILON);
+        assertEquals(expected, tx.getMyy(), EPSILON);
+    }
+
+    @Test
+    public void testDefaultIsQuality() {
+        assertEquals(MAX_RADIUS, GaussianRenderStateShim.getDownsampleRadius(null));
+        assertEquals(MAX_RADIUS, GaussianRenderStateShim.getDownsampleRadius("quality"));
+        assertEquals(SPEED_RADIUS, GaussianRenderStateShim.getDownsampleRadius("speed"));
+        assertEquals(MAX_RADIUS, GaussianRenderState.DOWNSAMPLE_RADIUS);
+    }
+
+    @Test
+    public void testSmallRadiusIsNotScaledInAnyMode() {
+        for (String quality : new String[] { null, "quality", "speed" }) {
+            GaussianRenderState state = GaussianRenderStateShim
+                    .createGaussianRenderState(10f, 10f, BaseTransform.IDENTITY_TRANSFORM, quality);
+            assertScale(1.0, state.getInputTransform(BaseTransform.IDENTITY_TRANSFORM));
+            assertTrue(state.getResultTransform(BaseTransform.IDENTITY_TRANSFORM).isIdentity());
+            assertEquals(kernelSize(10f), state.getInputKernelSize(0));
+            assertEquals(kernelSize(10f), state.getInputKernelSize(1));
+        }
+    }
+
+    @Test
+    public void testLargeRadiusDefault() {
+        GaussianRenderState state = GaussianRenderStateShim
+                .createGaussianRenderState(40f, 40f, BaseTransform.IDENTITY_TRANSFORM, null);
+        assertScale(1.0, state.getInputTransform(BaseTransform.IDENTITY_TRANSFORM));
+        assertTrue(state.getResultTransform(BaseTransform.IDENTITY_TRANSFORM).isIdentity());
+        assertEquals(kernelSize(40f), state.getInputKernelSize(0));
+        assertEquals(kernelSize(40f), state.getInputKernelSize(1));
+    }
+
+    @Test
+    public void testLargeRadiusSpeed() {
+        GaussianRenderState state = GaussianRenderStateShim
+                .createGaussianRenderState(40f, 40f, BaseTransform.IDENTITY_TRANSFORM, "speed");
+        assertScale(SPEED_RADIUS / 40f, state.getInputTransform(BaseTransform.IDENTITY_TRANSFORM));
+        assertScale(40f / SPEED_RADIUS, state.getResultTransform(BaseTransform.IDENTITY_TRANSFORM));
+        assertEquals(kernelSize(SPEED_RADIUS), state.getInputKernelSize(0));
+        assertEquals(kernelSize(SPEED_RADIUS), state.getInputKernelSize(1));
+    }
+
+    @Test
+    public void testRadiusAboveMaxIsScaledInAnyMode() {
+        for (String quality : new String[] { null, "quality", "speed" }) {
+            float radius = GaussianRenderStateShim.getDownsampleRadius(quality);
+            GaussianRenderState state = GaussianRenderStateShim
+                    .createGaussianRenderState(100f, 100f, BaseTransform.IDENTITY_TRANSFORM, quality);
+            assertScale(radius / 100f, state.getInputTransform(BaseTransform.IDENTITY_TRANSFORM));
+            assertScale(100f / radius, state.getResultTransform(BaseTransform.IDENTITY_TRANSFORM));
+            assertEquals(kernelSize(radius), state.getInputKernelSize(0));
+        }
+    }
+
+    @Test
+    public void testMotionBlurRadius() {
+        GaussianRenderState state = GaussianRenderStateShim
+                .createGaussianRenderState(40f, 1f, 0f, BaseTransform.IDENTITY_TRANSFORM, null);
+        assertScale(1.0, state.getInputTransform(BaseTransform.IDENTITY_TRANSFORM));
+        assertEquals(kernelSize(40f), state.getInputKernelSize(0));
+
+        state = GaussianRenderStateShim
+                .createGaussianRenderState(40f, 1f, 0f, BaseTransform.IDENTITY_TRANSFORM, "speed");
+        assertEquals(SPEED_RADIUS / 40f,
+                     state.getInputTransform(BaseTransform.IDENTITY_TRANSFORM).getMxx(), EPSILON);
+        assertEquals(kernelSize(SPEED_RADIUS), state.getInputKernelSize(0));
+    }
+
+    private static int validateScaledInput(GaussianRenderState state, double srcScale) {
+        ImageData src = new ImageData(null, new TestImage(), new Rectangle(0, 0, 100, 100),
+                                      BaseTransform.getScaleInstance(srcScale, srcScale));
+        state.validatePassInput(src, 0);
+        return state.getPassKernelSize();
+    }
+
+    @Test
+    public void testTransformedInputIsClampedToDownsampleRadius() {
+        // an input returned at a smaller scale than requested needs a
+        // larger pass radius than planned, which gets clamped
+        GaussianRenderState state = GaussianRenderStateShim
+                .createGaussianRenderState(10f, 10f, BaseTransform.IDENTITY_TRANSFORM, null);
+        assertEquals(kernelSize(MAX_RADIUS), validateScaledInput(state, 0.125));
+
+        state = GaussianRenderStateShim
+                .createGaussianRenderState(10f, 10f, BaseTransform.IDENTITY_TRANSFORM, "speed");
+        assertEquals(kernelSize(SPEED_RADIUS), validateScaledInput(state, 0.25));
+
+        state = GaussianRenderStateShim
+                .createGaussianRenderState(10f, 10f, BaseTransform.IDENTITY_TRANSFORM, "speed");
+        assertEquals(kernelSize(5f), validateScaledInput(state, 2.0));
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.scenario.effect.impl.sw.java;
+
+import java.util.Random;
+import com.sun.scenario.effect.impl.sw.java.JSWBoxBlurPeer;
+import com.sun.scenario.effect.impl.sw.java.JSWEffectPeerShim;
+import com.sun.scenario.effect.impl.sw.java.JSWLinearConvolvePeer;
+import com.sun.scenario.effect.impl.sw.java.JSWRendererDelegate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the row oriented Java software peers are selected by the
+ * renderer delegate and produce exactly the same pixels as the original
+ * per pixel loops.
+ */
+public class JSWRowLoopsTest {
+
+    private static final int[] KERNEL_SIZES = { 1, 2, 3, 8, 17, 32 };
+    private static final int[][] SIZES = { { 1, 1 }, { 7, 5 }, { 13, 1 }, { 1, 9 }, { 31, 17 } };
+
+    private final Random random = new Random(1234);
+
+    private int[] createPixels(int w, int h, int scan) {
+        int[] pixels = new int[scan * h];
+        for (int i = 0; i < pixels.length; i++) {
+            // premultiplied, so that no component exceeds the alpha
+            int a = random.nextInt(256);
+            int r = random.nextInt(a + 1);
+            int g = random.nextInt(a + 1);
+            int b = random.nextInt(a + 1);
+            pixels[i] = (a << 24) | (r << 16) | (g << 8) | b;
+        }
+        return pixels;
+    }
+
+    private float[] createWeights(int count) {
+        float[] weights = new float[count];
+        float total = 0f;
+        for (int i = 0; i < count; i++) {
+            weights[i] = random.nextFloat();
+            total += weights[i];
+        }
+        for (int i = 0; i < count; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+
+    private int[] convolve(boolean rowLoops, boolean horizontal,
+                           int[] src, int srcw, int srch, int srcscan,
+                           float[] weights, int dstw, int dsth, int dstscan,
+                           float srcx0, float srcy0, float offset)
+    {
+        JSWLinearConvolvePeer peer = JSWEffectPeerShim.createLinearConvolvePeer(rowLoops);
+        int[] dst = new int[dstscan * dsth];
+        JSWEffectPeerShim.filterVector(peer, dst, dstw, dsth, dstscan,
+                                       src, srcw, srch, srcscan,
+                                       weights, weights.length,
+                                       srcx0, srcy0,
+                                       horizontal ? offset : 0f, horizontal ? 0f : offset,
+                                       horizontal ? 1f : 0f, horizontal ? 0f : 1f,
+                                       1f, 0f, 0f, 1f);
+        return dst;
+    }
+
+    private void assertLinearConvolveLoopsMatch(boolean horizontal) {
+        for (int count : KERNEL_SIZES) {
+            for (int[] size : SIZES) {
+                int srcw = size[0];
+                int srch = size[1];
+                int srcscan = srcw + 3;
+                int[] src = createPixels(srcw, srch, srcscan);
+                float[] weights = createWeights(count);
+                int dstw = horizontal ? srcw + count - 1 : srcw;
+                int dsth = horizontal ? srch : srch + count - 1;
+                int dstscan = dstw + 1;
+                // origins outside, on and inside the edges of the source,
+                // with whole and fractional pixel offsets
+                for (int edge = -count; edge <= 2; edge++) {
+                    for (float offset : new float[] { 0f, -1f, 2f, 0.25f }) {
+                        float srcx0 = horizontal ? edge : 0f;
+                        float srcy0 = horizontal ? 0f : edge;
+                        int[] expected = convolve(false, horizontal, src, srcw, srch, srcscan,
+                                                  weights, dstw, dsth, dstscan, srcx0, srcy0, offset);
+                        int[] actual = convolve(true, horizontal, src, srcw, srch, srcscan,
+                                                weights, dstw, dsth, dstscan, srcx0, srcy0, offset);
+                        assertArrayEquals(expected, actual,
+                                "count=" + count + " size=" + srcw + "x" + srch +
+                                " edge=" + edge + " offset=" + offset);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHorizontalLinearConvolveLoopsMatch() {
+        assertLinearConvolveLoopsMatch(true);
+    }
+
+    @Test
+    public void testVerticalLinearConvolveLoopsMatch() {
+        assertLinearConvolveLoopsMatch(false);
+    }
+
+    private int[] filterVertical(boolean rowLoops, int[] src, int srcw, int srch, int srcscan,
+                                 int dsth, int dstscan)
+    {
+        JSWBoxBlurPeer peer = JSWEffectPeerShim.createBoxBlurPeer(rowLoops);
+        int[] dst = new int[dstscan * dsth];
+        JSWEffectPeerShim.filterVertical(peer, dst, srcw, dsth, dstscan, src, srcw, srch, srcscan);
+        return dst;
+    }
+
+    @Test
+    public void testBoxBlurVerticalLoopsMatch() {
+        for (int vsize : KERNEL_SIZES) {
+            for (int[] size : SIZES) {
+                int srcw = size[0];
+                int srch = size[1];
+                int srcscan = srcw + 2;
+                int[] src = createPixels(srcw, srch, srcscan);
+                int dsth = srch + vsize - 1;
+                int dstscan = srcw + 5;
+                assertArrayEquals(filterVertical(false, src, srcw, srch, srcscan, dsth, dstscan),
+                                  filterVertical(true, src, srcw, srch, srcscan, dsth, dstscan),
+                                  "vsize=" + vsize + " size=" + srcw + "x" + srch);
+            }
+        }
+    }
+
+    @Test
+    public void testRendererDelegateSelectsRowPeers() throws Exception {
+        JSWRendererDelegate delegate = new JSWRendererDelegate();
+        for (String name : new String[] { "LinearConvolve", "BoxBlur", "ColorAdjust" }) {
+            String peerName = delegate.getPlatformPeerName(name, 0);
+            assertEquals("com.sun.scenario.effect.impl.sw.java.JSWRow" + name + "Peer", peerName);
+            assertNotNull(Class.forName(peerName));
+        }
+        assertEquals("com.sun.scenario.effect.impl.sw.java.JSWLinearConvolveShadowPeer",
+                     delegate.getPlatformPeerName("LinearConvolveShadow", 0));
+        assertEquals("com.sun.scenario.effect.impl.sw.java.JSWSepiaTonePeer",
+                     delegate.getPlatformPeerName("SepiaTone", 0));
+    }
+
+    private static int component(int rgb, int shift) {
+        return (rgb >>> shift) & 0xff;
+    }
+
+    @Test
+    public void testColorAdjustDefaultsKeepPixels() {
+        int[] pixels = createPixels(64, 64, 64);
+        for (int rgb : pixels) {
+            int res = JSWEffectPeerShim.adjustColor(rgb, 0f, 1f, 1f, 1f);
+            assertEquals(component(rgb, 24), component(res, 24));
+            for (int shift = 0; shift < 24; shift += 8) {
+                assertEquals(component(rgb, shift), component(res, shift), 1,
+                        "rgb=" + Integer.toHexString(rgb) + " res=" + Integer.toHexString(res));
+            }
+        }
+        assertEquals(0, JSWEffectPeerShim.adjustColor(0, 0.25f, 1.5f, 0.5f, 2f));
+    }
+
+    @Test
+    public void testColorAdjustSaturationAndBrightness() {
+        int[] pixels = createPixels(64, 64, 64);
+        for (int rgb : pixels) {
+            // no saturation leaves shades of gray
+            int gray = JSWEffectPeerShim.adjustColor(rgb, 0.25f, 0f, 1f, 1f);
+            assertEquals(component(rgb, 24), component(gray, 24));
+            assertEquals(component(gray, 16), component(gray, 8));
+            assertEquals(component(gray, 8), component(gray, 0));
+            // no brightness leaves black, retaining the alpha
+            int black = JSWEffectPeerShim.adjustColor(rgb, 0.25f, 1.5f, 0f, 1f);
+            assertEquals(rgb & 0xff000000, black);
+        }
+    }
+}
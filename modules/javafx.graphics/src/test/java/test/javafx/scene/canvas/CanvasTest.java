@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,7 +27,9 @@ package test.javafx.scene.canvas;
 
 import javafx.geometry.VPos;
 import test.javafx.scene.NodeTest;
+import com.sun.javafx.sg.prism.GrowableDataBuffer;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.CanvasShim;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.effect.BlendMode;
 import test.javafx.scene.image.ImageForTesting;
@@ -49,6 +51,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
@@ -88,6 +91,25 @@ public class CanvasTest {
         gc.fillOval(0, 0, 1, 1);
     }
 
+    @Test public void testGCfillOvals_basic() throws Exception {
+        double[] xPoints = {0.0, 10.0, 20.0};
+        double[] yPoints = {0.0, 10.0, 20.0};
+        gc.fillOvals(xPoints, yPoints, 3, 5, 5);
+        gc.fillOvals(xPoints, yPoints, 0, 5, 5);
+        gc.fillOvals(xPoints, null, 3, 5, 5);
+        gc.fillOvals(null, yPoints, 3, 5, 5);
+    }
+
+    @Test public void testGCfillOvals_writesSingleCommand() throws Exception {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        double[] xPoints = new double[1000];
+        double[] yPoints = new double[1000];
+        int before = CanvasShim.getBuffer(canvas).writeObjectPosition();
+        gc.fillOvals(xPoints, yPoints, 1000, 2, 2);
+        assertEquals(before + 1, CanvasShim.getBuffer(canvas).writeObjectPosition());
+    }
+
     @Test public void testGCfillRoundRect_basic() throws Exception {
         gc.fillRoundRect(0, 0, 1, 1, 2, 2);
     }
@@ -499,6 +521,13 @@ public class CanvasTest {
         gc.drawImage(null, 0, 0, 100, 100, 0, 0, 100, 100);
     }
 
+    @Test public void testGCdrawImages_Null() throws Exception {
+        double[] xPoints = {0.0, 10.0};
+        double[] yPoints = {0.0, 10.0};
+        gc.drawImages(null, xPoints, yPoints, 2);
+        gc.drawImages(new ImageForTesting("http://something.png", false), null, yPoints, 2);
+    }
+
     @Test public void testGCdrawImage_InProgress() {
         ImageForTesting image = new ImageForTesting("http://something.png", false);
         image.updateProgress(0.5);
@@ -506,6 +535,74 @@ public class CanvasTest {
         gc.drawImage(image, 0 ,0);
         gc.drawImage(image, 0 ,0, 100, 100);
         gc.drawImage(image, 0, 0, 100, 100, 0, 0, 100, 100);
+        gc.drawImages(image, new double[] {0}, new double[] {0}, 1);
+    }
+
+    @Test public void testGCLayerRestoresState() {
+        gc.setFill(Color.RED);
+        gc.setLineWidth(3);
+        gc.save();
+        gc.beginLayer("chart");
+        assertEquals(Color.RED, gc.getFill());
+        gc.setFill(Color.BLUE);
+        gc.setLineWidth(5);
+        gc.translate(10, 10);
+        gc.save();
+        gc.fillRect(0, 0, 10, 10);
+        gc.endLayer();
+        assertEquals(Color.RED, gc.getFill());
+        assertEquals(3, gc.getLineWidth(), 0.0);
+        assertMatrix(new Affine(), gc.getTransform());
+        gc.setFill(Color.GREEN);
+        gc.restore();
+        assertEquals(Color.RED, gc.getFill());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGCNestedBeginLayerThrows() {
+        gc.beginLayer("a");
+        gc.beginLayer("b");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGCEndLayerWithoutBeginThrows() {
+        gc.endLayer();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGCRemoveRecordingLayerThrows() {
+        gc.beginLayer("a");
+        gc.removeLayer("a");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGCBeginLayerNullThrows() {
+        gc.beginLayer(null);
+    }
+
+    @Test public void testGCLayerCommandsDoNotGrowCanvasBuffer() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        int before = CanvasShim.getBuffer(canvas).writeValuePosition();
+        gc.beginLayer("a");
+        gc.fillRect(0, 0, 10, 10);
+        gc.endLayer();
+        assertEquals(before, CanvasShim.getBuffer(canvas).writeValuePosition());
+    }
+
+    @Test public void testGCRerecordedLayerReusesBuffer() {
+        gc.beginLayer("a");
+        for (int i = 0; i < 100; i++) {
+            gc.fillRect(i, i, 10, 10);
+        }
+        gc.endLayer();
+        GrowableDataBuffer buf = CanvasShim.getLayerBuffer(canvas, "a");
+        int size = buf.writeValuePosition();
+        gc.beginLayer("a");
+        gc.fillRect(0, 0, 10, 10);
+        gc.endLayer();
+        assertSame(buf, CanvasShim.getLayerBuffer(canvas, "a"));
+        assertTrue(buf.writeValuePosition() < size);
     }
 
     public static void assertMatrix(Transform expected,
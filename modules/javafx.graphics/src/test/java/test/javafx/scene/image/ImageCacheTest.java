@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.scene.image;
+
+import com.sun.javafx.tk.Toolkit;
+import java.io.ByteArrayInputStream;
+import java.lang.ref.WeakReference;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import test.com.sun.javafx.pgstub.StubAsyncImageLoader;
+import test.com.sun.javafx.pgstub.StubImageLoaderFactory;
+import test.com.sun.javafx.pgstub.StubPlatformImageInfo;
+import test.com.sun.javafx.pgstub.StubToolkit;
+import test.util.memory.JMemoryBuddy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageCacheTest {
+
+    private static final String URL_A = "file:a.png";
+    private static final String URL_B = "file:b.png";
+    private static final String URL_C = "file:c.png";
+    private static final long IMAGE_BYTES = 100 * 100 * 4;
+
+    private StubImageLoaderFactory imageLoaderFactory;
+
+    @BeforeEach
+    public void setUp() {
+        imageLoaderFactory = ((StubToolkit) Toolkit.getToolkit()).getImageLoaderFactory();
+        imageLoaderFactory.reset();
+        for (String url : new String[] { URL_A, URL_B, URL_C }) {
+            imageLoaderFactory.registerImage(url, new StubPlatformImageInfo(100, 100));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ImageCache.setDefault(null);
+        imageLoaderFactory.reset();
+    }
+
+    private static Object getPlatformImage(Image image) {
+        return Toolkit.getImageAccessor().getPlatformImage(image);
+    }
+
+    @Test
+    public void testNegativeBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new ImageCache(-1));
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(ImageCache.getDefault());
+        Image image1 = new Image(URL_A);
+        Image image2 = new Image(URL_A);
+        assertNotSame(getPlatformImage(image1), getPlatformImage(image2));
+    }
+
+    @Test
+    public void testSharesDecodedImage() {
+        ImageCache cache = new ImageCache(1024 * 1024);
+        ImageCache.setDefault(cache);
+
+        Image image1 = new Image(URL_A);
+        Image image2 = new Image(URL_A);
+
+        assertSame(getPlatformImage(image1), getPlatformImage(image2));
+        assertEquals(100, image2.getWidth());
+        assertEquals(100, image2.getHeight());
+        assertEquals(1, image2.getProgress());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(IMAGE_BYTES, cache.getByteCount());
+    }
+
+    @Test
+    public void testKeyIncludesParameters() {
+        ImageCache cache = new ImageCache(1024 * 1024);
+        ImageCache.setDefault(cache);
+
+        Image image = new Image(URL_A, 50, 50, true, true);
+        assertNotSame(getPlatformImage(image), getPlatformImage(new Image(URL_A)));
+        assertNotSame(getPlatformImage(image), getPlatformImage(new Image(URL_A, 50, 50, false, true)));
+        assertNotSame(getPlatformImage(image), getPlatformImage(new Image(URL_A, 50, 50, true, false)));
+        assertNotSame(getPlatformImage(image), getPlatformImage(new Image(URL_A, 50, 40, true, true)));
+        assertNotSame(getPlatformImage(image), getPlatformImage(
+                new Image(URL_A, new Rectangle2D(0, 0, 50, 50), 50, 50, true, true, false)));
+        assertSame(getPlatformImage(image), getPlatformImage(new Image(URL_A, 50, 50, true, true)));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(6, cache.getMissCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        ImageCache cache = new ImageCache(2 * IMAGE_BYTES);
+        ImageCache.setDefault(cache);
+
+        new Image(URL_A);
+        new Image(URL_B);
+        new Image(URL_A);
+        new Image(URL_C);
+
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(2 * IMAGE_BYTES, cache.getByteCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEvictedImageIsSharedWhileInUse() {
+        ImageCache cache = new ImageCache(0);
+        ImageCache.setDefault(cache);
+
+        Image image1 = new Image(URL_A);
+        assertEquals(0, cache.getEntryCount());
+        Image image2 = new Image(URL_A);
+
+        assertSame(getPlatformImage(image1), getPlatformImage(image2));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getByteCount());
+    }
+
+    @Test
+    public void testEvictedImageIsReleasedWhenUnused() {
+        ImageCache cache = new ImageCache(0);
+        ImageCache.setDefault(cache);
+
+        Image image = new Image(URL_A);
+        WeakReference<Object> ref = new WeakReference<>(getPlatformImage(image));
+        image = null;
+        JMemoryBuddy.assertCollectable(ref);
+
+        new Image(URL_A);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testBackgroundLoading() {
+        ImageCache cache = new ImageCache(1024 * 1024);
+        ImageCache.setDefault(cache);
+
+        Image image1 = new Image(URL_A, true);
+        StubAsyncImageLoader loader = imageLoaderFactory.getLastAsyncImageLoader();
+        assertEquals(0, cache.getEntryCount());
+        loader.finish();
+        assertEquals(1, cache.getEntryCount());
+
+        Image image2 = new Image(URL_A, true);
+        assertSame(loader, imageLoaderFactory.getLastAsyncImageLoader());
+        assertEquals(1, image2.getProgress());
+        assertSame(getPlatformImage(image1), getPlatformImage(image2));
+    }
+
+    @Test
+    public void testFailedImagesAreNotCached() {
+        ImageCache cache = new ImageCache(1024 * 1024);
+        ImageCache.setDefault(cache);
+
+        assertTrue(new Image("file:missing.png").isError());
+        assertTrue(new Image("file:missing.png").isError());
+
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testStreamImagesAreNotCached() {
+        ImageCache cache = new ImageCache(1024 * 1024);
+        ImageCache.setDefault(cache);
+
+        new Image(new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testClear() {
+        ImageCache cache = new ImageCache(1024 * 1024);
+        ImageCache.setDefault(cache);
+
+        Image image = new Image(URL_A);
+        cache.clear();
+
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getByteCount());
+        assertNotSame(getPlatformImage(image), getPlatformImage(new Image(URL_A)));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2024, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -34,6 +34,7 @@ import test.com.sun.javafx.pgstub.StubToolkit;
 import test.com.sun.javafx.test.PropertyInvalidationCounter;
 import com.sun.javafx.tk.Toolkit;
 import javafx.beans.InvalidationListener;
+import javafx.geometry.Rectangle2D;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -82,6 +83,53 @@ public final class ImageTest {
         verifyLoadedImage(image, 200, 400, true, true, 300, 100);
     }
 
+    @Test
+    public void loadImageViewportTest() {
+        final String url = "file:test.png";
+        registerImage(url, 50, 25);
+
+        final Rectangle2D viewport = new Rectangle2D(100, 50, 400, 200);
+        final Image image = new Image(url, viewport, 50, 50, true, true, false);
+
+        assertEquals(viewport, image.getViewport());
+        verifyLoadedImage(image, 50, 50, true, true, 50, 25);
+        assertEquals(viewport, getPlatformImage(image).getImageLoader().getViewport());
+    }
+
+    @Test
+    public void loadImageAsyncViewportTest() {
+        final String url = "file:test.png";
+        registerImage(url, 200, 100);
+
+        final Rectangle2D viewport = new Rectangle2D(0, 0, 200, 100);
+        final Image image = new Image(url, viewport, 0, 0, false, false, true);
+        getLastAsyncImageLoader().finish();
+
+        verifyLoadedImage(image, 0, 0, false, false, 200, 100);
+        assertEquals(viewport, getPlatformImage(image).getImageLoader().getViewport());
+    }
+
+    @Test
+    public void loadImageWithoutViewportTest() {
+        final String url = "file:test.png";
+        registerImage(url, 100, 200);
+
+        final Image image = new Image(url);
+
+        assertNull(image.getViewport());
+        assertNull(getPlatformImage(image).getImageLoader().getViewport());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void loadImageNullViewportTest() {
+        new Image("file:test.png", null, 0, 0, false, false, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loadImageEmptyViewportTest() {
+        new Image("file:test.png", new Rectangle2D(10, 10, 0, 10), 0, 0, false, false, false);
+    }
+
     @Test
     public void loadImageFromMissingUrlTest() {
         final Image image = new Image("file:missing.png");
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.scene.image;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class PixelBufferMultiBufferTest {
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 15;
+
+    private static final PixelFormat<IntBuffer> INT_ARGB_PRE_PF = PixelFormat.getIntArgbPreInstance();
+    private static final PixelFormat<ByteBuffer> BYTE_BGRA_PRE_PF = PixelFormat.getByteBgraPreInstance();
+
+    private static List<IntBuffer> intBuffers(int count) {
+        IntBuffer[] buffers = new IntBuffer[count];
+        for (int i = 0; i < count; i++) {
+            buffers[i] = IntBuffer.allocate(WIDTH * HEIGHT);
+        }
+        return List.of(buffers);
+    }
+
+    private static void fill(IntBuffer buffer, Rectangle2D rect, int value) {
+        for (int y = (int) rect.getMinY(); y < rect.getMaxY(); y++) {
+            for (int x = (int) rect.getMinX(); x < rect.getMaxX(); x++) {
+                buffer.put(y * WIDTH + x, value);
+            }
+        }
+    }
+
+    private static int[] contents(IntBuffer buffer) {
+        int[] data = new int[WIDTH * HEIGHT];
+        buffer.get(0, data);
+        return data;
+    }
+
+    @Test
+    public void testCreateMultiBuffered() {
+        List<IntBuffer> buffers = intBuffers(3);
+        PixelBuffer<IntBuffer> pixelBuffer = PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, buffers, INT_ARGB_PRE_PF);
+        assertEquals(3, pixelBuffer.getBufferCount());
+        assertSame(buffers.get(0), pixelBuffer.getBuffer());
+    }
+
+    @Test
+    public void testSingleBufferedPixelBufferHasOneBuffer() {
+        PixelBuffer<IntBuffer> pixelBuffer = new PixelBuffer<>(WIDTH, HEIGHT, IntBuffer.allocate(WIDTH * HEIGHT), INT_ARGB_PRE_PF);
+        assertEquals(1, pixelBuffer.getBufferCount());
+        assertThrows(IllegalStateException.class, pixelBuffer::acquireBuffer);
+        assertThrows(IllegalStateException.class, () -> pixelBuffer.releaseBuffer(null));
+    }
+
+    @Test
+    public void testCreateMultiBufferedWithInvalidBufferCount() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, intBuffers(1), INT_ARGB_PRE_PF));
+        assertThrows(IllegalArgumentException.class,
+                () -> PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, intBuffers(4), INT_ARGB_PRE_PF));
+    }
+
+    @Test
+    public void testCreateMultiBufferedWithSameBufferTwice() {
+        IntBuffer buffer = IntBuffer.allocate(WIDTH * HEIGHT);
+        assertThrows(IllegalArgumentException.class,
+                () -> PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, List.of(buffer, buffer), INT_ARGB_PRE_PF));
+    }
+
+    @Test
+    public void testCreateMultiBufferedWithInsufficientBuffer() {
+        List<IntBuffer> buffers = List.of(IntBuffer.allocate(WIDTH * HEIGHT), IntBuffer.allocate(WIDTH * HEIGHT - 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, buffers, INT_ARGB_PRE_PF));
+    }
+
+    @Test
+    public void testCreateMultiBufferedWithNullArguments() {
+        assertThrows(NullPointerException.class,
+                () -> PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, null, INT_ARGB_PRE_PF));
+        assertThrows(NullPointerException.class,
+                () -> PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, intBuffers(2), null));
+        assertThrows(NullPointerException.class,
+                () -> PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, Arrays.asList(IntBuffer.allocate(WIDTH * HEIGHT), null), INT_ARGB_PRE_PF));
+    }
+
+    @Test
+    public void testAcquireReturnsBackBuffer() {
+        List<IntBuffer> buffers = intBuffers(2);
+        PixelBuffer<IntBuffer> pixelBuffer = PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, buffers, INT_ARGB_PRE_PF);
+        IntBuffer back = pixelBuffer.acquireBuffer();
+        assertNotSame(pixelBuffer.getBuffer(), back);
+        assertThrows(IllegalStateException.class, pixelBuffer::acquireBuffer);
+        pixelBuffer.releaseBuffer(null);
+        assertThrows(IllegalStateException.class, () -> pixelBuffer.releaseBuffer(null));
+    }
+
+    @Test
+    public void testReleasedBufferBecomesFrontBuffer() {
+        List<IntBuffer> buffers = intBuffers(3);
+        PixelBuffer<IntBuffer> pixelBuffer = PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, buffers, INT_ARGB_PRE_PF);
+        for (int frame = 0; frame < 5; frame++) {
+            IntBuffer back = pixelBuffer.acquireBuffer();
+            pixelBuffer.releaseBuffer(List.of());
+            assertSame(back, pixelBuffer.getBuffer());
+        }
+    }
+
+    @Test
+    public void testDoubleBufferingAlternatesBuffers() {
+        List<IntBuffer> buffers = intBuffers(2);
+        PixelBuffer<IntBuffer> pixelBuffer = PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, buffers, INT_ARGB_PRE_PF);
+        for (int frame = 0; frame < 4; frame++) {
+            IntBuffer back = pixelBuffer.acquireBuffer();
+            assertSame(buffers.get((frame + 1) % 2), back);
+            pixelBuffer.releaseBuffer(null);
+        }
+    }
+
+    @Test
+    public void testAcquiredBufferContainsLatestFrame() {
+        List<IntBuffer> buffers = intBuffers(3);
+        PixelBuffer<IntBuffer> pixelBuffer = PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, buffers, INT_ARGB_PRE_PF);
+        fill(buffers.get(0), new Rectangle2D(0, 0, WIDTH, HEIGHT), 1);
+
+        IntBuffer back = pixelBuffer.acquireBuffer();
+        assertEquals(Arrays.toString(contents(buffers.get(0))), Arrays.toString(contents(back)));
+
+        Rectangle2D r1 = new Rectangle2D(1, 2, 3, 4);
+        Rectangle2D r2 = new Rectangle2D(6, 9, 4, 6);
+        fill(back, r1, 2);
+        fill(back, r2, 3);
+        pixelBuffer.releaseBuffer(List.of(r1, r2));
+        int[] expected = contents(back);
+
+        for (int frame = 0; frame < 4; frame++) {
+            IntBuffer next = pixelBuffer.acquireBuffer();
+            assertEquals(Arrays.toString(expected), Arrays.toString(contents(next)));
+            Rectangle2D r = new Rectangle2D(frame, frame, 2, 2);
+            fill(next, r, 10 + frame);
+            pixelBuffer.releaseBuffer(List.of(r));
+            expected = contents(next);
+        }
+    }
+
+    @Test
+    public void testDirtyRegionsAreClipped() {
+        List<ByteBuffer> buffers = List.of(ByteBuffer.allocate(WIDTH * HEIGHT * 4), ByteBuffer.allocate(WIDTH * HEIGHT * 4));
+        PixelBuffer<ByteBuffer> pixelBuffer = PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, buffers, BYTE_BGRA_PRE_PF);
+        ByteBuffer back = pixelBuffer.acquireBuffer();
+        back.put(0, (byte) 7);
+        pixelBuffer.releaseBuffer(List.of(new Rectangle2D(-5, -5, WIDTH + 10, HEIGHT + 10)));
+        ByteBuffer next = pixelBuffer.acquireBuffer();
+        assertEquals(7, next.get(0));
+        pixelBuffer.releaseBuffer(List.of());
+    }
+
+    @Test
+    public void testUpdateBufferIsNotSupportedWhenMultiBuffered() {
+        PixelBuffer<IntBuffer> pixelBuffer = PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, intBuffers(2), INT_ARGB_PRE_PF);
+        assertThrows(IllegalStateException.class, () -> pixelBuffer.updateBuffer(pb -> null));
+    }
+
+    @Test
+    public void testAcquireFromOtherThreadWaitsForPresent() throws Exception {
+        List<IntBuffer> buffers = intBuffers(2);
+        PixelBuffer<IntBuffer> pixelBuffer = PixelBuffer.createMultiBuffered(WIDTH, HEIGHT, buffers, INT_ARGB_PRE_PF);
+        IntBuffer[] acquired = new IntBuffer[4];
+        Thread producer = new Thread(() -> {
+            for (int frame = 0; frame < acquired.length; frame++) {
+                acquired[frame] = pixelBuffer.acquireBuffer();
+                pixelBuffer.releaseBuffer(null);
+            }
+        });
+        producer.start();
+        producer.join(10000);
+        assertEquals(Thread.State.TERMINATED, producer.getState());
+        for (int frame = 0; frame < acquired.length; frame++) {
+            assertSame(buffers.get((frame + 1) % 2), acquired[frame]);
+        }
+    }
+}
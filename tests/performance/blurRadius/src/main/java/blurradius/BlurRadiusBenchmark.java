@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package blurradius;
+
+import com.sun.javafx.perf.PerformanceTracker;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.effect.BlurType;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
+import javafx.scene.effect.GaussianBlur;
+import javafx.scene.layout.TilePane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+
+/**
+ * Measures the frame rate of a grid of cards whose blur or Gaussian drop
+ * shadow has to be recomputed on every pulse, for a series of increasing
+ * radii. The first argument selects the effect, {@code blur} (default) or
+ * {@code shadow}; the remaining arguments override the list of radii
+ * (up to 63 for a blur and 127 for a shadow).
+ * Run with {@code -Dprism.order=sw} for the software renderer or with the
+ * default pipeline, and with {@code -Ddecora.blurQuality=speed} to
+ * compare against downsampled convolution of the large radii. The
+ * tracker lives in an internal package, so run with
+ * {@code --add-exports javafx.graphics/com.sun.javafx.perf=ALL-UNNAMED}.
+ */
+public class BlurRadiusBenchmark extends Application {
+    private static final int COLUMNS = 8;
+    private static final int ROWS = 5;
+    private static final double SIZE = 120;
+    private static final double[] DEFAULT_RADII = { 4, 8, 16, 32, 63 };
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final long RUN_NANOS = 5_000_000_000L;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        String mode = args.isEmpty() ? "blur" : args.get(0);
+        double[] radii = DEFAULT_RADII;
+        if (args.size() > 1) {
+            radii = args.subList(1, args.size()).stream()
+                    .mapToDouble(Double::parseDouble)
+                    .toArray();
+        }
+
+        TilePane pane = new TilePane(SIZE / 4, SIZE / 4);
+        pane.setPrefColumns(COLUMNS);
+        pane.setStyle("-fx-padding: " + SIZE / 2 + ";");
+        Rectangle[] cards = new Rectangle[COLUMNS * ROWS];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = new Rectangle(SIZE, SIZE * 0.75);
+            cards[i].setArcWidth(16);
+            cards[i].setArcHeight(16);
+            pane.getChildren().add(cards[i]);
+        }
+        Scene scene = new Scene(pane);
+        stage.setScene(scene);
+        stage.show();
+
+        PerformanceTracker tracker = PerformanceTracker.getSceneTracker(scene);
+        double[] allRadii = radii;
+
+        new AnimationTimer() {
+            private int index = -1;
+            private long start;
+            private boolean measuring;
+            private long frames;
+
+            @Override
+            public void handle(long now) {
+                if (index < 0 || (measuring && now - start > WARMUP_NANOS + RUN_NANOS)) {
+                    if (index >= 0) {
+                        System.out.printf("%s, radius %.0f: %.1f frames/s\n",
+                                mode, allRadii[index], tracker.getAverageFPS());
+                    }
+                    if (++index == allRadii.length) {
+                        stop();
+                        Platform.exit();
+                        return;
+                    }
+                    for (Rectangle card : cards) {
+                        card.setEffect(createEffect(mode, allRadii[index]));
+                    }
+                    start = now;
+                    measuring = false;
+                }
+                frames++;
+                for (int i = 0; i < cards.length; i++) {
+                    cards[i].setFill(Color.hsb((frames * 3 + i * 9) % 360, 0.6, 0.95));
+                }
+                if (!measuring && now - start > WARMUP_NANOS) {
+                    measuring = true;
+                    tracker.resetAverageFPS();
+                }
+            }
+        }.start();
+    }
+
+    private static Effect createEffect(String mode, double radius) {
+        if ("shadow".equals(mode)) {
+            return new DropShadow(BlurType.GAUSSIAN, Color.rgb(0, 0, 0, 0.5),
+                                  radius, 0, 0, radius / 4);
+        }
+        return new GaussianBlur(radius);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package canvasbatch;
+
+import com.sun.javafx.perf.PerformanceTracker;
+import java.util.Random;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.stage.Stage;
+
+/**
+ * Draws a large scatter plot that moves every frame and reports the frame
+ * rate. The first argument selects how the points are drawn:
+ * <ul>
+ * <li>{@code ovals}: one {@code fillOval} call per point (default)</li>
+ * <li>{@code batch}: a single {@code fillOvals} call</li>
+ * <li>{@code images}: one {@code drawImage} call per point</li>
+ * <li>{@code batchimages}: a single {@code drawImages} call</li>
+ * </ul>
+ * The optional second argument is the number of points, 200000 by default.
+ * Run with {@code -Dprism.order=sw} or the default pipeline. The tracker
+ * lives in an internal package, so run with
+ * {@code --add-exports javafx.graphics/com.sun.javafx.perf=ALL-UNNAMED}.
+ */
+public class CanvasBatchBenchmark extends Application {
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 800;
+    private static final double SIZE = 3;
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static final long RUN_NANOS = 10_000_000_000L;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        String mode = args.isEmpty() ? "ovals" : args.get(0);
+        int count = args.size() > 1 ? Integer.parseInt(args.get(1)) : 200_000;
+
+        Random random = new Random(42);
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double[] baseYs = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = random.nextDouble() * (WIDTH - SIZE);
+            baseYs[i] = random.nextDouble() * (HEIGHT - SIZE);
+        }
+
+        Circle marker = new Circle(SIZE / 2, Color.STEELBLUE);
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        Image image = marker.snapshot(params, null);
+
+        Canvas canvas = new Canvas(WIDTH, HEIGHT);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(Color.STEELBLUE);
+        Scene scene = new Scene(new Group(canvas), WIDTH, HEIGHT);
+        stage.setScene(scene);
+        stage.show();
+
+        PerformanceTracker tracker = PerformanceTracker.getSceneTracker(scene);
+
+        new AnimationTimer() {
+            private long start = -1;
+            private boolean measuring;
+            private long frames;
+
+            @Override
+            public void handle(long now) {
+                if (start < 0) {
+                    start = now;
+                }
+                frames++;
+                double offset = (frames % 100) - 50;
+                for (int i = 0; i < count; i++) {
+                    ys[i] = baseYs[i] + offset * ((i & 1) == 0 ? 0.1 : -0.1);
+                }
+                gc.clearRect(0, 0, WIDTH, HEIGHT);
+                switch (mode) {
+                    case "batch" -> gc.fillOvals(xs, ys, count, SIZE, SIZE);
+                    case "images" -> {
+                        for (int i = 0; i < count; i++) {
+                            gc.drawImage(image, xs[i], ys[i]);
+                        }
+                    }
+                    case "batchimages" -> gc.drawImages(image, xs, ys, count);
+                    default -> {
+                        for (int i = 0; i < count; i++) {
+                            gc.fillOval(xs[i], ys[i], SIZE, SIZE);
+                        }
+                    }
+                }
+                if (!measuring && now - start > WARMUP_NANOS) {
+                    measuring = true;
+                    tracker.resetAverageFPS();
+                } else if (measuring && now - start > WARMUP_NANOS + RUN_NANOS) {
+                    stop();
+                    System.out.printf("%s, %d points: %.1f frames/s, %.0f points/s\n",
+                            mode, count, tracker.getAverageFPS(),
+                            tracker.getAverageFPS() * count);
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
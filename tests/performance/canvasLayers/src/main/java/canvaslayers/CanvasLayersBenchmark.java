@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package canvaslayers;
+
+import com.sun.javafx.perf.PerformanceTracker;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+/**
+ * Redraws a chart made of a large static grid and series plus a moving
+ * cursor on every frame and reports the frame rate. By default everything is
+ * cleared and redrawn every frame; with the {@code layers} argument the static
+ * part is recorded once into a canvas layer and only the cursor is redrawn.
+ * <p>
+ * Run with {@code -Dprism.order=sw} or the default pipeline and compare
+ * {@code java CanvasLayersBenchmark} against
+ * {@code java CanvasLayersBenchmark layers}. The tracker lives in an internal
+ * package, so run with
+ * {@code --add-exports javafx.graphics/com.sun.javafx.perf=ALL-UNNAMED}.
+ */
+public class CanvasLayersBenchmark extends Application {
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 800;
+    private static final int SERIES = 20;
+    private static final int POINTS = 2000;
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static final long RUN_NANOS = 10_000_000_000L;
+
+    private final double[] xs = new double[POINTS];
+    private final double[][] ys = new double[SERIES][POINTS];
+
+    @Override
+    public void start(Stage stage) {
+        boolean useLayers = getParameters().getRaw().contains("layers");
+        for (int i = 0; i < POINTS; i++) {
+            xs[i] = i * (double) WIDTH / POINTS;
+        }
+        for (int s = 0; s < SERIES; s++) {
+            for (int i = 0; i < POINTS; i++) {
+                ys[s][i] = HEIGHT / 2 + Math.sin(i / 40.0 + s) * (HEIGHT / 3) * Math.cos(s * 0.3);
+            }
+        }
+
+        Canvas canvas = new Canvas(WIDTH, HEIGHT);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        Scene scene = new Scene(new Group(canvas), WIDTH, HEIGHT);
+        stage.setScene(scene);
+        stage.show();
+
+        if (useLayers) {
+            gc.beginLayer("chart");
+            drawChart(gc);
+            gc.endLayer();
+        }
+
+        PerformanceTracker tracker = PerformanceTracker.getSceneTracker(scene);
+
+        new AnimationTimer() {
+            private long start = -1;
+            private boolean measuring;
+            private long frames;
+
+            @Override
+            public void handle(long now) {
+                if (start < 0) {
+                    start = now;
+                }
+                frames++;
+                double x = (frames * 3) % WIDTH;
+                if (useLayers) {
+                    gc.beginLayer("cursor");
+                    drawCursor(gc, x);
+                    gc.endLayer();
+                } else {
+                    gc.clearRect(0, 0, WIDTH, HEIGHT);
+                    drawChart(gc);
+                    drawCursor(gc, x);
+                }
+                if (!measuring && now - start > WARMUP_NANOS) {
+                    measuring = true;
+                    tracker.resetAverageFPS();
+                } else if (measuring && now - start > WARMUP_NANOS + RUN_NANOS) {
+                    stop();
+                    System.out.printf("layers=%s: %.1f frames/s\n",
+                            useLayers, tracker.getAverageFPS());
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
+
+    private void drawChart(GraphicsContext gc) {
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, WIDTH, HEIGHT);
+        gc.setStroke(Color.LIGHTGRAY);
+        gc.setLineWidth(1);
+        for (int x = 0; x < WIDTH; x += 20) {
+            gc.strokeLine(x + 0.5, 0, x + 0.5, HEIGHT);
+        }
+        for (int y = 0; y < HEIGHT; y += 20) {
+            gc.strokeLine(0, y + 0.5, WIDTH, y + 0.5);
+        }
+        for (int s = 0; s < SERIES; s++) {
+            gc.setStroke(Color.hsb(s * 360.0 / SERIES, 0.8, 0.8));
+            gc.strokePolyline(xs, ys[s], POINTS);
+        }
+    }
+
+    private void drawCursor(GraphicsContext gc, double x) {
+        gc.setStroke(Color.RED);
+        gc.setLineWidth(2);
+        gc.strokeLine(x, 0, x, HEIGHT);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
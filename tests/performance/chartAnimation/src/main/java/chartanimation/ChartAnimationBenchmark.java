@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package chartanimation;
+
+import java.lang.management.ManagementFactory;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.PieChart;
+import javafx.scene.chart.XYChart;
+import javafx.stage.Stage;
+
+/**
+ * Measures animated charts under a streaming feed: on every frame, the values
+ * of a share of the data items of an animated {@code LineChart} and of the
+ * slices of an animated {@code PieChart} are updated, so that a given number
+ * of values changes every second. The benchmark reports, per frame, the CPU
+ * time of the JavaFX Application Thread, which covers the updates, the
+ * animations and the pulse, and the bytes it allocates.
+ * <p>
+ * The optional arguments are the number of data items of the line chart
+ * (default 5000), the number of value changes per second (default 5000) and
+ * the number of seconds each chart is measured (default 5).
+ */
+public class ChartAnimationBenchmark extends Application {
+    private static final int FRAMES_PER_SECOND = 60;
+    private static final int SLICES = 100;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        int itemCount = args.size() > 0 ? Integer.parseInt(args.get(0)) : 5000;
+        int changesPerSecond = args.size() > 1 ? Integer.parseInt(args.get(1)) : 5000;
+        int seconds = args.size() > 2 ? Integer.parseInt(args.get(2)) : 5;
+        int changesPerFrame = Math.max(1, changesPerSecond / FRAMES_PER_SECOND);
+
+        LineChart<Number, Number> lineChart = new LineChart<>(new NumberAxis(), new NumberAxis());
+        lineChart.setCreateSymbols(false);
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        for (int i = 0; i < itemCount; i++) {
+            series.getData().add(new XYChart.Data<>(i, value(i, 0)));
+        }
+        lineChart.getData().add(series);
+
+        ObservableList<PieChart.Data> slices = FXCollections.observableArrayList();
+        for (int i = 0; i < SLICES; i++) {
+            slices.add(new PieChart.Data("Slice " + i, 100 + value(i, 0)));
+        }
+        PieChart pieChart = new PieChart(slices);
+
+        stage.setScene(new Scene(lineChart, 1200, 600));
+        stage.show();
+
+        new AnimationTimer() {
+            // the first second of each chart is not measured
+            private final int framesPerChart = (seconds + 1) * FRAMES_PER_SECOND;
+            private int frame;
+            private int next;
+            private long cpu;
+            private long allocated;
+            private long cpuTotal;
+            private long allocatedTotal;
+            private int measured;
+
+            @Override
+            public void handle(long now) {
+                long cpuNow = threads.getCurrentThreadCpuTime();
+                long allocatedNow = threads.getCurrentThreadAllocatedBytes();
+                if (frame % framesPerChart > FRAMES_PER_SECOND) {
+                    cpuTotal += cpuNow - cpu;
+                    allocatedTotal += allocatedNow - allocated;
+                    measured++;
+                }
+                cpu = cpuNow;
+                allocated = allocatedNow;
+
+                if (frame == framesPerChart) {
+                    report("LineChart, " + itemCount + " items", changesPerSecond);
+                    stage.setScene(new Scene(pieChart, 1200, 600));
+                } else if (frame == 2 * framesPerChart) {
+                    report("PieChart, " + SLICES + " slices", changesPerSecond);
+                    stop();
+                    Platform.exit();
+                    return;
+                }
+                frame++;
+                for (int i = 0; i < changesPerFrame; i++) {
+                    next++;
+                    if (frame < framesPerChart) {
+                        series.getData().get(next % itemCount).setYValue(value(next % itemCount, frame));
+                    } else {
+                        slices.get(next % SLICES).setPieValue(100 + value(next % SLICES, frame));
+                    }
+                }
+            }
+
+            private void report(String name, int changes) {
+                System.out.printf("%-22s %6d changes/s: FX thread %8.3f ms/frame %12d bytes/frame\n",
+                        name, changes, cpuTotal / 1e6 / measured, allocatedTotal / measured);
+                cpuTotal = 0;
+                allocatedTotal = 0;
+                measured = 0;
+            }
+        }.start();
+    }
+
+    private static double value(int i, int frame) {
+        return 50 * Math.sin((i + frame) / 50.0);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package chartstreaming;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.chart.AreaChart;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.PointBuffer;
+import javafx.scene.chart.PointBuffer.Decimation;
+import javafx.scene.chart.ScatterChart;
+import javafx.scene.chart.XYChart;
+import javafx.stage.Stage;
+
+/**
+ * Measures charts of large time series, drawn from {@code XYChart.Data} items
+ * and from a {@code PointBuffer}: the rate at which a streaming feed can append
+ * points in batches of 1000, laying out the chart after each batch as a pulse
+ * would, and the time and the bytes allocated to redraw the whole series when
+ * the x axis is panned. The redraw time is the time to lay out the chart,
+ * which builds the paths of the series; rendering them is not included.
+ * <p>
+ * The optional arguments are the number of points of a series with a point
+ * buffer (default 1000000), and of a series of data items (default 100000),
+ * which is drawn as a line without symbols.
+ */
+public class ChartStreamingBenchmark extends Application {
+    private static final int BATCH = 1000;
+    private static final int ITERATIONS = 20;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Stage stage;
+
+    @Override
+    public void start(Stage stage) {
+        this.stage = stage;
+        var args = getParameters().getRaw();
+        int pointCount = args.size() > 0 ? Integer.parseInt(args.get(0)) : 1_000_000;
+        int dataCount = args.size() > 1 ? Integer.parseInt(args.get(1)) : 100_000;
+
+        LineChart<Number, Number> dataChart = new LineChart<>(new NumberAxis(), new NumberAxis());
+        dataChart.setCreateSymbols(false);
+        XYChart.Series<Number, Number> dataSeries = new XYChart.Series<>();
+        benchmark("LineChart, data items", dataChart, dataSeries, dataCount, (from, to) -> {
+            List<XYChart.Data<Number, Number>> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                batch.add(new XYChart.Data<>((double) i, value(i)));
+            }
+            dataSeries.getData().addAll(batch);
+        });
+
+        for (Decimation decimation : Decimation.values()) {
+            benchmarkPoints("LineChart, " + decimation, new LineChart<>(new NumberAxis(), new NumberAxis()),
+                    decimation, pointCount);
+        }
+        benchmarkPoints("AreaChart, MIN_MAX", new AreaChart<>(new NumberAxis(), new NumberAxis()),
+                Decimation.MIN_MAX, pointCount);
+        benchmarkPoints("ScatterChart", new ScatterChart<>(new NumberAxis(), new NumberAxis()),
+                Decimation.MIN_MAX, pointCount);
+
+        Platform.exit();
+    }
+
+    private void benchmarkPoints(String name, XYChart<Number, Number> chart, Decimation decimation, int count) {
+        PointBuffer points = new PointBuffer();
+        points.setDecimation(decimation);
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.setPoints(points);
+        double[] x = new double[BATCH];
+        double[] y = new double[BATCH];
+        benchmark(name, chart, series, count, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                x[i - from] = i;
+                y[i - from] = value(i);
+            }
+            points.addAll(x, y, 0, to - from);
+        });
+    }
+
+    private void benchmark(String name, XYChart<Number, Number> chart, XYChart.Series<Number, Number> series,
+                           int count, Feed feed) {
+        chart.setAnimated(false);
+        chart.getData().add(series);
+        stage.setScene(new Scene(chart, 1200, 600));
+        stage.show();
+        layout(chart);
+
+        long start = System.nanoTime();
+        for (int from = 0; from < count; from += BATCH) {
+            feed.append(from, Math.min(count, from + BATCH));
+            layout(chart);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        NumberAxis xAxis = (NumberAxis) chart.getXAxis();
+        xAxis.setAutoRanging(false);
+        xAxis.setLowerBound(0);
+        xAxis.setUpperBound(count);
+        layout(chart);
+        double time = 0;
+        long bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            // pan by a small step, so that the whole series stays visible
+            xAxis.setLowerBound(-(i + 1) * (count / 1000.0));
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            long t = System.nanoTime();
+            layout(chart);
+            time += (System.nanoTime() - t) / 1e6;
+            bytes += threads.getCurrentThreadAllocatedBytes() - allocated;
+        }
+        System.out.printf("%-24s %8d points: append %12.0f points/s, redraw %9.2f ms %12d bytes allocated\n",
+                name, count, count / seconds, time / ITERATIONS, bytes / ITERATIONS);
+    }
+
+    private static double value(int i) {
+        return 100 * Math.sin(i / 5000.0) + (i * 7919 % 101) / 10.0;
+    }
+
+    private static void layout(XYChart<?, ?> chart) {
+        chart.requestLayout();
+        chart.applyCss();
+        chart.layout();
+    }
+
+    private interface Feed {
+        void append(int from, int to);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
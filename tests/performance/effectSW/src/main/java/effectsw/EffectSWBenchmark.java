@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package effectsw;
+
+import com.sun.javafx.perf.PerformanceTracker;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.effect.ColorAdjust;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
+import javafx.scene.effect.GaussianBlur;
+import javafx.scene.layout.TilePane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+
+/**
+ * Applies an effect to a grid of shapes whose color changes every frame, so
+ * that the effect has to be recomputed on every pulse, and reports the frame
+ * rate. The first argument selects the effect:
+ * <ul>
+ * <li>{@code blur}: a {@code GaussianBlur} (default)</li>
+ * <li>{@code shadow}: a {@code DropShadow}</li>
+ * <li>{@code coloradjust}: a {@code ColorAdjust}</li>
+ * </ul>
+ * The optional second argument is the blur or shadow radius, 20 by default.
+ * Run with {@code -Dprism.order=sw} to measure the Java software peers, and
+ * compare with {@code -Ddecora.jsw.rowloops=false}, which makes the renderer
+ * pick the original per pixel peers. The tracker lives in an internal
+ * package, so run with
+ * {@code --add-exports javafx.graphics/com.sun.javafx.perf=ALL-UNNAMED}.
+ */
+public class EffectSWBenchmark extends Application {
+    private static final int COLUMNS = 6;
+    private static final int ROWS = 4;
+    private static final double SIZE = 150;
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static final long RUN_NANOS = 10_000_000_000L;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        String mode = args.isEmpty() ? "blur" : args.get(0);
+        double radius = args.size() > 1 ? Double.parseDouble(args.get(1)) : 20;
+
+        TilePane pane = new TilePane(SIZE / 4, SIZE / 4);
+        pane.setPrefColumns(COLUMNS);
+        Rectangle[] shapes = new Rectangle[COLUMNS * ROWS];
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i] = new Rectangle(SIZE, SIZE);
+            shapes[i].setArcWidth(SIZE / 4);
+            shapes[i].setArcHeight(SIZE / 4);
+            shapes[i].setEffect(createEffect(mode, radius));
+            pane.getChildren().add(shapes[i]);
+        }
+        pane.setStyle("-fx-padding: " + SIZE / 4 + ";");
+        Scene scene = new Scene(pane);
+        stage.setScene(scene);
+        stage.show();
+
+        PerformanceTracker tracker = PerformanceTracker.getSceneTracker(scene);
+
+        new AnimationTimer() {
+            private long start = -1;
+            private boolean measuring;
+            private long frames;
+
+            @Override
+            public void handle(long now) {
+                if (start < 0) {
+                    start = now;
+                }
+                frames++;
+                for (int i = 0; i < shapes.length; i++) {
+                    shapes[i].setFill(Color.hsb((frames * 3 + i * 15) % 360, 0.7, 0.9));
+                }
+                if (!measuring && now - start > WARMUP_NANOS) {
+                    measuring = true;
+                    tracker.resetAverageFPS();
+                } else if (measuring && now - start > WARMUP_NANOS + RUN_NANOS) {
+                    stop();
+                    System.out.printf("%s, radius %.0f, %d nodes: %.1f frames/s\n",
+                            mode, radius, shapes.length, tracker.getAverageFPS());
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
+
+    private static Effect createEffect(String mode, double radius) {
+        return switch (mode) {
+            case "shadow" -> new DropShadow(radius, 4, 4, Color.BLACK);
+            case "coloradjust" -> new ColorAdjust(0.2, 0.3, -0.1, 0.4);
+            default -> new GaussianBlur(radius);
+        };
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
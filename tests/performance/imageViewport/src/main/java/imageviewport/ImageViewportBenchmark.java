@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package imageviewport;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.stage.Stage;
+import javax.imageio.ImageIO;
+
+/**
+ * Compares the latency and the memory allocated while loading a whole image
+ * with loading only a viewport of it, at full resolution and scaled down by
+ * a factor of 4 and 16. The first argument is the URL of the image to load,
+ * if it is missing a 8192 x 6144 JPEG and PNG are generated in the temporary
+ * directory and both are measured. The optional second argument is the size
+ * of the square viewport (default 1024), which is centered in the image.
+ * <p>
+ * The allocated bytes are those reported by the HotSpot thread MXBean for the
+ * loading thread, they include the decoding buffers and not only the pixels
+ * of the resulting image.
+ */
+public class ImageViewportBenchmark extends Application {
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int ITERATIONS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Override
+    public void start(Stage stage) throws IOException {
+        var args = getParameters().getRaw();
+        int size = args.size() > 1 ? Integer.parseInt(args.get(1)) : 1024;
+        if (args.size() > 0) {
+            run(args.get(0), size);
+        } else {
+            run(generate("jpg"), size);
+            run(generate("png"), size);
+        }
+        Platform.exit();
+    }
+
+    private static void run(String url, int size) {
+        Image full = load(url, null, 0, 0);
+        double w = full.getWidth(), h = full.getHeight();
+        Rectangle2D viewport = new Rectangle2D(Math.max(0, (w - size) / 2),
+                Math.max(0, (h - size) / 2), Math.min(w, size), Math.min(h, size));
+        System.out.printf("%s: %.0f x %.0f, viewport %s\n", url, w, h, viewport);
+
+        measure("whole image", url, null, 0, 0);
+        measure("viewport", url, viewport, 0, 0);
+        measure("viewport 1/4", url, viewport, viewport.getWidth() / 4, viewport.getHeight() / 4);
+        measure("viewport 1/16", url, viewport, viewport.getWidth() / 16, viewport.getHeight() / 16);
+    }
+
+    private static void measure(String name, String url, Rectangle2D viewport,
+                                double width, double height) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            load(url, viewport, width, height);
+        }
+        long time = 0, allocated = 0;
+        Image image = null;
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long bytes = THREAD_BEAN.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            image = load(url, viewport, width, height);
+            time += System.nanoTime() - start;
+            allocated += THREAD_BEAN.getThreadAllocatedBytes(thread) - bytes;
+        }
+        System.out.printf("  %-14s %5.0f x %-5.0f %8.1f ms %9.1f MB allocated\n", name,
+                image.getWidth(), image.getHeight(),
+                time / 1e6 / ITERATIONS, allocated / 1e6 / ITERATIONS);
+    }
+
+    private static Image load(String url, Rectangle2D viewport, double width, double height) {
+        Image image = viewport == null ?
+                new Image(url, width, height, false, true, false) :
+                new Image(url, viewport, width, height, false, true, false);
+        if (image.isError()) {
+            throw new IllegalStateException(image.getException());
+        }
+        return image;
+    }
+
+    private static String generate(String format) throws IOException {
+        int width = 8192, height = 6144;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                row[x] = ((x + y) & 0xff) << 16 | ((x * y >> 6) & 0xff) << 8 | ((x ^ y) & 0xff);
+            }
+            image.setRGB(0, y, width, 1, row, 0, width);
+        }
+        File file = File.createTempFile("viewport", "." + format);
+        file.deleteOnExit();
+        ImageIO.write(image, format, file);
+        return file.toURI().toString();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package listselection;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.control.MultipleSelectionModel;
+import javafx.scene.control.SelectionMode;
+import javafx.stage.Stage;
+
+/**
+ * Measures the selection model of a {@code ListView} with millions of items:
+ * selecting all items, clearing the selection, selecting a range as with a
+ * shift-click, querying {@code isSelected} for every item, and adding an item
+ * to the top of a fully selected list. Listeners are registered on the
+ * selected indices and the selected items, as controls and applications do.
+ * The benchmark reports the average time and the bytes allocated by each
+ * operation, so that selection models can be compared by running it against
+ * different builds.
+ * <p>
+ * The optional argument is the number of items (default 5000000).
+ */
+public class ListSelectionBenchmark extends Application {
+    private static final int ITERATIONS = 5;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private long start;
+    private long allocated;
+    private double time;
+    private double bytes;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        int itemCount = args.size() > 0 ? Integer.parseInt(args.get(0)) : 5_000_000;
+
+        List<Integer> list = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            list.add(i);
+        }
+        ObservableList<Integer> items = FXCollections.observableArrayList(list);
+        ListView<Integer> listView = new ListView<>(items);
+        MultipleSelectionModel<Integer> sm = listView.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        int[] changes = new int[1];
+        sm.getSelectedIndices().addListener((ListChangeListener<Integer>) c -> changes[0]++);
+        sm.getSelectedItems().addListener((ListChangeListener<Integer>) c -> changes[0]++);
+        stage.setScene(new Scene(listView, 400, 600));
+        stage.show();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            sm.clearSelection();
+            begin();
+            sm.selectAll();
+            end();
+        }
+        report("selectAll", itemCount);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            sm.selectAll();
+            begin();
+            sm.clearSelection();
+            end();
+        }
+        report("clearSelection", itemCount);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            sm.clearAndSelect(10);
+            begin();
+            sm.selectRange(10, itemCount - 10);
+            end();
+        }
+        report("shift-click range", itemCount);
+
+        int selected = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sm.clearSelection();
+            sm.selectRange(0, itemCount / 3);
+            sm.selectRange(2 * itemCount / 3, itemCount);
+            begin();
+            for (int row = 0; row < itemCount; row++) {
+                if (sm.isSelected(row)) {
+                    selected++;
+                }
+            }
+            end();
+        }
+        report("isSelected of all items", itemCount);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            sm.selectAll();
+            begin();
+            items.add(0, -1);
+            end();
+            items.remove(0);
+        }
+        report("add item to selected list", itemCount);
+
+        if (selected < 0 || changes[0] < 0) {
+            System.out.println();
+        }
+        Platform.exit();
+    }
+
+    private void begin() {
+        allocated = threads.getCurrentThreadAllocatedBytes();
+        start = System.nanoTime();
+    }
+
+    private void end() {
+        time += (System.nanoTime() - start) / 1e6;
+        bytes += threads.getCurrentThreadAllocatedBytes() - allocated;
+    }
+
+    private void report(String operation, int itemCount) {
+        System.out.printf("%d items, %-26s %10.2f ms %14.0f bytes allocated\n",
+                itemCount, operation + ":", time / ITERATIONS, bytes / ITERATIONS);
+        time = 0;
+        bytes = 0;
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
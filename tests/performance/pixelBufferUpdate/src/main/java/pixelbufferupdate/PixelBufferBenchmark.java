@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package pixelbufferupdate;
+
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.stage.Stage;
+
+/**
+ * Streams frames into a {@code PixelBuffer} shown by an {@code ImageView}
+ * from a producer thread, with a single buffer updated through
+ * {@code updateBuffer} on the JavaFX Application Thread and with two and
+ * three buffers updated through {@code acquireBuffer} and
+ * {@code releaseBuffer}. Every frame redraws a band of the image, which is
+ * the only dirty region. For each mode the benchmark reports the frames
+ * produced and presented per second, the pulses per second and the longest
+ * interval between two pulses.
+ * <p>
+ * The optional arguments are the width and height of the image (default
+ * 1920 x 1080) and the duration of each mode in seconds (default 5). Run
+ * with {@code -Dprism.order=sw} to measure the software pipeline.
+ */
+public class PixelBufferBenchmark extends Application {
+    private static final int BAND_HEIGHT = 64;
+
+    private int width;
+    private int height;
+    private int seconds;
+    private ImageView view;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        width = args.size() > 1 ? Integer.parseInt(args.get(0)) : 1920;
+        height = args.size() > 1 ? Integer.parseInt(args.get(1)) : 1080;
+        seconds = args.size() > 2 ? Integer.parseInt(args.get(2)) : 5;
+        view = new ImageView();
+        view.setFitWidth(960);
+        view.setPreserveRatio(true);
+        stage.setScene(new Scene(new Group(view)));
+        stage.show();
+        new Thread(() -> {
+            for (int count = 1; count <= 3; count++) {
+                run(count);
+            }
+            Platform.exit();
+        }, "PixelBufferBenchmark").start();
+    }
+
+    private void run(int bufferCount) {
+        PixelFormat<IntBuffer> format = PixelFormat.getIntArgbPreInstance();
+        PixelBuffer<IntBuffer> pixelBuffer;
+        if (bufferCount == 1) {
+            pixelBuffer = new PixelBuffer<>(width, height, IntBuffer.allocate(width * height), format);
+        } else {
+            IntBuffer[] buffers = new IntBuffer[bufferCount];
+            for (int i = 0; i < bufferCount; i++) {
+                buffers[i] = IntBuffer.allocate(width * height);
+            }
+            pixelBuffer = PixelBuffer.createMultiBuffered(width, height, List.of(buffers), format);
+        }
+
+        AtomicInteger presented = new AtomicInteger();
+        long[] pulses = new long[2];
+        long[] maxGap = new long[1];
+        CountDownLatch started = new CountDownLatch(1);
+        AnimationTimer timer = new AnimationTimer() {
+            IntBuffer front;
+            long last;
+
+            @Override
+            public void handle(long now) {
+                if (last != 0) {
+                    maxGap[0] = Math.max(maxGap[0], now - last);
+                }
+                last = now;
+                pulses[0]++;
+                if (bufferCount > 1 && pixelBuffer.getBuffer() != front) {
+                    front = pixelBuffer.getBuffer();
+                    presented.incrementAndGet();
+                }
+            }
+        };
+        Platform.runLater(() -> {
+            view.setImage(new WritableImage(pixelBuffer));
+            timer.start();
+            started.countDown();
+        });
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            return;
+        }
+
+        int produced = 0;
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long start = System.nanoTime();
+        while (System.nanoTime() < end) {
+            int frame = produced++;
+            int y = (frame * 8) % (height - BAND_HEIGHT);
+            Rectangle2D dirty = new Rectangle2D(0, y, width, BAND_HEIGHT);
+            if (bufferCount == 1) {
+                CountDownLatch done = new CountDownLatch(1);
+                Platform.runLater(() -> {
+                    pixelBuffer.updateBuffer(pb -> {
+                        drawBand(pb.getBuffer(), y, frame);
+                        return dirty;
+                    });
+                    presented.incrementAndGet();
+                    done.countDown();
+                });
+                try {
+                    done.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            } else {
+                IntBuffer buffer = pixelBuffer.acquireBuffer();
+                drawBand(buffer, y, frame);
+                pixelBuffer.releaseBuffer(List.of(dirty));
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            timer.stop();
+            pulses[1] = pulses[0];
+            stopped.countDown();
+        });
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            return;
+        }
+        System.out.printf("%d buffer(s): %7.1f frames/s produced, %6.1f frames/s presented, "
+                + "%5.1f pulses/s, longest pulse interval %6.1f ms\n",
+                bufferCount, produced / elapsed, presented.get() / elapsed,
+                pulses[1] / elapsed, maxGap[0] / 1e6);
+    }
+
+    private void drawBand(IntBuffer buffer, int y, int frame) {
+        for (int row = y; row < y + BAND_HEIGHT; row++) {
+            int offset = row * width;
+            for (int x = 0; x < width; x++) {
+                int v = (x + row + frame) & 0xff;
+                buffer.put(offset + x, 0xff000000 | v << 16 | (255 - v) << 8 | (frame & 0xff));
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package pixelconverters;
+
+import com.sun.javafx.image.BytePixelGetter;
+import com.sun.javafx.image.BytePixelSetter;
+import com.sun.javafx.image.PixelConverter;
+import com.sun.javafx.image.PixelGetter;
+import com.sun.javafx.image.PixelSetter;
+import com.sun.javafx.image.PixelUtils;
+import com.sun.javafx.image.impl.ByteArgb;
+import com.sun.javafx.image.impl.ByteBgr;
+import com.sun.javafx.image.impl.ByteBgra;
+import com.sun.javafx.image.impl.ByteBgraPre;
+import com.sun.javafx.image.impl.ByteGray;
+import com.sun.javafx.image.impl.ByteGrayAlpha;
+import com.sun.javafx.image.impl.ByteGrayAlphaPre;
+import com.sun.javafx.image.impl.ByteRgb;
+import com.sun.javafx.image.impl.ByteRgba;
+import com.sun.javafx.image.impl.IntArgb;
+import com.sun.javafx.image.impl.IntArgbPre;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Random;
+
+/**
+ * Measures the throughput of every {@code PixelConverter} between the pixel
+ * formats of {@code com.sun.javafx.image.impl}, on heap and direct buffers,
+ * converting a square image of translucent pixels. The optional first
+ * argument is the size of the image (default 1024), the optional second
+ * argument a substring that selects the pairs to run, for example
+ * {@code IntArgbPre->ByteBgra}.
+ * <p>
+ * The converters live in an internal package, so run with
+ * {@code --add-exports javafx.graphics/com.sun.javafx.image=ALL-UNNAMED} and
+ * {@code --add-exports javafx.graphics/com.sun.javafx.image.impl=ALL-UNNAMED}.
+ */
+public class PixelConverterBenchmark {
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final long MEASURE_NANOS = 500_000_000L;
+
+    private static final Object[][] FORMATS = {
+        { "ByteArgb",         ByteArgb.getter,         ByteArgb.setter },
+        { "ByteBgr",          ByteBgr.getter,          ByteBgr.setter },
+        { "ByteBgra",         ByteBgra.getter,         ByteBgra.setter },
+        { "ByteBgraPre",      ByteBgraPre.getter,      ByteBgraPre.setter },
+        { "ByteGray",         ByteGray.getter,         ByteGray.setter },
+        { "ByteGrayAlpha",    ByteGrayAlpha.getter,    ByteGrayAlpha.setter },
+        { "ByteGrayAlphaPre", ByteGrayAlphaPre.getter, ByteGrayAlphaPre.setter },
+        { "ByteRgb",          ByteRgb.getter,          null },
+        { "ByteRgba",         ByteRgba.getter,         ByteRgba.setter },
+        { "IntArgb",          IntArgb.getter,          IntArgb.setter },
+        { "IntArgbPre",       IntArgbPre.getter,       IntArgbPre.setter },
+    };
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        String filter = args.length > 1 ? args[1] : "";
+        System.out.printf("%-36s %12s %12s\n", "converter", "heap Mpix/s", "direct Mpix/s");
+        for (Object[] src : FORMATS) {
+            for (Object[] dst : FORMATS) {
+                if (dst[2] == null) continue;
+                String name = src[0] + "->" + dst[0];
+                if (!name.contains(filter)) continue;
+                PixelConverter converter = PixelUtils.getConverter(
+                        (PixelGetter) src[1], (PixelSetter) dst[2]);
+                if (converter == null) continue;
+                double heap = measure(converter, (PixelSetter) src[2], size, false);
+                double direct = measure(converter, (PixelSetter) src[2], size, true);
+                System.out.printf("%-36s %12.1f %12.1f\n", name, heap, direct);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double measure(PixelConverter converter, PixelSetter srcSetter,
+                                  int size, boolean direct) {
+        PixelGetter<?> getter = converter.getGetter();
+        PixelSetter<?> setter = converter.getSetter();
+        int srcElems = getter.getNumElements();
+        int dstElems = setter.getNumElements();
+        Buffer src = createBuffer(getter instanceof BytePixelGetter, size * size * srcElems, direct);
+        Buffer dst = createBuffer(setter instanceof BytePixelSetter, size * size * dstElems, direct);
+        PixelConverter fill = (srcSetter != null) ? PixelUtils.getConverter(IntArgb.getter, srcSetter) : null;
+        if (fill != null) {
+            // store valid pixels, premultiplied sources never have a
+            // component larger than their alpha
+            IntBuffer argb = (IntBuffer) createBuffer(false, size * size, false);
+            fill.convert(argb, 0, size, src, 0, size * srcElems, size, size);
+        }
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            converter.convert(src, 0, size * srcElems, dst, 0, size * dstElems, size, size);
+        }
+        int iterations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            converter.convert(src, 0, size * srcElems, dst, 0, size * dstElems, size, size);
+            iterations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return (double) size * size * iterations / (elapsed / 1000.0);
+    }
+
+    private static Buffer createBuffer(boolean bytes, int elems, boolean direct) {
+        // random components, the int pixels get a mix of opaque, transparent
+        // and translucent alpha values so that every branch of the
+        // converters is taken
+        Random random = new Random(42);
+        if (bytes) {
+            ByteBuffer buf = direct ? ByteBuffer.allocateDirect(elems) : ByteBuffer.allocate(elems);
+            for (int i = 0; i < elems; i++) {
+                buf.put(i, (byte) random.nextInt(256));
+            }
+            return buf;
+        } else {
+            IntBuffer buf = direct
+                    ? ByteBuffer.allocateDirect(elems * 4).asIntBuffer()
+                    : IntBuffer.allocate(elems);
+            for (int i = 0; i < elems; i++) {
+                int a = switch (random.nextInt(3)) {
+                    case 0 -> 0xff;
+                    case 1 -> 0;
+                    default -> random.nextInt(256);
+                };
+                buf.put(i, (a << 24) | random.nextInt(1 << 24));
+            }
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package pngdecode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.stage.Stage;
+
+/**
+ * Measures the throughput of the PNG decoder on a large synthetic RGBA
+ * image. The arguments are the width and height of the image (default
+ * 8192 x 6144, 50 megapixels) and the number of scanlines between zlib
+ * full flushes (default 256, 0 writes a single zlib stream without flush
+ * points, which can only be inflated on one thread). The scanlines cycle
+ * through all the PNG filter types.
+ * Run with {@code -Djavafx.iio.png.parallelism=1} to compare against
+ * inflating on a single thread.
+ */
+public class PNGDecodeBenchmark extends Application {
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int ITERATIONS = 5;
+
+    @Override
+    public void start(Stage stage) throws IOException {
+        var args = getParameters().getRaw();
+        int width = args.size() > 0 ? Integer.parseInt(args.get(0)) : 8192;
+        int height = args.size() > 1 ? Integer.parseInt(args.get(1)) : 6144;
+        int flushRows = args.size() > 2 ? Integer.parseInt(args.get(2)) : 256;
+
+        byte[] png = encode(width, height, flushRows);
+        System.out.printf("%d x %d RGBA, %d bytes, flush every %d rows\n",
+                width, height, png.length, flushRows);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            decode(png);
+        }
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            decode(png);
+            total += System.nanoTime() - start;
+        }
+        double seconds = total / 1e9 / ITERATIONS;
+        System.out.printf("%.1f ms/image, %.1f megapixels/s, %.1f MB/s compressed\n",
+                seconds * 1000, width * (double) height / seconds / 1e6,
+                png.length / seconds / 1e6);
+        Platform.exit();
+    }
+
+    private static void decode(byte[] png) {
+        Image image = new Image(new ByteArrayInputStream(png));
+        if (image.isError()) {
+            throw new IllegalStateException(image.getException());
+        }
+    }
+
+    private static byte[] encode(int width, int height, int flushRows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[] {(byte) 137, 80, 78, 71, 13, 10, 26, 10});
+        ByteBuffer ihdr = ByteBuffer.allocate(13);
+        ihdr.putInt(width).putInt(height).put((byte) 8).put((byte) 6)
+            .put((byte) 0).put((byte) 0).put((byte) 0);
+        writeChunk(out, 0x49484452, ihdr.array(), ihdr.capacity());
+
+        int stride = width * 4;
+        byte[] prev = new byte[stride];
+        byte[] row = new byte[stride];
+        byte[] filtered = new byte[stride + 1];
+        byte[] buf = new byte[1 << 20];
+        Deflater def = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = x * 4;
+                row[i] = (byte) (x + y);
+                row[i + 1] = (byte) (x * y >> 4);
+                row[i + 2] = (byte) (x ^ y);
+                row[i + 3] = (byte) 255;
+            }
+            int filter = y % 5;
+            filtered[0] = (byte) filter;
+            for (int i = 0; i < stride; i++) {
+                int a = i >= 4 ? row[i - 4] & 0xff : 0;
+                int b = prev[i] & 0xff;
+                int c = i >= 4 ? prev[i - 4] & 0xff : 0;
+                filtered[i + 1] = (byte) (row[i] - predict(filter, a, b, c));
+            }
+            def.setInput(filtered);
+            boolean flush = flushRows > 0 && (y + 1) % flushRows == 0 && y + 1 < height;
+            while (!def.needsInput()) {
+                writeChunk(out, buf, def.deflate(buf, 0, buf.length, Deflater.NO_FLUSH));
+            }
+            if (flush) {
+                // one IDAT chunk ends at each flush point
+                int n;
+                ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+                do {
+                    n = def.deflate(buf, 0, buf.length, Deflater.FULL_FLUSH);
+                    chunk.write(buf, 0, n);
+                } while (n == buf.length);
+                writeChunk(out, 0x49444154, chunk.toByteArray(), chunk.size());
+            }
+            byte[] tmp = prev;
+            prev = row;
+            row = tmp;
+        }
+        def.finish();
+        while (!def.finished()) {
+            writeChunk(out, buf, def.deflate(buf));
+        }
+        def.end();
+        writeChunk(out, 0x49454e44, new byte[0], 0);
+        return bytes.toByteArray();
+    }
+
+    private static void writeChunk(DataOutputStream out, byte[] idat, int len) throws IOException {
+        if (len > 0) {
+            writeChunk(out, 0x49444154, idat, len);
+        }
+    }
+
+    private static void writeChunk(DataOutputStream out, int type, byte[] data, int len)
+            throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(new byte[] {(byte) (type >> 24), (byte) (type >> 16), (byte) (type >> 8), (byte) type});
+        crc.update(data, 0, len);
+        out.writeInt(len);
+        out.writeInt(type);
+        out.write(data, 0, len);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static int predict(int filter, int a, int b, int c) {
+        switch (filter) {
+            case 1: return a;
+            case 2: return b;
+            case 3: return (a + b) / 2;
+            case 4: {
+                int pa = Math.abs(b - c), pb = Math.abs(a - c), pc = Math.abs(a + b - 2 * c);
+                return (pa <= pb && pa <= pc) ? a : (pb <= pc) ? b : c;
+            }
+            default: return 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
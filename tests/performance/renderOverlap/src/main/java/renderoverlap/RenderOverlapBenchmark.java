@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package renderoverlap;
+
+import com.sun.javafx.perf.PerformanceTracker;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+/**
+ * Measures how many pulses and frames per second a scene that is both
+ * expensive to lay out and expensive to render achieves. Every pulse updates
+ * the text of all the labels (CSS and layout work on the FX thread) while the
+ * drop shadows keep the render thread busy.
+ * <p>
+ * Compare a run with the default settings against one with
+ * {@code -Dquantum.deferredsync=true}, both using
+ * {@code -Dprism.order=sw}. The tracker lives in an internal package, so run
+ * with {@code --add-exports javafx.graphics/com.sun.javafx.perf=ALL-UNNAMED}.
+ */
+public class RenderOverlapBenchmark extends Application {
+    private static final int LABEL_COUNT = 1500;
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+    private static final long RUN_NANOS = 10_000_000_000L;
+
+    @Override
+    public void start(Stage stage) {
+        FlowPane root = new FlowPane();
+        Label[] labels = new Label[LABEL_COUNT];
+        DropShadow shadow = new DropShadow(8, Color.GRAY);
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            labels[i] = new Label("0000");
+            labels[i].setEffect(shadow);
+            root.getChildren().add(labels[i]);
+        }
+        Scene scene = new Scene(root, 1200, 800);
+        stage.setScene(scene);
+        stage.show();
+
+        PerformanceTracker tracker = PerformanceTracker.getSceneTracker(scene);
+
+        new AnimationTimer() {
+            private long start = -1;
+            private boolean measuring;
+            private long frames;
+
+            @Override
+            public void handle(long now) {
+                if (start < 0) {
+                    start = now;
+                }
+                frames++;
+                for (int i = 0; i < LABEL_COUNT; i++) {
+                    labels[i].setText(Long.toString((frames * 7 + i) % 10000));
+                }
+                if (!measuring && now - start > WARMUP_NANOS) {
+                    measuring = true;
+                    tracker.resetAverageFPS();
+                    tracker.resetAveragePulses();
+                } else if (measuring && now - start > WARMUP_NANOS + RUN_NANOS) {
+                    stop();
+                    System.out.printf("deferredsync=%s: %.1f pulses/s, %.1f frames/s\n",
+                            System.getProperty("quantum.deferredsync", "false"),
+                            tracker.getAveragePulses(), tracker.getAverageFPS());
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
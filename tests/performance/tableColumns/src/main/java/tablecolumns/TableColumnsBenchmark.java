@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package tablecolumns;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+
+/**
+ * Measures horizontal scrolling in a {@code TableView} with many columns and
+ * a fixed cell size. The benchmark reports the time to show the table, the
+ * average time to scroll right by a column or by a page and lay the table
+ * out again, and the number of cells in the first row.
+ * <p>
+ * The optional arguments are the number of columns (default 1000) and the
+ * number of frozen columns (default 0).
+ */
+public class TableColumnsBenchmark extends Application {
+    private static final int ROW_COUNT = 10_000;
+    private static final double COLUMN_WIDTH = 100;
+    private static final int WARMUP_ITERATIONS = 100;
+    private static final int ITERATIONS = 500;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        int columnCount = args.size() > 0 ? Integer.parseInt(args.get(0)) : 1000;
+        int frozenCount = args.size() > 1 ? Integer.parseInt(args.get(1)) : 0;
+
+        long start = System.nanoTime();
+        TableView<Integer> tableView = new TableView<>();
+        for (int i = 0; i < columnCount; i++) {
+            final int column = i;
+            TableColumn<Integer, String> tc = new TableColumn<>("Column " + i);
+            tc.setPrefWidth(COLUMN_WIDTH);
+            tc.setCellValueFactory(cdf -> new SimpleStringProperty(cdf.getValue() + ":" + column));
+            tableView.getColumns().add(tc);
+        }
+        for (int i = 0; i < ROW_COUNT; i++) {
+            tableView.getItems().add(i);
+        }
+        tableView.setFixedCellSize(24);
+        tableView.setFrozenColumnCount(frozenCount);
+        stage.setScene(new Scene(tableView, 1200, 800));
+        stage.show();
+        tableView.layout();
+        System.out.printf("%d columns, show:             %8.1f ms\n",
+                columnCount, (System.nanoTime() - start) / 1e6);
+
+        ScrollBar hbar = null;
+        for (Node n : tableView.lookupAll(".scroll-bar")) {
+            if (n instanceof ScrollBar sb && sb.getOrientation() == Orientation.HORIZONTAL) {
+                hbar = sb;
+            }
+        }
+
+        scroll(tableView, hbar, COLUMN_WIDTH / 4, WARMUP_ITERATIONS);
+        start = System.nanoTime();
+        scroll(tableView, hbar, COLUMN_WIDTH / 4, ITERATIONS);
+        System.out.printf("%d columns, scroll by pixels: %8.1f us per scroll\n",
+                columnCount, (System.nanoTime() - start) / 1e3 / ITERATIONS);
+
+        scroll(tableView, hbar, 1200, WARMUP_ITERATIONS);
+        start = System.nanoTime();
+        scroll(tableView, hbar, 1200, ITERATIONS);
+        System.out.printf("%d columns, scroll by page:   %8.1f us per scroll\n",
+                columnCount, (System.nanoTime() - start) / 1e3 / ITERATIONS);
+
+        Node row = tableView.lookup(".table-row-cell");
+        System.out.printf("%d columns, cells per row:    %8d\n",
+                columnCount, row.lookupAll(".table-cell").size());
+        Platform.exit();
+    }
+
+    private static void scroll(TableView<?> tableView, ScrollBar hbar, double delta, int count) {
+        for (int i = 0; i < count; i++) {
+            double value = hbar.getValue() + delta;
+            hbar.setValue(value > hbar.getMax() ? 0 : value);
+            tableView.layout();
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package tablesort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+
+/**
+ * Measures sorting a {@code TableView} with millions of rows by clicking on
+ * an integer, a double, and a string column, with the default or the
+ * background sort policy. The benchmark reports the longest time the FX
+ * thread was kept busy by a sort, and the time until the items were sorted.
+ * The FX thread is polled every millisecond while the sort runs.
+ * <p>
+ * The optional arguments are the number of rows (default 2000000) and the
+ * sort policy, {@code default} or {@code background} (default).
+ */
+public class TableSortBenchmark extends Application {
+    private static final int ITERATIONS = 3;
+
+    private record Row(Integer number, Double amount, String name) {}
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        int rowCount = args.size() > 0 ? Integer.parseInt(args.get(0)) : 2_000_000;
+        boolean background = args.size() <= 1 || args.get(1).equals("background");
+
+        Random random = new Random(0);
+        List<Row> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new Row(random.nextInt(), random.nextDouble() * 1000, "Item " + random.nextInt(rowCount)));
+        }
+
+        TableView<Row> tableView = new TableView<>();
+        TableColumn<Row, Integer> numberColumn = new TableColumn<>("Number");
+        numberColumn.setCellValueFactory(f -> new SimpleObjectProperty<>(f.getValue().number()));
+        TableColumn<Row, Double> amountColumn = new TableColumn<>("Amount");
+        amountColumn.setCellValueFactory(f -> new SimpleObjectProperty<>(f.getValue().amount()));
+        TableColumn<Row, String> nameColumn = new TableColumn<>("Name");
+        nameColumn.setCellValueFactory(f -> new SimpleObjectProperty<>(f.getValue().name()));
+        tableView.getColumns().setAll(List.of(numberColumn, amountColumn, nameColumn));
+        if (background) {
+            @SuppressWarnings("unchecked")
+            Callback<TableView<Row>, Boolean> policy = (Callback) TableView.BACKGROUND_SORT_POLICY;
+            tableView.setSortPolicy(policy);
+        }
+        tableView.getItems().setAll(rows);
+        stage.setScene(new Scene(tableView, 800, 600));
+        stage.show();
+
+        Thread thread = new Thread(() -> {
+            for (TableColumn<Row, ?> column : List.of(numberColumn, amountColumn, nameColumn)) {
+                double busy = 0;
+                double total = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    fx(() -> {
+                        tableView.getSortOrder().clear();
+                        tableView.getItems().setAll(rows);
+                        return null;
+                    });
+                    long start = System.nanoTime();
+                    double longest = fx(() -> {
+                        long t = System.nanoTime();
+                        tableView.getSortOrder().setAll(List.of(column));
+                        return (System.nanoTime() - t) / 1e6;
+                    });
+                    while (true) {
+                        long t = System.nanoTime();
+                        boolean sorting = fx(tableView::isSorting);
+                        longest = Math.max(longest, (System.nanoTime() - t) / 1e6);
+                        if (!sorting) {
+                            break;
+                        }
+                        sleep(1);
+                    }
+                    busy += longest;
+                    total += (System.nanoTime() - start) / 1e6;
+                }
+                System.out.printf("%s policy, %d rows, %-6s column: FX thread busy %8.1f ms, sorted in %8.1f ms\n",
+                        background ? "background" : "default", rowCount, column.getText(),
+                        busy / ITERATIONS, total / ITERATIONS);
+            }
+            Platform.exit();
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static <T> T fx(Callable<T> callable) {
+        FutureTask<T> task = new FutureTask<>(callable);
+        Platform.runLater(task);
+        try {
+            return task.get();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
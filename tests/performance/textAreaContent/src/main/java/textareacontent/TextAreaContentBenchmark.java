@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package textareacontent;
+
+import java.util.Random;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.TextArea;
+import javafx.stage.Stage;
+
+/**
+ * Measures loading, editing and scrolling a {@code TextArea} that holds a
+ * large document, one line of log-like text per paragraph.
+ * <p>
+ * The benchmark reports the time to set the text and lay out the text area
+ * once, then the average time of a random single character edit, a random
+ * line break insertion or removal, and a random 200 character read, each
+ * edit followed by a layout, and the average time to scroll to a random
+ * position and lay out again.
+ * The optional argument is the number of lines (default 1000000).
+ */
+public class TextAreaContentBenchmark extends Application {
+    private static final int WARMUP_ITERATIONS = 100;
+    private static final int ITERATIONS = 500;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        int lineCount = args.size() > 0 ? Integer.parseInt(args.get(0)) : 1_000_000;
+
+        StringBuilder document = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            if (i > 0) {
+                document.append('\n');
+            }
+            document.append(String.format("%08d INFO  [worker-%02d] processed request %d in %d ms",
+                    i, i % 16, i * 7, i % 100));
+        }
+        String text = document.toString();
+
+        TextArea textArea = new TextArea();
+        stage.setScene(new Scene(textArea, 800, 600));
+        stage.show();
+
+        long t0 = System.nanoTime();
+        textArea.setText(text);
+        layout(textArea);
+        long loadTime = System.nanoTime() - t0;
+
+        Random random = new Random(1);
+        long[] times = new long[4];
+        for (int i = 0; i < WARMUP_ITERATIONS + ITERATIONS; i++) {
+            long t1 = System.nanoTime();
+            textArea.insertText(random.nextInt(textArea.getLength() + 1), "x");
+            layout(textArea);
+            long t2 = System.nanoTime();
+            int offset = random.nextInt(textArea.getLength() + 1);
+            if (i % 2 == 0) {
+                textArea.insertText(offset, "\n");
+            } else {
+                int newline = textArea.getText(offset, Math.min(offset + 200, textArea.getLength())).indexOf('\n');
+                if (newline >= 0) {
+                    textArea.deleteText(offset + newline, offset + newline + 1);
+                }
+            }
+            layout(textArea);
+            long t3 = System.nanoTime();
+            int start = random.nextInt(textArea.getLength() - 200);
+            if (textArea.getText(start, start + 200).length() != 200) {
+                throw new IllegalStateException();
+            }
+            long t4 = System.nanoTime();
+            textArea.setScrollTop(random.nextDouble() * lineCount * textArea.getFont().getSize());
+            layout(textArea);
+            long t5 = System.nanoTime();
+
+            if (i >= WARMUP_ITERATIONS) {
+                times[0] += t2 - t1;
+                times[1] += t3 - t2;
+                times[2] += t4 - t3;
+                times[3] += t5 - t4;
+            }
+        }
+
+        System.out.printf("TextArea with %d lines, %d characters%n", lineCount, text.length());
+        System.out.printf("  load (setText + layout):  %10.3f ms%n", loadTime / 1e6);
+        System.out.printf("  insert character:         %10.3f ms%n", times[0] / 1e6 / ITERATIONS);
+        System.out.printf("  insert/remove line break: %10.3f ms%n", times[1] / 1e6 / ITERATIONS);
+        System.out.printf("  getText(200 characters):  %10.3f ms%n", times[2] / 1e6 / ITERATIONS);
+        System.out.printf("  scroll:                   %10.3f ms%n", times[3] / 1e6 / ITERATIONS);
+
+        Platform.exit();
+    }
+
+    private static void layout(TextArea textArea) {
+        textArea.getScene().getRoot().applyCss();
+        textArea.getScene().getRoot().layout();
+    }
+
+    public static void main(String[] args) {
+        Application.launch(args);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package textlayout;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+
+/**
+ * Measures the throughput of creating and laying out {@code Text} nodes that
+ * share a small set of strings, as in table cells showing status values or
+ * currency codes. Run once with the default settings and once with
+ * {@code -Dprism.cacheLayoutSize=0} to compare against an unshared layout.
+ */
+public class TextLayoutPerformance extends Application {
+    private static final String[] VALUES = {
+        "USD", "EUR", "GBP", "JPY", "CHF",
+        "Open", "Closed", "Pending", "Rejected", "In Progress"
+    };
+    private static final int NODE_COUNT = 100_000;
+    private static final int ROUNDS = 10;
+
+    @Override
+    public void start(Stage stage) {
+        Group root = new Group();
+        stage.setScene(new Scene(root, 400, 300));
+        stage.show();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            Text[] texts = new Text[NODE_COUNT];
+            for (int i = 0; i < NODE_COUNT; i++) {
+                texts[i] = new Text(VALUES[i % VALUES.length]);
+            }
+            long t1 = System.nanoTime();
+            root.getChildren().setAll(texts);
+            root.applyCss();
+            double width = 0;
+            for (Text text : texts) {
+                width += text.getLayoutBounds().getWidth();
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("round %d: create %dms, layout %dms (%.0f nodes/s), total width %.0f\n",
+                    round, (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000,
+                    NODE_COUNT * 1e9 / (t2 - t0), width);
+            root.getChildren().clear();
+        }
+
+        Platform.exit();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package treerows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+import javafx.stage.Stage;
+
+/**
+ * Measures the mapping between rows and items of a {@code TreeView} while
+ * items are being expanded and collapsed, which is what the
+ * {@code TreeView} does on every change to the tree before it can lay out
+ * its cells and update its selection.
+ * <p>
+ * Two trees are used: a wide one, with a root holding many leaves and a few
+ * expandable children, and a deep one, in which every item has a few leaves
+ * and one expandable child, down to a large depth. For each tree the
+ * benchmark collapses a random expandable item, then reads the expanded item
+ * count, the item at a random row and the row of a random item, and reports
+ * the average time of each step. The item is expanded again afterwards, so
+ * that the trees stay fully expanded.
+ * The optional argument is the number of items of each tree (default 1000000).
+ */
+public class TreeRowsBenchmark extends Application {
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 2000;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        int itemCount = args.size() > 0 ? Integer.parseInt(args.get(0)) : 1_000_000;
+
+        List<TreeItem<Integer>> items = new ArrayList<>();
+        List<TreeItem<Integer>> expandable = new ArrayList<>();
+        TreeItem<Integer> root = createWideTree(itemCount, items, expandable);
+        run("wide", root, items, expandable);
+
+        items.clear();
+        expandable.clear();
+        root = createDeepTree(itemCount, items, expandable);
+        run("deep", root, items, expandable);
+
+        Platform.exit();
+    }
+
+    private static TreeItem<Integer> createWideTree(int itemCount,
+            List<TreeItem<Integer>> items, List<TreeItem<Integer>> expandable) {
+        TreeItem<Integer> root = new TreeItem<>(0);
+        root.setExpanded(true);
+        items.add(root);
+        List<TreeItem<Integer>> children = new ArrayList<>();
+        for (int i = 1; i < itemCount; i++) {
+            TreeItem<Integer> item = new TreeItem<>(i);
+            items.add(item);
+            if (i % 1000 == 0) {
+                // every thousandth child holds the next 99 items
+                expandable.add(item);
+                children.add(item);
+                List<TreeItem<Integer>> grandChildren = new ArrayList<>();
+                for (int j = 0; j < 99 && i + 1 < itemCount; j++) {
+                    TreeItem<Integer> leaf = new TreeItem<>(++i);
+                    items.add(leaf);
+                    grandChildren.add(leaf);
+                }
+                item.getChildren().setAll(grandChildren);
+                item.setExpanded(true);
+            } else {
+                children.add(item);
+            }
+        }
+        root.getChildren().setAll(children);
+        return root;
+    }
+
+    private static TreeItem<Integer> createDeepTree(int itemCount,
+            List<TreeItem<Integer>> items, List<TreeItem<Integer>> expandable) {
+        TreeItem<Integer> root = new TreeItem<>(0);
+        items.add(root);
+        TreeItem<Integer> parent = root;
+        int i = 1;
+        while (i < itemCount) {
+            parent.setExpanded(true);
+            expandable.add(parent);
+            List<TreeItem<Integer>> children = new ArrayList<>();
+            for (int j = 0; j < 99 && i < itemCount; j++) {
+                TreeItem<Integer> leaf = new TreeItem<>(i++);
+                items.add(leaf);
+                children.add(leaf);
+            }
+            TreeItem<Integer> next = null;
+            if (i < itemCount) {
+                next = new TreeItem<>(i++);
+                items.add(next);
+                children.add(children.size() / 2, next);
+            }
+            parent.getChildren().setAll(children);
+            if (next == null) {
+                break;
+            }
+            parent = next;
+        }
+        return root;
+    }
+
+    private static void run(String name, TreeItem<Integer> root,
+            List<TreeItem<Integer>> items, List<TreeItem<Integer>> expandable) {
+        TreeView<Integer> treeView = new TreeView<>(root);
+        Random random = new Random(1);
+        long[] times = new long[3];
+        for (int i = 0; i < WARMUP_ITERATIONS + ITERATIONS; i++) {
+            TreeItem<Integer> item = expandable.get(random.nextInt(expandable.size()));
+            item.setExpanded(false);
+
+            long t0 = System.nanoTime();
+            int count = treeView.getExpandedItemCount();
+            long t1 = System.nanoTime();
+            TreeItem<Integer> rowItem = treeView.getTreeItem(random.nextInt(count));
+            long t2 = System.nanoTime();
+            int row = treeView.getRow(items.get(random.nextInt(items.size())));
+            long t3 = System.nanoTime();
+
+            if (rowItem == null || row < -1) {
+                throw new IllegalStateException();
+            }
+            item.setExpanded(true);
+            treeView.getExpandedItemCount();
+            if (i >= WARMUP_ITERATIONS) {
+                times[0] += t1 - t0;
+                times[1] += t2 - t1;
+                times[2] += t3 - t2;
+            }
+        }
+        System.out.printf("%s tree, %d items, %d expanded rows%n",
+                name, items.size(), treeView.getExpandedItemCount());
+        System.out.printf("  expanded item count after collapse: %8.3f ms%n", times[0] / 1e6 / ITERATIONS);
+        System.out.printf("  getTreeItem(row):                   %8.3f ms%n", times[1] / 1e6 / ITERATIONS);
+        System.out.printf("  getRow(item):                       %8.3f ms%n", times[2] / 1e6 / ITERATIONS);
+    }
+
+    public static void main(String[] args) {
+        Application.launch(args);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package virtualflowprefetch;
+
+import java.util.Arrays;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.stage.Stage;
+
+/**
+ * Flings a {@code TableView} of 100000 rows and 12 columns at a constant
+ * speed, once without prefetching and once for each prefetch count given as
+ * argument (default 10 and 30). Every pulse scrolls the flow by a fixed number
+ * of pixels and lays it out, the time taken by this scroll and layout is
+ * measured, while the prefetched cells are prepared between the pulses. The
+ * benchmark reports the average, 95th percentile and maximum time of the
+ * layout per frame.
+ * <p>
+ * Set the level of the {@code javafx.scene.control} logger to {@code FINE} to
+ * see the number of cells created and reused in every layout.
+ */
+public class VirtualFlowPrefetchBenchmark extends Application {
+    private static final int ROWS = 100_000;
+    private static final int COLUMNS = 12;
+    private static final int FRAMES = 600;
+    private static final double PIXELS_PER_FRAME = 90;
+
+    private TableView<Integer> table;
+    private VirtualFlow<?> flow;
+    private int[] prefetchCounts;
+    private int run;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        prefetchCounts = new int[args.size() + 1];
+        if (args.isEmpty()) {
+            prefetchCounts = new int[] { 0, 10, 30 };
+        } else {
+            for (int i = 0; i < args.size(); i++) {
+                prefetchCounts[i + 1] = Integer.parseInt(args.get(i));
+            }
+        }
+
+        ObservableList<Integer> items = FXCollections.observableArrayList();
+        for (int i = 0; i < ROWS; i++) {
+            items.add(i);
+        }
+        table = new TableView<>(items);
+        for (int c = 0; c < COLUMNS; c++) {
+            final int column = c;
+            TableColumn<Integer, String> col = new TableColumn<>("Column " + c);
+            col.setCellValueFactory(f -> new ReadOnlyStringWrapper("Row " + f.getValue() + " / " + column));
+            col.setPrefWidth(80);
+            table.getColumns().add(col);
+        }
+        stage.setScene(new Scene(table, 1000, 800));
+        stage.show();
+        Platform.runLater(this::nextRun);
+    }
+
+    private void nextRun() {
+        if (run == prefetchCounts.length) {
+            Platform.exit();
+            return;
+        }
+        int prefetchCount = prefetchCounts[run++];
+        flow = (VirtualFlow<?>) table.lookup(".virtual-flow");
+        flow.setPrefetchCount(prefetchCount);
+        table.scrollTo(0);
+        long[] times = new long[FRAMES];
+        new AnimationTimer() {
+            int frame = -60; // warm up
+
+            @Override
+            public void handle(long now) {
+                long start = System.nanoTime();
+                flow.scrollPixels(PIXELS_PER_FRAME);
+                table.layout();
+                long time = System.nanoTime() - start;
+                if (frame >= 0) {
+                    times[frame] = time;
+                }
+                if (++frame == FRAMES) {
+                    stop();
+                    report(prefetchCount, times);
+                    Platform.runLater(VirtualFlowPrefetchBenchmark.this::nextRun);
+                }
+            }
+        }.start();
+    }
+
+    private static void report(int prefetchCount, long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        System.out.printf("prefetch %3d: layout per frame avg %6.2f ms, p95 %6.2f ms, max %6.2f ms\n",
+                prefetchCount, Arrays.stream(times).average().orElse(0) / 1e6,
+                sorted[(int) (sorted.length * 0.95)] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
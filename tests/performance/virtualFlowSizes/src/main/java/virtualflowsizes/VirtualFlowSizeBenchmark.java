@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package virtualflowsizes;
+
+import java.util.Random;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.stage.Stage;
+
+/**
+ * Measures the latency of scrolling and of {@code scrollTo} in a
+ * {@code ListView} of one million rows with variable heights. Every row has
+ * one of five heights, picked from its index, so that the estimated size of
+ * the flow keeps changing as rows are measured.
+ * <p>
+ * For scrolling, the benchmark reports the average time to scroll by a few
+ * pixels and lay the list out again. For {@code scrollTo}, it jumps to random
+ * rows and reports the average time until the layout is done, and how often
+ * the requested row was not the first visible row after a single layout pass.
+ * The optional argument is the number of rows (default 1000000).
+ */
+public class VirtualFlowSizeBenchmark extends Application {
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 2000;
+
+    @Override
+    public void start(Stage stage) {
+        var args = getParameters().getRaw();
+        int rowCount = args.size() > 0 ? Integer.parseInt(args.get(0)) : 1_000_000;
+        ObservableList<Integer> items = FXCollections.observableArrayList();
+        for (int i = 0; i < rowCount; i++) {
+            items.add(i);
+        }
+        ListView<Integer> listView = new ListView<>(items);
+        listView.setCellFactory(lv -> new ListCell<>() {
+            @Override
+            protected void updateItem(Integer item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : "Row " + item);
+                setPrefHeight(empty || item == null ? USE_COMPUTED_SIZE : 20 + (item * 7919 % 5) * 12);
+            }
+        });
+        stage.setScene(new Scene(listView, 400, 600));
+        stage.show();
+        listView.layout();
+        VirtualFlow<?> flow = (VirtualFlow<?>) listView.lookup(".virtual-flow");
+
+        Random random = new Random(1);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            flow.scrollPixels(25);
+            listView.layout();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            flow.scrollPixels(random.nextBoolean() ? 25 : -20);
+            listView.layout();
+        }
+        System.out.printf("%d rows, scroll by pixels: %8.1f us per scroll\n",
+                rowCount, (System.nanoTime() - start) / 1e3 / ITERATIONS);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            listView.scrollTo(random.nextInt(rowCount));
+            listView.layout();
+        }
+        int misses = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            int index = random.nextInt(rowCount - 100);
+            listView.scrollTo(index);
+            listView.layout();
+            if (flow.getFirstVisibleCell() == null || flow.getFirstVisibleCell().getIndex() != index) {
+                misses++;
+            }
+        }
+        System.out.printf("%d rows, scrollTo:         %8.1f us per scrollTo, %d of %d not at the top after one layout\n",
+                rowCount, (System.nanoTime() - start) / 1e3 / ITERATIONS, misses, ITERATIONS);
+        Platform.exit();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}